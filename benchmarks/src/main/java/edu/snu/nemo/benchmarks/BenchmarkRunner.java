@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks of Nemo.
+ * Accepts the standard JMH command line options, e.g. a regular expression to select benchmarks.
+ * Unless specified otherwise, the results are written as JSON to jmh-result.json,
+ * so that the results of different commits can be compared.
+ */
+public final class BenchmarkRunner {
+  private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+  /**
+   * Private constructor.
+   */
+  private BenchmarkRunner() {
+  }
+
+  /**
+   * Main function.
+   *
+   * @param args the JMH command line options.
+   * @throws Exception if fails to parse the options or to run the benchmarks.
+   */
+  public static void main(final String[] args) throws Exception {
+    final CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+    final ChainedOptionsBuilder optionsBuilder = new OptionsBuilder().parent(commandLineOptions);
+    if (!commandLineOptions.getResultFormat().hasValue()) {
+      optionsBuilder.resultFormat(ResultFormatType.JSON);
+    }
+    if (!commandLineOptions.getResult().hasValue()) {
+      optionsBuilder.result(DEFAULT_RESULT_FILE);
+    }
+    new Runner(optionsBuilder.build()).run();
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.executor.bytetransfer;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of {@link FrameDecoder} on synthetic data and credit frames.
+ * Each operation receives a data message of {@link #MESSAGE_SIZE} bytes for a new {@link ByteInputContext},
+ * interleaved with a credit frame for a new {@link ByteOutputContext} every {@link #CREDIT_INTERVAL} bytes,
+ * in chunks of {@link #CHUNK_SIZE} bytes as read from a socket, and drains the resulting input stream.
+ * The largest frame body size is {@link DataFrameEncoder#BODY_LENGTH_PER_FRAME}, which senders never exceed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@SuppressWarnings({"checkstyle:designforextension", "checkstyle:visibilitymodifier"})
+public class FrameDecoderBenchmark {
+  private static final int HEADER_LENGTH = 9;
+  private static final int MESSAGE_SIZE = 8 * 1024 * 1024;
+  private static final int CHUNK_SIZE = 64 * 1024;
+  private static final int CREDIT_INTERVAL = 1024 * 1024;
+
+  @Param({"1024", "32768", "1048576"})
+  public int frameBodySize;
+
+  private EmbeddedChannel channel;
+  private ContextManager contextManager;
+  private byte[] message;
+  private int[] dataFrameOffsets;
+  private int[] creditFrameOffsets;
+  private byte[] readBuffer;
+
+  @Setup
+  public void setUp() {
+    channel = new EmbeddedChannel();
+    // Only the context maps of the ContextManager are used while decoding frames.
+    // The receive window holds the whole message, which is written before being drained.
+    contextManager = new ContextManager(null, null, null, "local-executor", channel, MESSAGE_SIZE);
+    channel.pipeline().addLast(new FrameDecoder(contextManager));
+
+    final int numFrames = MESSAGE_SIZE / frameBodySize;
+    final int numCreditFrames = MESSAGE_SIZE / CREDIT_INTERVAL;
+    final ByteBuf messageBuf = Unpooled.buffer(numFrames * (HEADER_LENGTH + frameBodySize)
+        + numCreditFrames * HEADER_LENGTH);
+    dataFrameOffsets = new int[numFrames];
+    creditFrameOffsets = new int[numCreditFrames];
+    final byte[] body = new byte[frameBodySize];
+    for (int i = 0; i < frameBodySize; i++) {
+      body[i] = (byte) i;
+    }
+    int creditFrame = 0;
+    for (int frame = 0; frame < numFrames; frame++) {
+      if ((long) frame * frameBodySize >= (long) creditFrame * CREDIT_INTERVAL) {
+        // Credit frame for a context initiated by the local executor, which sends data.
+        creditFrameOffsets[creditFrame++] = messageBuf.writerIndex();
+        messageBuf.writeByte((byte) (1 << 4));
+        messageBuf.writeInt(0); // Transfer index, set for each operation.
+        messageBuf.writeInt(CREDIT_INTERVAL);
+      }
+      // Data frame for a context initiated by the local executor, which receives data.
+      dataFrameOffsets[frame] = messageBuf.writerIndex();
+      byte flags = (byte) ((1 << 3) | (1 << 2));
+      if (frame == 0) {
+        flags |= (byte) (1 << 1);
+      }
+      if (frame == numFrames - 1) {
+        flags |= (byte) 1;
+      }
+      messageBuf.writeByte(flags);
+      messageBuf.writeInt(0); // Transfer index, set for each operation.
+      messageBuf.writeInt(frameBodySize);
+      messageBuf.writeBytes(body);
+    }
+    message = Arrays.copyOf(messageBuf.array(), messageBuf.writerIndex());
+    creditFrameOffsets = Arrays.copyOf(creditFrameOffsets, creditFrame);
+    readBuffer = new byte[CHUNK_SIZE];
+  }
+
+  @TearDown
+  public void tearDown() {
+    channel.finishAndReleaseAll();
+  }
+
+  /**
+   * @return the number of bytes read from the input context.
+   */
+  @Benchmark
+  public long decode() throws IOException {
+    final ByteInputContext inputContext = contextManager.newInputContext("remote-executor", new byte[0]);
+    final ByteOutputContext outputContext = contextManager.newOutputContext("remote-executor", new byte[0]);
+    channel.releaseOutbound();
+
+    final ByteBuf messageBuf = Unpooled.wrappedBuffer(message);
+    final int inputTransferIndex = inputContext.getContextId().getTransferIndex();
+    for (final int offset : dataFrameOffsets) {
+      messageBuf.setInt(offset + 1, inputTransferIndex);
+    }
+    final int outputTransferIndex = outputContext.getContextId().getTransferIndex();
+    for (final int offset : creditFrameOffsets) {
+      messageBuf.setInt(offset + 1, outputTransferIndex);
+    }
+    for (int offset = 0; offset < message.length; offset += CHUNK_SIZE) {
+      channel.writeInbound(messageBuf.retainedSlice(offset, Math.min(CHUNK_SIZE, message.length - offset)));
+    }
+    messageBuf.release();
+
+    long numBytes = 0;
+    final Iterator<InputStream> inputStreams = inputContext.getInputStreams();
+    while (inputStreams.hasNext()) {
+      try (InputStream inputStream = inputStreams.next()) {
+        int numRead = inputStream.read(readBuffer);
+        while (numRead != -1) {
+          numBytes += numRead;
+          numRead = inputStream.read(readBuffer);
+        }
+      }
+    }
+    // Sends the closing frame with the granted credits, and drops it along with the credits for the input context.
+    outputContext.close();
+    channel.runPendingTasks();
+    channel.releaseOutbound();
+    return numBytes;
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.executor.data;
+
+import edu.snu.nemo.common.coder.IntDecoderFactory;
+import edu.snu.nemo.common.coder.IntEncoderFactory;
+import edu.snu.nemo.common.ir.edge.executionproperty.CompressionProperty;
+import edu.snu.nemo.runtime.executor.data.partition.SerializedPartition;
+import edu.snu.nemo.runtime.executor.data.streamchainer.CompressionStreamChainer;
+import edu.snu.nemo.runtime.executor.data.streamchainer.DecompressionStreamChainer;
+import edu.snu.nemo.runtime.executor.data.streamchainer.Serializer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures decoding serialized partitions with {@link DataUtil.InputStreamIterator}, for each compression.
+ * The score is the number of elements decoded per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@SuppressWarnings({"checkstyle:designforextension", "checkstyle:visibilitymodifier"})
+public class InputStreamIteratorBenchmark {
+  private static final int NUM_PARTITIONS = 10;
+  private static final int NUM_ELEMENTS_PER_PARTITION = 10000;
+
+  @Param({"None", "LZ4", "Gzip"})
+  public CompressionProperty.Value compression;
+
+  private Serializer<Integer, Integer> serializer;
+  private List<SerializedPartition<Integer>> partitions;
+
+  @Setup
+  public void setUp() throws IOException {
+    serializer = new Serializer<>(IntEncoderFactory.of(), IntDecoderFactory.of(),
+        Collections.singletonList(new CompressionStreamChainer(compression)),
+        Collections.singletonList(new DecompressionStreamChainer(compression)));
+    final Random random = new Random(0);
+    partitions = new ArrayList<>(NUM_PARTITIONS);
+    for (int key = 0; key < NUM_PARTITIONS; key++) {
+      final SerializedPartition<Integer> partition = new SerializedPartition<>(key, serializer);
+      for (int i = 0; i < NUM_ELEMENTS_PER_PARTITION; i++) {
+        partition.write(random.nextInt(1000));
+      }
+      partition.commit();
+      partitions.add(partition);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NUM_PARTITIONS * NUM_ELEMENTS_PER_PARTITION)
+  public void decode(final Blackhole blackhole) throws IOException {
+    final List<InputStream> inputStreams = new ArrayList<>(NUM_PARTITIONS);
+    for (final SerializedPartition<Integer> partition : partitions) {
+      inputStreams.add(new ByteArrayInputStream(partition.getData(), 0, partition.getLength()));
+    }
+    final DataUtil.InputStreamIterator<Integer> iterator =
+        new DataUtil.InputStreamIterator<>(inputStreams.iterator(), serializer);
+    while (iterator.hasNext()) {
+      blackhole.consume(iterator.next());
+    }
+  }
+}
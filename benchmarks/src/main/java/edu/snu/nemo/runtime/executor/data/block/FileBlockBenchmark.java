@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.executor.data.block;
+
+import edu.snu.nemo.common.coder.IntDecoderFactory;
+import edu.snu.nemo.common.coder.IntEncoderFactory;
+import edu.snu.nemo.runtime.common.data.HashRange;
+import edu.snu.nemo.runtime.executor.data.metadata.LocalFileMetadata;
+import edu.snu.nemo.runtime.executor.data.partition.NonSerializedPartition;
+import edu.snu.nemo.runtime.executor.data.streamchainer.Serializer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures writing a {@link FileBlock} and reading it by {@link edu.snu.nemo.runtime.common.data.KeyRange}.
+ * The elements are hashed into a number of partitions, as an output block of a shuffle edge is.
+ * The score is the number of elements written or read per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@SuppressWarnings({"checkstyle:designforextension", "checkstyle:visibilitymodifier"})
+public class FileBlockBenchmark {
+  private static final int NUM_ELEMENTS = 100000;
+
+  @Param({"10", "100"})
+  public int numPartitions;
+
+  private Serializer<Integer, Integer> serializer;
+  private int[] elements;
+  private File directory;
+  private FileBlock<Integer> blockToRead;
+  private int numWrittenBlocks;
+
+  @Setup
+  public void setUp() throws IOException {
+    serializer = new Serializer<>(IntEncoderFactory.of(), IntDecoderFactory.of(),
+        Collections.emptyList(), Collections.emptyList());
+    final Random random = new Random(0);
+    elements = new int[NUM_ELEMENTS];
+    for (int i = 0; i < NUM_ELEMENTS; i++) {
+      elements[i] = random.nextInt();
+    }
+    directory = Files.createTempDirectory("nemo-file-block-benchmark").toFile();
+    numWrittenBlocks = 0;
+    blockToRead = write();
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    blockToRead.deleteFile();
+    Files.delete(directory.toPath());
+  }
+
+  /**
+   * Writes all elements to a new block and commits it. The block file is deleted afterwards.
+   */
+  @Benchmark
+  @OperationsPerInvocation(NUM_ELEMENTS)
+  public void writeAndCommit() throws IOException {
+    write().deleteFile();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NUM_ELEMENTS)
+  public void readAll(final Blackhole blackhole) throws IOException {
+    read(HashRange.all(), blackhole);
+  }
+
+  /**
+   * Reads half of the partitions, as a task of a skewed shuffle does.
+   * The score is relative to the whole block.
+   */
+  @Benchmark
+  @OperationsPerInvocation(NUM_ELEMENTS)
+  public void readKeyRange(final Blackhole blackhole) throws IOException {
+    read(HashRange.of(0, numPartitions / 2, false), blackhole);
+  }
+
+  private FileBlock<Integer> write() {
+    final String blockId = "block-" + numWrittenBlocks++;
+    final FileBlock<Integer> block = new FileBlock<>(blockId, serializer,
+        new File(directory, blockId).getPath(), new LocalFileMetadata<>());
+    for (final int element : elements) {
+      block.write(Math.abs(element % numPartitions), element);
+    }
+    block.commit();
+    return block;
+  }
+
+  private void read(final HashRange keyRange, final Blackhole blackhole) throws IOException {
+    for (final NonSerializedPartition<Integer> partition : blockToRead.readPartitions(keyRange)) {
+      for (final Object element : partition.getData()) {
+        blackhole.consume(element);
+      }
+    }
+  }
+}
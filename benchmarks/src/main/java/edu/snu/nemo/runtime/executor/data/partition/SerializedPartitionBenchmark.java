@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.executor.data.partition;
+
+import edu.snu.nemo.common.coder.IntDecoderFactory;
+import edu.snu.nemo.common.coder.IntEncoderFactory;
+import edu.snu.nemo.common.ir.edge.executionproperty.CompressionProperty;
+import edu.snu.nemo.runtime.executor.data.streamchainer.CompressionStreamChainer;
+import edu.snu.nemo.runtime.executor.data.streamchainer.DecompressionStreamChainer;
+import edu.snu.nemo.runtime.executor.data.streamchainer.Serializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures writing elements to a {@link SerializedPartition} and committing it, for each compression.
+ * The score is the number of elements written per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@SuppressWarnings({"checkstyle:designforextension", "checkstyle:visibilitymodifier"})
+public class SerializedPartitionBenchmark {
+  private static final int NUM_ELEMENTS = 100000;
+
+  @Param({"None", "LZ4", "Gzip"})
+  public CompressionProperty.Value compression;
+
+  private Serializer<Integer, Integer> serializer;
+  private int[] elements;
+
+  @Setup
+  public void setUp() {
+    serializer = new Serializer<>(IntEncoderFactory.of(), IntDecoderFactory.of(),
+        Collections.singletonList(new CompressionStreamChainer(compression)),
+        Collections.singletonList(new DecompressionStreamChainer(compression)));
+    // Values in a small domain, so that the data is compressible as shuffled keys usually are.
+    final Random random = new Random(0);
+    elements = new int[NUM_ELEMENTS];
+    for (int i = 0; i < NUM_ELEMENTS; i++) {
+      elements[i] = random.nextInt(1000);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NUM_ELEMENTS)
+  public int writeAndCommit() throws IOException {
+    final SerializedPartition<Integer> partition = new SerializedPartition<>(0, serializer);
+    for (final int element : elements) {
+      partition.write(element);
+    }
+    partition.commit();
+    return partition.getLength();
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.executor.data.partitioner;
+
+import edu.snu.nemo.common.KeyExtractor;
+import edu.snu.nemo.common.Pair;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link HashPartitioner} and {@link DataSkewHashPartitioner} on key-value pairs.
+ * The score is the number of elements partitioned per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@SuppressWarnings({"checkstyle:designforextension", "checkstyle:visibilitymodifier"})
+public class PartitionerBenchmark {
+  private static final int NUM_ELEMENTS = 100000;
+  private static final int HASH_RANGE_MULTIPLIER = 10;
+
+  @Param({"10", "1000"})
+  public int dstParallelism;
+
+  private Object[] elements;
+  private HashPartitioner hashPartitioner;
+  private DataSkewHashPartitioner dataSkewHashPartitioner;
+
+  @Setup
+  public void setUp() {
+    final Random random = new Random(0);
+    elements = new Object[NUM_ELEMENTS];
+    for (int i = 0; i < NUM_ELEMENTS; i++) {
+      elements[i] = Pair.of("key-" + random.nextInt(NUM_ELEMENTS), i);
+    }
+    final KeyExtractor keyExtractor = element -> ((Pair) element).left();
+    hashPartitioner = new HashPartitioner(dstParallelism, keyExtractor);
+    dataSkewHashPartitioner = new DataSkewHashPartitioner(HASH_RANGE_MULTIPLIER, dstParallelism, keyExtractor);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NUM_ELEMENTS)
+  public int hashPartition() {
+    return partitionAll(hashPartitioner);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NUM_ELEMENTS)
+  public int dataSkewHashPartition() {
+    return partitionAll(dataSkewHashPartitioner);
+  }
+
+  private int partitionAll(final Partitioner<Integer> partitioner) {
+    int sum = 0;
+    for (final Object element : elements) {
+      sum += partitioner.partition(element);
+    }
+    return sum;
+  }
+}
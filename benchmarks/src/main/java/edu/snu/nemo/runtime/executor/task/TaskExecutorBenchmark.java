@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.executor.task;
+
+import edu.snu.nemo.common.dag.DAG;
+import edu.snu.nemo.common.dag.DAGBuilder;
+import edu.snu.nemo.common.ir.OutputCollector;
+import edu.snu.nemo.common.ir.Readable;
+import edu.snu.nemo.common.ir.edge.executionproperty.DataStoreProperty;
+import edu.snu.nemo.common.ir.executionproperty.ExecutionPropertyMap;
+import edu.snu.nemo.common.ir.executionproperty.VertexExecutionProperty;
+import edu.snu.nemo.common.ir.vertex.IRVertex;
+import edu.snu.nemo.common.ir.vertex.InMemorySourceVertex;
+import edu.snu.nemo.common.ir.vertex.OperatorVertex;
+import edu.snu.nemo.common.ir.vertex.transform.Transform;
+import edu.snu.nemo.runtime.common.RuntimeIdGenerator;
+import edu.snu.nemo.runtime.common.message.PersistentConnectionToMasterMap;
+import edu.snu.nemo.runtime.common.plan.RuntimeEdge;
+import edu.snu.nemo.runtime.common.plan.Task;
+import edu.snu.nemo.runtime.executor.MetricMessageSender;
+import edu.snu.nemo.runtime.executor.TaskStateManager;
+import edu.snu.nemo.runtime.executor.datatransfer.DataTransferFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures how fast a {@link TaskExecutor} dispatches elements from a source vertex
+ * through a chain of {@link OperatorVertex} harnesses.
+ * The task has no inter-task edges, so the collaborators of {@link TaskExecutor} that talk to other
+ * executors or to the master are stubbed.
+ * The score is the number of source elements processed per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@SuppressWarnings({"checkstyle:designforextension", "checkstyle:visibilitymodifier"})
+public class TaskExecutorBenchmark {
+  private static final int NUM_ELEMENTS = 100000;
+
+  @Param({"1", "4", "16"})
+  public int numOperators;
+
+  private List<Integer> elements;
+  private DAG<IRVertex, RuntimeEdge<IRVertex>> taskDag;
+  private Task task;
+  private TaskStateManager taskStateManager;
+  private DataTransferFactory dataTransferFactory;
+  private MetricMessageSender metricMessageSender;
+  private PersistentConnectionToMasterMap persistentConnectionToMasterMap;
+
+  @Setup
+  public void setUp() {
+    elements = new ArrayList<>(NUM_ELEMENTS);
+    for (int i = 0; i < NUM_ELEMENTS; i++) {
+      elements.add(i);
+    }
+
+    final IRVertex sourceVertex = new InMemorySourceVertex<>(elements);
+    final DAGBuilder<IRVertex, RuntimeEdge<IRVertex>> dagBuilder = new DAGBuilder<>();
+    dagBuilder.addVertex(sourceVertex);
+    IRVertex parent = sourceVertex;
+    for (int i = 0; i < numOperators; i++) {
+      final IRVertex operatorVertex = new OperatorVertex(new IncrementTransform());
+      dagBuilder.addVertex(operatorVertex);
+      final String edgeId = "edge-" + i;
+      final ExecutionPropertyMap edgeProperties = new ExecutionPropertyMap(edgeId);
+      edgeProperties.put(DataStoreProperty.of(DataStoreProperty.Value.MemoryStore));
+      dagBuilder.connectVertices(new RuntimeEdge<>(edgeId, edgeProperties, parent, operatorVertex, false));
+      parent = operatorVertex;
+    }
+    taskDag = dagBuilder.buildWithoutSourceSinkCheck();
+
+    final Readable<Integer> readable = new Readable<Integer>() {
+      @Override
+      public Iterable<Integer> read() {
+        return elements;
+      }
+
+      @Override
+      public List<String> getLocations() {
+        throw new UnsupportedOperationException();
+      }
+    };
+    task = new Task(
+        "TaskExecutorBenchmark",
+        RuntimeIdGenerator.generateTaskId(0, RuntimeIdGenerator.generateStageId(0)),
+        0,
+        new ExecutionPropertyMap<VertexExecutionProperty>("TaskExecutorBenchmark"),
+        new byte[0],
+        Collections.emptyList(),
+        Collections.emptyList(),
+        Collections.singletonMap(sourceVertex.getId(), readable));
+
+    taskStateManager = mock(TaskStateManager.class);
+    dataTransferFactory = mock(DataTransferFactory.class);
+    metricMessageSender = mock(MetricMessageSender.class);
+    persistentConnectionToMasterMap = mock(PersistentConnectionToMasterMap.class);
+  }
+
+  /**
+   * Prepares and executes a task. A {@link TaskExecutor} can execute only once.
+   */
+  @Benchmark
+  @OperationsPerInvocation(NUM_ELEMENTS)
+  public void execute() {
+    new TaskExecutor(task, taskDag, taskStateManager, dataTransferFactory,
+        metricMessageSender, persistentConnectionToMasterMap).execute();
+  }
+
+  /**
+   * Emits each element plus one.
+   */
+  private static final class IncrementTransform implements Transform<Integer, Integer> {
+    private OutputCollector<Integer> outputCollector;
+
+    @Override
+    public void prepare(final Context context, final OutputCollector<Integer> outputCollector) {
+      this.outputCollector = outputCollector;
+    }
+
+    @Override
+    public void onData(final Integer element) {
+      outputCollector.emit(element + 1);
+    }
+
+    @Override
+    public void close() {
+      // Do nothing.
+    }
+  }
+}
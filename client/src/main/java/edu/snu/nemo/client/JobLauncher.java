@@ -16,12 +16,17 @@
 package edu.snu.nemo.client;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.protobuf.ByteString;
 import edu.snu.nemo.common.dag.DAG;
+import edu.snu.nemo.common.ir.vertex.InMemorySourceVertex;
 import edu.snu.nemo.conf.JobConf;
 import edu.snu.nemo.driver.NemoDriver;
+import edu.snu.nemo.runtime.common.RuntimeIdGenerator;
 import edu.snu.nemo.runtime.common.comm.ControlMessage;
 import edu.snu.nemo.runtime.common.message.MessageEnvironment;
 import edu.snu.nemo.runtime.common.message.MessageParameters;
+import edu.snu.nemo.runtime.master.scheduler.LoadAwareSchedulingPolicy;
+import edu.snu.nemo.runtime.master.scheduler.SchedulingPolicy;
 import org.apache.commons.lang3.SerializationUtils;
 import org.apache.reef.client.DriverConfiguration;
 import org.apache.reef.client.DriverLauncher;
@@ -46,11 +51,19 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Stream;
 
 /**
  * Job launcher.
@@ -67,9 +80,14 @@ public final class JobLauncher {
   private static DriverRPCServer driverRPCServer;
 
   private static CountDownLatch driverReadyLatch;
-  private static CountDownLatch jobDoneLatch;
-  private static String serializedDAG;
-  private static final List<?> COLLECTED_DATA = new ArrayList<>();
+  private static String stagingDirectory = null; // null if the in-memory source data is not staged.
+  private static boolean isStagingDirectoryTemporary = false;
+  private static int dagChunkSize = 0;
+  private static final List<Object> COLLECTED_DATA = new ArrayList<>();
+
+  // The DAGs which have been launched but not done yet, and the data collected by them so far, keyed by their job ids.
+  private static final Map<String, CompletableFuture<List<Object>>> JOB_ID_TO_FUTURE = new ConcurrentHashMap<>();
+  private static final Map<String, List<Object>> JOB_ID_TO_COLLECTED_DATA = new ConcurrentHashMap<>();
 
   /**
    * private constructor.
@@ -90,9 +108,8 @@ public final class JobLauncher {
     driverRPCServer
         .registerHandler(ControlMessage.DriverToClientMessageType.DriverStarted, event -> { })
         .registerHandler(ControlMessage.DriverToClientMessageType.DriverReady, event -> driverReadyLatch.countDown())
-        .registerHandler(ControlMessage.DriverToClientMessageType.ExecutionDone, event -> jobDoneLatch.countDown())
-        .registerHandler(ControlMessage.DriverToClientMessageType.DataCollected, message -> COLLECTED_DATA.addAll(
-            SerializationUtils.deserialize(Base64.getDecoder().decode(message.getDataCollected().getData()))))
+        .registerHandler(ControlMessage.DriverToClientMessageType.ExecutionDone, JobLauncher::onExecutionDone)
+        .registerHandler(ControlMessage.DriverToClientMessageType.DataCollected, JobLauncher::onDataCollected)
         .run();
 
     // Get Job and Driver Confs
@@ -113,6 +130,9 @@ public final class JobLauncher {
     // Get DeployMode Conf
     deployModeConf = Configurations.merge(getDeployModeConf(builtJobConf), clientConf);
 
+    // Get the configurations for submitting DAGs
+    setUpDAGSubmission(builtJobConf);
+
     // Start Driver and launch user program.
     try {
       if (jobAndDriverConf == null || deployModeConf == null || builtJobConf == null) {
@@ -151,6 +171,9 @@ public final class JobLauncher {
     } finally {
       // Close everything that's left
       driverRPCServer.shutdown();
+      if (isStagingDirectoryTemporary) {
+        deleteStagingDirectory();
+      }
       driverLauncher.close();
       final Optional<Throwable> possibleError = driverLauncher.getStatus().getError();
       if (possibleError.isPresent()) {
@@ -165,39 +188,175 @@ public final class JobLauncher {
    * Launch application using the application DAG.
    * Notice that we launch the DAG one at a time, as the result of a DAG has to be immediately returned to the
    * Java variable before the application can be resumed.
+   * The data collected by the DAG can be fetched with {@link #getCollectedData()} afterwards.
    *
    * @param dag the application DAG.
    */
   // When modifying the signature of this method, see CompilerTestUtil#compileDAG and make corresponding changes
   public static void launchDAG(final DAG dag) {
-    // Wait until the driver is ready.
     try {
-      LOG.info("Waiting for the driver to be ready");
-      driverReadyLatch.await();
+      LOG.info("Waiting for the DAG to finish execution");
+      COLLECTED_DATA.addAll(launchDAGAsync(dag).get());
     } catch (final InterruptedException e) {
       LOG.warn("Interrupted: " + e);
       // clean up state...
       Thread.currentThread().interrupt();
+    } catch (final ExecutionException e) {
+      throw new RuntimeException(e);
     }
+    LOG.info("DAG execution done");
+  }
 
-    LOG.info("Launching DAG...");
-    serializedDAG = Base64.getEncoder().encodeToString(SerializationUtils.serialize(dag));
-    jobDoneLatch = new CountDownLatch(1);
-    driverRPCServer.send(ControlMessage.ClientToDriverMessage.newBuilder()
-        .setType(ControlMessage.ClientToDriverMessageType.LaunchDAG)
-        .setLaunchDAG(ControlMessage.LaunchDAGMessage.newBuilder().setDag(serializedDAG).build())
-        .build());
+  /**
+   * Launch the application DAG without waiting for its execution,
+   * so that it runs at the same time with the other DAGs launched before.
+   *
+   * @param dag the application DAG.
+   * @param <T> the type of the data collected by the DAG.
+   * @return the future of the data collected by the DAG, which completes when the execution of the DAG is done,
+   *         or completes exceptionally if the DAG fails.
+   */
+  public static <T> CompletableFuture<List<T>> launchDAGAsync(final DAG dag) {
+    return launchDAGAsync(dag, 1);
+  }
+
+  /**
+   * Launch the application DAG without waiting for its execution,
+   * so that it runs at the same time with the other DAGs launched before.
+   * The executor slots are shared among the running DAGs in proportion to their weights.
+   *
+   * @param dag the application DAG.
+   * @param weight the weight of the DAG, which is a positive integer.
+   * @param <T> the type of the data collected by the DAG.
+   * @return the future of the data collected by the DAG, which completes when the execution of the DAG is done,
+   *         or completes exceptionally if the DAG fails.
+   */
+  public static synchronized <T> CompletableFuture<List<T>> launchDAGAsync(final DAG dag, final int weight) {
+    if (weight <= 0) {
+      throw new IllegalArgumentException("The weight of a DAG must be positive: " + weight);
+    }
 
-    // Wait for the ExecutionDone message from the driver
+    // Wait until the driver is ready.
     try {
-      LOG.info("Waiting for the DAG to finish execution");
-      jobDoneLatch.await();
+      LOG.info("Waiting for the driver to be ready");
+      driverReadyLatch.await();
     } catch (final InterruptedException e) {
       LOG.warn("Interrupted: " + e);
       // clean up state...
       Thread.currentThread().interrupt();
     }
-    LOG.info("DAG execution done");
+
+    final String jobId = RuntimeIdGenerator.generatePhysicalPlanId();
+    LOG.info("Launching DAG as {}...", jobId);
+    stageInMemorySourceData(dag);
+    final byte[] serializedDAG = SerializationUtils.serialize(dag);
+    final CompletableFuture<List<Object>> future = new CompletableFuture<>();
+    JOB_ID_TO_FUTURE.put(jobId, future);
+    // Send the DAG in chunks, so that no single message has to hold the whole DAG.
+    int offset = 0;
+    do {
+      final int chunkLength = Math.min(dagChunkSize, serializedDAG.length - offset);
+      driverRPCServer.send(ControlMessage.ClientToDriverMessage.newBuilder()
+          .setType(ControlMessage.ClientToDriverMessageType.LaunchDAG)
+          .setLaunchDAG(ControlMessage.LaunchDAGMessage.newBuilder()
+              .setDag(ByteString.copyFrom(serializedDAG, offset, chunkLength))
+              .setJobId(jobId)
+              .setWeight(weight)
+              .setLastChunk(offset + chunkLength == serializedDAG.length)
+              .build())
+          .build());
+      offset += chunkLength;
+    } while (offset < serializedDAG.length);
+    return future.thenApply(collectedData -> (List<T>) collectedData);
+  }
+
+  /**
+   * Stages the data of the in-memory source vertices in the DAG to the staging directory, if any,
+   * so that the size of the serialized DAG does not depend on the size of the data.
+   *
+   * @param dag the application DAG.
+   */
+  private static void stageInMemorySourceData(final DAG<?, ?> dag) {
+    if (stagingDirectory == null) {
+      return;
+    }
+    for (final Object vertex : dag.getVertices()) {
+      if (vertex instanceof InMemorySourceVertex) {
+        try {
+          ((InMemorySourceVertex<?>) vertex).stageData(stagingDirectory);
+        } catch (final IOException e) {
+          throw new RuntimeException(e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Deletes the temporary staging directory with the data staged in it.
+   */
+  private static void deleteStagingDirectory() {
+    try (final Stream<Path> paths = Files.walk(Paths.get(stagingDirectory))) {
+      paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+    } catch (final IOException e) {
+      LOG.warn("Failed to delete the staging directory {}: {}", stagingDirectory, e);
+    }
+  }
+
+  /**
+   * Sets up the staging directory and the chunk size for submitting DAGs.
+   *
+   * @param jobConf the job configuration.
+   * @throws InjectionException exception while injection.
+   * @throws IOException        exception while creating a temporary staging directory.
+   */
+  private static void setUpDAGSubmission(final Configuration jobConf) throws InjectionException, IOException {
+    final Injector injector = TANG.newInjector(jobConf);
+    dagChunkSize = injector.getNamedInstance(JobConf.DAGChunkSizeKb.class) * 1024;
+    if (dagChunkSize <= 0) {
+      throw new IllegalArgumentException("The DAG chunk size must be positive: " + dagChunkSize);
+    }
+    final String configuredStagingDirectory = injector.getNamedInstance(JobConf.StagingDirectory.class);
+    if (!configuredStagingDirectory.isEmpty()) {
+      Files.createDirectories(Paths.get(configuredStagingDirectory));
+      stagingDirectory = configuredStagingDirectory;
+    } else if ("local".equals(injector.getNamedInstance(JobConf.DeployMode.class))) {
+      // The driver runs on this machine, thus it can read a temporary directory of this machine.
+      stagingDirectory = Files.createTempDirectory("nemo-staging-").toString();
+      isStagingDirectoryTemporary = true;
+    }
+  }
+
+  /**
+   * Keeps the data collected by a DAG, until the execution of the DAG is done.
+   *
+   * @param message the DataCollected message from the driver.
+   */
+  private static void onDataCollected(final ControlMessage.DriverToClientMessage message) {
+    final ControlMessage.DataCollectMessage dataCollected = message.getDataCollected();
+    final List<?> data = SerializationUtils.deserialize(Base64.getDecoder().decode(dataCollected.getData()));
+    JOB_ID_TO_COLLECTED_DATA
+        .computeIfAbsent(dataCollected.getJobId(), jobId -> Collections.synchronizedList(new ArrayList<>()))
+        .addAll(data);
+  }
+
+  /**
+   * Completes the future of a DAG with the data collected by the DAG, or exceptionally if the DAG failed.
+   *
+   * @param message the ExecutionDone message from the driver.
+   */
+  private static void onExecutionDone(final ControlMessage.DriverToClientMessage message) {
+    final String jobId = message.getJobId();
+    final List<Object> collectedData = JOB_ID_TO_COLLECTED_DATA.remove(jobId);
+    final CompletableFuture<List<Object>> future = JOB_ID_TO_FUTURE.remove(jobId);
+    if (future == null) {
+      LOG.warn("Execution of an unknown job {} is done", jobId);
+      return;
+    }
+    if (message.hasFailure()) {
+      future.completeExceptionally(new RuntimeException(jobId + " failed: " + message.getFailure()));
+      return;
+    }
+    future.complete(collectedData == null ? new ArrayList<>() : new ArrayList<>(collectedData));
   }
 
   /**
@@ -270,7 +429,7 @@ public final class JobLauncher {
     final Injector injector = TANG.newInjector(jobConf);
     final String jobId = injector.getNamedInstance(JobConf.JobId.class);
     final int driverMemory = injector.getNamedInstance(JobConf.DriverMemMb.class);
-    return DriverConfiguration.CONF
+    final Configuration driverConf = DriverConfiguration.CONF
         .set(DriverConfiguration.GLOBAL_LIBRARIES, EnvironmentUtils.getClassLocation(NemoDriver.class))
         .set(DriverConfiguration.ON_DRIVER_STARTED, NemoDriver.StartHandler.class)
         .set(DriverConfiguration.ON_EVALUATOR_ALLOCATED, NemoDriver.AllocatedEvaluatorHandler.class)
@@ -281,6 +440,12 @@ public final class JobLauncher {
         .set(DriverConfiguration.DRIVER_IDENTIFIER, jobId)
         .set(DriverConfiguration.DRIVER_MEMORY, driverMemory)
         .build();
+    if (!injector.getNamedInstance(JobConf.LoadAwareScheduling.class)) {
+      return driverConf;
+    }
+    return Configurations.merge(driverConf, TANG.newConfigurationBuilder()
+        .bindImplementation(SchedulingPolicy.class, LoadAwareSchedulingPolicy.class)
+        .build());
   }
 
   /**
@@ -300,20 +465,37 @@ public final class JobLauncher {
     cl.registerShortNameOfClass(JobConf.UserMainArguments.class);
     cl.registerShortNameOfClass(JobConf.DAGDirectory.class);
     cl.registerShortNameOfClass(JobConf.OptimizationPolicy.class);
+    cl.registerShortNameOfClass(JobConf.PlanCacheDirectory.class);
     cl.registerShortNameOfClass(JobConf.DeployMode.class);
     cl.registerShortNameOfClass(JobConf.DriverMemMb.class);
     cl.registerShortNameOfClass(JobConf.ExecutorJSONPath.class);
     cl.registerShortNameOfClass(JobConf.BandwidthJSONPath.class);
     cl.registerShortNameOfClass(JobConf.JVMHeapSlack.class);
     cl.registerShortNameOfClass(JobConf.IORequestHandleThreadsTotal.class);
+    cl.registerShortNameOfClass(JobConf.ReadAheadBlocks.class);
+    cl.registerShortNameOfClass(JobConf.ReadAheadMemMb.class);
+    cl.registerShortNameOfClass(JobConf.ReadAheadThreads.class);
     cl.registerShortNameOfClass(JobConf.MaxTaskAttempt.class);
+    cl.registerShortNameOfClass(JobConf.MetricBroadcastWindowMs.class);
+    cl.registerShortNameOfClass(JobConf.MetricBroadcastQueueSize.class);
+    cl.registerShortNameOfClass(JobConf.GCThrashingThreshold.class);
+    cl.registerShortNameOfClass(JobConf.LoadAwareScheduling.class);
+    cl.registerShortNameOfClass(JobConf.ExecutorHeartbeatPeriodMs.class);
     cl.registerShortNameOfClass(JobConf.FileDirectory.class);
+    cl.registerShortNameOfClass(JobConf.FileStriping.class);
+    cl.registerShortNameOfClass(JobConf.FileWriteBehindMb.class);
+    cl.registerShortNameOfClass(JobConf.FileSync.class);
     cl.registerShortNameOfClass(JobConf.GlusterVolumeDirectory.class);
+    cl.registerShortNameOfClass(JobConf.ResumeFromCheckpoint.class);
     cl.registerShortNameOfClass(JobConf.PartitionTransportServerPort.class);
+    cl.registerShortNameOfClass(JobConf.ShuffleServicePort.class);
     cl.registerShortNameOfClass(JobConf.PartitionTransportServerBacklog.class);
     cl.registerShortNameOfClass(JobConf.PartitionTransportServerNumListeningThreads.class);
     cl.registerShortNameOfClass(JobConf.PartitionTransportServerNumWorkingThreads.class);
     cl.registerShortNameOfClass(JobConf.PartitionTransportClientNumThreads.class);
+    cl.registerShortNameOfClass(JobConf.PartitionTransportReceiveWindowKb.class);
+    cl.registerShortNameOfClass(JobConf.StagingDirectory.class);
+    cl.registerShortNameOfClass(JobConf.DAGChunkSizeKb.class);
     cl.processCommandLine(args);
     return confBuilder.build();
   }
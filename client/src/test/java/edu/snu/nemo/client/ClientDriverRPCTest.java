@@ -15,6 +15,7 @@
  */
 package edu.snu.nemo.client;
 
+import com.google.protobuf.ByteString;
 import edu.snu.nemo.runtime.master.ClientRPC;
 import edu.snu.nemo.runtime.common.comm.ControlMessage;
 import org.apache.reef.tang.Injector;
@@ -86,7 +87,7 @@ public final class ClientDriverRPCTest {
     driverRPCServer.registerHandler(ControlMessage.DriverToClientMessageType.DriverStarted,
         msg -> driverRPCServer.send(ControlMessage.ClientToDriverMessage.newBuilder()
             .setType(ControlMessage.ClientToDriverMessageType.LaunchDAG)
-            .setLaunchDAG(ControlMessage.LaunchDAGMessage.newBuilder().setDag("").build())
+            .setLaunchDAG(ControlMessage.LaunchDAGMessage.newBuilder().setDag(ByteString.EMPTY).build())
             .build()));
     setupClientRPC();
     clientRPC.registerHandler(ControlMessage.ClientToDriverMessageType.LaunchDAG, msg -> latch.countDown());
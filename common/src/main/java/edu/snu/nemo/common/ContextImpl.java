@@ -17,6 +17,8 @@ package edu.snu.nemo.common;
 
 import edu.snu.nemo.common.ir.vertex.transform.Transform;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -26,6 +28,7 @@ import java.util.Optional;
 public final class ContextImpl implements Transform.Context {
   private final Map sideInputs;
   private final Map<String, String> additionalTagOutputs;
+  private final List<String> spillDirectories;
   private String data;
 
   /**
@@ -33,8 +36,19 @@ public final class ContextImpl implements Transform.Context {
    * @param sideInputs side inputs.
    */
   public ContextImpl(final Map sideInputs, final Map additionalTagOutputs) {
+    this(sideInputs, additionalTagOutputs, Collections.emptyList());
+  }
+
+  /**
+   * Constructor of Context Implementation.
+   * @param sideInputs           side inputs.
+   * @param additionalTagOutputs additional tag outputs.
+   * @param spillDirectories     the local directories to spill data to.
+   */
+  public ContextImpl(final Map sideInputs, final Map additionalTagOutputs, final List<String> spillDirectories) {
     this.sideInputs = sideInputs;
     this.additionalTagOutputs = additionalTagOutputs;
+    this.spillDirectories = spillDirectories;
     this.data = null;
   }
 
@@ -57,4 +71,9 @@ public final class ContextImpl implements Transform.Context {
   public Optional<String> getSerializedData() {
     return Optional.ofNullable(this.data);
   }
+
+  @Override
+  public List<String> getSpillDirectories() {
+    return this.spillDirectories;
+  }
 }
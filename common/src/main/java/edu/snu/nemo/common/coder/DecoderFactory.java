@@ -38,6 +38,14 @@ public interface DecoderFactory<T> extends Serializable {
    */
   Decoder<T> create(InputStream inputStream) throws IOException;
 
+  /**
+   * @return whether the elements, or any part of them, are decoded through Java serialization.
+   *         Such edges can be switched to a faster coder at compile time.
+   */
+  default boolean isJavaSerialization() {
+    return false;
+  }
+
   /**
    * Interface of Decoder.
    *
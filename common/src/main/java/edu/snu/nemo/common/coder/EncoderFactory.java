@@ -37,6 +37,14 @@ public interface EncoderFactory<T> extends Serializable {
    */
   Encoder<T> create(OutputStream outputStream) throws IOException;
 
+  /**
+   * @return whether the elements, or any part of them, are encoded through Java serialization.
+   *         Such edges can be switched to a faster coder at compile time.
+   */
+  default boolean isJavaSerialization() {
+    return false;
+  }
+
   /**
    * Interface of Encoder.
    *
@@ -54,6 +62,17 @@ public interface EncoderFactory<T> extends Serializable {
      * @throws IOException if fail to encode
      */
     void encode(T element) throws IOException;
+
+    /**
+     * Writes out the elements buffered in this encoder, if any.
+     * It is called once after the last element is encoded, before the output stream is closed.
+     * Encoders which write each element directly to the output stream do not need to override this.
+     *
+     * @throws IOException if fail to encode
+     */
+    default void flush() throws IOException {
+      // Nothing is buffered by default.
+    }
   }
 
   /**
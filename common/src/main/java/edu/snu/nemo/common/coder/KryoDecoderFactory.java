@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.common.coder;
+
+import com.esotericsoftware.kryo.KryoException;
+import com.esotericsoftware.kryo.io.Input;
+import com.google.common.io.ByteStreams;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A {@link DecoderFactory} which decodes objects encoded by {@link KryoEncoderFactory}.
+ * It reads exactly one length-prefixed element at a time, so that it can share the stream with other decoders.
+ * A malformed or truncated element fails with {@link KryoException} rather than {@link IOException},
+ * which callers regard as the end of the stream.
+ *
+ * @param <T> element type.
+ */
+public final class KryoDecoderFactory<T> implements DecoderFactory<T> {
+  private static final int BUFFER_SIZE = 4096;
+
+  private final KryoRegistration registration;
+
+  /**
+   * Private constructor.
+   *
+   * @param registration the registration of classes and settings to use.
+   */
+  private KryoDecoderFactory(final KryoRegistration registration) {
+    this.registration = registration;
+  }
+
+  /**
+   * Static initializer of the coder with the default registration.
+   *
+   * @param <T> element type.
+   * @return the new decoder factory.
+   */
+  public static <T> KryoDecoderFactory<T> of() {
+    return new KryoDecoderFactory<>(KryoRegistration.of());
+  }
+
+  /**
+   * Static initializer of the coder.
+   *
+   * @param registration the registration of classes and settings to use.
+   *                     It has to be the registration used by the encoder factory of the same edge.
+   * @param <T>          element type.
+   * @return the new decoder factory.
+   */
+  public static <T> KryoDecoderFactory<T> of(final KryoRegistration registration) {
+    return new KryoDecoderFactory<>(registration);
+  }
+
+  @Override
+  public Decoder<T> create(final InputStream inputStream) {
+    return new KryoDecoder<>(inputStream);
+  }
+
+  /**
+   * KryoDecoder.
+   *
+   * @param <T2> element type.
+   */
+  private final class KryoDecoder<T2> implements Decoder<T2> {
+
+    private final InputStream inputStream;
+    private final Input input = new Input();
+    private byte[] elementBytes = new byte[BUFFER_SIZE];
+
+    /**
+     * Constructor.
+     *
+     * @param inputStream the input stream to decode.
+     */
+    private KryoDecoder(final InputStream inputStream) {
+      this.inputStream = inputStream;
+    }
+
+    @Override
+    public T2 decode() throws IOException {
+      final int firstByte = inputStream.read();
+      if (firstByte == -1) {
+        throw new EOFException();
+      }
+      final int length;
+      try {
+        ByteStreams.readFully(inputStream, elementBytes, 0, Integer.BYTES - 1);
+        length = (firstByte << 24) | ((elementBytes[0] & 0xFF) << 16)
+            | ((elementBytes[1] & 0xFF) << 8) | (elementBytes[2] & 0xFF);
+        if (length < 0) {
+          throw new KryoException("Negative element length: " + length);
+        }
+        if (length > elementBytes.length) {
+          elementBytes = new byte[Math.max(length, elementBytes.length * 2)];
+        }
+        ByteStreams.readFully(inputStream, elementBytes, 0, length);
+      } catch (final EOFException e) {
+        throw new KryoException("The stream ended in the middle of an element", e);
+      }
+      input.setBuffer(elementBytes, 0, length);
+      return (T2) registration.getKryo().readClassAndObject(input);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "KryoDecoderFactory{" + registration + "}";
+  }
+}
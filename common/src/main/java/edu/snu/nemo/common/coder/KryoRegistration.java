@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.common.coder;
+
+import com.esotericsoftware.kryo.Kryo;
+import org.objenesis.strategy.StdInstantiatorStrategy;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Registration of classes and settings for {@link KryoEncoderFactory} and {@link KryoDecoderFactory}.
+ * The encoder and the decoder of an edge have to share the same registration,
+ * because Kryo writes registered classes as ids that depend on the order of registration.
+ * Class registration and reference tracking are turned off by default.
+ */
+public final class KryoRegistration implements Serializable {
+  private static final KryoRegistration DEFAULT_REGISTRATION =
+      new KryoRegistration(Collections.emptyList(), false, false);
+
+  private final List<Class<?>> classesToRegister;
+  private final boolean registrationRequired;
+  private final boolean referenceTracking;
+  // Kryo instances are neither thread-safe nor serializable, so we keep one instance per thread.
+  private transient volatile ThreadLocal<Kryo> kryoPerThread;
+
+  /**
+   * Private constructor.
+   *
+   * @param classesToRegister    the classes to register, in the order of registration.
+   * @param registrationRequired whether to reject classes which are not registered.
+   * @param referenceTracking    whether to track references to handle shared or cyclic objects.
+   */
+  private KryoRegistration(final List<Class<?>> classesToRegister,
+                           final boolean registrationRequired,
+                           final boolean referenceTracking) {
+    this.classesToRegister = new ArrayList<>(classesToRegister);
+    this.registrationRequired = registrationRequired;
+    this.referenceTracking = referenceTracking;
+  }
+
+  /**
+   * @return the default registration, which registers no class and tracks no reference.
+   */
+  public static KryoRegistration of() {
+    return DEFAULT_REGISTRATION;
+  }
+
+  /**
+   * Static initializer of the registration.
+   * Registered classes are written as small integer ids instead of their full class names.
+   *
+   * @param registrationRequired whether to reject classes which are not registered.
+   * @param referenceTracking    whether to track references to handle shared or cyclic objects.
+   * @param classesToRegister    the classes to register, in the order of registration.
+   * @return the new registration.
+   */
+  public static KryoRegistration of(final boolean registrationRequired,
+                                    final boolean referenceTracking,
+                                    final Class<?>... classesToRegister) {
+    return new KryoRegistration(Arrays.asList(classesToRegister), registrationRequired, referenceTracking);
+  }
+
+  /**
+   * @return the Kryo instance of the current thread, configured by this registration.
+   */
+  Kryo getKryo() {
+    if (kryoPerThread == null) {
+      synchronized (this) {
+        if (kryoPerThread == null) {
+          kryoPerThread = ThreadLocal.withInitial(this::newKryo);
+        }
+      }
+    }
+    return kryoPerThread.get();
+  }
+
+  /**
+   * @return a new Kryo instance configured by this registration.
+   */
+  private Kryo newKryo() {
+    final Kryo kryo = new Kryo();
+    kryo.setRegistrationRequired(registrationRequired);
+    kryo.setReferences(referenceTracking);
+    // Use the no-arg constructor if there is one, and skip constructors otherwise (as Java serialization does).
+    kryo.setInstantiatorStrategy(new Kryo.DefaultInstantiatorStrategy(new StdInstantiatorStrategy()));
+    classesToRegister.forEach(kryo::register);
+    return kryo;
+  }
+
+  @Override
+  public String toString() {
+    return "KryoRegistration{registrationRequired=" + registrationRequired
+        + ", referenceTracking=" + referenceTracking
+        + ", classes=" + classesToRegister + "}";
+  }
+}
@@ -60,6 +60,11 @@ public final class PairDecoderFactory<A, B> implements DecoderFactory<Pair<A, B>
     return new PairDecoder<>(inputStream, leftDecoderFactory, rightDecoderFactory);
   }
 
+  @Override
+  public boolean isJavaSerialization() {
+    return leftDecoderFactory.isJavaSerialization() || rightDecoderFactory.isJavaSerialization();
+  }
+
   /**
    * PairDecoder.
    * @param <T1> type for the left coder.
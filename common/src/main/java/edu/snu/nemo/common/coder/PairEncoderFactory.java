@@ -16,6 +16,8 @@
 package edu.snu.nemo.common.coder;
 
 import edu.snu.nemo.common.Pair;
+
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 
@@ -25,6 +27,8 @@ import java.io.OutputStream;
  * @param <B> type for the right coder.
  */
 public final class PairEncoderFactory<A, B> implements EncoderFactory<Pair<A, B>> {
+  private static final int BUFFER_SIZE = 4096;
+
   private final EncoderFactory<A> leftEncoderFactory;
   private final EncoderFactory<B> rightEncoderFactory;
 
@@ -59,6 +63,11 @@ public final class PairEncoderFactory<A, B> implements EncoderFactory<Pair<A, B>
     return new PairEncoder<>(outputStream, leftEncoderFactory, rightEncoderFactory);
   }
 
+  @Override
+  public boolean isJavaSerialization() {
+    return leftEncoderFactory.isJavaSerialization() || rightEncoderFactory.isJavaSerialization();
+  }
+
   /**
    * PairEncoder.
    * @param <T1> type for the left coder.
@@ -66,6 +75,9 @@ public final class PairEncoderFactory<A, B> implements EncoderFactory<Pair<A, B>
    */
   private final class PairEncoder<T1, T2> implements Encoder<Pair<T1, T2>> {
 
+    private final OutputStream outputStream;
+    // The left and the right encoders write to this buffer, and are flushed per element to keep the order.
+    private final SharedBuffer sharedBuffer = new SharedBuffer();
     private final Encoder<T1> leftEncoder;
     private final Encoder<T2> rightEncoder;
 
@@ -80,8 +92,9 @@ public final class PairEncoderFactory<A, B> implements EncoderFactory<Pair<A, B>
     private PairEncoder(final OutputStream outputStream,
                         final EncoderFactory<T1> leftEncoderFactory,
                         final EncoderFactory<T2> rightEncoderFactory) throws IOException {
-      this.leftEncoder = leftEncoderFactory.create(outputStream);
-      this.rightEncoder = rightEncoderFactory.create(outputStream);
+      this.outputStream = outputStream;
+      this.leftEncoder = leftEncoderFactory.create(sharedBuffer);
+      this.rightEncoder = rightEncoderFactory.create(sharedBuffer);
     }
 
     @Override
@@ -90,7 +103,28 @@ public final class PairEncoderFactory<A, B> implements EncoderFactory<Pair<A, B>
         throw new IOException("cannot encode a null pair");
       }
       leftEncoder.encode(pair.left());
+      leftEncoder.flush();
       rightEncoder.encode(pair.right());
+      rightEncoder.flush();
+      if (sharedBuffer.size() >= BUFFER_SIZE) {
+        flush();
+      }
+    }
+
+    @Override
+    public void flush() throws IOException {
+      sharedBuffer.writeTo(outputStream);
+      sharedBuffer.reset();
+    }
+  }
+
+  /**
+   * A buffer which ignores flushes by the left and the right encoders.
+   */
+  private static final class SharedBuffer extends ByteArrayOutputStream {
+    @Override
+    public void flush() {
+      // The buffered bytes are written out by the pair encoder.
     }
   }
 }
@@ -15,6 +15,7 @@
  */
 package edu.snu.nemo.common.dag;
 
+import edu.snu.nemo.common.Pair;
 import edu.snu.nemo.common.exception.IllegalEdgeOperationException;
 import edu.snu.nemo.common.exception.IllegalVertexOperationException;
 import edu.snu.nemo.common.ir.vertex.LoopVertex;
@@ -46,6 +47,10 @@ public final class DAG<V extends Vertex, E extends Edge<V>> implements Serializa
   private final Map<String, LoopVertex> assignedLoopVertexMap;
   private final Map<String, Integer> loopStackDepthMap;
 
+  // Indices over the (immutable) structure above, lazily computed on the first use and not serialized.
+  private transient volatile Index index;
+  private transient volatile Reachability reachability;
+
   /**
    * Constructor of DAG, called by the DAGBuilder.
    * @param vertices set of vertices.
@@ -101,12 +106,11 @@ public final class DAG<V extends Vertex, E extends Edge<V>> implements Serializa
    * @throws IllegalVertexOperationException when the requested vertex does not exist.
    */
   public V getVertexById(final String id) {
-    for (final V vertex : vertices) {
-      if (vertex.getId().equals(id)) {
-        return vertex;
-      }
+    final V vertex = getIndex().idToVertex.get(id);
+    if (vertex == null) {
+      throw new IllegalVertexOperationException("There is no vertex of id: " + id);
     }
-    throw new IllegalVertexOperationException("There is no vertex of id: " + id);
+    return vertex;
   }
 
   /**
@@ -192,13 +196,12 @@ public final class DAG<V extends Vertex, E extends Edge<V>> implements Serializa
    * @throws IllegalEdgeOperationException otherwise.
    */
   public E getEdgeBetween(final String srcVertexId, final String dstVertexId) throws IllegalEdgeOperationException {
-    for (E e : incomingEdges.get(dstVertexId)) {
-      if (e.getSrc().getId().equals(srcVertexId)) {
-        return e;
-      }
+    final E edge = getIndex().srcDstToEdge.get(Pair.of(srcVertexId, dstVertexId));
+    if (edge == null) {
+      throw new IllegalEdgeOperationException(
+          new Throwable("There exists no edge from " + srcVertexId + " to " + dstVertexId));
     }
-    throw new IllegalEdgeOperationException(
-        new Throwable("There exists no edge from " + srcVertexId + " to " + dstVertexId));
+    return edge;
   }
 
   /**
@@ -212,49 +215,39 @@ public final class DAG<V extends Vertex, E extends Edge<V>> implements Serializa
   /**
    * Gets the DAG's vertices in topologically sorted order.
    * This function brings consistent results.
-   * @return the sorted list of vertices in topological order.
+   * @return the unmodifiable sorted list of vertices in topological order.
    */
   public List<V> getTopologicalSort() {
-    final List<V> sortedList = new ArrayList<>(vertices.size());
-    topologicalDo(sortedList::add);
-    return sortedList;
+    return getIndex().topologicalOrder;
   }
 
   /**
    * Retrieves the ancestors of a vertex.
    * @param vertexId to find the ancestors for.
-   * @return the list of ancestors.
+   * @return the list of ancestors, in topological order.
    */
   public List<V> getAncestors(final String vertexId) {
-    final List<V> ancestors = new ArrayList<>();
-    addAncestors(ancestors, vertexId);
-    return ancestors;
+    return toVertices(getReachability().ancestors[getTopologicalIndexOf(vertexId)]);
   }
 
   /**
-   * Recursively adds ancestors of a vertex to the given list.
-   * @param ancestorList to accumulate the ancestors.
-   * @param vertexId to find the ancestors for.
+   * Retrieves the descendants of a vertex.
+   * @param vertexId to find the descendants for.
+   * @return the list of descendants, in topological order.
    */
-  private void addAncestors(final List<V> ancestorList, final String vertexId) {
-    getParents(vertexId).forEach(parent -> {
-      ancestorList.add(parent);
-      addAncestors(ancestorList, parent.getId());
-    });
+  public List<V> getDescendants(final String vertexId) {
+    return toVertices(getReachability().descendants[getTopologicalIndexOf(vertexId)]);
   }
 
   /**
-   * Retrieves the descendants of a vertex.
-   * @param vertexId to find the descendants for.
-   * @return the list of descendants.
+   * @param vertexIndices the topological indices of vertices.
+   * @return the vertices of the indices, in topological order.
    */
-  public List<V> getDescendants(final String vertexId) {
-    final List<V> descendants = new ArrayList<>();
-    final Set<V> visited = new HashSet<>();
-    final V vertex = getVertexById(vertexId);
-    dfsDo(vertex, descendants::add, TraversalOrder.PostOrder, visited);
-    descendants.remove(vertex);
-    return descendants;
+  private List<V> toVertices(final BitSet vertexIndices) {
+    final List<V> topologicalOrder = getTopologicalSort();
+    final List<V> result = new ArrayList<>(vertexIndices.cardinality());
+    vertexIndices.stream().forEachOrdered(i -> result.add(topologicalOrder.get(i)));
+    return result;
   }
 
   /**
@@ -273,11 +266,7 @@ public final class DAG<V extends Vertex, E extends Edge<V>> implements Serializa
    * @param function to apply.
    */
   public void topologicalDo(final Consumer<V> function) {
-    final Stack<V> stack = new Stack<>();
-    dfsTraverse(stack::push, TraversalOrder.PostOrder);
-    while (!stack.isEmpty()) {
-      function.accept(stack.pop());
-    }
+    getTopologicalSort().forEach(function);
   }
 
   /**
@@ -325,13 +314,123 @@ public final class DAG<V extends Vertex, E extends Edge<V>> implements Serializa
    * @return Whether or not there is a path between two vertices.
    */
   public Boolean pathExistsBetween(final V v1, final V v2) {
-    final Set<V> reachableFromV1 = new HashSet<>();
-    final Set<V> reachableFromV2 = new HashSet<>();
+    final int index1 = getTopologicalIndexOf(v1.getId());
+    final int index2 = getTopologicalIndexOf(v2.getId());
+    if (index1 == index2) {
+      return true;
+    }
+    // A path can only go forward in the topological order.
+    final BitSet[] descendants = getReachability().descendants;
+    return index1 < index2 ? descendants[index1].get(index2) : descendants[index2].get(index1);
+  }
+
+  /**
+   * @param vertexId the ID of the vertex.
+   * @return the position of the vertex in {@link #getTopologicalSort()}.
+   * @throws IllegalVertexOperationException when the requested vertex does not exist.
+   */
+  private int getTopologicalIndexOf(final String vertexId) {
+    final Integer topologicalIndex = getIndex().idToTopologicalIndex.get(vertexId);
+    if (topologicalIndex == null) {
+      throw new IllegalVertexOperationException("There is no vertex of id: " + vertexId);
+    }
+    return topologicalIndex;
+  }
+
+  /**
+   * @return the index of this DAG, computing it if it is not yet computed.
+   */
+  private Index getIndex() {
+    Index currentIndex = index;
+    if (currentIndex == null) {
+      // Concurrent callers may compute it more than once, but they end up with the same result.
+      currentIndex = new Index();
+      index = currentIndex;
+    }
+    return currentIndex;
+  }
 
-    this.dfsDo(v1, (v) -> { }, TraversalOrder.PostOrder, reachableFromV1);
-    this.dfsDo(v2, (v) -> { }, TraversalOrder.PostOrder, reachableFromV2);
+  /**
+   * @return the reachability of this DAG, computing it if it is not yet computed.
+   */
+  private Reachability getReachability() {
+    Reachability currentReachability = reachability;
+    if (currentReachability == null) {
+      currentReachability = new Reachability();
+      reachability = currentReachability;
+    }
+    return currentReachability;
+  }
+
+  /**
+   * Topological order of the vertices, and lookup tables for the vertices and the edges.
+   */
+  private final class Index {
+    private final List<V> topologicalOrder;
+    private final Map<String, Integer> idToTopologicalIndex;
+    private final Map<String, V> idToVertex;
+    private final Map<Pair<String, String>, E> srcDstToEdge;
+
+    /**
+     * Computes the index of the enclosing DAG.
+     */
+    private Index() {
+      final List<V> postOrder = new ArrayList<>(vertices.size());
+      dfsTraverse(postOrder::add, TraversalOrder.PostOrder);
+      Collections.reverse(postOrder);
+      this.topologicalOrder = Collections.unmodifiableList(postOrder);
+
+      this.idToTopologicalIndex = new HashMap<>();
+      this.idToVertex = new HashMap<>();
+      for (int i = 0; i < postOrder.size(); i++) {
+        final V vertex = postOrder.get(i);
+        idToTopologicalIndex.put(vertex.getId(), i);
+        idToVertex.put(vertex.getId(), vertex);
+      }
 
-    return reachableFromV1.contains(v2) || reachableFromV2.contains(v1);
+      // Among multiple edges between the same vertices, the one with the smallest numeric ID is kept.
+      this.srcDstToEdge = new HashMap<>();
+      incomingEdges.values().forEach(edges -> edges.forEach(edge ->
+          srcDstToEdge.putIfAbsent(Pair.of(edge.getSrc().getId(), edge.getDst().getId()), edge)));
+    }
+  }
+
+  /**
+   * Ancestors and descendants of each vertex, as bitsets over the topological indices of the vertices.
+   */
+  private final class Reachability {
+    private final BitSet[] ancestors;
+    private final BitSet[] descendants;
+
+    /**
+     * Computes the reachability of the enclosing DAG, in a single pass over the topological order for each direction.
+     */
+    private Reachability() {
+      final Index dagIndex = getIndex();
+      final int numVertices = dagIndex.topologicalOrder.size();
+      this.ancestors = new BitSet[numVertices];
+      this.descendants = new BitSet[numVertices];
+
+      for (int i = 0; i < numVertices; i++) {
+        final BitSet ancestorsOfVertex = new BitSet(numVertices);
+        for (final E edge : getIncomingEdgesOf(dagIndex.topologicalOrder.get(i))) {
+          final int parentIndex = dagIndex.idToTopologicalIndex.get(edge.getSrc().getId());
+          ancestorsOfVertex.set(parentIndex);
+          ancestorsOfVertex.or(ancestors[parentIndex]);
+        }
+        ancestors[i] = ancestorsOfVertex;
+      }
+
+      for (int i = numVertices - 1; i >= 0; i--) {
+        final BitSet descendantsOfVertex = new BitSet(numVertices);
+        for (final E edge : getOutgoingEdgesOf(dagIndex.topologicalOrder.get(i))) {
+          final int childIndex = dagIndex.idToTopologicalIndex.get(edge.getDst().getId());
+          descendantsOfVertex.set(childIndex);
+          descendantsOfVertex.or(descendants[childIndex]);
+        }
+        descendants[i] = descendantsOfVertex;
+      }
+    }
   }
 
   /**
@@ -405,11 +504,27 @@ public final class DAG<V extends Vertex, E extends Edge<V>> implements Serializa
     if (directory == null || directory.equals(EMPTY_DAG_DIRECTORY)) {
       return;
     }
+    storeJSON(directory, name, description, toString());
+  }
+
+  /**
+   * Stores the given JSON representation of a DAG into a file.
+   * This allows taking the JSON representation of a DAG while it is not modified, and storing it later on.
+   * @param directory the directory which JSON representation is saved to
+   * @param name name of the DAG
+   * @param description description of the DAG
+   * @param json the JSON representation of the DAG, obtained by {@link #toString()}
+   */
+  public static void storeJSON(final String directory, final String name, final String description,
+                               final String json) {
+    if (directory == null || directory.equals(EMPTY_DAG_DIRECTORY)) {
+      return;
+    }
 
     final File file = new File(directory, name + ".json");
     file.getParentFile().mkdirs();
     try (final PrintWriter printWriter = new PrintWriter(file)) {
-      printWriter.println(toString());
+      printWriter.println(json);
       printWriter.close();
       LOG.debug(String.format("DAG JSON for %s is saved at %s"
           + " (Use https://service.jangho.kr/nemo-dag/ to visualize it.)", description, file.getPath()));
@@ -82,7 +82,7 @@ public final class DAGBuilder<V extends Vertex, E extends Edge<V>> implements Se
    * @param stackDepth the stack depth of the loop vertex.
    * @return the builder.
    */
-  private DAGBuilder<V, E> addVertex(final V v, final LoopVertex assignedLoopVertex, final Integer stackDepth) {
+  public DAGBuilder<V, E> addVertex(final V v, final LoopVertex assignedLoopVertex, final Integer stackDepth) {
     addVertex(v);
     this.assignedLoopVertexMap.put(v, assignedLoopVertex);
     this.loopStackDepthMap.put(v, stackDepth);
@@ -248,10 +248,9 @@ public final class DAGBuilder<V extends Vertex, E extends Edge<V>> implements Se
           throw new RuntimeException("DAG execution property check: "
               + "SideInput edge is not compatible with push" + e.getId());
         }));
-    // DataSizeMetricCollection is not compatible with Push (All data have to be stored before the data collection)
+    // MetricCollection is not compatible with Push (All data have to be stored before the data collection)
     vertices.forEach(v -> incomingEdges.get(v).stream().filter(e -> e instanceof IREdge).map(e -> (IREdge) e)
-        .filter(e -> Optional.of(MetricCollectionProperty.Value.DataSkewRuntimePass)
-                      .equals(e.getPropertyValue(MetricCollectionProperty.class)))
+        .filter(e -> e.getPropertyValue(MetricCollectionProperty.class).isPresent())
         .filter(e -> DataFlowProperty.Value.Push.equals(e.getPropertyValue(DataFlowProperty.class).get()))
         .forEach(e -> {
           throw new RuntimeException("DAG execution property check: "
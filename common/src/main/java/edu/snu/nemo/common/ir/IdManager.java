@@ -15,6 +15,7 @@
  */
 package edu.snu.nemo.common.ir;
 
+import java.util.Collection;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -44,6 +45,34 @@ public final class IdManager {
     return "edge" + (isDriver ? "-d" : "-") + edgeId.getAndIncrement();
   }
 
+  /**
+   * Makes the IDs generated afterwards differ from the given IDs,
+   * which may have been generated by another driver, e.g., the IDs in an IR DAG loaded from the disk.
+   * @param generatedIds the vertex and edge IDs.
+   */
+  public static void reserveDriverIds(final Collection<String> generatedIds) {
+    generatedIds.forEach(id -> {
+      if (id.startsWith("vertex-d")) {
+        reserve(vertexId, id.substring("vertex-d".length()));
+      } else if (id.startsWith("edge-d")) {
+        reserve(edgeId, id.substring("edge-d".length()));
+      }
+    });
+  }
+
+  /**
+   * @param counter the counter to advance.
+   * @param number the number in a generated ID, which the counter is advanced past.
+   */
+  private static void reserve(final AtomicInteger counter, final String number) {
+    try {
+      final int reservedNumber = Integer.parseInt(number);
+      counter.accumulateAndGet(reservedNumber + 1, Math::max);
+    } catch (final NumberFormatException e) {
+      // Not generated by this class.
+    }
+  }
+
   /**
    * Set the realm of the loaded class as REEF driver.
    */
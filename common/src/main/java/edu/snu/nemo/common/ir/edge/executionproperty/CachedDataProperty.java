@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.common.ir.edge.executionproperty;
+
+import edu.snu.nemo.common.ir.executionproperty.EdgeExecutionProperty;
+
+/**
+ * The id of an edge of a previous job, whose cached blocks are read through this edge instead of its own blocks.
+ */
+public final class CachedDataProperty extends EdgeExecutionProperty<String> {
+  /**
+   * Constructor.
+   * @param value value of the execution property.
+   */
+  private CachedDataProperty(final String value) {
+    super(value);
+  }
+
+  /**
+   * Static method exposing the constructor.
+   * @param cachedEdgeId the id of the edge whose blocks are cached.
+   * @return the newly created execution property.
+   */
+  public static CachedDataProperty of(final String cachedEdgeId) {
+    return new CachedDataProperty(cachedEdgeId);
+  }
+}
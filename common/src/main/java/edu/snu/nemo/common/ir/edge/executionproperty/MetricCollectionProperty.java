@@ -42,6 +42,7 @@ public final class MetricCollectionProperty extends EdgeExecutionProperty<Metric
    * Possible values of MetricCollection ExecutionProperty.
    */
   public enum Value {
-    DataSkewRuntimePass
+    DataSkewRuntimePass,
+    RangePartitionRuntimePass
   }
 }
@@ -45,6 +45,7 @@ public final class PartitionerProperty extends EdgeExecutionProperty<Partitioner
     DataSkewHashPartitioner,
     HashPartitioner,
     IntactPartitioner,
-    DedicatedKeyPerElementPartitioner
+    DedicatedKeyPerElementPartitioner,
+    RangePartitioner
   }
 }
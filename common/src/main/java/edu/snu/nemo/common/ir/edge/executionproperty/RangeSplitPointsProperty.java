@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.common.ir.edge.executionproperty;
+
+import edu.snu.nemo.common.ir.executionproperty.EdgeExecutionProperty;
+
+import java.util.ArrayList;
+
+/**
+ * The sorted keys that split the data of an edge with {@link PartitionerProperty.Value#RangePartitioner}
+ * into the ranges of keys for the destination tasks.
+ * The i-th destination task receives the keys in [i-1-th split point, i-th split point).
+ * This is set at runtime, from the keys sampled by the source tasks.
+ */
+public final class RangeSplitPointsProperty extends EdgeExecutionProperty<ArrayList<Object>> {
+  /**
+   * Constructor.
+   * @param value value of the execution property.
+   */
+  private RangeSplitPointsProperty(final ArrayList<Object> value) {
+    super(value);
+  }
+
+  /**
+   * Static method exposing the constructor.
+   * @param splitPoints the sorted split points, one less than the destination tasks.
+   * @return the newly created execution property.
+   */
+  public static RangeSplitPointsProperty of(final ArrayList<Object> splitPoints) {
+    return new RangeSplitPointsProperty(splitPoints);
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.common.ir.vertex;
+
+import edu.snu.nemo.common.ir.Readable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Source vertex standing for a vertex whose output has been cached by a previous job.
+ * It reads nothing by itself: its outgoing edge reads the cached blocks, one for each of its tasks.
+ * @param <T> type of data.
+ */
+public final class CachedSourceVertex<T> extends SourceVertex<T> {
+  private String cachedVertexId;
+  private int numOfCachedBlocks;
+
+  /**
+   * Constructor.
+   * @param cachedVertexId    the id of the cached vertex.
+   * @param numOfCachedBlocks the number of the cached blocks, which is the parallelism of the cached vertex.
+   */
+  public CachedSourceVertex(final String cachedVertexId, final int numOfCachedBlocks) {
+    this.cachedVertexId = cachedVertexId;
+    this.numOfCachedBlocks = numOfCachedBlocks;
+  }
+
+  @Override
+  public CachedSourceVertex<T> getClone() {
+    final CachedSourceVertex<T> that = new CachedSourceVertex<>(cachedVertexId, numOfCachedBlocks);
+    this.copyExecutionPropertiesTo(that);
+    return that;
+  }
+
+  /**
+   * @return the id of the cached vertex.
+   */
+  public String getCachedVertexId() {
+    return cachedVertexId;
+  }
+
+  @Override
+  public List<Readable<T>> getReadables(final int desiredNumOfSplits) {
+    // The parallelism is fixed by the cached blocks.
+    final List<Readable<T>> readables = new ArrayList<>(numOfCachedBlocks);
+    for (int i = 0; i < numOfCachedBlocks; i++) {
+      readables.add(new EmptyReadable<>());
+    }
+    return readables;
+  }
+
+  @Override
+  public void clearInternalStates() {
+    // Nothing to clear.
+  }
+
+  @Override
+  protected void takeOverSource(final SourceVertex<T> that) {
+    final CachedSourceVertex<T> thatVertex = (CachedSourceVertex<T>) that;
+    cachedVertexId = thatVertex.cachedVertexId;
+    numOfCachedBlocks = thatVertex.numOfCachedBlocks;
+  }
+
+  @Override
+  public long getEstimatedSizeBytes() {
+    return -1;
+  }
+
+  @Override
+  public String propertiesToJSON() {
+    final StringBuilder sb = new StringBuilder();
+    sb.append("{");
+    sb.append(irVertexPropertiesToString());
+    sb.append(", \"cachedVertex\": \"");
+    sb.append(cachedVertexId);
+    sb.append("\"}");
+    return sb.toString();
+  }
+
+  /**
+   * Reads nothing.
+   * @param <T> type of the data.
+   */
+  private static final class EmptyReadable<T> implements Readable<T> {
+    @Override
+    public Iterable<T> read() {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public List<String> getLocations() {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
@@ -16,39 +16,83 @@
 package edu.snu.nemo.common.ir.vertex;
 
 import edu.snu.nemo.common.ir.Readable;
+import org.apache.commons.lang3.SerializationUtils;
 
+import java.io.*;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
 /**
  * Source vertex with the data in memory.
+ * The data can be staged to a file, so that the vertex is serialized with the path of the file instead of the data.
  * @param <T> type of data.
  */
 public final class InMemorySourceVertex<T> extends SourceVertex<T> {
   private Iterable<T> initializedSourceData;
+  private String stagedDataPath; // null if the data is not staged.
 
   /**
    * Constructor.
    * @param initializedSourceData the initial data object.
    */
   public InMemorySourceVertex(final Iterable<T> initializedSourceData) {
+    this(initializedSourceData, null);
+  }
+
+  /**
+   * Constructor.
+   * @param initializedSourceData the initial data object, or {@code null} if the data is staged.
+   * @param stagedDataPath        the path of the file the data is staged to, or {@code null}.
+   */
+  private InMemorySourceVertex(final Iterable<T> initializedSourceData, final String stagedDataPath) {
     this.initializedSourceData = initializedSourceData;
+    this.stagedDataPath = stagedDataPath;
   }
 
   @Override
-  public InMemorySourceVertex<T> getClone() {
-    final InMemorySourceVertex<T> that = new InMemorySourceVertex<>(this.initializedSourceData);
+  public synchronized InMemorySourceVertex<T> getClone() {
+    final InMemorySourceVertex<T> that = new InMemorySourceVertex<>(this.initializedSourceData, this.stagedDataPath);
     this.copyExecutionPropertiesTo(that);
     return that;
   }
 
+  /**
+   * Writes the data to a new file in the given directory, and refers to the file instead of holding the data.
+   * The file is read when the readables are made, thus it should be accessible at the same path from there.
+   * Nothing happens if the data has already been staged, so the data is written at most once
+   * even if the vertex is submitted in multiple DAGs.
+   * @param stagingDirectory the directory to write the data to.
+   * @throws IOException if failed to write the data.
+   */
+  public synchronized void stageData(final String stagingDirectory) throws IOException {
+    if (stagedDataPath != null || initializedSourceData == null) {
+      return;
+    }
+    final ArrayList<T> data = new ArrayList<>();
+    initializedSourceData.forEach(data::add);
+    final File file = File.createTempFile(getId() + "-", ".data", new File(stagingDirectory));
+    try (final OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(file))) {
+      SerializationUtils.serialize(data, outputStream);
+    }
+    stagedDataPath = file.getAbsolutePath();
+    initializedSourceData = null;
+  }
+
+  /**
+   * @return the path of the file the data is staged to, or {@code null} if the data is not staged.
+   */
+  public synchronized String getStagedDataPath() {
+    return stagedDataPath;
+  }
+
   @Override
   public List<Readable<T>> getReadables(final int desiredNumOfSplits) throws Exception {
+    final Iterable<T> sourceData = readSourceData();
 
     final List<Readable<T>> readables = new ArrayList<>();
-    final long sliceSize = initializedSourceData.spliterator().getExactSizeIfKnown() / desiredNumOfSplits;
-    final Iterator<T> iterator = initializedSourceData.iterator();
+    final long sliceSize = sourceData.spliterator().getExactSizeIfKnown() / desiredNumOfSplits;
+    final Iterator<T> iterator = sourceData.iterator();
 
     for (int i = 0; i < desiredNumOfSplits; i++) {
       final List<T> dataForReader = new ArrayList<>();
@@ -66,11 +110,45 @@ public final class InMemorySourceVertex<T> extends SourceVertex<T> {
     return readables;
   }
 
+  /**
+   * @return the data, which is read from the staged file if the data has been staged.
+   * @throws IOException if failed to read the staged file.
+   */
+  private synchronized Iterable<T> readSourceData() throws IOException {
+    if (stagedDataPath == null) {
+      return initializedSourceData;
+    }
+    try (final InputStream inputStream = new BufferedInputStream(new FileInputStream(stagedDataPath))) {
+      return SerializationUtils.deserialize(inputStream);
+    }
+  }
+
   @Override
-  public void clearInternalStates() {
+  public synchronized void clearInternalStates() {
     initializedSourceData = null;
   }
 
+  @Override
+  protected void takeOverSource(final SourceVertex<T> that) {
+    final InMemorySourceVertex<T> thatVertex = (InMemorySourceVertex<T>) that;
+    final Iterable<T> thatSourceData;
+    final String thatStagedDataPath;
+    synchronized (thatVertex) {
+      thatSourceData = thatVertex.initializedSourceData;
+      thatStagedDataPath = thatVertex.stagedDataPath;
+    }
+    synchronized (this) {
+      initializedSourceData = thatSourceData;
+      stagedDataPath = thatStagedDataPath;
+    }
+  }
+
+  @Override
+  public long getEstimatedSizeBytes() {
+    // The in-memory data is small by nature, but its serialized size is not known.
+    return -1;
+  }
+
   /**
    * Simply returns the in-memory data.
    * @param <T> type of the data.
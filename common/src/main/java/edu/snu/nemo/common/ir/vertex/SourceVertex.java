@@ -43,4 +43,33 @@ public abstract class SourceVertex<O> extends IRVertex {
    * to ensure consistent use of the same IRVertex object across the compiler, the master, and the executors.
    */
   public abstract void clearInternalStates();
+
+  /**
+   * Estimates the total size of the data to read, e.g. to choose the physical operators at compile time.
+   * Must be called before clearInternalStates().
+   *
+   * @return the estimated size in bytes, or -1 if unknown.
+   */
+  public abstract long getEstimatedSizeBytes();
+
+  /**
+   * Reads from the source of another vertex of the same class from now on, keeping the execution properties.
+   * This lets a DAG optimized before, e.g., loaded from the disk, read the latest data of a recurring job.
+   *
+   * @param that the vertex to read the source of.
+   */
+  public final void refreshSourceFrom(final SourceVertex<O> that) {
+    if (!getClass().equals(that.getClass())) {
+      throw new IllegalArgumentException(getId() + " of " + getClass().getName()
+          + " cannot read the source of " + that.getId() + " of " + that.getClass().getName());
+    }
+    takeOverSource(that);
+  }
+
+  /**
+   * Takes over the source of another vertex, e.g., the data or the readables.
+   *
+   * @param that the vertex of the same class to take over the source of.
+   */
+  protected abstract void takeOverSource(SourceVertex<O> that);
 }
@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.common.ir.vertex.executionproperty;
+
+import edu.snu.nemo.common.ir.edge.executionproperty.DataStoreProperty;
+import edu.snu.nemo.common.ir.executionproperty.VertexExecutionProperty;
+
+/**
+ * Attaching this property keeps the output of the vertex in the given store beyond the end of the job,
+ * so that later jobs including the same vertex read the cached output instead of recomputing it.
+ */
+public final class CacheProperty extends VertexExecutionProperty<DataStoreProperty.Value> {
+  /**
+   * Constructor.
+   * @param value value of the execution property.
+   */
+  private CacheProperty(final DataStoreProperty.Value value) {
+    super(value);
+  }
+
+  /**
+   * Static method exposing the constructor.
+   * @param value the store to keep the output in.
+   * @return the newly created execution property.
+   */
+  public static CacheProperty of(final DataStoreProperty.Value value) {
+    return new CacheProperty(value);
+  }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.common.ir.vertex.transform;
+
+import java.io.Serializable;
+
+/**
+ * Frontend-specific logic of a {@link JoinTransform}.
+ * Both sides of a join arrive at the transform as elements of the same type,
+ * and this function tells which side each of them belongs to and how to combine matching pairs.
+ * @param <I> input type of both sides.
+ * @param <O> output type.
+ */
+public interface JoinFunction<I, O> extends Serializable {
+  /**
+   * @param element an input element.
+   * @return the join key of the element.
+   */
+  Object getKey(I element);
+
+  /**
+   * @param element an input element.
+   * @return whether the element comes from the left side of the join.
+   */
+  boolean isLeft(I element);
+
+  /**
+   * Combines a matching pair of elements.
+   * @param left  the element from the left side.
+   * @param right the element from the right side.
+   * @return the joined output.
+   */
+  O join(I left, I right);
+}
@@ -0,0 +1,436 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.common.ir.vertex.transform;
+
+import edu.snu.nemo.common.Pair;
+import edu.snu.nemo.common.coder.DecoderFactory;
+import edu.snu.nemo.common.coder.EncoderFactory;
+import edu.snu.nemo.common.ir.OutputCollector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * A {@link Transform} that joins its two inputs on their keys.
+ * Both inputs arrive interleaved through the same transform, and {@link JoinFunction} tells them apart.
+ * The {@link Strategy} is usually chosen at compile time from the estimated sizes of the two sides,
+ * which are told apart by the id of the vertex sending the left side.
+ * <ul>
+ *   <li>SortMerge buffers the elements, spills sorted runs to local disk whenever the buffer is full,
+ *   and merges the runs when the input is over. Its memory usage is bounded for any input size.</li>
+ *   <li>Hash and BroadcastHash keep the build side in a hash table and spill the probe side to local disk,
+ *   because the probe side may arrive before the build side is complete.
+ *   BroadcastHash only differs in that the build side is broadcast to every task.
+ *   If the build side turns out to be larger than the buffer, the join falls back to sort-merge.</li>
+ * </ul>
+ * The runs are spilled to the local directories given by the {@link Transform.Context},
+ * or to the default temporary directory if there are none.
+ * @param <I> input type of both sides.
+ * @param <O> output type.
+ */
+public final class JoinTransform<I, O> implements Transform<I, O> {
+  private static final Logger LOG = LoggerFactory.getLogger(JoinTransform.class.getName());
+  private static final int DEFAULT_MAX_BUFFERED_ELEMENTS = 100000;
+
+  /**
+   * The physical join strategies.
+   */
+  public enum Strategy {
+    SortMerge,
+    Hash,
+    BroadcastHash
+  }
+
+  private final JoinFunction<I, O> joinFunction;
+  private final EncoderFactory<I> encoderFactory;
+  private final DecoderFactory<I> decoderFactory;
+  private final String leftInputVertexId;
+  private final Strategy strategy;
+  private final boolean buildLeft;
+  private final int maxBufferedElements;
+
+  private transient OutputCollector<O> outputCollector;
+  private transient List<File> spillDirectories;
+  // The strategy in use, which becomes SortMerge if the build side of a hash join does not fit in the buffer.
+  private transient Strategy activeStrategy;
+  private transient List<I> buffer;
+  private transient List<Pair<File, Integer>> runs;
+  private transient Map<Object, List<I>> hashTable;
+  private transient int numBuildElements;
+
+  /**
+   * Constructor of a sort-merge join.
+   * @param joinFunction      the frontend-specific join logic.
+   * @param encoderFactory    the encoder factory to spill the input elements with.
+   * @param decoderFactory    the decoder factory to read the spilled elements with.
+   * @param leftInputVertexId the id of the vertex sending the left side.
+   */
+  public JoinTransform(final JoinFunction<I, O> joinFunction,
+                       final EncoderFactory<I> encoderFactory,
+                       final DecoderFactory<I> decoderFactory,
+                       final String leftInputVertexId) {
+    this(joinFunction, encoderFactory, decoderFactory, leftInputVertexId,
+        Strategy.SortMerge, true, DEFAULT_MAX_BUFFERED_ELEMENTS);
+  }
+
+  /**
+   * Constructor.
+   * @param joinFunction        the frontend-specific join logic.
+   * @param encoderFactory      the encoder factory to spill the input elements with.
+   * @param decoderFactory      the decoder factory to read the spilled elements with.
+   * @param leftInputVertexId   the id of the vertex sending the left side.
+   * @param strategy            the join strategy.
+   * @param buildLeft           whether the left side is the build side of a hash join.
+   * @param maxBufferedElements the maximum number of elements to buffer in memory before spilling.
+   */
+  public JoinTransform(final JoinFunction<I, O> joinFunction,
+                       final EncoderFactory<I> encoderFactory,
+                       final DecoderFactory<I> decoderFactory,
+                       final String leftInputVertexId,
+                       final Strategy strategy,
+                       final boolean buildLeft,
+                       final int maxBufferedElements) {
+    if (maxBufferedElements <= 0) {
+      throw new IllegalArgumentException("The number of buffered elements should be positive");
+    }
+    this.joinFunction = joinFunction;
+    this.encoderFactory = encoderFactory;
+    this.decoderFactory = decoderFactory;
+    this.leftInputVertexId = leftInputVertexId;
+    this.strategy = strategy;
+    this.buildLeft = buildLeft;
+    this.maxBufferedElements = maxBufferedElements;
+  }
+
+  /**
+   * @param newStrategy  the join strategy.
+   * @param newBuildLeft whether the left side is the build side of a hash join.
+   * @return a copy of this transform with the given strategy.
+   */
+  public JoinTransform<I, O> withStrategy(final Strategy newStrategy, final boolean newBuildLeft) {
+    return new JoinTransform<>(joinFunction, encoderFactory, decoderFactory, leftInputVertexId,
+        newStrategy, newBuildLeft, maxBufferedElements);
+  }
+
+  /**
+   * @return the id of the vertex sending the left side.
+   */
+  public String getLeftInputVertexId() {
+    return leftInputVertexId;
+  }
+
+  /**
+   * @return the join strategy.
+   */
+  public Strategy getStrategy() {
+    return strategy;
+  }
+
+  /**
+   * @return whether the left side is the build side of a hash join.
+   */
+  public boolean isBuildLeft() {
+    return buildLeft;
+  }
+
+  @Override
+  public void prepare(final Context context, final OutputCollector<O> oc) {
+    this.outputCollector = oc;
+    this.spillDirectories = new ArrayList<>();
+    if (context != null) {
+      context.getSpillDirectories().forEach(directory -> spillDirectories.add(new File(directory)));
+    }
+    this.activeStrategy = strategy;
+    this.buffer = new ArrayList<>();
+    this.runs = new ArrayList<>();
+    this.hashTable = new HashMap<>();
+    this.numBuildElements = 0;
+  }
+
+  @Override
+  public void onData(final I element) {
+    if (activeStrategy != Strategy.SortMerge && joinFunction.isLeft(element) == buildLeft) {
+      hashTable.computeIfAbsent(joinFunction.getKey(element), key -> new ArrayList<>()).add(element);
+      numBuildElements++;
+      if (numBuildElements > maxBufferedElements) {
+        fallBackToSortMerge();
+      }
+      return;
+    }
+    addToBuffer(element);
+  }
+
+  /**
+   * Buffers an element to merge or probe, and spills the buffer when it is full.
+   * @param element the element.
+   */
+  private void addToBuffer(final I element) {
+    buffer.add(element);
+    if (buffer.size() >= maxBufferedElements) {
+      // The runs are always sorted, so that a hash join can fall back to sort-merge at any time.
+      buffer.sort(Comparator.comparingInt(this::keyHash));
+      spill();
+    }
+  }
+
+  /**
+   * Moves the build side out of the hash table, to join both sides by sort-merge instead.
+   */
+  private void fallBackToSortMerge() {
+    LOG.info("The build side of {} exceeds {} elements, falling back to sort-merge", this, maxBufferedElements);
+    activeStrategy = Strategy.SortMerge;
+    final Map<Object, List<I>> buildSide = hashTable;
+    hashTable = new HashMap<>();
+    buildSide.values().forEach(elements -> elements.forEach(this::addToBuffer));
+  }
+
+  @Override
+  public void close() {
+    final List<RunIterator> openedRuns = new ArrayList<>();
+    try {
+      if (activeStrategy == Strategy.SortMerge) {
+        sortMergeJoin(openedRuns);
+      } else {
+        hashJoin(openedRuns);
+      }
+    } finally {
+      openedRuns.forEach(RunIterator::close);
+      runs.forEach(run -> {
+        if (!run.left().delete()) {
+          LOG.warn("Failed to delete the spilled run {}", run.left());
+        }
+      });
+      buffer = null;
+      runs = null;
+      hashTable = null;
+    }
+  }
+
+  /**
+   * Writes the buffered elements to a new run on local disk.
+   */
+  private void spill() {
+    try {
+      final File directory = spillDirectories.isEmpty()
+          ? null : spillDirectories.get(runs.size() % spillDirectories.size());
+      if (directory != null && !directory.mkdirs() && !directory.isDirectory()) {
+        throw new IOException("Failed to create the spill directory " + directory);
+      }
+      final File file = File.createTempFile("nemo-join-", ".run", directory);
+      try (final OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(file))) {
+        final EncoderFactory.Encoder<I> encoder = encoderFactory.create(outputStream);
+        for (final I element : buffer) {
+          encoder.encode(element);
+        }
+        encoder.flush();
+      }
+      runs.add(Pair.of(file, buffer.size()));
+      LOG.debug("Spilled {} elements to {}", buffer.size(), file);
+      buffer.clear();
+    } catch (final IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Merges the sorted runs and the sorted buffer, and joins each group of elements with the same key hash.
+   * @param openedRuns the list to register the opened runs to.
+   */
+  private void sortMergeJoin(final List<RunIterator> openedRuns) {
+    buffer.sort(Comparator.comparingInt(this::keyHash));
+    final PriorityQueue<Cursor> queue = new PriorityQueue<>(Comparator.comparingInt(cursor -> cursor.headHash));
+    final Cursor bufferCursor = new Cursor(buffer.iterator());
+    if (bufferCursor.advance()) {
+      queue.add(bufferCursor);
+    }
+    for (final Pair<File, Integer> run : runs) {
+      final RunIterator runIterator = new RunIterator(run);
+      openedRuns.add(runIterator);
+      final Cursor cursor = new Cursor(runIterator);
+      if (cursor.advance()) {
+        queue.add(cursor);
+      }
+    }
+
+    final List<I> group = new ArrayList<>();
+    int groupHash = 0;
+    while (!queue.isEmpty()) {
+      final Cursor cursor = queue.poll();
+      if (!group.isEmpty() && cursor.headHash != groupHash) {
+        joinGroup(group);
+        group.clear();
+      }
+      groupHash = cursor.headHash;
+      group.add(cursor.head);
+      if (cursor.advance()) {
+        queue.add(cursor);
+      }
+    }
+    joinGroup(group);
+  }
+
+  /**
+   * Joins the elements sharing a key hash, which may still have different keys.
+   * @param group the elements to join.
+   */
+  private void joinGroup(final List<I> group) {
+    final Map<Object, List<I>> lefts = new HashMap<>();
+    final Map<Object, List<I>> rights = new HashMap<>();
+    for (final I element : group) {
+      final Map<Object, List<I>> side = joinFunction.isLeft(element) ? lefts : rights;
+      side.computeIfAbsent(joinFunction.getKey(element), key -> new ArrayList<>()).add(element);
+    }
+    lefts.forEach((key, leftElements) -> {
+      final List<I> rightElements = rights.get(key);
+      if (rightElements != null) {
+        for (final I left : leftElements) {
+          for (final I right : rightElements) {
+            outputCollector.emit(joinFunction.join(left, right));
+          }
+        }
+      }
+    });
+  }
+
+  /**
+   * Probes the hash table with the spilled and the buffered elements of the probe side.
+   * @param openedRuns the list to register the opened runs to.
+   */
+  private void hashJoin(final List<RunIterator> openedRuns) {
+    for (final Pair<File, Integer> run : runs) {
+      final RunIterator runIterator = new RunIterator(run);
+      openedRuns.add(runIterator);
+      runIterator.forEachRemaining(this::probe);
+    }
+    buffer.forEach(this::probe);
+  }
+
+  /**
+   * @param probeElement an element of the probe side.
+   */
+  private void probe(final I probeElement) {
+    final List<I> matches = hashTable.get(joinFunction.getKey(probeElement));
+    if (matches != null) {
+      for (final I buildElement : matches) {
+        outputCollector.emit(buildLeft
+            ? joinFunction.join(buildElement, probeElement)
+            : joinFunction.join(probeElement, buildElement));
+      }
+    }
+  }
+
+  /**
+   * @param element an input element.
+   * @return the hash of its key, which the sorted runs are ordered by.
+   */
+  private int keyHash(final I element) {
+    return Objects.hashCode(joinFunction.getKey(element));
+  }
+
+  /**
+   * The head of a sorted run during the merge.
+   */
+  private final class Cursor {
+    private final Iterator<I> iterator;
+    private I head;
+    private int headHash;
+
+    /**
+     * @param iterator the sorted elements.
+     */
+    private Cursor(final Iterator<I> iterator) {
+      this.iterator = iterator;
+    }
+
+    /**
+     * @return whether the cursor moved to the next element.
+     */
+    private boolean advance() {
+      if (!iterator.hasNext()) {
+        return false;
+      }
+      head = iterator.next();
+      headHash = keyHash(head);
+      return true;
+    }
+  }
+
+  /**
+   * Reads the elements of a spilled run back.
+   */
+  private final class RunIterator implements Iterator<I> {
+    private final InputStream inputStream;
+    private final DecoderFactory.Decoder<I> decoder;
+    private int remaining;
+
+    /**
+     * @param run the spilled file and the number of elements in it.
+     */
+    private RunIterator(final Pair<File, Integer> run) {
+      try {
+        this.inputStream = new BufferedInputStream(new FileInputStream(run.left()));
+        this.decoder = decoderFactory.create(inputStream);
+        this.remaining = run.right();
+      } catch (final IOException e) {
+        throw new RuntimeException(e);
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return remaining > 0;
+    }
+
+    @Override
+    public I next() {
+      if (remaining <= 0) {
+        throw new NoSuchElementException();
+      }
+      try {
+        final I element = decoder.decode();
+        remaining--;
+        return element;
+      } catch (final IOException e) {
+        throw new RuntimeException(e);
+      }
+    }
+
+    /**
+     * Closes the underlying stream.
+     */
+    private void close() {
+      try {
+        inputStream.close();
+      } catch (final IOException e) {
+        LOG.warn("Failed to close a spilled run", e);
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder();
+    sb.append(JoinTransform.class);
+    sb.append(":");
+    sb.append(strategy);
+    sb.append(buildLeft ? "(build left)" : "(build right)");
+    sb.append(":");
+    sb.append(super.toString());
+    return sb.toString();
+  }
+}
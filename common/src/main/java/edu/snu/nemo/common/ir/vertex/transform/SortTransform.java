@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.common.ir.vertex.transform;
+
+import edu.snu.nemo.common.KeyExtractor;
+import edu.snu.nemo.common.ir.OutputCollector;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A {@link Transform} that sorts its input data by the natural order of their keys.
+ * Following a range-partitioned edge, the outputs of its tasks are globally sorted.
+ * The input data are buffered in memory until all of them arrive.
+ * @param <T> input/output type.
+ */
+public final class SortTransform<T> implements Transform<T, T> {
+  private final KeyExtractor keyExtractor;
+  private final List<T> buffer;
+  private OutputCollector<T> outputCollector;
+
+  /**
+   * Constructor.
+   *
+   * @param keyExtractor the key extractor that extracts the {@link Comparable} keys to sort by.
+   */
+  public SortTransform(final KeyExtractor keyExtractor) {
+    this.keyExtractor = keyExtractor;
+    this.buffer = new ArrayList<>();
+  }
+
+  @Override
+  public void prepare(final Context context, final OutputCollector<T> oc) {
+    this.outputCollector = oc;
+  }
+
+  @Override
+  public void onData(final T element) {
+    buffer.add(element);
+  }
+
+  @Override
+  public void close() {
+    // The sort is stable, so the elements with the same key are emitted in the order of their arrival.
+    buffer.sort(Comparator.comparing(element -> (Comparable) keyExtractor.extractKey(element)));
+    buffer.forEach(outputCollector::emit);
+    buffer.clear();
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder();
+    sb.append(SortTransform.class);
+    sb.append(":");
+    sb.append(super.toString());
+    return sb.toString();
+  }
+}
@@ -17,6 +17,7 @@ package edu.snu.nemo.common.ir.vertex.transform;
 
 import edu.snu.nemo.common.ir.OutputCollector;
 import java.io.Serializable;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -74,5 +75,10 @@ public interface Transform<I, O> extends Serializable {
      * @return the serialized data.
      */
     Optional<String> getSerializedData();
+
+    /**
+     * @return the local directories to spill data to, or an empty list to use the default temporary directory.
+     */
+    List<String> getSpillDirectories();
   }
 }
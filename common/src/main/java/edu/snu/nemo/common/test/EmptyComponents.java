@@ -107,6 +107,16 @@ public final class EmptyComponents {
     public void clearInternalStates() {
     }
 
+    @Override
+    protected void takeOverSource(final SourceVertex<T> that) {
+      this.name = ((EmptySourceVertex<T>) that).name;
+    }
+
+    @Override
+    public long getEstimatedSizeBytes() {
+      return -1;
+    }
+
     @Override
     public EmptySourceVertex<T> getClone() {
       return new EmptySourceVertex<>(this.name);
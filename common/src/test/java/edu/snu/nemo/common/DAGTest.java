@@ -19,12 +19,14 @@ import edu.snu.nemo.common.dag.DAG;
 import edu.snu.nemo.common.dag.Edge;
 import edu.snu.nemo.common.dag.DAGBuilder;
 import edu.snu.nemo.common.dag.Vertex;
+import edu.snu.nemo.common.exception.IllegalEdgeOperationException;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -137,6 +139,23 @@ public final class DAGTest {
     descendants = dag.getDescendants("2");
     assertEquals(descendants.size(), 1);
     assertTrue(descendants.contains(new IntegerVertex(3)));
+
+    assertTrue(dag.pathExistsBetween(new IntegerVertex(1), new IntegerVertex(3)));
+    assertTrue(dag.pathExistsBetween(new IntegerVertex(3), new IntegerVertex(4)));
+    assertFalse(dag.pathExistsBetween(new IntegerVertex(1), new IntegerVertex(5)));
+    assertFalse(dag.pathExistsBetween(new IntegerVertex(2), new IntegerVertex(4)));
+
+    assertEquals(dag.getEdgeBetween("4", "3"), e4);
+  }
+
+  @Test(expected = IllegalEdgeOperationException.class)
+  public void testMissingEdge() {
+    final Edge<IntegerVertex> e1 = new Edge<>("1", new IntegerVertex(1), new IntegerVertex(2));
+    final Edge<IntegerVertex> e2 = new Edge<>("2", new IntegerVertex(1), new IntegerVertex(3));
+    dagBuilder.connectVertices(e1);
+    dagBuilder.connectVertices(e2);
+
+    dagBuilder.build().getEdgeBetween("2", "3");
   }
 
   final class IntegerVertex extends Vertex {
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.common.coder;
+
+import com.esotericsoftware.kryo.KryoException;
+import edu.snu.nemo.common.Pair;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Test {@link KryoEncoderFactory} and {@link KryoDecoderFactory}.
+ */
+public final class KryoCoderTest {
+
+  @Test
+  public void testRoundTrip() throws IOException {
+    final List<Object> elements = Arrays.asList(Pair.of("a", 1), Pair.of("b", 2), null, "c", 3L);
+    final List<Object> decoded = encodeAndDecode(KryoRegistration.of(), elements);
+    assertEquals(elements, decoded);
+  }
+
+  @Test
+  public void testRegisteredClasses() throws IOException {
+    final KryoRegistration registration = KryoRegistration.of(true, false, Pair.class, String.class);
+    final List<Object> elements = Arrays.asList(Pair.of("a", "b"), Pair.of("c", "d"));
+    assertEquals(elements, encodeAndDecode(registration, elements));
+
+    final EncoderFactory.Encoder<Object> encoder =
+        KryoEncoderFactory.of(registration).create(new ByteArrayOutputStream());
+    try {
+      encoder.encode(new ArrayList<>());
+      fail("Unregistered class should not be encoded.");
+    } catch (final IOException e) {
+      // expected.
+    }
+  }
+
+  @Test
+  public void testSharedStream() throws IOException {
+    // The left and the right decoders of a pair read from the same stream.
+    final List<Pair<Object, Object>> elements = new ArrayList<>();
+    for (int i = 0; i < 10000; i++) {
+      elements.add(Pair.of("key" + i, (long) i));
+    }
+    final byte[] bytes = encode(PairEncoderFactory.of(KryoEncoderFactory.of(), KryoEncoderFactory.of()), elements);
+    assertEquals(elements, decode(PairDecoderFactory.of(KryoDecoderFactory.of(), KryoDecoderFactory.of()), bytes));
+  }
+
+  @Test
+  public void testTruncatedStream() throws IOException {
+    final byte[] bytes = encode(KryoEncoderFactory.of(), Arrays.asList("a", "b"));
+    try {
+      decode(KryoDecoderFactory.of(), Arrays.copyOf(bytes, bytes.length - 1));
+      fail("A truncated element should not be regarded as the end of the stream.");
+    } catch (final KryoException e) {
+      // expected.
+    }
+  }
+
+  private List<Object> encodeAndDecode(final KryoRegistration registration,
+                                       final List<Object> elements) throws IOException {
+    return decode(KryoDecoderFactory.of(registration), encode(KryoEncoderFactory.of(registration), elements));
+  }
+
+  private <T> byte[] encode(final EncoderFactory<T> encoderFactory,
+                            final List<? extends T> elements) throws IOException {
+    final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    final EncoderFactory.Encoder<T> encoder = encoderFactory.create(outputStream);
+    for (final T element : elements) {
+      encoder.encode(element);
+    }
+    encoder.flush();
+    return outputStream.toByteArray();
+  }
+
+  private <T> List<T> decode(final DecoderFactory<T> decoderFactory, final byte[] bytes) throws IOException {
+    final DecoderFactory.Decoder<T> decoder = decoderFactory.create(new ByteArrayInputStream(bytes));
+    final List<T> decoded = new ArrayList<>();
+    while (true) {
+      try {
+        decoded.add(decoder.decode());
+      } catch (final IOException e) {
+        // EOF.
+        return decoded;
+      }
+    }
+  }
+}
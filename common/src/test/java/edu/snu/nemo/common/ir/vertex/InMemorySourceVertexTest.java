@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.common.ir.vertex;
+
+import edu.snu.nemo.common.ir.Readable;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Test {@link InMemorySourceVertex}.
+ */
+public final class InMemorySourceVertexTest {
+  private static final List<Integer> DATA = Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+
+  @Rule
+  public final TemporaryFolder stagingFolder = new TemporaryFolder();
+
+  @Test
+  public void testStagedDataIsReadBack() throws Exception {
+    final InMemorySourceVertex<Integer> vertex = new InMemorySourceVertex<>(new ArrayList<>(DATA));
+    vertex.stageData(stagingFolder.getRoot().getAbsolutePath());
+    final String stagedDataPath = vertex.getStagedDataPath();
+    assertNotNull(stagedDataPath);
+
+    // Staging again does not write the data again.
+    vertex.stageData(stagingFolder.getRoot().getAbsolutePath());
+    assertEquals(stagedDataPath, vertex.getStagedDataPath());
+
+    // The vertex is serialized without the data, and its copy reads the data from the staged file.
+    final InMemorySourceVertex<Integer> deserialized =
+        SerializationUtils.deserialize(SerializationUtils.serialize(vertex));
+    assertEquals(DATA, readAll(deserialized.getReadables(3)));
+    assertEquals(DATA, readAll(deserialized.getClone().getReadables(2)));
+  }
+
+  private static List<Integer> readAll(final List<Readable<Integer>> readables) throws Exception {
+    final List<Integer> result = new ArrayList<>();
+    for (final Readable<Integer> readable : readables) {
+      readable.read().forEach(result::add);
+    }
+    return result;
+  }
+}
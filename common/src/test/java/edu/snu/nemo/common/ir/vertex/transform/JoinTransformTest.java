@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.common.ir.vertex.transform;
+
+import edu.snu.nemo.common.ContextImpl;
+import edu.snu.nemo.common.Pair;
+import edu.snu.nemo.common.coder.KryoDecoderFactory;
+import edu.snu.nemo.common.coder.KryoEncoderFactory;
+import edu.snu.nemo.common.ir.OutputCollector;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link JoinTransform}.
+ */
+public final class JoinTransformTest {
+  // Small enough to spill several runs, and to make the hash joins fall back to sort-merge.
+  private static final int MAX_BUFFERED_ELEMENTS = 7;
+  // Large enough to hold the build side in the hash table.
+  private static final int LARGE_MAX_BUFFERED_ELEMENTS = 1000;
+  private static final String SPILL_DIRECTORY = "./tmpJoinRuns";
+
+  /**
+   * Joins the values of pairs, telling the sides apart by the prefix of the values.
+   */
+  private static final JoinFunction<Pair<String, String>, Pair<String, String>> FUNCTION =
+      new JoinFunction<Pair<String, String>, Pair<String, String>>() {
+        @Override
+        public Object getKey(final Pair<String, String> element) {
+          return element.left();
+        }
+
+        @Override
+        public boolean isLeft(final Pair<String, String> element) {
+          return element.right().startsWith("L");
+        }
+
+        @Override
+        public Pair<String, String> join(final Pair<String, String> left, final Pair<String, String> right) {
+          return Pair.of(left.right(), right.right());
+        }
+      };
+
+  @Test
+  public void testSortMerge() {
+    testStrategy(JoinTransform.Strategy.SortMerge, true);
+  }
+
+  @Test
+  public void testHash() {
+    testStrategy(JoinTransform.Strategy.Hash, true, LARGE_MAX_BUFFERED_ELEMENTS);
+    testStrategy(JoinTransform.Strategy.Hash, false, LARGE_MAX_BUFFERED_ELEMENTS);
+  }
+
+  @Test
+  public void testHashFallback() {
+    testStrategy(JoinTransform.Strategy.Hash, true);
+    testStrategy(JoinTransform.Strategy.Hash, false);
+  }
+
+  @Test
+  public void testBroadcastHash() {
+    testStrategy(JoinTransform.Strategy.BroadcastHash, false, LARGE_MAX_BUFFERED_ELEMENTS);
+    testStrategy(JoinTransform.Strategy.BroadcastHash, false);
+  }
+
+  /**
+   * Joins interleaved inputs, including keys with the same hash, and compares the result with a nested loop join.
+   * @param strategy  the join strategy.
+   * @param buildLeft whether the left side is the build side.
+   */
+  private void testStrategy(final JoinTransform.Strategy strategy, final boolean buildLeft) {
+    testStrategy(strategy, buildLeft, MAX_BUFFERED_ELEMENTS);
+  }
+
+  /**
+   * Joins interleaved inputs, including keys with the same hash, and compares the result with a nested loop join.
+   * @param strategy            the join strategy.
+   * @param buildLeft           whether the left side is the build side.
+   * @param maxBufferedElements the maximum number of elements to buffer in memory.
+   */
+  private void testStrategy(final JoinTransform.Strategy strategy, final boolean buildLeft,
+                            final int maxBufferedElements) {
+    final List<Pair<String, String>> input = new ArrayList<>();
+    for (int i = 0; i < 30; i++) {
+      input.add(Pair.of("k" + i, "L" + i));
+      input.add(Pair.of("k" + (i + 20), "R" + i));
+      input.add(Pair.of("k" + (i + 25), "R" + (i + 100)));
+    }
+    // "Aa" and "BB" have the same hash code.
+    input.addAll(Arrays.asList(Pair.of("Aa", "L-Aa"), Pair.of("BB", "R-BB"), Pair.of("BB", "L-BB"),
+        Pair.of("Aa", "R-Aa"), Pair.of("Aa", "R-Aa2")));
+
+    final List<Pair<String, String>> expected = new ArrayList<>();
+    for (final Pair<String, String> left : input) {
+      for (final Pair<String, String> right : input) {
+        if (FUNCTION.isLeft(left) && !FUNCTION.isLeft(right) && left.left().equals(right.left())) {
+          expected.add(FUNCTION.join(left, right));
+        }
+      }
+    }
+
+    final JoinTransform<Pair<String, String>, Pair<String, String>> transform = new JoinTransform<>(FUNCTION,
+        KryoEncoderFactory.of(), KryoDecoderFactory.of(), "left", strategy, buildLeft, maxBufferedElements);
+    final List<Pair<String, String>> output = new ArrayList<>();
+    final Transform.Context context = new ContextImpl(Collections.emptyMap(), Collections.emptyMap(),
+        Collections.singletonList(SPILL_DIRECTORY));
+    transform.prepare(context, new OutputCollector<Pair<String, String>>() {
+      @Override
+      public void emit(final Pair<String, String> element) {
+        output.add(element);
+      }
+
+      @Override
+      public <T> void emit(final String dstVertexId, final T element) {
+        throw new UnsupportedOperationException();
+      }
+    });
+    input.forEach(transform::onData);
+    transform.close();
+
+    assertEquals(sort(expected), sort(output));
+    // The runs are spilled to the given directory, and deleted when the join is over.
+    final File spillDirectory = new File(SPILL_DIRECTORY);
+    if (maxBufferedElements < input.size()) {
+      assertTrue(spillDirectory.isDirectory());
+    }
+    if (spillDirectory.isDirectory()) {
+      assertEquals(0, spillDirectory.list().length);
+      assertTrue(spillDirectory.delete());
+    }
+  }
+
+  private static List<String> sort(final List<Pair<String, String>> pairs) {
+    final List<String> strings = new ArrayList<>();
+    pairs.forEach(pair -> strings.add(pair.toString()));
+    Collections.sort(strings);
+    return strings;
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.common.ir.vertex.transform;
+
+import edu.snu.nemo.common.ContextImpl;
+import edu.snu.nemo.common.Pair;
+import edu.snu.nemo.common.ir.OutputCollector;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests {@link SortTransform}.
+ */
+public final class SortTransformTest {
+
+  /**
+   * Tests that the elements are emitted by the order of their keys, only when the transform is closed,
+   * and that the elements with the same key keep the order of their arrival.
+   */
+  @Test
+  public void testSort() {
+    final SortTransform<Pair<Integer, String>> transform =
+        new SortTransform<>(element -> ((Pair) element).left());
+    final List<Pair<Integer, String>> output = new ArrayList<>();
+    transform.prepare(new ContextImpl(Collections.emptyMap(), Collections.emptyMap()),
+        new OutputCollector<Pair<Integer, String>>() {
+          @Override
+          public void emit(final Pair<Integer, String> element) {
+            output.add(element);
+          }
+
+          @Override
+          public <T> void emit(final String dstVertexId, final T element) {
+            throw new UnsupportedOperationException();
+          }
+        });
+
+    Arrays.asList(Pair.of(3, "a"), Pair.of(1, "b"), Pair.of(2, "c"), Pair.of(1, "d"), Pair.of(3, "e"), Pair.of(1, "f"))
+        .forEach(transform::onData);
+    assertEquals(0, output.size());
+    transform.close();
+
+    assertEquals(Arrays.asList(Pair.of(1, "b"), Pair.of(1, "d"), Pair.of(1, "f"), Pair.of(2, "c"), Pair.of(3, "a"),
+        Pair.of(3, "e")), output);
+  }
+}
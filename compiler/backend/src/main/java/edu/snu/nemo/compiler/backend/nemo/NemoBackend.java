@@ -46,9 +46,21 @@ public final class NemoBackend implements Backend<PhysicalPlan> {
    * @throws Exception any exception occurred during the compilation.
    */
   public PhysicalPlan compile(final DAG<IRVertex, IREdge> irDAG) throws Exception {
+    return compile(RuntimeIdGenerator.generatePhysicalPlanId(), irDAG);
+  }
+
+  /**
+   * Compiles an IR DAG into a {@link PhysicalPlan} with the given id, to be submitted to Runtime
+   * along with the other plans.
+   * @param physicalPlanId the id of the plan, which also prefixes the ids of its stages and edges.
+   * @param irDAG to compile.
+   * @return the execution plan to be submitted to Runtime.
+   * @throws Exception any exception occurred during the compilation.
+   */
+  public PhysicalPlan compile(final String physicalPlanId, final DAG<IRVertex, IREdge> irDAG) throws Exception {
     final PhysicalPlanGenerator physicalPlanGenerator =
         Tang.Factory.getTang().newInjector().getInstance(PhysicalPlanGenerator.class);
-    return compile(irDAG, physicalPlanGenerator);
+    return compile(physicalPlanId, irDAG, physicalPlanGenerator);
   }
 
   /**
@@ -60,8 +72,19 @@ public final class NemoBackend implements Backend<PhysicalPlan> {
    */
   public PhysicalPlan compile(final DAG<IRVertex, IREdge> irDAG,
                               final PhysicalPlanGenerator physicalPlanGenerator) {
-    final DAG<Stage, StageEdge> stageDAG = irDAG.convert(physicalPlanGenerator);
-    final PhysicalPlan physicalPlan = new PhysicalPlan(RuntimeIdGenerator.generatePhysicalPlanId(), stageDAG);
-    return physicalPlan;
+    return compile(RuntimeIdGenerator.generatePhysicalPlanId(), irDAG, physicalPlanGenerator);
+  }
+
+  /**
+   * @param physicalPlanId the id of the plan.
+   * @param irDAG to compile.
+   * @param physicalPlanGenerator to generate the stages with.
+   * @return the execution plan to be submitted to Runtime.
+   */
+  private PhysicalPlan compile(final String physicalPlanId,
+                               final DAG<IRVertex, IREdge> irDAG,
+                               final PhysicalPlanGenerator physicalPlanGenerator) {
+    final DAG<Stage, StageEdge> stageDAG = physicalPlanGenerator.apply(physicalPlanId, irDAG);
+    return new PhysicalPlan(physicalPlanId, stageDAG);
   }
 }
@@ -17,6 +17,7 @@ package edu.snu.nemo.compiler.frontend.beam;
 
 import edu.snu.nemo.common.Pair;
 import edu.snu.nemo.common.ir.edge.executionproperty.*;
+import edu.snu.nemo.common.ir.vertex.transform.SortTransform;
 import edu.snu.nemo.common.ir.vertex.transform.Transform;
 import edu.snu.nemo.compiler.frontend.beam.coder.BeamDecoderFactory;
 import edu.snu.nemo.compiler.frontend.beam.coder.BeamEncoderFactory;
@@ -113,6 +114,11 @@ public final class NemoPipelineVisitor extends Pipeline.PipelineVisitor.Defaults
           edge.setProperty(EncoderProperty.of(coderPair.left()));
           edge.setProperty(DecoderProperty.of(coderPair.right()));
           edge.setProperty(KeyExtractorProperty.of(new BeamKeyExtractor()));
+          // The outputs of the tasks of a sort are globally sorted only if the input is partitioned by key ranges.
+          if (irVertex instanceof OperatorVertex
+              && ((OperatorVertex) irVertex).getTransform() instanceof SortTransform) {
+            edge.setProperty(PartitionerProperty.of(PartitionerProperty.Value.RangePartitioner));
+          }
           // Apply AdditionalOutputTatProperty to edges that corresponds to additional outputs.
           if (isAdditionalOutput) {
             edge.setProperty(AdditionalOutputTagProperty.of(pValueToTag.get(pValue).getId()));
@@ -152,6 +158,9 @@ public final class NemoPipelineVisitor extends Pipeline.PipelineVisitor.Defaults
     } else if (beamTransform instanceof GroupByKey) {
       irVertex = new OperatorVertex(new GroupByKeyTransform());
       builder.addVertex(irVertex, loopVertexStack);
+    } else if (beamTransform instanceof SortByKey) {
+      irVertex = new OperatorVertex(new SortTransform<>(new BeamKeyExtractor()));
+      builder.addVertex(irVertex, loopVertexStack);
     } else if (beamTransform instanceof View.CreatePCollectionView) {
       final View.CreatePCollectionView view = (View.CreatePCollectionView) beamTransform;
       final CreateViewTransform transform = new CreateViewTransform(view.getView());
@@ -283,7 +292,7 @@ public final class NemoPipelineVisitor extends Pipeline.PipelineVisitor.Defaults
     if (srcTransform instanceof FlattenTransform) {
       return CommunicationPatternProperty.Value.OneToOne;
     }
-    if (dstTransform instanceof GroupByKeyTransform) {
+    if (dstTransform instanceof GroupByKeyTransform || dstTransform instanceof SortTransform) {
       return CommunicationPatternProperty.Value.Shuffle;
     }
     if (dstTransform instanceof CreateViewTransform) {
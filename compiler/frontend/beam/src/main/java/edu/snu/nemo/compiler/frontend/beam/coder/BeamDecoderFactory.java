@@ -48,6 +48,11 @@ public final class BeamDecoderFactory<T> implements DecoderFactory<T> {
     }
   }
 
+  @Override
+  public boolean isJavaSerialization() {
+    return BeamEncoderFactory.containsSerializableCoder(beamCoder);
+  }
+
   /**
    * Abstract class for Beam Decoder.
    * @param <T2> the type of element to decode.
@@ -18,10 +18,12 @@ package edu.snu.nemo.compiler.frontend.beam.coder;
 import edu.snu.nemo.common.coder.EncoderFactory;
 import org.apache.beam.sdk.coders.Coder;
 import org.apache.beam.sdk.coders.CoderException;
+import org.apache.beam.sdk.coders.SerializableCoder;
 import org.apache.beam.sdk.coders.VoidCoder;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.List;
 
 /**
  * {@link EncoderFactory} from {@link Coder}.
@@ -49,6 +51,25 @@ public final class BeamEncoderFactory<T> implements EncoderFactory<T> {
     }
   }
 
+  @Override
+  public boolean isJavaSerialization() {
+    return containsSerializableCoder(beamCoder);
+  }
+
+  /**
+   * @param coder the Beam coder to inspect.
+   * @return whether the coder or any of its component coders, e.g. the value coder of a KvCoder,
+   *         relies on Java serialization.
+   */
+  static boolean containsSerializableCoder(final Coder<?> coder) {
+    if (coder instanceof SerializableCoder) {
+      return true;
+    }
+    final List<? extends Coder<?>> componentCoders = coder.getCoderArguments();
+    return componentCoders != null
+        && componentCoders.stream().anyMatch(BeamEncoderFactory::containsSerializableCoder);
+  }
+
   /**
    * Beam Encoder for non void objects.
    *
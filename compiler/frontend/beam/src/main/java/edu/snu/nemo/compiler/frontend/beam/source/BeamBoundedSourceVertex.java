@@ -27,17 +27,14 @@ import edu.snu.nemo.common.ir.vertex.SourceVertex;
 import org.apache.beam.sdk.io.BoundedSource;
 import org.apache.beam.sdk.io.hadoop.inputformat.HadoopInputFormatIO;
 import org.apache.hadoop.mapreduce.InputSplit;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
  * SourceVertex implementation for BoundedSource.
  * @param <O> output type.
  */
 public final class BeamBoundedSourceVertex<O> extends SourceVertex<O> {
-  private static final Logger LOG = LoggerFactory.getLogger(BeamBoundedSourceVertex.class.getName());
   private BoundedSource<O> source;
-  private final String sourceDescription;
+  private String sourceDescription;
 
   /**
    * Constructor of BeamBoundedSourceVertex.
@@ -58,10 +55,8 @@ public final class BeamBoundedSourceVertex<O> extends SourceVertex<O> {
   @Override
   public List<Readable<O>> getReadables(final int desiredNumOfSplits) throws Exception {
     final List<Readable<O>> readables = new ArrayList<>();
-    LOG.info("estimate: {}", source.getEstimatedSizeBytes(null));
-    LOG.info("desired: {}", desiredNumOfSplits);
-    source.split(source.getEstimatedSizeBytes(null) / desiredNumOfSplits, null)
-        .forEach(boundedSource -> readables.add(new BoundedSourceReadable<>(boundedSource)));
+    BoundedSourceSplitter.split(source, desiredNumOfSplits)
+        .forEach(boundedSources -> readables.add(new BoundedSourceReadable<>(boundedSources)));
     return readables;
   }
 
@@ -70,6 +65,25 @@ public final class BeamBoundedSourceVertex<O> extends SourceVertex<O> {
     source = null;
   }
 
+  @Override
+  protected void takeOverSource(final SourceVertex<O> that) {
+    final BeamBoundedSourceVertex<O> thatVertex = (BeamBoundedSourceVertex<O>) that;
+    source = thatVertex.source;
+    sourceDescription = thatVertex.sourceDescription;
+  }
+
+  @Override
+  public long getEstimatedSizeBytes() {
+    if (source == null) {
+      return -1;
+    }
+    try {
+      return source.getEstimatedSizeBytes(null);
+    } catch (final Exception e) {
+      return -1;
+    }
+  }
+
   @Override
   public String propertiesToJSON() {
     final StringBuilder sb = new StringBuilder();
@@ -82,26 +96,28 @@ public final class BeamBoundedSourceVertex<O> extends SourceVertex<O> {
   }
 
   /**
-   * BoundedSourceReadable class.
+   * BoundedSourceReadable class, which reads a group of split sources one after another.
    * @param <T> type.
    */
   private static final class BoundedSourceReadable<T> implements Readable<T> {
-    private final BoundedSource<T> boundedSource;
+    private final List<BoundedSource<T>> boundedSources;
 
     /**
      * Constructor of the BoundedSourceReadable.
-     * @param boundedSource the BoundedSource.
+     * @param boundedSources the BoundedSources to read.
      */
-    BoundedSourceReadable(final BoundedSource<T> boundedSource) {
-      this.boundedSource = boundedSource;
+    BoundedSourceReadable(final List<BoundedSource<T>> boundedSources) {
+      this.boundedSources = boundedSources;
     }
 
     @Override
     public Iterable<T> read() throws IOException {
       final ArrayList<T> elements = new ArrayList<>();
-      try (BoundedSource.BoundedReader<T> reader = boundedSource.createReader(null)) {
-        for (boolean available = reader.start(); available; available = reader.advance()) {
-          elements.add(reader.getCurrent());
+      for (final BoundedSource<T> boundedSource : boundedSources) {
+        try (BoundedSource.BoundedReader<T> reader = boundedSource.createReader(null)) {
+          for (boolean available = reader.start(); available; available = reader.advance()) {
+            elements.add(reader.getCurrent());
+          }
         }
       }
       return elements;
@@ -109,15 +125,19 @@ public final class BeamBoundedSourceVertex<O> extends SourceVertex<O> {
 
     @Override
     public List<String> getLocations() throws Exception {
-      if (boundedSource instanceof HadoopInputFormatIO.HadoopInputFormatBoundedSource) {
-        final Field inputSplitField = boundedSource.getClass().getDeclaredField("inputSplit");
-        inputSplitField.setAccessible(true);
-        final InputSplit inputSplit = ((HadoopInputFormatIO.SerializableSplit) inputSplitField
-            .get(boundedSource)).getSplit();
-        return Arrays.asList(inputSplit.getLocations());
-      } else {
-        throw new UnsupportedOperationException();
+      final List<String> locations = new ArrayList<>();
+      for (final BoundedSource<T> boundedSource : boundedSources) {
+        if (boundedSource instanceof HadoopInputFormatIO.HadoopInputFormatBoundedSource) {
+          final Field inputSplitField = boundedSource.getClass().getDeclaredField("inputSplit");
+          inputSplitField.setAccessible(true);
+          final InputSplit inputSplit = ((HadoopInputFormatIO.SerializableSplit) inputSplitField
+              .get(boundedSource)).getSplit();
+          locations.addAll(Arrays.asList(inputSplit.getLocations()));
+        } else {
+          throw new UnsupportedOperationException();
+        }
       }
+      return locations;
     }
   }
 }
@@ -0,0 +1,273 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.compiler.frontend.beam.source;
+
+import org.apache.beam.sdk.io.BoundedSource;
+import org.apache.beam.sdk.util.SerializableUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.ToLongFunction;
+
+/**
+ * Plans the splits of a {@link BoundedSource} into groups of similar sizes.
+ * The source is first split coarsely, one split per planning thread, and the coarse splits are then split
+ * to the desired size and estimated in parallel. The splits much larger than the desired size are split again,
+ * and the splits are then packed into groups so that each group has about the same estimated size.
+ * The splits are cached per source, so that planning the same source again (e.g. when generating the physical plan)
+ * only packs the cached splits, as long as they are at least as fine as the requested number of groups needs.
+ */
+final class BoundedSourceSplitter {
+  private static final Logger LOG = LoggerFactory.getLogger(BoundedSourceSplitter.class.getName());
+  private static final int MAX_NUM_PLANNING_THREADS = 16;
+  private static final int MAX_NUM_CACHED_SOURCES = 32;
+  // A split larger than this factor times the desired size is split again.
+  private static final int RESPLIT_FACTOR = 2;
+
+  // Accessed only while holding the lock of the map itself.
+  // Sources are compared by their serialized form, as their descriptions are not necessarily unique.
+  private static final Map<ByteBuffer, CachedSplits> CACHED_SPLITS =
+      new LinkedHashMap<ByteBuffer, CachedSplits>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<ByteBuffer, CachedSplits> eldest) {
+          return size() > MAX_NUM_CACHED_SOURCES;
+        }
+      };
+
+  /**
+   * Private constructor.
+   */
+  private BoundedSourceSplitter() {
+    // Private constructor.
+  }
+
+  /**
+   * Splits the source into at most the desired number of groups of similar sizes.
+   *
+   * @param source             the source to split.
+   * @param desiredNumOfSplits the desired number of groups.
+   * @param <O>                output type of the source.
+   * @return the groups of split sources.
+   * @throws Exception if fail to split the source.
+   */
+  static <O> List<List<BoundedSource<O>>> split(final BoundedSource<O> source,
+                                                final int desiredNumOfSplits) throws Exception {
+    final ByteBuffer key = ByteBuffer.wrap(SerializableUtils.serializeToByteArray(source));
+    final CachedSplits cachedSplits;
+    synchronized (CACHED_SPLITS) {
+      cachedSplits = CACHED_SPLITS.get(key);
+    }
+
+    final List<SizedSource<O>> splits;
+    if (cachedSplits != null && cachedSplits.isFineEnoughFor(desiredNumOfSplits)) {
+      splits = (List) cachedSplits.splits;
+    } else {
+      final long estimatedSize = source.getEstimatedSizeBytes(null);
+      final long desiredBundleSize = desiredBundleSize(estimatedSize, desiredNumOfSplits);
+      splits = splitAndEstimate(source, estimatedSize, desiredBundleSize);
+      synchronized (CACHED_SPLITS) {
+        CACHED_SPLITS.put(key, new CachedSplits(estimatedSize, desiredBundleSize, (List) splits));
+      }
+    }
+
+    final List<List<SizedSource<O>>> groups = pack(splits, sizedSource -> sizedSource.size, desiredNumOfSplits);
+    final List<List<BoundedSource<O>>> plan = new ArrayList<>(groups.size());
+    for (final List<SizedSource<O>> group : groups) {
+      final List<BoundedSource<O>> sources = new ArrayList<>(group.size());
+      group.forEach(sizedSource -> sources.add(sizedSource.source));
+      plan.add(sources);
+    }
+    return plan;
+  }
+
+  /**
+   * @param estimatedSize      the estimated size of the source.
+   * @param desiredNumOfSplits the desired number of groups.
+   * @return the desired size of a split.
+   */
+  private static long desiredBundleSize(final long estimatedSize, final int desiredNumOfSplits) {
+    return Math.max(1, estimatedSize / desiredNumOfSplits);
+  }
+
+  /**
+   * @param source            the source to split.
+   * @param estimatedSize     the estimated size of the source.
+   * @param desiredBundleSize the desired size of a split.
+   * @param <O>               output type of the source.
+   * @return the splits with their estimated sizes.
+   * @throws Exception if fail to split the source.
+   */
+  private static <O> List<SizedSource<O>> splitAndEstimate(final BoundedSource<O> source,
+                                                           final long estimatedSize,
+                                                           final long desiredBundleSize) throws Exception {
+    LOG.info("Split {} bytes into splits of {} bytes", estimatedSize, desiredBundleSize);
+
+    // The coarse split is cheap, as it yields at most one split per planning thread.
+    final long coarseBundleSize = Math.max(desiredBundleSize, estimatedSize / MAX_NUM_PLANNING_THREADS);
+    final List<? extends BoundedSource<O>> coarseSplits = source.split(coarseBundleSize, null);
+    final ExecutorService executorService = Executors.newFixedThreadPool(
+        Math.max(1, Math.min(MAX_NUM_PLANNING_THREADS, coarseSplits.size())),
+        new BasicThreadFactory.Builder().namingPattern("Source split planning thread-%d").build());
+    try {
+      // Split each coarse split to the desired size, estimating the sizes and splitting the giant ones again.
+      final List<Future<List<SizedSource<O>>>> futures = new ArrayList<>(coarseSplits.size());
+      for (final BoundedSource<O> coarseSplit : coarseSplits) {
+        futures.add(executorService.submit(() -> {
+          final List<? extends BoundedSource<O>> splits = coarseBundleSize > desiredBundleSize
+              ? coarseSplit.split(desiredBundleSize, null) : Collections.singletonList(coarseSplit);
+          final List<SizedSource<O>> sizedSplits = new ArrayList<>();
+          for (final BoundedSource<O> split : splits) {
+            sizedSplits.addAll(resplitIfLarge(split, desiredBundleSize));
+          }
+          return sizedSplits;
+        }));
+      }
+      final List<SizedSource<O>> sizedSources = new ArrayList<>();
+      for (final Future<List<SizedSource<O>>> future : futures) {
+        sizedSources.addAll(future.get());
+      }
+      return sizedSources;
+    } catch (final ExecutionException e) {
+      if (e.getCause() instanceof Exception) {
+        throw (Exception) e.getCause();
+      }
+      throw e;
+    } finally {
+      executorService.shutdown();
+    }
+  }
+
+  /**
+   * @param split             the split to estimate.
+   * @param desiredBundleSize the desired size of a split.
+   * @param <O>               output type of the source.
+   * @return the split itself, or the sub-splits of it if it is much larger than the desired size.
+   * @throws Exception if fail to estimate or split.
+   */
+  private static <O> List<SizedSource<O>> resplitIfLarge(final BoundedSource<O> split,
+                                                         final long desiredBundleSize) throws Exception {
+    final long size = split.getEstimatedSizeBytes(null);
+    final List<SizedSource<O>> result = new ArrayList<>();
+    if (size > desiredBundleSize * RESPLIT_FACTOR) {
+      final List<? extends BoundedSource<O>> subSplits = split.split(desiredBundleSize, null);
+      if (subSplits.size() > 1) {
+        for (final BoundedSource<O> subSplit : subSplits) {
+          result.add(new SizedSource<>(subSplit, subSplit.getEstimatedSizeBytes(null)));
+        }
+        return result;
+      }
+    }
+    result.add(new SizedSource<>(split, size));
+    return result;
+  }
+
+  /**
+   * Packs the items into groups, assigning the largest remaining item to the currently smallest group.
+   * Tiny items are thereby merged, and each group ends up with a similar size.
+   * The given list is not modified.
+   *
+   * @param items     the items to pack.
+   * @param sizeOf    gives the size of an item.
+   * @param numGroups the desired number of groups.
+   * @param <S>       type of the items.
+   * @return the groups, which are as many as the desired number or the number of items, whichever is smaller.
+   */
+  static <S> List<List<S>> pack(final List<S> items, final ToLongFunction<S> sizeOf, final int numGroups) {
+    final int numNonEmptyGroups = Math.max(1, Math.min(numGroups, items.size()));
+    final List<List<S>> groups = new ArrayList<>(numNonEmptyGroups);
+    final long[] groupSizes = new long[numNonEmptyGroups];
+    final PriorityQueue<Integer> smallestGroupFirst = new PriorityQueue<>(numNonEmptyGroups,
+        Comparator.<Integer>comparingLong(index -> groupSizes[index]).thenComparingInt(index -> index));
+    for (int i = 0; i < numNonEmptyGroups; i++) {
+      groups.add(new ArrayList<>());
+      smallestGroupFirst.add(i);
+    }
+
+    final List<S> largestFirst = new ArrayList<>(items);
+    largestFirst.sort(Comparator.comparingLong(sizeOf).reversed());
+    for (final S item : largestFirst) {
+      final int index = smallestGroupFirst.poll();
+      groups.get(index).add(item);
+      groupSizes[index] += sizeOf.applyAsLong(item);
+      smallestGroupFirst.add(index);
+    }
+    return groups;
+  }
+
+  /**
+   * The splits of a source, cached for later plans of the same source.
+   */
+  private static final class CachedSplits {
+    private final long estimatedSize;
+    private final long bundleSize;
+    private final List<SizedSource<?>> splits;
+
+    /**
+     * Constructor.
+     *
+     * @param estimatedSize the estimated size of the source.
+     * @param bundleSize    the desired size of a split, which the source was split with.
+     * @param splits        the splits with their estimated sizes.
+     */
+    private CachedSplits(final long estimatedSize, final long bundleSize, final List<SizedSource<?>> splits) {
+      this.estimatedSize = estimatedSize;
+      this.bundleSize = bundleSize;
+      this.splits = splits;
+    }
+
+    /**
+     * @param desiredNumOfSplits the desired number of groups.
+     * @return whether the splits are small enough to be packed into the desired number of groups.
+     */
+    private boolean isFineEnoughFor(final int desiredNumOfSplits) {
+      return bundleSize <= desiredBundleSize(estimatedSize, desiredNumOfSplits);
+    }
+  }
+
+  /**
+   * A split with its estimated size.
+   *
+   * @param <O> output type of the source.
+   */
+  private static final class SizedSource<O> {
+    private final BoundedSource<O> source;
+    private final long size;
+
+    /**
+     * Constructor.
+     *
+     * @param source the split.
+     * @param size   the estimated size of the split in bytes.
+     */
+    private SizedSource(final BoundedSource<O> source, final long size) {
+      this.source = source;
+      this.size = size;
+    }
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.compiler.frontend.beam.transform;
+
+import org.apache.beam.sdk.transforms.PTransform;
+import org.apache.beam.sdk.values.KV;
+import org.apache.beam.sdk.values.PCollection;
+
+/**
+ * A transform that sorts a {@link PCollection} of {@link KV}s by their keys in ascending order.
+ * It is translated into a range-partitioned shuffle followed by a sort within each partition,
+ * so that each task writes a sorted range of the elements, and the ranges follow the order of the tasks.
+ * The keys should be {@link Comparable}.
+ * @param <K> key type.
+ * @param <V> value type.
+ */
+public final class SortByKey<K extends Comparable<? super K>, V>
+    extends PTransform<PCollection<KV<K, V>>, PCollection<KV<K, V>>> {
+  /**
+   * Private constructor. Use {@link #create()}.
+   */
+  private SortByKey() {
+  }
+
+  /**
+   * @param <K> key type.
+   * @param <V> value type.
+   * @return a transform that sorts the elements by their keys.
+   */
+  public static <K extends Comparable<? super K>, V> SortByKey<K, V> create() {
+    return new SortByKey<>();
+  }
+
+  @Override
+  public PCollection<KV<K, V>> expand(final PCollection<KV<K, V>> input) {
+    return PCollection.<KV<K, V>>createPrimitiveOutputInternal(input.getPipeline(), input.getWindowingStrategy(),
+        input.isBounded()).setCoder(input.getCoder());
+  }
+}
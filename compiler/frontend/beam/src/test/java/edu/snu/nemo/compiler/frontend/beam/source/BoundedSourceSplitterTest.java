@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.compiler.frontend.beam.source;
+
+import org.apache.beam.sdk.io.BoundedSource;
+import org.apache.beam.sdk.io.CountingSource;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Tests {@link BoundedSourceSplitter}.
+ */
+public final class BoundedSourceSplitterTest {
+
+  @Test
+  public void testPackBalancesGroups() {
+    final List<Long> sizes = Arrays.asList(1L, 1L, 10L, 1L, 1L, 1L, 1L, 1L, 1L, 1L, 1L);
+    final List<List<Long>> groups = BoundedSourceSplitter.pack(sizes, Long::longValue, 2);
+    assertEquals(2, groups.size());
+    assertEquals(Collections.singletonList(10L), groups.get(0));
+    assertEquals(10, groups.get(1).size());
+    // The input is not reordered.
+    assertEquals(Arrays.asList(1L, 1L, 10L, 1L, 1L, 1L, 1L, 1L, 1L, 1L, 1L), sizes);
+  }
+
+  @Test
+  public void testPackIntoMoreGroupsThanItems() {
+    final List<List<Long>> groups = BoundedSourceSplitter.pack(Arrays.asList(3L, 5L), Long::longValue, 4);
+    assertEquals(Arrays.asList(Collections.singletonList(5L), Collections.singletonList(3L)), groups);
+    assertEquals(1, BoundedSourceSplitter.pack(Collections.<Long>emptyList(), Long::longValue, 4).size());
+  }
+
+  @Test
+  public void testSplitReusesFinerSplits() throws Exception {
+    final BoundedSource<Long> source = CountingSource.upTo(1000);
+    final List<List<BoundedSource<Long>>> eightGroups = BoundedSourceSplitter.split(source, 8);
+    assertEquals(8, eightGroups.size());
+
+    // The splits planned for 8 groups are fine enough for 4 groups.
+    final List<List<BoundedSource<Long>>> fourGroups = BoundedSourceSplitter.split(source, 4);
+    assertEquals(4, fourGroups.size());
+    assertEquals(flatten(eightGroups), flatten(fourGroups));
+
+    // The source is split again for more groups.
+    final List<List<BoundedSource<Long>>> sixteenGroups = BoundedSourceSplitter.split(source, 16);
+    assertEquals(16, sixteenGroups.size());
+    assertFalse(flatten(eightGroups).equals(flatten(sixteenGroups)));
+  }
+
+  /**
+   * @param groups the groups of sources.
+   * @return the sources in the groups, compared by their identities.
+   */
+  private static Set<BoundedSource<Long>> flatten(final List<List<BoundedSource<Long>>> groups) {
+    final Set<BoundedSource<Long>> sources = Collections.newSetFromMap(new IdentityHashMap<>());
+    groups.forEach(sources::addAll);
+    return sources;
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.compiler.frontend.spark;
+
+import edu.snu.nemo.common.ir.vertex.transform.JoinFunction;
+import org.apache.spark.api.java.function.Function;
+import scala.Tuple2;
+import scala.util.Either;
+import scala.util.Left;
+import scala.util.Right;
+
+/**
+ * Joins the KV elements of two RDDs, tagged as {@link Left} and {@link Right} values.
+ * @param <K> key type.
+ * @param <V> value type of the left RDD.
+ * @param <W> value type of the right RDD.
+ */
+public final class SparkJoinFunction<K, V, W>
+    implements JoinFunction<Tuple2<K, Either<V, W>>, Tuple2<K, Tuple2<V, W>>> {
+  @Override
+  public Object getKey(final Tuple2<K, Either<V, W>> element) {
+    return element._1;
+  }
+
+  @Override
+  public boolean isLeft(final Tuple2<K, Either<V, W>> element) {
+    return element._2.isLeft();
+  }
+
+  @Override
+  public Tuple2<K, Tuple2<V, W>> join(final Tuple2<K, Either<V, W>> left, final Tuple2<K, Either<V, W>> right) {
+    return new Tuple2<>(left._1, new Tuple2<>(left._2.left().get(), right._2.right().get()));
+  }
+
+  /**
+   * Tags the elements of the left RDD.
+   * @param <K> key type.
+   * @param <V> value type of the left RDD.
+   * @param <W> value type of the right RDD.
+   */
+  public static final class TagLeft<K, V, W> implements Function<Tuple2<K, V>, Tuple2<K, Either<V, W>>> {
+    @Override
+    public Tuple2<K, Either<V, W>> call(final Tuple2<K, V> element) {
+      return new Tuple2<>(element._1, new Left<>(element._2));
+    }
+  }
+
+  /**
+   * Tags the elements of the right RDD.
+   * @param <K> key type.
+   * @param <V> value type of the left RDD.
+   * @param <W> value type of the right RDD.
+   */
+  public static final class TagRight<K, V, W> implements Function<Tuple2<K, W>, Tuple2<K, Either<V, W>>> {
+    @Override
+    public Tuple2<K, Either<V, W>> call(final Tuple2<K, W> element) {
+      return new Tuple2<>(element._1, new Right<>(element._2));
+    }
+  }
+}
@@ -0,0 +1,514 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.compiler.frontend.spark.coder;
+
+import org.apache.spark.sql.Row;
+import org.apache.spark.sql.types.DataType;
+import org.apache.spark.sql.types.DataTypes;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A column of a batch of {@link Row}s, stored as a primitive array with a null bitmap.
+ * Numeric and boolean values are kept in a long array, and strings in a string array, both indexed by row.
+ * Each column is written with plain, run-length or dictionary encoding, whichever fits the values in the batch.
+ * A column read from a stream is not modified afterwards, so that {@link ColumnarBatchRow}s can refer to it.
+ */
+final class RowColumnVector {
+  private static final byte PLAIN = 0;
+  private static final byte RUN_LENGTH = 1;
+  private static final byte DICTIONARY = 2;
+  private static final int INITIAL_CAPACITY = 64;
+
+  private final ColumnType type;
+  private long[] nullBits;
+  private long[] longValues;
+  private String[] stringValues;
+  private int numRows;
+  private int numNulls;
+
+  /**
+   * Constructor.
+   *
+   * @param type the type of the values in this column.
+   */
+  RowColumnVector(final ColumnType type) {
+    this(type, INITIAL_CAPACITY);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param type     the type of the values in this column.
+   * @param capacity the initial number of rows to hold.
+   */
+  private RowColumnVector(final ColumnType type, final int capacity) {
+    this.type = type;
+    this.nullBits = new long[numWords(capacity)];
+    if (type == ColumnType.STRING) {
+      this.stringValues = new String[capacity];
+    } else {
+      this.longValues = new long[capacity];
+    }
+    this.numRows = 0;
+    this.numNulls = 0;
+  }
+
+  /**
+   * @return the type of the values in this column.
+   */
+  ColumnType getType() {
+    return type;
+  }
+
+  /**
+   * @param row the index of the row.
+   * @return whether the value of the row is null.
+   */
+  boolean isNullAt(final int row) {
+    return (nullBits[row >>> 6] & (1L << row)) != 0;
+  }
+
+  /**
+   * @param row the index of the row, whose value is not null.
+   * @return the numeric or boolean value of the row, as converted by {@link ColumnType#toLong(Object)}.
+   */
+  long getLong(final int row) {
+    return longValues[row];
+  }
+
+  /**
+   * @param row the index of the row.
+   * @return the string value of the row, or {@code null}.
+   */
+  String getString(final int row) {
+    return stringValues[row];
+  }
+
+  /**
+   * @param row the index of the row.
+   * @return the boxed value of the row, or {@code null}.
+   */
+  Object get(final int row) {
+    if (isNullAt(row)) {
+      return null;
+    } else if (type == ColumnType.STRING) {
+      return stringValues[row];
+    } else {
+      return type.fromLong(longValues[row]);
+    }
+  }
+
+  /**
+   * Appends the value of a row to this column.
+   *
+   * @param row     the row to read the value from.
+   * @param ordinal the index of this column in the row.
+   */
+  void append(final Row row, final int ordinal) {
+    ensureCapacity(numRows + 1);
+    if (row.isNullAt(ordinal)) {
+      nullBits[numRows >>> 6] |= 1L << numRows;
+      numNulls++;
+    } else if (type == ColumnType.STRING) {
+      stringValues[numRows] = row.getString(ordinal);
+    } else {
+      longValues[numRows] = type.toLong(row.get(ordinal));
+    }
+    numRows++;
+  }
+
+  /**
+   * Writes the values appended so far, and resets this column for the next batch.
+   *
+   * @param out the stream to write to.
+   * @throws IOException if fail to write.
+   */
+  void writeAndReset(final DataOutputStream out) throws IOException {
+    final boolean hasNulls = numNulls > 0;
+    out.writeBoolean(hasNulls);
+    if (hasNulls) {
+      for (int i = 0; i < numWords(numRows); i++) {
+        out.writeLong(nullBits[i]);
+      }
+    }
+    if (type == ColumnType.STRING) {
+      writeStrings(out);
+    } else {
+      writeLongs(out);
+    }
+
+    Arrays.fill(nullBits, 0, numWords(numRows), 0L);
+    if (stringValues != null) {
+      Arrays.fill(stringValues, 0, numRows, null);
+    }
+    numRows = 0;
+    numNulls = 0;
+  }
+
+  /**
+   * Reads the values of a column written by {@link #writeAndReset(DataOutputStream)}.
+   *
+   * @param in      the stream to read from.
+   * @param type    the type of the values in the column.
+   * @param numRows the number of rows in the batch.
+   * @return the column read.
+   * @throws IOException if fail to read.
+   */
+  static RowColumnVector read(final DataInputStream in,
+                              final ColumnType type,
+                              final int numRows) throws IOException {
+    final RowColumnVector column = new RowColumnVector(type, Math.max(numRows, 1));
+    column.numRows = numRows;
+    if (in.readBoolean()) {
+      for (int i = 0; i < numWords(numRows); i++) {
+        column.nullBits[i] = in.readLong();
+        column.numNulls += Long.bitCount(column.nullBits[i]);
+      }
+    }
+    if (type == ColumnType.STRING) {
+      column.readStrings(in);
+    } else {
+      column.readLongs(in);
+    }
+    return column;
+  }
+
+  /**
+   * @param numBits the number of bits.
+   * @return the number of longs needed to hold the bits.
+   */
+  private static int numWords(final int numBits) {
+    return (numBits + 63) >>> 6;
+  }
+
+  /**
+   * Grows the arrays of this column if needed.
+   *
+   * @param capacity the number of rows to hold.
+   */
+  private void ensureCapacity(final int capacity) {
+    if (numWords(capacity) > nullBits.length) {
+      nullBits = Arrays.copyOf(nullBits, nullBits.length * 2);
+    }
+    if (stringValues != null && capacity > stringValues.length) {
+      stringValues = Arrays.copyOf(stringValues, stringValues.length * 2);
+    } else if (longValues != null && capacity > longValues.length) {
+      longValues = Arrays.copyOf(longValues, longValues.length * 2);
+    }
+  }
+
+  /**
+   * Writes the non-null values of a numeric or boolean column.
+   * Run-length encoding is used when it takes less space than the plain encoding.
+   *
+   * @param out the stream to write to.
+   * @throws IOException if fail to write.
+   */
+  private void writeLongs(final DataOutputStream out) throws IOException {
+    final int numValues = numRows - numNulls;
+    int numRuns = 0;
+    long previous = 0;
+    boolean first = true;
+    for (int row = 0; row < numRows; row++) {
+      if (!isNullAt(row)) {
+        if (first || longValues[row] != previous) {
+          numRuns++;
+        }
+        previous = longValues[row];
+        first = false;
+      }
+    }
+    if (numRuns * 2 <= numValues) {
+      out.writeByte(RUN_LENGTH);
+      out.writeInt(numRuns);
+      int runLength = 0;
+      for (int row = 0; row < numRows; row++) {
+        if (isNullAt(row)) {
+          continue;
+        }
+        if (runLength > 0 && longValues[row] != previous) {
+          type.write(out, previous);
+          out.writeInt(runLength);
+          runLength = 0;
+        }
+        previous = longValues[row];
+        runLength++;
+      }
+      if (runLength > 0) {
+        type.write(out, previous);
+        out.writeInt(runLength);
+      }
+    } else {
+      out.writeByte(PLAIN);
+      for (int row = 0; row < numRows; row++) {
+        if (!isNullAt(row)) {
+          type.write(out, longValues[row]);
+        }
+      }
+    }
+  }
+
+  /**
+   * Reads the non-null values of a numeric or boolean column into the rows of this column.
+   *
+   * @param in the stream to read from.
+   * @throws IOException if fail to read.
+   */
+  private void readLongs(final DataInputStream in) throws IOException {
+    final byte encoding = in.readByte();
+    if (encoding == RUN_LENGTH) {
+      final int numRuns = in.readInt();
+      int row = 0;
+      for (int run = 0; run < numRuns; run++) {
+        final long value = type.read(in);
+        for (int remaining = in.readInt(); remaining > 0; row++) {
+          if (!isNullAt(row)) {
+            longValues[row] = value;
+            remaining--;
+          }
+        }
+      }
+    } else if (encoding == PLAIN) {
+      for (int row = 0; row < numRows; row++) {
+        if (!isNullAt(row)) {
+          longValues[row] = type.read(in);
+        }
+      }
+    } else {
+      throw new IOException("Unknown column encoding " + encoding);
+    }
+  }
+
+  /**
+   * Writes the non-null values of a string column.
+   * Dictionary encoding is used when there are many duplicated values.
+   *
+   * @param out the stream to write to.
+   * @throws IOException if fail to write.
+   */
+  private void writeStrings(final DataOutputStream out) throws IOException {
+    final int numValues = numRows - numNulls;
+    final Map<String, Integer> dictionary = new HashMap<>();
+    for (int row = 0; row < numRows; row++) {
+      if (!isNullAt(row)) {
+        dictionary.putIfAbsent(stringValues[row], dictionary.size());
+      }
+    }
+    if (dictionary.size() * 2 <= numValues) {
+      out.writeByte(DICTIONARY);
+      final String[] entries = new String[dictionary.size()];
+      dictionary.forEach((string, id) -> entries[id] = string);
+      out.writeInt(entries.length);
+      for (final String entry : entries) {
+        writeString(out, entry);
+      }
+      for (int row = 0; row < numRows; row++) {
+        if (!isNullAt(row)) {
+          out.writeInt(dictionary.get(stringValues[row]));
+        }
+      }
+    } else {
+      out.writeByte(PLAIN);
+      for (int row = 0; row < numRows; row++) {
+        if (!isNullAt(row)) {
+          writeString(out, stringValues[row]);
+        }
+      }
+    }
+  }
+
+  /**
+   * Reads the non-null values of a string column into the rows of this column.
+   *
+   * @param in the stream to read from.
+   * @throws IOException if fail to read.
+   */
+  private void readStrings(final DataInputStream in) throws IOException {
+    final byte encoding = in.readByte();
+    if (encoding == DICTIONARY) {
+      final String[] entries = new String[in.readInt()];
+      for (int i = 0; i < entries.length; i++) {
+        entries[i] = readString(in);
+      }
+      for (int row = 0; row < numRows; row++) {
+        if (!isNullAt(row)) {
+          stringValues[row] = entries[in.readInt()];
+        }
+      }
+    } else if (encoding == PLAIN) {
+      for (int row = 0; row < numRows; row++) {
+        if (!isNullAt(row)) {
+          stringValues[row] = readString(in);
+        }
+      }
+    } else {
+      throw new IOException("Unknown column encoding " + encoding);
+    }
+  }
+
+  /**
+   * @param out    the stream to write to.
+   * @param string the string to write.
+   * @throws IOException if fail to write.
+   */
+  private static void writeString(final DataOutputStream out, final String string) throws IOException {
+    final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  /**
+   * @param in the stream to read from.
+   * @return the string read.
+   * @throws IOException if fail to read.
+   */
+  private static String readString(final DataInputStream in) throws IOException {
+    final byte[] bytes = new byte[in.readInt()];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Types of columns which can be stored in a {@link RowColumnVector}.
+   */
+  enum ColumnType {
+    BOOLEAN, BYTE, SHORT, INT, LONG, FLOAT, DOUBLE, STRING;
+
+    /**
+     * @param dataType the Spark SQL data type.
+     * @return the column type for the data type, or {@code null} if the data type is not supported.
+     */
+    static ColumnType of(final DataType dataType) {
+      if (DataTypes.BooleanType.equals(dataType)) {
+        return BOOLEAN;
+      } else if (DataTypes.ByteType.equals(dataType)) {
+        return BYTE;
+      } else if (DataTypes.ShortType.equals(dataType)) {
+        return SHORT;
+      } else if (DataTypes.IntegerType.equals(dataType)) {
+        return INT;
+      } else if (DataTypes.LongType.equals(dataType)) {
+        return LONG;
+      } else if (DataTypes.FloatType.equals(dataType)) {
+        return FLOAT;
+      } else if (DataTypes.DoubleType.equals(dataType)) {
+        return DOUBLE;
+      } else if (DataTypes.StringType.equals(dataType)) {
+        return STRING;
+      } else {
+        return null;
+      }
+    }
+
+    /**
+     * @param value a non-null value of this type.
+     * @return the value as a long.
+     */
+    long toLong(final Object value) {
+      switch (this) {
+        case BOOLEAN:
+          return (Boolean) value ? 1L : 0L;
+        case FLOAT:
+          return Float.floatToRawIntBits(((Number) value).floatValue());
+        case DOUBLE:
+          return Double.doubleToRawLongBits(((Number) value).doubleValue());
+        case STRING:
+          throw new UnsupportedOperationException("String values are not stored as longs");
+        default:
+          return ((Number) value).longValue();
+      }
+    }
+
+    /**
+     * @param value a value converted by {@link #toLong(Object)}.
+     * @return the original value.
+     */
+    Object fromLong(final long value) {
+      switch (this) {
+        case BOOLEAN:
+          return value != 0L;
+        case BYTE:
+          return (byte) value;
+        case SHORT:
+          return (short) value;
+        case INT:
+          return (int) value;
+        case FLOAT:
+          return Float.intBitsToFloat((int) value);
+        case DOUBLE:
+          return Double.longBitsToDouble(value);
+        case LONG:
+          return value;
+        default:
+          throw new UnsupportedOperationException("String values are not stored as longs");
+      }
+    }
+
+    /**
+     * Writes a value converted by {@link #toLong(Object)} with the width of this type.
+     *
+     * @param out   the stream to write to.
+     * @param value the value to write.
+     * @throws IOException if fail to write.
+     */
+    void write(final DataOutputStream out, final long value) throws IOException {
+      switch (this) {
+        case BOOLEAN:
+        case BYTE:
+          out.writeByte((int) value);
+          break;
+        case SHORT:
+          out.writeShort((int) value);
+          break;
+        case INT:
+        case FLOAT:
+          out.writeInt((int) value);
+          break;
+        default:
+          out.writeLong(value);
+      }
+    }
+
+    /**
+     * Reads a value written by {@link #write(DataOutputStream, long)}.
+     *
+     * @param in the stream to read from.
+     * @return the value read.
+     * @throws IOException if fail to read.
+     */
+    long read(final DataInputStream in) throws IOException {
+      switch (this) {
+        case BOOLEAN:
+        case BYTE:
+          return in.readByte();
+        case SHORT:
+          return in.readShort();
+        case INT:
+        case FLOAT:
+          return in.readInt();
+        default:
+          return in.readLong();
+      }
+    }
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.compiler.frontend.spark.coder;
+
+import edu.snu.nemo.common.coder.DecoderFactory;
+import org.apache.spark.sql.Row;
+import org.apache.spark.sql.types.StructField;
+import org.apache.spark.sql.types.StructType;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * DecoderFactory which decodes Spark {@link Row}s encoded by {@link SparkColumnarEncoderFactory}.
+ * Each batch is decoded into primitive column arrays, and the decoded rows read their values from the arrays
+ * without boxing, unless they are read through {@link Row#get(int)}.
+ */
+public final class SparkColumnarDecoderFactory implements DecoderFactory<Row> {
+  private final StructType schema;
+
+  /**
+   * Private constructor.
+   *
+   * @param schema the schema of the encoded rows.
+   */
+  private SparkColumnarDecoderFactory(final StructType schema) {
+    this.schema = schema;
+  }
+
+  /**
+   * Static initializer of the coder.
+   *
+   * @param schema the schema of the encoded rows.
+   * @return the new decoder factory.
+   */
+  public static SparkColumnarDecoderFactory of(final StructType schema) {
+    return new SparkColumnarDecoderFactory(schema);
+  }
+
+  @Override
+  public Decoder<Row> create(final InputStream inputStream) {
+    return new ColumnarDecoder(inputStream);
+  }
+
+  /**
+   * ColumnarDecoder.
+   */
+  private final class ColumnarDecoder implements Decoder<Row> {
+
+    private final DataInputStream inputStream;
+    private final RowColumnVector.ColumnType[] columnTypes;
+    private RowColumnVector[] columns;
+    private int numRows;
+    private int nextRow;
+
+    /**
+     * Constructor.
+     *
+     * @param inputStream the input stream to decode.
+     */
+    private ColumnarDecoder(final InputStream inputStream) {
+      // The DataInputStream itself does not buffer anything, so it is okay not to close it.
+      this.inputStream = new DataInputStream(inputStream);
+      final StructField[] fields = schema.fields();
+      this.columnTypes = new RowColumnVector.ColumnType[fields.length];
+      for (int i = 0; i < fields.length; i++) {
+        columnTypes[i] = RowColumnVector.ColumnType.of(fields[i].dataType());
+      }
+      this.numRows = 0;
+      this.nextRow = 0;
+    }
+
+    @Override
+    public Row decode() throws IOException {
+      if (nextRow == numRows) {
+        readBatch();
+      }
+      return new ColumnarBatchRow(schema, columns, nextRow++);
+    }
+
+    /**
+     * Reads the next batch into new columns, as the rows of the previous batch still refer to its columns.
+     *
+     * @throws IOException if fail to read, or there is no more batch.
+     */
+    private void readBatch() throws IOException {
+      numRows = inputStream.readInt();
+      nextRow = 0;
+      columns = new RowColumnVector[columnTypes.length];
+      for (int column = 0; column < columnTypes.length; column++) {
+        columns[column] = RowColumnVector.read(inputStream, columnTypes[column], numRows);
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "SparkColumnarDecoderFactory{" + schema.simpleString() + "}";
+  }
+}
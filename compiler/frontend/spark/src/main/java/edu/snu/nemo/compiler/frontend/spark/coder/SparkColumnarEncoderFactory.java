@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.compiler.frontend.spark.coder;
+
+import edu.snu.nemo.common.DirectByteArrayOutputStream;
+import edu.snu.nemo.common.coder.EncoderFactory;
+import org.apache.spark.sql.Row;
+import org.apache.spark.sql.types.StructField;
+import org.apache.spark.sql.types.StructType;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * EncoderFactory which encodes Spark {@link Row}s of a fixed schema in a columnar format.
+ * Rows are buffered in primitive column arrays, and written batch by batch.
+ * Each batch is laid out as the number of rows, followed by the columns.
+ */
+public final class SparkColumnarEncoderFactory implements EncoderFactory<Row> {
+  private static final int DEFAULT_BATCH_SIZE = 4096;
+
+  private final StructType schema;
+  private final int batchSize;
+
+  /**
+   * Private constructor.
+   *
+   * @param schema    the schema of the rows.
+   * @param batchSize the maximum number of rows in a batch.
+   */
+  private SparkColumnarEncoderFactory(final StructType schema, final int batchSize) {
+    this.schema = schema;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Static initializer of the coder.
+   *
+   * @param schema the schema of the rows, which has to be supported.
+   * @return the new encoder factory.
+   * @see #isSupported(StructType)
+   */
+  public static SparkColumnarEncoderFactory of(final StructType schema) {
+    return of(schema, DEFAULT_BATCH_SIZE);
+  }
+
+  /**
+   * Static initializer of the coder.
+   *
+   * @param schema    the schema of the rows, which has to be supported.
+   * @param batchSize the maximum number of rows in a batch.
+   * @return the new encoder factory.
+   * @see #isSupported(StructType)
+   */
+  public static SparkColumnarEncoderFactory of(final StructType schema, final int batchSize) {
+    if (!isSupported(schema)) {
+      throw new IllegalArgumentException("Unsupported schema for the columnar format: " + schema);
+    }
+    return new SparkColumnarEncoderFactory(schema, batchSize);
+  }
+
+  /**
+   * @param schema the schema of the rows.
+   * @return whether all columns of the schema can be written in the columnar format.
+   */
+  public static boolean isSupported(final StructType schema) {
+    for (final StructField field : schema.fields()) {
+      if (RowColumnVector.ColumnType.of(field.dataType()) == null) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public Encoder<Row> create(final OutputStream outputStream) {
+    return new ColumnarEncoder(outputStream);
+  }
+
+  /**
+   * ColumnarEncoder.
+   */
+  private final class ColumnarEncoder implements Encoder<Row> {
+
+    private final OutputStream outputStream;
+    // A batch is written here first, and then to the output stream at once.
+    private final DirectByteArrayOutputStream batchBytes;
+    private final DataOutputStream batchOutputStream;
+    private final RowColumnVector[] columns;
+    private int numRows;
+
+    /**
+     * Constructor.
+     *
+     * @param outputStream the output stream to store the encoded bytes.
+     */
+    private ColumnarEncoder(final OutputStream outputStream) {
+      this.outputStream = outputStream;
+      this.batchBytes = new DirectByteArrayOutputStream();
+      // The DataOutputStream itself does not buffer anything, so it is okay not to close it.
+      this.batchOutputStream = new DataOutputStream(batchBytes);
+      final StructField[] fields = schema.fields();
+      this.columns = new RowColumnVector[fields.length];
+      for (int i = 0; i < fields.length; i++) {
+        columns[i] = new RowColumnVector(RowColumnVector.ColumnType.of(fields[i].dataType()));
+      }
+      this.numRows = 0;
+    }
+
+    @Override
+    public void encode(final Row row) throws IOException {
+      for (int i = 0; i < columns.length; i++) {
+        columns[i].append(row, i);
+      }
+      numRows++;
+      if (numRows == batchSize) {
+        writeBatch();
+      }
+    }
+
+    @Override
+    public void flush() throws IOException {
+      if (numRows > 0) {
+        writeBatch();
+      }
+    }
+
+    /**
+     * Writes the buffered rows as a batch.
+     *
+     * @throws IOException if fail to write.
+     */
+    private void writeBatch() throws IOException {
+      batchBytes.reset();
+      batchOutputStream.writeInt(numRows);
+      for (final RowColumnVector column : columns) {
+        column.writeAndReset(batchOutputStream);
+      }
+      outputStream.write(batchBytes.getBufDirectly(), 0, batchBytes.getCount());
+      numRows = 0;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "SparkColumnarEncoderFactory{" + schema.simpleString() + "}";
+  }
+}
@@ -17,6 +17,7 @@ package edu.snu.nemo.compiler.frontend.spark.coder;
 
 import edu.snu.nemo.common.coder.DecoderFactory;
 import org.apache.spark.serializer.DeserializationStream;
+import org.apache.spark.serializer.JavaSerializer;
 import org.apache.spark.serializer.Serializer;
 import org.apache.spark.serializer.SerializerInstance;
 import scala.reflect.ClassTag$;
@@ -44,6 +45,11 @@ public final class SparkDecoderFactory<T> implements DecoderFactory<T> {
     return new SparkDecoder<>(inputStream, serializer.newInstance());
   }
 
+  @Override
+  public boolean isJavaSerialization() {
+    return serializer instanceof JavaSerializer;
+  }
+
   /**
    * SparkDecoder.
    * @param <T2> type of the object to deserialize.
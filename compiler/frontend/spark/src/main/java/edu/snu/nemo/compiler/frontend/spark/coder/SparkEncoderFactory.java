@@ -17,6 +17,7 @@ package edu.snu.nemo.compiler.frontend.spark.coder;
 
 import edu.snu.nemo.common.coder.EncoderFactory;
 import org.apache.spark.serializer.SerializationStream;
+import org.apache.spark.serializer.JavaSerializer;
 import org.apache.spark.serializer.Serializer;
 import org.apache.spark.serializer.SerializerInstance;
 import scala.reflect.ClassTag$;
@@ -44,6 +45,11 @@ public final class SparkEncoderFactory<T> implements EncoderFactory<T> {
     return new SparkEncoder<>(outputStream, serializer.newInstance());
   }
 
+  @Override
+  public boolean isJavaSerialization() {
+    return serializer instanceof JavaSerializer;
+  }
+
   /**
    * SparkEncoder.
    * @param <T2> type of the object to serialize.
@@ -20,12 +20,14 @@ import edu.snu.nemo.common.dag.DAG;
 import edu.snu.nemo.common.dag.DAGBuilder;
 import edu.snu.nemo.common.ir.edge.IREdge;
 import edu.snu.nemo.common.ir.edge.executionproperty.CommunicationPatternProperty;
+import edu.snu.nemo.common.ir.edge.executionproperty.DataStoreProperty;
 import edu.snu.nemo.common.ir.edge.executionproperty.DecoderProperty;
 import edu.snu.nemo.common.ir.edge.executionproperty.EncoderProperty;
 import edu.snu.nemo.common.ir.edge.executionproperty.KeyExtractorProperty;
 import edu.snu.nemo.common.ir.vertex.IRVertex;
 import edu.snu.nemo.common.ir.vertex.LoopVertex;
 import edu.snu.nemo.common.ir.vertex.OperatorVertex;
+import edu.snu.nemo.common.ir.vertex.transform.JoinTransform;
 import edu.snu.nemo.compiler.frontend.spark.SparkKeyExtractor;
 import edu.snu.nemo.compiler.frontend.spark.coder.SparkDecoderFactory;
 import edu.snu.nemo.compiler.frontend.spark.coder.SparkEncoderFactory;
@@ -39,6 +41,7 @@ import org.apache.spark.api.java.function.PairFunction;
 import org.apache.spark.serializer.JavaSerializer;
 import org.apache.spark.serializer.KryoSerializer;
 import org.apache.spark.serializer.Serializer;
+import org.apache.spark.storage.StorageLevel;
 import scala.Function1;
 import scala.Tuple2;
 import scala.collection.JavaConverters;
@@ -116,13 +119,31 @@ public final class SparkFrontendUtils {
                                                                                final IRVertex dst) {
     if (dst instanceof OperatorVertex
         && (((OperatorVertex) dst).getTransform() instanceof ReduceByKeyTransform
-        || ((OperatorVertex) dst).getTransform() instanceof GroupByKeyTransform)) {
+        || ((OperatorVertex) dst).getTransform() instanceof GroupByKeyTransform
+        || ((OperatorVertex) dst).getTransform() instanceof JoinTransform)) {
       return CommunicationPatternProperty.Value.Shuffle;
     } else {
       return CommunicationPatternProperty.Value.OneToOne;
     }
   }
 
+  /**
+   * Retrieve the data store to cache the data persisted with the storage level in.
+   * Off-heap storage and replication are not supported, and are regarded as their nearest on-heap counterparts.
+   *
+   * @param storageLevel the storage level to persist the data with.
+   * @return the data store.
+   */
+  public static DataStoreProperty.Value getDataStore(final StorageLevel storageLevel) {
+    if (storageLevel.useDisk()) {
+      return DataStoreProperty.Value.LocalFileStore;
+    } else if (storageLevel.deserialized()) {
+      return DataStoreProperty.Value.MemoryStore;
+    } else {
+      return DataStoreProperty.Value.SerializedMemoryStore;
+    }
+  }
+
   /**
    * Converts a {@link Function1} to a corresponding {@link Function}.
    *
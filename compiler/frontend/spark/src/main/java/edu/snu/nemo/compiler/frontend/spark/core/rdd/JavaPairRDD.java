@@ -97,6 +97,15 @@ public final class JavaPairRDD<K, V> extends org.apache.spark.api.java.JavaPairR
     return JavaPairRDD.fromRDD(reducedRdd);
   }
 
+  @Override
+  public <W> JavaPairRDD<K, Tuple2<V, W>> join(final org.apache.spark.api.java.JavaPairRDD<K, W> other) {
+    // Explicit conversion
+    final PairRDDFunctions<K, V> pairRdd = RDD.rddToPairRDDFunctions(
+        rdd, ClassTag$.MODULE$.apply(Object.class), ClassTag$.MODULE$.apply(Object.class), null);
+    final RDD<Tuple2<K, Tuple2<V, W>>> joinedRdd = pairRdd.join(other.rdd());
+    return JavaPairRDD.fromRDD(joinedRdd);
+  }
+
   @Override
   public <R> JavaRDD<R> map(final Function<Tuple2<K, V>, R> f) {
     return rdd.map(f, ClassTag$.MODULE$.apply(Object.class)).toJavaRDD();
@@ -114,12 +123,14 @@ public final class JavaPairRDD<K, V> extends org.apache.spark.api.java.JavaPairR
 
   @Override
   public JavaPairRDD<K, V> cache() {
-    throw new UnsupportedOperationException("Operation not yet implemented.");
+    rdd.cache();
+    return this;
   }
 
   @Override
   public JavaPairRDD<K, V> persist(final StorageLevel newLevel) {
-    throw new UnsupportedOperationException("Operation not yet implemented.");
+    rdd.persist(newLevel);
+    return this;
   }
 
   @Override
@@ -412,11 +423,6 @@ public final class JavaPairRDD<K, V> extends org.apache.spark.api.java.JavaPairR
     throw new UnsupportedOperationException("Operation not yet implemented.");
   }
 
-  @Override
-  public <W> JavaPairRDD<K, Tuple2<V, W>> join(final org.apache.spark.api.java.JavaPairRDD<K, W> other) {
-    throw new UnsupportedOperationException("Operation not yet implemented.");
-  }
-
   @Override
   public <W> JavaPairRDD<K, Tuple2<V, W>> join(final org.apache.spark.api.java.JavaPairRDD<K, W> other,
                                                final int numPartitions) {
@@ -641,12 +647,19 @@ public final class JavaPairRDD<K, V> extends org.apache.spark.api.java.JavaPairR
 
   @Override
   public JavaPairRDD<K, V> sortByKey() {
-    throw new UnsupportedOperationException("Operation not yet implemented.");
+    // Explicit conversion
+    final PairRDDFunctions<K, V> pairRdd = RDD.rddToPairRDDFunctions(
+        rdd, ClassTag$.MODULE$.apply(Object.class), ClassTag$.MODULE$.apply(Object.class), null);
+    final RDD<Tuple2<K, V>> sortedRdd = pairRdd.sortByKey();
+    return JavaPairRDD.fromRDD(sortedRdd);
   }
 
   @Override
   public JavaPairRDD<K, V> sortByKey(final boolean ascending) {
-    throw new UnsupportedOperationException("Operation not yet implemented.");
+    if (!ascending) {
+      throw new UnsupportedOperationException("Operation not yet implemented.");
+    }
+    return sortByKey();
   }
 
   @Override
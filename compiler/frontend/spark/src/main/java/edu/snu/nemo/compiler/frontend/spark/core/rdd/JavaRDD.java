@@ -15,12 +15,16 @@
  */
 package edu.snu.nemo.compiler.frontend.spark.core.rdd;
 
+import edu.snu.nemo.common.coder.DecoderFactory;
+import edu.snu.nemo.common.coder.EncoderFactory;
 import edu.snu.nemo.common.dag.DAG;
 import edu.snu.nemo.common.dag.DAGBuilder;
 import edu.snu.nemo.common.ir.edge.IREdge;
 import edu.snu.nemo.common.ir.vertex.IRVertex;
 import edu.snu.nemo.common.ir.vertex.InMemorySourceVertex;
 import edu.snu.nemo.common.ir.vertex.executionproperty.ParallelismProperty;
+import edu.snu.nemo.compiler.frontend.spark.coder.SparkColumnarDecoderFactory;
+import edu.snu.nemo.compiler.frontend.spark.coder.SparkColumnarEncoderFactory;
 import edu.snu.nemo.compiler.frontend.spark.core.SparkFrontendUtils;
 import edu.snu.nemo.compiler.frontend.spark.source.SparkDatasetBoundedSourceVertex;
 import edu.snu.nemo.compiler.frontend.spark.source.SparkTextFileBoundedSourceVertex;
@@ -32,6 +36,8 @@ import org.apache.spark.api.java.Optional;
 import org.apache.spark.api.java.function.*;
 import org.apache.spark.partial.BoundedDouble;
 import org.apache.spark.partial.PartialResult;
+import org.apache.spark.sql.Row;
+import org.apache.spark.sql.types.StructType;
 import org.apache.spark.storage.StorageLevel;
 import scala.Option;
 import scala.Tuple2;
@@ -111,6 +117,18 @@ public final class JavaRDD<T> extends org.apache.spark.api.java.JavaRDD<T> {
     sparkBoundedSourceVertex.setProperty(ParallelismProperty.of(sparkRDD.getNumPartitions()));
     builder.addVertex(sparkBoundedSourceVertex);
 
+    final StructType schema = dataset.schema();
+    if (Row.class.isAssignableFrom(dataset.exprEnc().clsTag().runtimeClass())
+        && SparkColumnarEncoderFactory.isSupported(schema)) {
+      // Rows of a tabular dataset are sent in the columnar format.
+      final RDD<T> nemoRdd = new RDD<>(sparkSession.sparkContext(), builder.buildWithoutSourceSinkCheck(),
+          sparkBoundedSourceVertex, Option.apply(sparkRDD),
+          (EncoderFactory) SparkColumnarEncoderFactory.of(schema),
+          (DecoderFactory) SparkColumnarDecoderFactory.of(schema),
+          ClassTag$.MODULE$.apply(Object.class));
+      return new JavaRDD<>(nemoRdd);
+    }
+
     return new JavaRDD<>(
         sparkRDD, sparkSession.sparkContext(), builder.buildWithoutSourceSinkCheck(), sparkBoundedSourceVertex);
   }
@@ -243,7 +261,8 @@ public final class JavaRDD<T> extends org.apache.spark.api.java.JavaRDD<T> {
 
   @Override
   public JavaRDD<T> cache() {
-    throw new UnsupportedOperationException("Operation not yet implemented.");
+    rdd.cache();
+    return this;
   }
 
   @Override
@@ -294,7 +313,8 @@ public final class JavaRDD<T> extends org.apache.spark.api.java.JavaRDD<T> {
 
   @Override
   public JavaRDD<T> persist(final StorageLevel newLevel) {
-    throw new UnsupportedOperationException("Operation not yet implemented.");
+    rdd.persist(newLevel);
+    return this;
   }
 
   @Override
@@ -23,7 +23,6 @@ import org.apache.spark.*;
 import org.apache.spark.rdd.RDD;
 import scala.collection.JavaConverters;
 
-import javax.naming.OperationNotSupportedException;
 import java.io.IOException;
 import java.util.*;
 
@@ -44,9 +43,12 @@ public final class SparkDatasetBoundedSourceVertex<T> extends SourceVertex<T> {
     this.readables = new ArrayList<>();
     final RDD rdd = dataset.sparkRDD();
     final Partition[] partitions = rdd.getPartitions();
+    // Identifies the dataset in the executor-level cache, shared by the readables.
+    final String datasetId = UUID.randomUUID().toString();
     for (int i = 0; i < partitions.length; i++) {
       readables.add(new SparkDatasetBoundedSourceReadable(
           partitions[i],
+          datasetId,
           sparkSession.getDatasetCommandsList(),
           sparkSession.getInitialConf(),
           i));
@@ -79,10 +81,21 @@ public final class SparkDatasetBoundedSourceVertex<T> extends SourceVertex<T> {
     readables = null;
   }
 
+  @Override
+  protected void takeOverSource(final SourceVertex<T> that) {
+    readables = ((SparkDatasetBoundedSourceVertex<T>) that).readables;
+  }
+
+  @Override
+  public long getEstimatedSizeBytes() {
+    return -1;
+  }
+
   /**
    * A Readable wrapper for Spark Dataset.
    */
   private final class SparkDatasetBoundedSourceReadable implements Readable<T> {
+    private final String datasetId;
     private final LinkedHashMap<String, Object[]> commands;
     private final Map<String, String> sessionInitialConf;
     private final int partitionIndex;
@@ -92,14 +105,17 @@ public final class SparkDatasetBoundedSourceVertex<T> extends SourceVertex<T> {
      * Constructor.
      *
      * @param partition          the partition to wrap.
+     * @param datasetId          the id of the dataset, shared by the readables of the dataset.
      * @param commands           list of commands needed to build the dataset.
      * @param sessionInitialConf spark session's initial configuration.
      * @param partitionIndex     partition for this readable.
      */
     private SparkDatasetBoundedSourceReadable(final Partition partition,
+                                              final String datasetId,
                                               final LinkedHashMap<String, Object[]> commands,
                                               final Map<String, String> sessionInitialConf,
                                               final int partitionIndex) {
+      this.datasetId = datasetId;
       this.commands = commands;
       this.sessionInitialConf = sessionInitialConf;
       this.partitionIndex = partitionIndex;
@@ -108,20 +124,9 @@ public final class SparkDatasetBoundedSourceVertex<T> extends SourceVertex<T> {
 
     @Override
     public Iterable<T> read() throws IOException {
-      // for setting up the same environment in the executors.
-      final SparkSession spark = SparkSession.builder()
-          .config(sessionInitialConf)
-          .getOrCreate();
-      final Dataset<T> dataset;
-
-      try {
-        dataset = SparkSession.initializeDataset(spark, commands);
-      } catch (final OperationNotSupportedException e) {
-        throw new IllegalStateException(e);
-      }
+      final RDD<T> rdd = SparkDatasetCache.getRDD(datasetId, commands, sessionInitialConf);
 
       // Spark does lazy evaluation: it doesn't load the full dataset, but only the partition it is asked for.
-      final RDD<T> rdd = dataset.sparkRDD();
       return () -> JavaConverters.asJavaIteratorConverter(
           rdd.iterator(rdd.getPartitions()[partitionIndex], TaskContext$.MODULE$.empty())).asJava();
     }
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.compiler.frontend.spark.source;
+
+import edu.snu.nemo.compiler.frontend.spark.sql.Dataset;
+import edu.snu.nemo.compiler.frontend.spark.sql.SparkSession;
+import org.apache.spark.rdd.RDD;
+
+import javax.naming.OperationNotSupportedException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Executor-level cache of the datasets recreated from the commands of {@link SparkSession}.
+ * Recreating a dataset replays all of its commands, including file listing and schema inference,
+ * so the readables of the same dataset on an executor share a single recreated dataset.
+ * Datasets are identified by the id which their source vertex assigns when the DAG is built.
+ */
+final class SparkDatasetCache {
+  private static final int MAX_NUM_DATASETS = 16;
+
+  // Accessed only while holding the lock of the map itself. The least recently used dataset is evicted first.
+  // The lock is not held while a dataset is being created, so that datasets are created concurrently.
+  private static final Map<String, CompletableFuture<Object>> CACHED_DATASETS =
+      new LinkedHashMap<String, CompletableFuture<Object>>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<String, CompletableFuture<Object>> eldest) {
+      return size() > MAX_NUM_DATASETS;
+    }
+  };
+
+  /**
+   * Private constructor.
+   */
+  private SparkDatasetCache() {
+    // Private constructor.
+  }
+
+  /**
+   * Gets the RDD of the dataset built with the given commands and configuration,
+   * recreating the spark session and the dataset only if it is not cached yet.
+   *
+   * @param datasetId          the id of the dataset.
+   * @param commands           list of commands needed to build the dataset.
+   * @param sessionInitialConf spark session's initial configuration.
+   * @param <T>                type of the data in the dataset.
+   * @return the RDD of the dataset.
+   */
+  static <T> RDD<T> getRDD(final String datasetId,
+                           final LinkedHashMap<String, Object[]> commands,
+                           final Map<String, String> sessionInitialConf) {
+    return getOrCreate(datasetId, () -> {
+      // for setting up the same environment in the executors.
+      final SparkSession spark = SparkSession.builder()
+          .config(sessionInitialConf)
+          .getOrCreate();
+      final Dataset<T> dataset;
+      try {
+        dataset = SparkSession.initializeDataset(spark, commands);
+      } catch (final OperationNotSupportedException e) {
+        throw new IllegalStateException(e);
+      }
+      return dataset.sparkRDD();
+    });
+  }
+
+  /**
+   * Gets the value cached for the given id, or creates it.
+   * Callers of the same id wait for a single creation instead of creating the value again,
+   * while the values of other ids are created concurrently.
+   * A failed creation is not cached, so that a later caller tries again.
+   *
+   * @param datasetId the id of the value.
+   * @param creator   creates the value.
+   * @param <V>       type of the value.
+   * @return the value.
+   */
+  static <V> V getOrCreate(final String datasetId, final Supplier<V> creator) {
+    final CompletableFuture<Object> newFuture = new CompletableFuture<>();
+    final CompletableFuture<Object> future;
+    synchronized (CACHED_DATASETS) {
+      future = CACHED_DATASETS.computeIfAbsent(datasetId, id -> newFuture);
+    }
+    if (future == newFuture) {
+      try {
+        newFuture.complete(creator.get());
+      } catch (final RuntimeException e) {
+        synchronized (CACHED_DATASETS) {
+          CACHED_DATASETS.remove(datasetId, newFuture);
+        }
+        newFuture.completeExceptionally(e);
+        throw e;
+      }
+    }
+    try {
+      return (V) future.join();
+    } catch (final CompletionException e) {
+      throw new IllegalStateException("Failed to create dataset " + datasetId, e.getCause());
+    }
+  }
+}
@@ -17,6 +17,7 @@ package edu.snu.nemo.compiler.frontend.spark.source;
 
 import edu.snu.nemo.common.ir.Readable;
 import edu.snu.nemo.common.ir.vertex.SourceVertex;
+import org.apache.hadoop.fs.Path;
 import org.apache.spark.*;
 import org.apache.spark.rdd.RDD;
 import scala.collection.JavaConverters;
@@ -29,6 +30,7 @@ import java.util.*;
  */
 public final class SparkTextFileBoundedSourceVertex extends SourceVertex<String> {
   private List<Readable<String>> readables;
+  private long estimatedSizeBytes;
 
   /**
    * Constructor.
@@ -50,20 +52,40 @@ public final class SparkTextFileBoundedSourceVertex extends SourceVertex<String>
           inputPath,
           numPartitions));
     }
+    this.estimatedSizeBytes = estimateSize(sparkContext, inputPath);
   }
 
   /**
    * Constructor for cloning.
    *
-   * @param readables the list of Readables to set.
+   * @param readables          the list of Readables to set.
+   * @param estimatedSizeBytes the estimated size of the text file.
    */
-  private SparkTextFileBoundedSourceVertex(final List<Readable<String>> readables) {
+  private SparkTextFileBoundedSourceVertex(final List<Readable<String>> readables,
+                                           final long estimatedSizeBytes) {
     this.readables = readables;
+    this.estimatedSizeBytes = estimatedSizeBytes;
+  }
+
+  /**
+   * @param sparkContext the spark context.
+   * @param inputPath    the path of the target text file.
+   * @return the total length of the files under the path, or -1 if unknown.
+   */
+  private static long estimateSize(final SparkContext sparkContext, final String inputPath) {
+    try {
+      final Path path = new Path(inputPath);
+      return path.getFileSystem(sparkContext.hadoopConfiguration()).getContentSummary(path).getLength();
+    } catch (final Exception e) {
+      // e.g. a glob pattern.
+      return -1;
+    }
   }
 
   @Override
   public SparkTextFileBoundedSourceVertex getClone() {
-    final SparkTextFileBoundedSourceVertex that = new SparkTextFileBoundedSourceVertex(this.readables);
+    final SparkTextFileBoundedSourceVertex that = new SparkTextFileBoundedSourceVertex(this.readables,
+        this.estimatedSizeBytes);
     this.copyExecutionPropertiesTo(that);
     return that;
   }
@@ -78,6 +100,18 @@ public final class SparkTextFileBoundedSourceVertex extends SourceVertex<String>
     readables = null;
   }
 
+  @Override
+  protected void takeOverSource(final SourceVertex<String> that) {
+    final SparkTextFileBoundedSourceVertex thatVertex = (SparkTextFileBoundedSourceVertex) that;
+    readables = thatVertex.readables;
+    estimatedSizeBytes = thatVertex.estimatedSizeBytes;
+  }
+
+  @Override
+  public long getEstimatedSizeBytes() {
+    return estimatedSizeBytes;
+  }
+
   /**
    * A Readable wrapper for Spark text file.
    */
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.compiler.frontend.spark.coder
+
+import java.io.ObjectStreamException
+
+import edu.snu.nemo.compiler.frontend.spark.coder.RowColumnVector.ColumnType
+import org.apache.spark.sql.Row
+import org.apache.spark.sql.catalyst.expressions.GenericRowWithSchema
+import org.apache.spark.sql.types.StructType
+
+/**
+ * A [[Row]] decoded by [[SparkColumnarDecoderFactory]], which reads its values from the columns of its batch.
+ * Primitive values are read without boxing through the typed getters, such as `getInt`.
+ * The columns of a decoded batch are never modified, so the row stays valid after the next batch is decoded.
+ *
+ * @param rowSchema the schema of the row.
+ * @param columns   the columns of the batch.
+ * @param rowId     the index of the row in the batch.
+ */
+private[coder] final class ColumnarBatchRow(rowSchema: StructType,
+                                            columns: Array[RowColumnVector],
+                                            rowId: Int) extends Row {
+
+  override def schema: StructType = rowSchema
+
+  override def length: Int = columns.length
+
+  override def get(i: Int): Any = columns(i).get(rowId)
+
+  override def isNullAt(i: Int): Boolean = columns(i).isNullAt(rowId)
+
+  override def getBoolean(i: Int): Boolean =
+    if (columns(i).getType == ColumnType.BOOLEAN) primitiveAt(i) != 0L else super.getBoolean(i)
+
+  override def getByte(i: Int): Byte =
+    if (columns(i).getType == ColumnType.BYTE) primitiveAt(i).toByte else super.getByte(i)
+
+  override def getShort(i: Int): Short =
+    if (columns(i).getType == ColumnType.SHORT) primitiveAt(i).toShort else super.getShort(i)
+
+  override def getInt(i: Int): Int =
+    if (columns(i).getType == ColumnType.INT) primitiveAt(i).toInt else super.getInt(i)
+
+  override def getLong(i: Int): Long =
+    if (columns(i).getType == ColumnType.LONG) primitiveAt(i) else super.getLong(i)
+
+  override def getFloat(i: Int): Float =
+    if (columns(i).getType == ColumnType.FLOAT) {
+      java.lang.Float.intBitsToFloat(primitiveAt(i).toInt)
+    } else {
+      super.getFloat(i)
+    }
+
+  override def getDouble(i: Int): Double =
+    if (columns(i).getType == ColumnType.DOUBLE) {
+      java.lang.Double.longBitsToDouble(primitiveAt(i))
+    } else {
+      super.getDouble(i)
+    }
+
+  override def getString(i: Int): String =
+    if (columns(i).getType == ColumnType.STRING) columns(i).getString(rowId) else super.getString(i)
+
+  /**
+   * The values never change, so the row itself is returned.
+   */
+  override def copy(): Row = this
+
+  /**
+   * @param i the index of a numeric or boolean column.
+   * @return the value of the column as stored in the column.
+   */
+  private def primitiveAt(i: Int): Long = {
+    // The same as the typed getters of other rows.
+    if (isNullAt(i)) {
+      throw new NullPointerException(s"Value at index $i is null")
+    }
+    columns(i).getLong(rowId)
+  }
+
+  /**
+   * Serializes the values only, rather than the whole batch.
+   */
+  @throws(classOf[ObjectStreamException])
+  private def writeReplace(): AnyRef = new GenericRowWithSchema(Array.tabulate[Any](length)(get), rowSchema)
+}
@@ -19,10 +19,12 @@ import java.util
 
 import edu.snu.nemo.common.dag.DAGBuilder
 import edu.snu.nemo.common.ir.edge.IREdge
-import edu.snu.nemo.common.ir.edge.executionproperty.{DecoderProperty, EncoderProperty, KeyExtractorProperty}
+import edu.snu.nemo.common.ir.edge.executionproperty.{CommunicationPatternProperty, DecoderProperty, EncoderProperty,
+  KeyExtractorProperty, PartitionerProperty}
 import edu.snu.nemo.common.ir.executionproperty.EdgeExecutionProperty
+import edu.snu.nemo.common.ir.vertex.transform.{JoinTransform, SortTransform}
 import edu.snu.nemo.common.ir.vertex.{IRVertex, LoopVertex, OperatorVertex}
-import edu.snu.nemo.compiler.frontend.spark.SparkKeyExtractor
+import edu.snu.nemo.compiler.frontend.spark.{SparkJoinFunction, SparkKeyExtractor}
 import edu.snu.nemo.compiler.frontend.spark.coder.{SparkDecoderFactory, SparkEncoderFactory}
 import edu.snu.nemo.compiler.frontend.spark.core.SparkFrontendUtils
 import edu.snu.nemo.compiler.frontend.spark.transform.ReduceByKeyTransform
@@ -35,6 +37,7 @@ import org.apache.spark.partial.{BoundedDouble, PartialResult}
 import org.apache.spark.serializer.Serializer
 import org.apache.spark.{Partitioner, rdd}
 
+import scala.collection.JavaConverters._
 import scala.reflect.ClassTag
 
 /**
@@ -83,6 +86,72 @@ final class PairRDDFunctions[K: ClassTag, V: ClassTag] protected[rdd] (
     new RDD[(K, V)](self._sc, builder.buildWithoutSourceSinkCheck, reduceByKeyVertex, Option.empty)
   }
 
+  /**
+   * Return an RDD containing all pairs of elements with matching keys in `this` and `other`.
+   * The elements of both RDDs are tagged and shuffled into a single join vertex, and the physical join strategy
+   * is chosen at compile time from the estimated sizes of the two RDDs.
+   */
+  override def join[W](other: rdd.RDD[(K, W)]): RDD[(K, (V, W))] = {
+    val otherRdd = other match {
+      case nemoRdd: RDD[_] => nemoRdd.asInstanceOf[RDD[(K, W)]]
+      case _ => throw new UnsupportedOperationException("Cannot join with a non-Nemo RDD!")
+    }
+    val left = self.map[(K, Either[V, W])](new SparkJoinFunction.TagLeft[K, V, W])
+    val right = otherRdd.map[(K, Either[V, W])](new SparkJoinFunction.TagRight[K, V, W])
+
+    // Merge the DAG of the other side, which may share some vertices with this side.
+    val builder = new DAGBuilder[IRVertex, IREdge](left.dag)
+    right.dag.getVertices.asScala.foreach(v => builder.addVertex(v, right.dag))
+    right.dag.getVertices.asScala.foreach(v => right.dag.getIncomingEdgesOf(v).asScala.foreach(builder.connectVertices))
+
+    val joinVertex = new OperatorVertex(new JoinTransform[(K, Either[V, W]), (K, (V, W))](
+      new SparkJoinFunction[K, V, W],
+      new SparkEncoderFactory[(K, Either[V, W])](self.serializer),
+      new SparkDecoderFactory[(K, Either[V, W])](self.serializer),
+      left.lastVertex.getId))
+    builder.addVertex(joinVertex, loopVertexStack)
+
+    Seq(left.lastVertex, right.lastVertex).foreach(tagVertex => {
+      val newEdge = new IREdge(SparkFrontendUtils.getEdgeCommunicationPattern(tagVertex, joinVertex),
+        tagVertex, joinVertex)
+      newEdge.setProperty(
+        EncoderProperty.of(new SparkEncoderFactory[(K, Either[V, W])](self.serializer))
+          .asInstanceOf[EdgeExecutionProperty[_ <: Serializable]])
+      newEdge.setProperty(
+        DecoderProperty.of(new SparkDecoderFactory[(K, Either[V, W])](self.serializer))
+          .asInstanceOf[EdgeExecutionProperty[_ <: Serializable]])
+      newEdge.setProperty(KeyExtractorProperty.of(new SparkKeyExtractor))
+      builder.connectVertices(newEdge)
+    })
+
+    new RDD[(K, (V, W))](self._sc, builder.buildWithoutSourceSinkCheck, joinVertex, Option.empty)
+  }
+
+  /**
+   * Sort the RDD by key in ascending order, so that each partition contains a sorted range of the elements.
+   * The elements are range-partitioned by the split points computed at runtime from their sampled keys,
+   * and then sorted within each partition. The keys should be Comparable and Serializable.
+   */
+  def sortByKey(): RDD[(K, V)] = {
+    val builder = new DAGBuilder[IRVertex, IREdge](self.dag)
+
+    val sortVertex = new OperatorVertex(new SortTransform[(K, V)](new SparkKeyExtractor))
+    builder.addVertex(sortVertex, loopVertexStack)
+
+    val newEdge = new IREdge(CommunicationPatternProperty.Value.Shuffle, self.lastVertex, sortVertex)
+    newEdge.setProperty(
+      EncoderProperty.of(new SparkEncoderFactory[Tuple2[K, V]](self.serializer))
+        .asInstanceOf[EdgeExecutionProperty[_ <: Serializable]])
+    newEdge.setProperty(
+      DecoderProperty.of(new SparkDecoderFactory[Tuple2[K, V]](self.serializer))
+        .asInstanceOf[EdgeExecutionProperty[_ <: Serializable]])
+    newEdge.setProperty(KeyExtractorProperty.of(new SparkKeyExtractor))
+    newEdge.setProperty(PartitionerProperty.of(PartitionerProperty.Value.RangePartitioner))
+    builder.connectVertices(newEdge)
+
+    new RDD[(K, V)](self._sc, builder.buildWithoutSourceSinkCheck, sortVertex, Option.empty)
+  }
+
   /////////////// UNSUPPORTED METHODS ///////////////
   //TODO#92: Implement the unimplemented transformations/actions & dataset initialization methods for Spark frontend.
   override def combineByKeyWithClassTag[C](createCombiner: V => C, mergeValue: (C, V) => C,
@@ -196,9 +265,6 @@ final class PairRDDFunctions[K: ClassTag, V: ClassTag] protected[rdd] (
   override def groupByKey(): RDD[(K, Iterable[V])] =
     throw new UnsupportedOperationException("Operation not yet implemented.")
 
-  override def join[W](other: rdd.RDD[(K, W)]): RDD[(K, (V, W))] =
-    throw new UnsupportedOperationException("Operation not yet implemented.")
-
   override def join[W](other: rdd.RDD[(K, W)], numPartitions: Int): RDD[(K, (V, W))] =
     throw new UnsupportedOperationException("Operation not yet implemented.")
 
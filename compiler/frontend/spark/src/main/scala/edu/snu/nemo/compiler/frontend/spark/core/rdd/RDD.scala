@@ -18,11 +18,13 @@ package edu.snu.nemo.compiler.frontend.spark.core.rdd
 import java.util
 
 import edu.snu.nemo.client.JobLauncher
+import edu.snu.nemo.common.coder.{DecoderFactory, EncoderFactory}
 import edu.snu.nemo.common.dag.{DAG, DAGBuilder}
 import edu.snu.nemo.common.ir.edge.IREdge
-import edu.snu.nemo.common.ir.edge.executionproperty.{DecoderProperty, EncoderProperty, KeyExtractorProperty}
+import edu.snu.nemo.common.ir.edge.executionproperty.{DataStoreProperty, DecoderProperty, EncoderProperty, KeyExtractorProperty}
 import edu.snu.nemo.common.ir.executionproperty.EdgeExecutionProperty
 import edu.snu.nemo.common.ir.vertex.{IRVertex, LoopVertex, OperatorVertex}
+import edu.snu.nemo.common.ir.vertex.executionproperty.CacheProperty
 import edu.snu.nemo.compiler.frontend.spark.SparkKeyExtractor
 import edu.snu.nemo.compiler.frontend.spark.coder.{SparkDecoderFactory, SparkEncoderFactory}
 import edu.snu.nemo.compiler.frontend.spark.core.SparkFrontendUtils
@@ -47,14 +49,18 @@ final class RDD[T: ClassTag] protected[rdd] (
     private val deps: Seq[Dependency[_]],
     protected[rdd] val dag: DAG[IRVertex, IREdge],
     protected[rdd] val lastVertex: IRVertex,
-    private val sourceRDD: Option[org.apache.spark.rdd.RDD[T]]) extends org.apache.spark.rdd.RDD[T](_sc, deps) {
+    private val sourceRDD: Option[org.apache.spark.rdd.RDD[T]],
+    private val coders: Option[(EncoderFactory[T], DecoderFactory[T])])
+  extends org.apache.spark.rdd.RDD[T](_sc, deps) {
 
   protected[rdd] val serializer: Serializer = SparkFrontendUtils.deriveSerializerFrom(_sc)
   private val loopVertexStack = new util.Stack[LoopVertex]
   private val encoderProperty: EdgeExecutionProperty[_ <: Serializable] =
-    EncoderProperty.of(new SparkEncoderFactory[T](serializer)).asInstanceOf[EdgeExecutionProperty[_ <: Serializable]]
+    EncoderProperty.of(coders.map(_._1).getOrElse(new SparkEncoderFactory[T](serializer)))
+      .asInstanceOf[EdgeExecutionProperty[_ <: Serializable]]
   private val decoderProperty: EdgeExecutionProperty[_ <: Serializable] =
-    DecoderProperty.of(new SparkDecoderFactory[T](serializer)).asInstanceOf[EdgeExecutionProperty[_ <: Serializable]]
+    DecoderProperty.of(coders.map(_._2).getOrElse(new SparkDecoderFactory[T](serializer)))
+      .asInstanceOf[EdgeExecutionProperty[_ <: Serializable]]
   private val keyExtractorProperty: KeyExtractorProperty = KeyExtractorProperty.of(new SparkKeyExtractor)
 
   /**
@@ -66,7 +72,21 @@ final class RDD[T: ClassTag] protected[rdd] (
                           dagFrom: DAG[IRVertex, IREdge],
                           lastVertexFrom: IRVertex,
                           sourceRDDFrom: Option[org.apache.spark.rdd.RDD[T]]) = {
-    this(sparkContext, Nil, dagFrom, lastVertexFrom, sourceRDDFrom)
+    this(sparkContext, Nil, dagFrom, lastVertexFrom, sourceRDDFrom, Option.empty)
+  }
+
+  /**
+   * Constructor with the coders to use for the edges from the last vertex, instead of the Spark serializer.
+   *
+   * @param sparkContext the spark context.
+   */
+  protected[rdd] def this(sparkContext: SparkContext,
+                          dagFrom: DAG[IRVertex, IREdge],
+                          lastVertexFrom: IRVertex,
+                          sourceRDDFrom: Option[org.apache.spark.rdd.RDD[T]],
+                          encoderFactory: EncoderFactory[T],
+                          decoderFactory: DecoderFactory[T]) = {
+    this(sparkContext, Nil, dagFrom, lastVertexFrom, sourceRDDFrom, Option.apply((encoderFactory, decoderFactory)))
   }
 
   /**
@@ -237,14 +257,29 @@ final class RDD[T: ClassTag] protected[rdd] (
   override def setName(_name: String): RDD.this.type =
     throw new UnsupportedOperationException("Operation not yet implemented.")
 
-  override def persist(newLevel: StorageLevel): RDD.this.type =
-    throw new UnsupportedOperationException("Operation not yet implemented.")
+  /**
+   * Persist this RDD, so that its output is kept by the job which first computes it,
+   * and is read instead of being recomputed by the jobs after it.
+   * Unlike Spark, the storage level cannot be changed once set.
+   */
+  override def persist(newLevel: StorageLevel): RDD.this.type = {
+    if (newLevel == StorageLevel.NONE) {
+      throw new UnsupportedOperationException("Operation not yet implemented.")
+    }
+    val dataStore = SparkFrontendUtils.getDataStore(newLevel)
+    val cachedDataStore = lastVertex.getPropertyValue(classOf[CacheProperty])
+    if (cachedDataStore.isPresent && cachedDataStore.get() != dataStore) {
+      throw new UnsupportedOperationException("Cannot change the storage level of an RDD once it is persisted.")
+    }
+    lastVertex.setProperty(CacheProperty.of(dataStore))
+    this
+  }
 
   override def persist(): RDD.this.type =
-    throw new UnsupportedOperationException("Operation not yet implemented.")
+    persist(StorageLevel.MEMORY_ONLY)
 
   override def cache(): RDD.this.type =
-    throw new UnsupportedOperationException("Operation not yet implemented.")
+    persist()
 
   override def unpersist(blocking: Boolean): RDD.this.type =
     throw new UnsupportedOperationException("Operation not yet implemented.")
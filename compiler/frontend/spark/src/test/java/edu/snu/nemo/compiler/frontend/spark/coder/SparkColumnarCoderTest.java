@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.compiler.frontend.spark.coder;
+
+import edu.snu.nemo.common.coder.DecoderFactory;
+import edu.snu.nemo.common.coder.EncoderFactory;
+import org.apache.spark.sql.Row;
+import org.apache.spark.sql.RowFactory;
+import org.apache.spark.sql.types.DataTypes;
+import org.apache.spark.sql.types.StructField;
+import org.apache.spark.sql.types.StructType;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests {@link SparkColumnarEncoderFactory} and {@link SparkColumnarDecoderFactory}.
+ */
+public final class SparkColumnarCoderTest {
+  private static final StructType ALL_TYPES_SCHEMA = DataTypes.createStructType(new StructField[]{
+      DataTypes.createStructField("boolean", DataTypes.BooleanType, true),
+      DataTypes.createStructField("byte", DataTypes.ByteType, true),
+      DataTypes.createStructField("short", DataTypes.ShortType, true),
+      DataTypes.createStructField("int", DataTypes.IntegerType, true),
+      DataTypes.createStructField("long", DataTypes.LongType, true),
+      DataTypes.createStructField("float", DataTypes.FloatType, true),
+      DataTypes.createStructField("double", DataTypes.DoubleType, true),
+      DataTypes.createStructField("string", DataTypes.StringType, true)});
+  private static final StructType LONG_SCHEMA = DataTypes.createStructType(new StructField[]{
+      DataTypes.createStructField("long", DataTypes.LongType, true)});
+  private static final StructType STRING_SCHEMA = DataTypes.createStructType(new StructField[]{
+      DataTypes.createStructField("string", DataTypes.StringType, true)});
+  private static final int BATCH_SIZE = 100;
+
+  @Test
+  public void testRoundTripWithNulls() throws IOException {
+    final List<Row> rows = new ArrayList<>();
+    // Spans several batches, and a partial null bitmap word in the last batch.
+    for (int i = 0; i < BATCH_SIZE * 3 + 7; i++) {
+      if (i % 5 == 0) {
+        rows.add(RowFactory.create(null, null, null, null, null, null, null, null));
+      } else {
+        rows.add(RowFactory.create(i % 2 == 0, (byte) i, (short) -i, i * 31, (long) i << 40,
+            i / 3.0f, -i / 7.0, i % 3 == 0 ? null : "value" + i));
+      }
+    }
+    final List<Row> decoded = decode(ALL_TYPES_SCHEMA, encode(ALL_TYPES_SCHEMA, rows));
+    assertRowsEqual(rows, decoded);
+
+    final Row row = decoded.get(1);
+    assertEquals(false, row.getBoolean(0));
+    assertEquals((byte) 1, row.getByte(1));
+    assertEquals((short) -1, row.getShort(2));
+    assertEquals(31, row.getInt(3));
+    assertEquals(1L << 40, row.getLong(4));
+    assertEquals(1 / 3.0f, row.getFloat(5), 0.0f);
+    assertEquals(-1 / 7.0, row.getDouble(6), 0.0);
+    assertEquals("value1", row.getString(7));
+    assertEquals(ALL_TYPES_SCHEMA, row.schema());
+    assertEquals(3, row.fieldIndex("int"));
+  }
+
+  @Test
+  public void testTypedGetters() throws IOException {
+    final List<Row> rows = new ArrayList<>();
+    rows.add(RowFactory.create(null, null, null, null, null, null, null, null));
+    rows.add(RowFactory.create(true, (byte) 1, (short) 1, 1, 1L, 1.0f, 1.0, "a"));
+    final List<Row> decoded = decode(ALL_TYPES_SCHEMA, encode(ALL_TYPES_SCHEMA, rows));
+    try {
+      decoded.get(0).getInt(3);
+      fail("A null value should not be read as a primitive.");
+    } catch (final NullPointerException e) {
+      // expected.
+    }
+    try {
+      decoded.get(1).getLong(3);
+      fail("An int value should not be read as a long.");
+    } catch (final ClassCastException e) {
+      // expected.
+    }
+  }
+
+  @Test
+  public void testRunLengthEncoding() throws IOException {
+    final List<Row> rows = new ArrayList<>();
+    for (int i = 0; i < BATCH_SIZE * 2; i++) {
+      // Runs of 10 values, with nulls in the middle of the runs.
+      rows.add(RowFactory.create(i % 10 == 5 ? null : (long) (i / 10)));
+    }
+    final byte[] bytes = encode(LONG_SCHEMA, rows);
+    // The plain encoding takes 8 bytes per value.
+    assertTrue(bytes.length < rows.size() * Long.BYTES / 2);
+    assertRowsEqual(rows, decode(LONG_SCHEMA, bytes));
+  }
+
+  @Test
+  public void testDictionaryEncoding() throws IOException {
+    final List<Row> rows = new ArrayList<>();
+    // The first batch has few distinct values, and is dictionary encoded.
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      rows.add(RowFactory.create(i % 7 == 0 ? null : "repeated" + (i % 3)));
+    }
+    // The second batch has too many distinct values for a dictionary, and falls back to the plain encoding.
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      rows.add(RowFactory.create(i % 7 == 0 ? null : "distinct" + i));
+    }
+    final byte[] bytes = encode(STRING_SCHEMA, rows);
+    assertRowsEqual(rows, decode(STRING_SCHEMA, bytes));
+
+    final byte[] firstBatchBytes = encode(STRING_SCHEMA, rows.subList(0, BATCH_SIZE));
+    // Each dictionary-encoded value takes an int, rather than the string itself.
+    assertTrue(firstBatchBytes.length < BATCH_SIZE * ("repeated0".length() + Integer.BYTES));
+  }
+
+  private static void assertRowsEqual(final List<Row> expected, final List<Row> actual) {
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i).length(), actual.get(i).length());
+      for (int column = 0; column < expected.get(i).length(); column++) {
+        assertEquals(expected.get(i).get(column), actual.get(i).get(column));
+        assertEquals(expected.get(i).isNullAt(column), actual.get(i).isNullAt(column));
+      }
+    }
+  }
+
+  private static byte[] encode(final StructType schema, final List<Row> rows) throws IOException {
+    final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    final EncoderFactory.Encoder<Row> encoder =
+        SparkColumnarEncoderFactory.of(schema, BATCH_SIZE).create(outputStream);
+    for (final Row row : rows) {
+      encoder.encode(row);
+    }
+    encoder.flush();
+    return outputStream.toByteArray();
+  }
+
+  private static List<Row> decode(final StructType schema, final byte[] bytes) throws IOException {
+    final DecoderFactory.Decoder<Row> decoder =
+        SparkColumnarDecoderFactory.of(schema).create(new ByteArrayInputStream(bytes));
+    final List<Row> rows = new ArrayList<>();
+    while (true) {
+      try {
+        rows.add(decoder.decode());
+      } catch (final EOFException e) {
+        return rows;
+      }
+    }
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.compiler.frontend.spark.source;
+
+import org.junit.Test;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests {@link SparkDatasetCache}.
+ */
+public final class SparkDatasetCacheTest {
+  private static final int TIMEOUT = 10000;
+
+  @Test(timeout = TIMEOUT)
+  public void testSingleCreationPerDataset() throws InterruptedException, ExecutionException {
+    final String datasetId = UUID.randomUUID().toString();
+    final AtomicInteger numCreations = new AtomicInteger(0);
+    final CountDownLatch creationStarted = new CountDownLatch(1);
+    final CountDownLatch creationAllowed = new CountDownLatch(1);
+    final ExecutorService executorService = Executors.newFixedThreadPool(2);
+    final Future<String> first = executorService.submit(() -> SparkDatasetCache.getOrCreate(datasetId, () -> {
+      creationStarted.countDown();
+      await(creationAllowed);
+      numCreations.incrementAndGet();
+      return "dataset";
+    }));
+    creationStarted.await();
+    final Future<String> second = executorService.submit(() -> SparkDatasetCache.getOrCreate(datasetId, () -> {
+      numCreations.incrementAndGet();
+      return "recreated";
+    }));
+    creationAllowed.countDown();
+    assertEquals("dataset", first.get());
+    assertEquals("dataset", second.get());
+    assertEquals(1, numCreations.get());
+    executorService.shutdown();
+  }
+
+  @Test(timeout = TIMEOUT)
+  public void testConcurrentCreationOfDifferentDatasets() throws InterruptedException, ExecutionException {
+    final CountDownLatch creationStarted = new CountDownLatch(1);
+    final CountDownLatch creationAllowed = new CountDownLatch(1);
+    final ExecutorService executorService = Executors.newSingleThreadExecutor();
+    final Future<String> slow = executorService.submit(() ->
+        SparkDatasetCache.getOrCreate(UUID.randomUUID().toString(), () -> {
+          creationStarted.countDown();
+          await(creationAllowed);
+          return "slow";
+        }));
+    creationStarted.await();
+    // Does not wait for the slow creation of the other dataset.
+    assertEquals("fast", SparkDatasetCache.getOrCreate(UUID.randomUUID().toString(), () -> "fast"));
+    assertFalse(slow.isDone());
+    creationAllowed.countDown();
+    assertEquals("slow", slow.get());
+    executorService.shutdown();
+  }
+
+  @Test(timeout = TIMEOUT)
+  public void testFailedCreationIsRetried() {
+    final String datasetId = UUID.randomUUID().toString();
+    try {
+      SparkDatasetCache.getOrCreate(datasetId, () -> {
+        throw new IllegalArgumentException();
+      });
+      fail("The failure of the creation should be thrown.");
+    } catch (final IllegalArgumentException e) {
+      // expected.
+    }
+    assertEquals("dataset", SparkDatasetCache.getOrCreate(datasetId, () -> "dataset"));
+  }
+
+  /**
+   * @param latch the latch to wait for.
+   */
+  private static void await(final CountDownLatch latch) {
+    try {
+      latch.await(TIMEOUT, TimeUnit.MILLISECONDS);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.compiler.optimizer.pass.compiletime.annotating;
+
+import edu.snu.nemo.common.dag.DAG;
+import edu.snu.nemo.common.ir.edge.IREdge;
+import edu.snu.nemo.common.ir.edge.executionproperty.CommunicationPatternProperty;
+import edu.snu.nemo.common.ir.edge.executionproperty.DataStoreProperty;
+import edu.snu.nemo.common.ir.vertex.IRVertex;
+
+import java.util.Collections;
+
+/**
+ * A pass to checkpoint the data at the stage boundaries, by storing the data of the edges
+ * that are not one-to-one in the GlusterFS volume.
+ * Those blocks outlive the job, so that a job restarted with the same id can resume from them.
+ */
+public final class CheckpointDataStorePass extends AnnotatingPass {
+  /**
+   * Default constructor.
+   */
+  public CheckpointDataStorePass() {
+    super(DataStoreProperty.class, Collections.singleton(CommunicationPatternProperty.class));
+  }
+
+  @Override
+  public DAG<IRVertex, IREdge> apply(final DAG<IRVertex, IREdge> dag) {
+    dag.getVertices().forEach(vertex -> {
+      dag.getIncomingEdgesOf(vertex).stream()
+          .filter(edge -> !CommunicationPatternProperty.Value.OneToOne
+              .equals(edge.getPropertyValue(CommunicationPatternProperty.class).get()))
+          .forEach(edge -> edge.setProperty(
+              DataStoreProperty.of(DataStoreProperty.Value.GlusterFileStore)));
+    });
+    return dag;
+  }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.compiler.optimizer.pass.compiletime.annotating;
+
+import edu.snu.nemo.common.coder.EncoderFactory;
+import edu.snu.nemo.common.coder.KryoEncoderFactory;
+import edu.snu.nemo.common.dag.DAG;
+import edu.snu.nemo.common.ir.edge.IREdge;
+import edu.snu.nemo.common.ir.edge.executionproperty.EncoderProperty;
+import edu.snu.nemo.common.ir.vertex.IRVertex;
+
+import java.util.Optional;
+
+/**
+ * Pass for replacing the encoders which rely on Java serialization with {@link KryoEncoderFactory}.
+ * It has to be used together with {@link KryoDecoderPass}.
+ */
+public final class KryoEncoderPass extends AnnotatingPass {
+
+  private static final EncoderProperty KRYO_ENCODER_PROPERTY = EncoderProperty.of(KryoEncoderFactory.of());
+
+  /**
+   * Default constructor.
+   */
+  public KryoEncoderPass() {
+    super(EncoderProperty.class);
+  }
+
+  @Override
+  public DAG<IRVertex, IREdge> apply(final DAG<IRVertex, IREdge> dag) {
+    dag.getVertices().forEach(vertex ->
+        dag.getIncomingEdgesOf(vertex).forEach(edge -> {
+          final Optional<EncoderFactory> encoderFactory = edge.getPropertyValue(EncoderProperty.class);
+          if (encoderFactory.isPresent() && encoderFactory.get().isJavaSerialization()) {
+            edge.setProperty(KRYO_ENCODER_PROPERTY);
+          }
+        }));
+    return dag;
+  }
+}
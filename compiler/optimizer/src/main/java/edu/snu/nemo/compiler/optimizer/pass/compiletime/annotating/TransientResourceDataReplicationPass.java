@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.compiler.optimizer.pass.compiletime.annotating;
+
+import edu.snu.nemo.common.dag.DAG;
+import edu.snu.nemo.common.ir.edge.IREdge;
+import edu.snu.nemo.common.ir.edge.executionproperty.CommunicationPatternProperty;
+import edu.snu.nemo.common.ir.edge.executionproperty.DataReplicationProperty;
+import edu.snu.nemo.common.ir.vertex.IRVertex;
+import edu.snu.nemo.common.ir.vertex.executionproperty.ResourcePriorityProperty;
+
+import java.util.Collections;
+
+import static edu.snu.nemo.compiler.optimizer.pass.compiletime.annotating.TransientResourceDataStorePass.fromTransientToReserved;
+
+/**
+ * Replicates the blocks produced in transient resources, except for those of one-to-one edges among transient
+ * resources, so that the loss of a transient resource does not require the recomputation of its outputs.
+ */
+public final class TransientResourceDataReplicationPass extends AnnotatingPass {
+  private static final int NUM_REPLICAS = 1;
+
+  /**
+   * Default constructor.
+   */
+  public TransientResourceDataReplicationPass() {
+    super(DataReplicationProperty.class, Collections.singleton(ResourcePriorityProperty.class));
+  }
+
+  @Override
+  public DAG<IRVertex, IREdge> apply(final DAG<IRVertex, IREdge> dag) {
+    dag.getVertices().forEach(vertex ->
+        dag.getIncomingEdgesOf(vertex).forEach(edge -> {
+          if (fromTransientToReserved(edge) || (ResourcePriorityProperty.TRANSIENT
+              .equals(edge.getSrc().getPropertyValue(ResourcePriorityProperty.class).get())
+              && !CommunicationPatternProperty.Value.OneToOne
+              .equals(edge.getPropertyValue(CommunicationPatternProperty.class).get()))) {
+            edge.setProperty(DataReplicationProperty.of(NUM_REPLICAS));
+          }
+        }));
+    return dag;
+  }
+}
@@ -16,6 +16,8 @@
 package edu.snu.nemo.compiler.optimizer.pass.compiletime.composite;
 
 import edu.snu.nemo.compiler.optimizer.pass.compiletime.annotating.*;
+import edu.snu.nemo.compiler.optimizer.pass.compiletime.reshaping.JoinStrategyPass;
+import edu.snu.nemo.compiler.optimizer.pass.compiletime.reshaping.RangePartitionReshapingPass;
 
 import java.util.Arrays;
 
@@ -30,9 +32,13 @@ public final class DefaultCompositePass extends CompositePass {
    */
   public DefaultCompositePass() {
     super(Arrays.asList(
+        new JoinStrategyPass(),
+        new RangePartitionReshapingPass(),
         new DefaultParallelismPass(),
         new DefaultEdgeEncoderPass(),
         new DefaultEdgeDecoderPass(),
+        new KryoEncoderPass(),
+        new KryoDecoderPass(),
         new DefaultDataStorePass(),
         new DefaultDataPersistencePass(),
         new DefaultScheduleGroupPass(),
@@ -16,6 +16,7 @@
 package edu.snu.nemo.compiler.optimizer.pass.compiletime.composite;
 
 import edu.snu.nemo.compiler.optimizer.pass.compiletime.annotating.TransientResourceDataFlowPass;
+import edu.snu.nemo.compiler.optimizer.pass.compiletime.annotating.TransientResourceDataReplicationPass;
 import edu.snu.nemo.compiler.optimizer.pass.compiletime.annotating.TransientResourceDataStorePass;
 import edu.snu.nemo.compiler.optimizer.pass.compiletime.annotating.TransientResourcePriorityPass;
 
@@ -33,7 +34,8 @@ public final class TransientResourceCompositePass extends CompositePass {
     super(Arrays.asList(
         new TransientResourcePriorityPass(),
         new TransientResourceDataStorePass(),
-        new TransientResourceDataFlowPass()
+        new TransientResourceDataFlowPass(),
+        new TransientResourceDataReplicationPass()
     ));
   }
 }
@@ -0,0 +1,230 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.compiler.optimizer.pass.compiletime.reshaping;
+
+import edu.snu.nemo.common.dag.DAG;
+import edu.snu.nemo.common.dag.DAGBuilder;
+import edu.snu.nemo.common.ir.edge.IREdge;
+import edu.snu.nemo.common.ir.edge.executionproperty.CommunicationPatternProperty;
+import edu.snu.nemo.common.ir.vertex.IRVertex;
+import edu.snu.nemo.common.ir.vertex.OperatorVertex;
+import edu.snu.nemo.common.ir.vertex.SourceVertex;
+import edu.snu.nemo.common.ir.vertex.transform.JoinTransform;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+/**
+ * Pass to choose the physical strategy of each {@link JoinTransform}, from the estimated sizes of its two sides.
+ * The size of a side is estimated as the total size of the sources it is derived from.
+ * <ul>
+ *   <li>If the smaller side is tiny, it is broadcast to every task of the larger side, which is not shuffled.</li>
+ *   <li>If the smaller side fits in memory, both sides are shuffled and joined with a hash table.</li>
+ *   <li>Otherwise, or if the sizes are unknown, both sides are shuffled and joined by sort-merge.</li>
+ * </ul>
+ */
+public final class JoinStrategyPass extends ReshapingPass {
+  private static final Logger LOG = LoggerFactory.getLogger(JoinStrategyPass.class.getName());
+  // The build side of a broadcast hash join is held by every task, so it should be tiny.
+  private static final long BROADCAST_HASH_THRESHOLD_BYTES = 10L * 1024 * 1024;
+  // The build side of a hash join is held in memory, split across the tasks.
+  private static final long HASH_THRESHOLD_BYTES = 256L * 1024 * 1024;
+
+  /**
+   * Default constructor.
+   */
+  public JoinStrategyPass() {
+    super(Collections.singleton(CommunicationPatternProperty.class));
+  }
+
+  @Override
+  public DAG<IRVertex, IREdge> apply(final DAG<IRVertex, IREdge> dag) {
+    if (dag.getVertices().stream().noneMatch(JoinStrategyPass::isJoin)) {
+      return dag;
+    }
+
+    final DAGBuilder<IRVertex, IREdge> builder = new DAGBuilder<>();
+    final Map<IRVertex, IRVertex> oldToNewVertex = new HashMap<>();
+    dag.topologicalDo(v -> {
+      final List<IREdge> inEdges = dag.getIncomingEdgesOf(v);
+      final Optional<Choice> choice = isJoin(v) ? choose(dag, (OperatorVertex) v) : Optional.empty();
+      if (!choice.isPresent()) {
+        builder.addVertex(v, dag);
+        inEdges.forEach(edge -> connect(builder, edge, oldToNewVertex, v, getPattern(edge)));
+        return;
+      }
+
+      final JoinTransform<?, ?> transform = (JoinTransform<?, ?>) ((OperatorVertex) v).getTransform();
+      final OperatorVertex newVertex = new OperatorVertex(
+          transform.withStrategy(choice.get().strategy, choice.get().buildLeft));
+      v.copyExecutionPropertiesTo(newVertex);
+      oldToNewVertex.put(v, newVertex);
+      // The new vertex stays in the loop of the replaced vertex.
+      if (dag.isCompositeVertex(v)) {
+        builder.addVertex(newVertex, dag.getAssignedLoopVertexOf(v), dag.getLoopStackDepthOf(v));
+      } else {
+        builder.addVertex(newVertex);
+      }
+      LOG.info("Join {} of {} and {} bytes uses {}, building the {} side", v.getId(),
+          choice.get().leftSize, choice.get().rightSize, choice.get().strategy,
+          choice.get().buildLeft ? "left" : "right");
+
+      for (final IREdge edge : inEdges) {
+        final boolean isLeft = edge.getSrc().getId().equals(transform.getLeftInputVertexId());
+        final CommunicationPatternProperty.Value pattern;
+        if (choice.get().strategy != JoinTransform.Strategy.BroadcastHash) {
+          pattern = getPattern(edge);
+        } else if (isLeft == choice.get().buildLeft) {
+          pattern = CommunicationPatternProperty.Value.BroadCast;
+        } else {
+          pattern = CommunicationPatternProperty.Value.OneToOne;
+        }
+        connect(builder, edge, oldToNewVertex, newVertex, pattern);
+      }
+    });
+    return builder.build();
+  }
+
+  /**
+   * @param dag        the DAG.
+   * @param joinVertex the vertex of the join.
+   * @return the chosen strategy, or empty if the join should be left unchanged.
+   */
+  private static Optional<Choice> choose(final DAG<IRVertex, IREdge> dag, final OperatorVertex joinVertex) {
+    final JoinTransform<?, ?> transform = (JoinTransform<?, ?>) joinVertex.getTransform();
+    final List<IREdge> inEdges = dag.getIncomingEdgesOf(joinVertex);
+    if (inEdges.size() != 2 || inEdges.stream().anyMatch(IREdge::isSideInput)) {
+      return Optional.empty();
+    }
+    final Optional<IREdge> leftEdge = inEdges.stream()
+        .filter(edge -> edge.getSrc().getId().equals(transform.getLeftInputVertexId()))
+        .findFirst();
+    if (!leftEdge.isPresent()) {
+      // The left side can't be told apart, e.g. after another reshaping pass. Sort-merge works for both sides.
+      return Optional.empty();
+    }
+    final IREdge rightEdge = inEdges.get(inEdges.get(0) == leftEdge.get() ? 1 : 0);
+
+    final long leftSize = estimateSize(dag, leftEdge.get().getSrc());
+    final long rightSize = estimateSize(dag, rightEdge.getSrc());
+    if (leftSize < 0 || rightSize < 0) {
+      return Optional.empty();
+    }
+    final boolean buildLeft = leftSize <= rightSize;
+    final long buildSize = Math.min(leftSize, rightSize);
+    final JoinTransform.Strategy strategy;
+    if (buildSize < BROADCAST_HASH_THRESHOLD_BYTES) {
+      strategy = JoinTransform.Strategy.BroadcastHash;
+    } else if (buildSize < HASH_THRESHOLD_BYTES) {
+      strategy = JoinTransform.Strategy.Hash;
+    } else {
+      strategy = JoinTransform.Strategy.SortMerge;
+    }
+    if (strategy == transform.getStrategy() && buildLeft == transform.isBuildLeft()) {
+      return Optional.empty();
+    }
+    return Optional.of(new Choice(strategy, buildLeft, leftSize, rightSize));
+  }
+
+  /**
+   * @param dag    the DAG.
+   * @param vertex the vertex producing a side of a join.
+   * @return the total estimated size of the sources the vertex is derived from, or -1 if unknown.
+   */
+  private static long estimateSize(final DAG<IRVertex, IREdge> dag, final IRVertex vertex) {
+    final List<IRVertex> vertices = new ArrayList<>(dag.getAncestors(vertex.getId()));
+    vertices.add(vertex);
+    long size = 0;
+    boolean hasSource = false;
+    for (final IRVertex v : vertices) {
+      if (v instanceof SourceVertex) {
+        final long sourceSize = ((SourceVertex) v).getEstimatedSizeBytes();
+        if (sourceSize < 0) {
+          return -1;
+        }
+        size += sourceSize;
+        hasSource = true;
+      }
+    }
+    return hasSource ? size : -1;
+  }
+
+  /**
+   * Connects a copy of the edge, pointing to the replaced vertices.
+   * @param builder        the builder of the new DAG.
+   * @param edge           the edge to copy.
+   * @param oldToNewVertex the vertices replaced so far.
+   * @param dst            the new destination.
+   * @param pattern        the communication pattern of the new edge.
+   */
+  private static void connect(final DAGBuilder<IRVertex, IREdge> builder,
+                              final IREdge edge,
+                              final Map<IRVertex, IRVertex> oldToNewVertex,
+                              final IRVertex dst,
+                              final CommunicationPatternProperty.Value pattern) {
+    final IRVertex src = oldToNewVertex.getOrDefault(edge.getSrc(), edge.getSrc());
+    if (src == edge.getSrc() && dst == edge.getDst() && pattern == getPattern(edge)) {
+      builder.connectVertices(edge);
+      return;
+    }
+    final IREdge newEdge = new IREdge(pattern, src, dst, edge.isSideInput());
+    edge.copyExecutionPropertiesTo(newEdge);
+    newEdge.setProperty(CommunicationPatternProperty.of(pattern));
+    builder.connectVertices(newEdge);
+  }
+
+  /**
+   * @param edge an edge.
+   * @return the communication pattern of the edge.
+   */
+  private static CommunicationPatternProperty.Value getPattern(final IREdge edge) {
+    return edge.getPropertyValue(CommunicationPatternProperty.class).get();
+  }
+
+  /**
+   * @param vertex a vertex.
+   * @return whether the vertex is a join.
+   */
+  private static boolean isJoin(final IRVertex vertex) {
+    return vertex instanceof OperatorVertex && ((OperatorVertex) vertex).getTransform() instanceof JoinTransform;
+  }
+
+  /**
+   * The strategy chosen for a join.
+   */
+  private static final class Choice {
+    private final JoinTransform.Strategy strategy;
+    private final boolean buildLeft;
+    private final long leftSize;
+    private final long rightSize;
+
+    /**
+     * Constructor.
+     * @param strategy  the join strategy.
+     * @param buildLeft whether the left side is the build side.
+     * @param leftSize  the estimated size of the left side.
+     * @param rightSize the estimated size of the right side.
+     */
+    private Choice(final JoinTransform.Strategy strategy, final boolean buildLeft,
+                   final long leftSize, final long rightSize) {
+      this.strategy = strategy;
+      this.buildLeft = buildLeft;
+      this.leftSize = leftSize;
+      this.rightSize = rightSize;
+    }
+  }
+}
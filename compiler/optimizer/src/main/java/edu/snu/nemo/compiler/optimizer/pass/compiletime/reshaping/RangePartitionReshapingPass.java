@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.compiler.optimizer.pass.compiletime.reshaping;
+
+import edu.snu.nemo.common.dag.DAG;
+import edu.snu.nemo.common.dag.DAGBuilder;
+import edu.snu.nemo.common.ir.edge.IREdge;
+import edu.snu.nemo.common.ir.edge.executionproperty.*;
+import edu.snu.nemo.common.ir.vertex.IRVertex;
+import edu.snu.nemo.common.ir.vertex.MetricCollectionBarrierVertex;
+import edu.snu.nemo.common.ir.vertex.OperatorVertex;
+import edu.snu.nemo.common.ir.vertex.executionproperty.DynamicOptimizationProperty;
+import edu.snu.nemo.common.ir.vertex.transform.RelayTransform;
+
+import java.util.*;
+
+/**
+ * Pass to insert a sampling pre-stage before each edge with {@link PartitionerProperty.Value#RangePartitioner}.
+ * The source of the edge is followed by a {@link MetricCollectionBarrierVertex}, whose tasks sample the keys of
+ * their output and wait for the split points to be computed from the samples at runtime.
+ * A relay vertex in the next stage then partitions the output by the split points.
+ */
+public final class RangePartitionReshapingPass extends ReshapingPass {
+  /**
+   * Default constructor.
+   */
+  public RangePartitionReshapingPass() {
+    super(Collections.singleton(PartitionerProperty.class));
+  }
+
+  @Override
+  public DAG<IRVertex, IREdge> apply(final DAG<IRVertex, IREdge> dag) {
+    if (dag.getVertices().stream().flatMap(v -> dag.getIncomingEdgesOf(v).stream())
+        .noneMatch(RangePartitionReshapingPass::isRangePartitioned)) {
+      return dag;
+    }
+
+    final DAGBuilder<IRVertex, IREdge> builder = new DAGBuilder<>();
+    final List<MetricCollectionBarrierVertex> samplingVertices = new ArrayList<>();
+    dag.topologicalDo(v -> {
+      builder.addVertex(v);
+      dag.getIncomingEdgesOf(v).forEach(edge -> {
+        if (!isRangePartitioned(edge)) {
+          builder.connectVertices(edge);
+          return;
+        }
+        if (!edge.getPropertyValue(KeyExtractorProperty.class).isPresent()) {
+          throw new IllegalArgumentException("A range-partitioned edge needs a key extractor: " + edge.getId());
+        }
+        final MetricCollectionBarrierVertex<String, List<Object>> samplingVertex =
+            new MetricCollectionBarrierVertex<>();
+        samplingVertex.setProperty(
+            DynamicOptimizationProperty.of(DynamicOptimizationProperty.Value.RangePartitionRuntimePass));
+        samplingVertices.add(samplingVertex);
+        final IRVertex relayVertex = new OperatorVertex(new RelayTransform());
+        builder.addVertex(samplingVertex).addVertex(relayVertex);
+
+        final IREdge edgeToSample = new IREdge(CommunicationPatternProperty.Value.OneToOne,
+            edge.getSrc(), samplingVertex);
+        copyCoders(edge, edgeToSample);
+        // The sampled keys are collected from the blocks of this edge, which crosses the stages.
+        final IREdge edgeToRelay = new IREdge(CommunicationPatternProperty.Value.OneToOne,
+            samplingVertex, relayVertex);
+        copyCoders(edge, edgeToRelay);
+        edgeToRelay.setProperty(KeyExtractorProperty.of(edge.getPropertyValue(KeyExtractorProperty.class).get()));
+        edgeToRelay.setProperty(
+            MetricCollectionProperty.of(MetricCollectionProperty.Value.RangePartitionRuntimePass));
+        final IREdge edgeFromRelay = new IREdge(CommunicationPatternProperty.Value.Shuffle,
+            relayVertex, v, edge.isSideInput());
+        edge.copyExecutionPropertiesTo(edgeFromRelay);
+        builder.connectVertices(edgeToSample).connectVertices(edgeToRelay).connectVertices(edgeFromRelay);
+      });
+    });
+    final DAG<IRVertex, IREdge> newDAG = builder.build();
+    samplingVertices.forEach(v -> v.setDAGSnapshot(newDAG));
+    return newDAG;
+  }
+
+  /**
+   * @param edge an edge.
+   * @return whether the edge is range-partitioned.
+   */
+  private static boolean isRangePartitioned(final IREdge edge) {
+    return PartitionerProperty.Value.RangePartitioner
+        .equals(edge.getPropertyValue(PartitionerProperty.class).orElse(null));
+  }
+
+  /**
+   * @param from the edge to copy the encoder and decoder from.
+   * @param to   the edge to copy the encoder and decoder to.
+   */
+  private static void copyCoders(final IREdge from, final IREdge to) {
+    from.getPropertyValue(EncoderProperty.class).ifPresent(encoder -> to.setProperty(EncoderProperty.of(encoder)));
+    from.getPropertyValue(DecoderProperty.class).ifPresent(decoder -> to.setProperty(DecoderProperty.of(decoder)));
+  }
+}
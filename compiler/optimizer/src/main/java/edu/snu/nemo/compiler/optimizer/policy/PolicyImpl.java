@@ -17,6 +17,7 @@
 package edu.snu.nemo.compiler.optimizer.policy;
 
 import edu.snu.nemo.common.dag.DAG;
+import edu.snu.nemo.common.dag.DAGBuilder;
 import edu.snu.nemo.common.eventhandler.PubSubEventHandlerWrapper;
 import edu.snu.nemo.common.eventhandler.RuntimeEventHandler;
 import edu.snu.nemo.common.exception.CompileTimeOptimizationException;
@@ -26,12 +27,16 @@ import edu.snu.nemo.compiler.optimizer.pass.compiletime.CompileTimePass;
 import edu.snu.nemo.compiler.optimizer.pass.compiletime.annotating.AnnotatingPass;
 import edu.snu.nemo.compiler.optimizer.pass.compiletime.reshaping.ReshapingPass;
 import edu.snu.nemo.runtime.common.optimizer.pass.runtime.RuntimePass;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.reef.tang.Injector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Iterator;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Implementation of the {@link Policy} interface.
@@ -55,47 +60,73 @@ public final class PolicyImpl implements Policy {
   public DAG<IRVertex, IREdge> runCompileTimeOptimization(final DAG<IRVertex, IREdge> dag, final String dagDirectory)
       throws Exception {
     LOG.info("Launch Compile-time optimizations");
-    return process(dag, compileTimePasses.iterator(), dagDirectory);
+    final boolean storeJSON = dagDirectory != null && !dagDirectory.equals(DAG.EMPTY_DAG_DIRECTORY);
+    final ExecutorService jsonWriter = storeJSON
+        ? Executors.newSingleThreadExecutor(new BasicThreadFactory.Builder()
+            .namingPattern("DAG JSON writer").daemon(true).build())
+        : null;
+    final List<Future<?>> pendingWrites = new ArrayList<>();
+    try {
+      DAG<IRVertex, IREdge> processedDAG = dag;
+      long totalElapsedNanos = 0;
+      final StringBuilder timings = new StringBuilder();
+      for (final CompileTimePass passToApply : compileTimePasses) {
+        final String passName = passToApply.getClass().getSimpleName();
+        if (!passToApply.getCondition().test(processedDAG)) {
+          LOG.info("Condition unmet for applying {} to the DAG", passName);
+          continue;
+        }
+
+        LOG.info("Apply {} to the DAG", passName);
+        final long startNanos = System.nanoTime();
+        processedDAG = process(processedDAG, passToApply);
+        final long elapsedNanos = System.nanoTime() - startNanos;
+        totalElapsedNanos += elapsedNanos;
+        timings.append(String.format("%n  %s: %d ms", passName, TimeUnit.NANOSECONDS.toMillis(elapsedNanos)));
+
+        if (storeJSON) {
+          // Take the JSON representation now, as the following passes may modify the DAG in place.
+          final String json = processedDAG.toString();
+          pendingWrites.add(jsonWriter.submit(() ->
+              DAG.storeJSON(dagDirectory, "ir-after-" + passName, "DAG after optimization", json)));
+        }
+      }
+
+      // Annotating passes modify the DAG in place, so the integrity of the DAG is checked once here.
+      final DAG<IRVertex, IREdge> optimizedDAG = new DAGBuilder<>(processedDAG).build();
+      LOG.info("Compile-time optimizations took {} ms in total:{}",
+          TimeUnit.NANOSECONDS.toMillis(totalElapsedNanos), timings);
+      for (final Future<?> pendingWrite : pendingWrites) {
+        pendingWrite.get();
+      }
+      return optimizedDAG;
+    } finally {
+      if (jsonWriter != null) {
+        jsonWriter.shutdown();
+      }
+    }
   }
 
   /**
-   * A recursive method to process each pass one-by-one to the given DAG.
+   * Applies a pass to the given DAG.
    * @param dag DAG to process.
-   * @param passes passes to apply.
-   * @param dagDirectory directory to save the DAG information.
-   * @return the processed DAG.
+   * @param passToApply pass to apply.
+   * @return the processed DAG, which is the given DAG itself if the pass has only annotated it in place.
    * @throws Exception Exceptions on the way.
    */
   private static DAG<IRVertex, IREdge> process(final DAG<IRVertex, IREdge> dag,
-                                               final Iterator<CompileTimePass> passes,
-                                               final String dagDirectory) throws Exception {
-    if (passes.hasNext()) {
-      final CompileTimePass passToApply = passes.next();
-      final DAG<IRVertex, IREdge> processedDAG;
-
-      if (passToApply.getCondition().test(dag)) {
-        LOG.info("Apply {} to the DAG", passToApply.getClass().getSimpleName());
-        // Apply the pass to the DAG.
-        processedDAG = passToApply.apply(dag);
-        // Ensure AnnotatingPass and ReshapingPass functions as intended.
-        if ((passToApply instanceof AnnotatingPass && !checkAnnotatingPass(dag, processedDAG))
-            || (passToApply instanceof ReshapingPass && !checkReshapingPass(dag, processedDAG))) {
-          throw new CompileTimeOptimizationException(passToApply.getClass().getSimpleName()
-              + " is implemented in a way that doesn't follow its original intention of annotating or reshaping. "
-              + "Modify it or use a general CompileTimePass");
-        }
-        // Save the processed JSON DAG.
-        processedDAG.storeJSON(dagDirectory, "ir-after-" + passToApply.getClass().getSimpleName(),
-            "DAG after optimization");
-      } else {
-        LOG.info("Condition unmet for applying {} to the DAG", passToApply.getClass().getSimpleName());
-        processedDAG = dag;
-      }
-      // recursively apply the following passes.
-      return process(processedDAG, passes, dagDirectory);
-    } else {
-      return dag;
+                                               final CompileTimePass passToApply) throws Exception {
+    // Apply the pass to the DAG.
+    final DAG<IRVertex, IREdge> processedDAG = passToApply.apply(dag);
+    // Ensure AnnotatingPass and ReshapingPass functions as intended.
+    // An annotating pass returning the same DAG cannot have modified its structure, so it needs no check.
+    if ((passToApply instanceof AnnotatingPass && processedDAG != dag && !checkAnnotatingPass(dag, processedDAG))
+        || (passToApply instanceof ReshapingPass && !checkReshapingPass(dag, processedDAG))) {
+      throw new CompileTimeOptimizationException(passToApply.getClass().getSimpleName()
+          + " is implemented in a way that doesn't follow its original intention of annotating or reshaping. "
+          + "Modify it or use a general CompileTimePass");
     }
+    return processedDAG;
   }
 
   /**
@@ -149,11 +180,11 @@ public final class PolicyImpl implements Policy {
    * @return true if there is no problem, false if there is a problem.
    */
   private static Boolean checkReshapingPass(final DAG<IRVertex, IREdge> before, final DAG<IRVertex, IREdge> after) {
-    final List<IRVertex> previousVertices = before.getVertices();
+    final Map<IRVertex, IRVertex> previousVertices = new HashMap<>();
+    before.getVertices().forEach(irVertex -> previousVertices.putIfAbsent(irVertex, irVertex));
     for (final IRVertex irVertex : after.getVertices()) {
-      final Integer indexOfVertex = previousVertices.indexOf(irVertex);
-      if (indexOfVertex >= 0) {
-        final IRVertex previousVertexToCompare = previousVertices.get(indexOfVertex);
+      final IRVertex previousVertexToCompare = previousVertices.get(irVertex);
+      if (previousVertexToCompare != null) {
         if (!previousVertexToCompare.getExecutionProperties().equals(irVertex.getExecutionProperties())) {
           return false;
         }
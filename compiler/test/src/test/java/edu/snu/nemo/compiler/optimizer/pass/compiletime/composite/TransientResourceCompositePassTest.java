@@ -19,6 +19,7 @@ import edu.snu.nemo.client.JobLauncher;
 import edu.snu.nemo.common.dag.DAG;
 import edu.snu.nemo.common.ir.edge.IREdge;
 import edu.snu.nemo.common.ir.edge.executionproperty.DataFlowProperty;
+import edu.snu.nemo.common.ir.edge.executionproperty.DataReplicationProperty;
 import edu.snu.nemo.common.ir.edge.executionproperty.DataStoreProperty;
 import edu.snu.nemo.common.ir.vertex.IRVertex;
 import edu.snu.nemo.common.ir.vertex.executionproperty.ResourcePriorityProperty;
@@ -32,6 +33,7 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 /**
  * Test {@link TransientResourcePriorityPass} and {@link TransientResourceDataStorePass}.
@@ -58,6 +60,7 @@ public class TransientResourceCompositePassTest {
     processedDAG.getIncomingEdgesOf(vertex5).forEach(irEdge -> {
       assertEquals(DataStoreProperty.Value.MemoryStore, irEdge.getPropertyValue(DataStoreProperty.class).get());
       assertEquals(DataFlowProperty.Value.Pull, irEdge.getPropertyValue(DataFlowProperty.class).get());
+      assertFalse(irEdge.getPropertyValue(DataReplicationProperty.class).isPresent());
     });
 
     final IRVertex vertex6 = processedDAG.getTopologicalSort().get(2);
@@ -65,6 +68,7 @@ public class TransientResourceCompositePassTest {
     processedDAG.getIncomingEdgesOf(vertex6).forEach(irEdge -> {
       assertEquals(DataStoreProperty.Value.LocalFileStore, irEdge.getPropertyValue(DataStoreProperty.class).get());
       assertEquals(DataFlowProperty.Value.Push, irEdge.getPropertyValue(DataFlowProperty.class).get());
+      assertEquals(1, (int) irEdge.getPropertyValue(DataReplicationProperty.class).get());
     });
 
     final IRVertex vertex4 = processedDAG.getTopologicalSort().get(6);
@@ -86,6 +90,7 @@ public class TransientResourceCompositePassTest {
     processedDAG.getIncomingEdgesOf(vertex14).forEach(irEdge -> {
       assertEquals(DataStoreProperty.Value.LocalFileStore, irEdge.getPropertyValue(DataStoreProperty.class).get());
       assertEquals(DataFlowProperty.Value.Push, irEdge.getPropertyValue(DataFlowProperty.class).get());
+      assertEquals(1, (int) irEdge.getPropertyValue(DataReplicationProperty.class).get());
     });
   }
 }
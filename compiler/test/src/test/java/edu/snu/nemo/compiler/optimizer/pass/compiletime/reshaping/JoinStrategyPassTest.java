@@ -0,0 +1,190 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.compiler.optimizer.pass.compiletime.reshaping;
+
+import edu.snu.nemo.common.coder.KryoDecoderFactory;
+import edu.snu.nemo.common.coder.KryoEncoderFactory;
+import edu.snu.nemo.common.dag.DAG;
+import edu.snu.nemo.common.dag.DAGBuilder;
+import edu.snu.nemo.common.ir.Readable;
+import edu.snu.nemo.common.ir.edge.IREdge;
+import edu.snu.nemo.common.ir.edge.executionproperty.CommunicationPatternProperty;
+import edu.snu.nemo.common.ir.vertex.IRVertex;
+import edu.snu.nemo.common.ir.vertex.LoopVertex;
+import edu.snu.nemo.common.ir.vertex.OperatorVertex;
+import edu.snu.nemo.common.ir.vertex.SourceVertex;
+import edu.snu.nemo.common.ir.vertex.transform.JoinFunction;
+import edu.snu.nemo.common.ir.vertex.transform.JoinTransform;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Stack;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test {@link JoinStrategyPass}.
+ */
+public final class JoinStrategyPassTest {
+  private static final long SMALL_SIZE = 1024L * 1024;
+  private static final long MEDIUM_SIZE = 100L * 1024 * 1024;
+  private static final long LARGE_SIZE = 1024L * 1024 * 1024;
+
+  @Test
+  public void testBroadcastHash() {
+    final DAG<IRVertex, IREdge> dag = new JoinStrategyPass().apply(buildJoinDAG(SMALL_SIZE, LARGE_SIZE, false));
+    final OperatorVertex join = getJoin(dag);
+    final JoinTransform<?, ?> transform = (JoinTransform<?, ?>) join.getTransform();
+    assertEquals(JoinTransform.Strategy.BroadcastHash, transform.getStrategy());
+    assertTrue(transform.isBuildLeft());
+    // The small left side is broadcast, and the large right side is not shuffled.
+    for (final IREdge edge : dag.getIncomingEdgesOf(join)) {
+      final boolean isLeft = edge.getSrc().getId().equals(transform.getLeftInputVertexId());
+      assertEquals(isLeft ? CommunicationPatternProperty.Value.BroadCast : CommunicationPatternProperty.Value.OneToOne,
+          edge.getPropertyValue(CommunicationPatternProperty.class).get());
+    }
+  }
+
+  @Test
+  public void testHash() {
+    final DAG<IRVertex, IREdge> dag = new JoinStrategyPass().apply(buildJoinDAG(LARGE_SIZE, MEDIUM_SIZE, false));
+    final OperatorVertex join = getJoin(dag);
+    final JoinTransform<?, ?> transform = (JoinTransform<?, ?>) join.getTransform();
+    assertEquals(JoinTransform.Strategy.Hash, transform.getStrategy());
+    assertFalse(transform.isBuildLeft());
+    dag.getIncomingEdgesOf(join).forEach(edge -> assertEquals(CommunicationPatternProperty.Value.Shuffle,
+        edge.getPropertyValue(CommunicationPatternProperty.class).get()));
+  }
+
+  @Test
+  public void testSortMerge() {
+    final DAG<IRVertex, IREdge> dag = buildJoinDAG(LARGE_SIZE, LARGE_SIZE, false);
+    // The join with the default sort-merge strategy is kept as is.
+    final OperatorVertex join = getJoin(new JoinStrategyPass().apply(dag));
+    assertSame(getJoin(dag), join);
+    assertEquals(JoinTransform.Strategy.SortMerge, ((JoinTransform<?, ?>) join.getTransform()).getStrategy());
+  }
+
+  @Test
+  public void testJoinInLoop() {
+    final DAG<IRVertex, IREdge> dag = buildJoinDAG(SMALL_SIZE, LARGE_SIZE, true);
+    final OperatorVertex originalJoin = getJoin(dag);
+    final DAG<IRVertex, IREdge> processedDAG = new JoinStrategyPass().apply(dag);
+    final OperatorVertex join = getJoin(processedDAG);
+    assertEquals(JoinTransform.Strategy.BroadcastHash, ((JoinTransform<?, ?>) join.getTransform()).getStrategy());
+    // The replaced join stays in the loop.
+    assertTrue(processedDAG.isCompositeVertex(join));
+    assertEquals(dag.getAssignedLoopVertexOf(originalJoin), processedDAG.getAssignedLoopVertexOf(join));
+    assertEquals(dag.getLoopStackDepthOf(originalJoin), processedDAG.getLoopStackDepthOf(join));
+  }
+
+  /**
+   * @param leftSize  the estimated size of the left source.
+   * @param rightSize the estimated size of the right source.
+   * @param inLoop    whether the join is in a loop.
+   * @return a DAG joining two shuffled sources with the default sort-merge strategy.
+   */
+  private static DAG<IRVertex, IREdge> buildJoinDAG(final long leftSize, final long rightSize, final boolean inLoop) {
+    final IRVertex left = new SizedSourceVertex(leftSize);
+    final IRVertex right = new SizedSourceVertex(rightSize);
+    final IRVertex join = new OperatorVertex(new JoinTransform<>(new EmptyJoinFunction(),
+        KryoEncoderFactory.of(), KryoDecoderFactory.of(), left.getId()));
+    final Stack<LoopVertex> loopVertexStack = new Stack<>();
+    if (inLoop) {
+      loopVertexStack.push(new LoopVertex("Loop"));
+    }
+    return new DAGBuilder<IRVertex, IREdge>()
+        .addVertex(left)
+        .addVertex(right)
+        .addVertex(join, loopVertexStack)
+        .connectVertices(new IREdge(CommunicationPatternProperty.Value.Shuffle, left, join))
+        .connectVertices(new IREdge(CommunicationPatternProperty.Value.Shuffle, right, join))
+        .build();
+  }
+
+  /**
+   * @param dag a DAG.
+   * @return the join vertex in the DAG.
+   */
+  private static OperatorVertex getJoin(final DAG<IRVertex, IREdge> dag) {
+    return (OperatorVertex) dag.getVertices().stream()
+        .filter(vertex -> vertex instanceof OperatorVertex)
+        .findFirst()
+        .orElseThrow(IllegalStateException::new);
+  }
+
+  /**
+   * A source with a known estimated size.
+   */
+  private static final class SizedSourceVertex extends SourceVertex<Object> {
+    private long estimatedSizeBytes;
+
+    /**
+     * @param estimatedSizeBytes the estimated size of the source.
+     */
+    private SizedSourceVertex(final long estimatedSizeBytes) {
+      this.estimatedSizeBytes = estimatedSizeBytes;
+    }
+
+    @Override
+    public List<Readable<Object>> getReadables(final int desiredNumOfSplits) {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public void clearInternalStates() {
+    }
+
+    @Override
+    protected void takeOverSource(final SourceVertex<Object> that) {
+      estimatedSizeBytes = ((SizedSourceVertex) that).estimatedSizeBytes;
+    }
+
+    @Override
+    public long getEstimatedSizeBytes() {
+      return estimatedSizeBytes;
+    }
+
+    @Override
+    public SizedSourceVertex getClone() {
+      return new SizedSourceVertex(estimatedSizeBytes);
+    }
+  }
+
+  /**
+   * A join function which is never called by the pass.
+   */
+  private static final class EmptyJoinFunction implements JoinFunction<Object, Object> {
+    @Override
+    public Object getKey(final Object element) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean isLeft(final Object element) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Object join(final Object left, final Object right) {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
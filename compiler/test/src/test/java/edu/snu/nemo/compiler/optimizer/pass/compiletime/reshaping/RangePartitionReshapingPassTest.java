@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.compiler.optimizer.pass.compiletime.reshaping;
+
+import edu.snu.nemo.common.KeyExtractor;
+import edu.snu.nemo.common.dag.DAG;
+import edu.snu.nemo.common.dag.DAGBuilder;
+import edu.snu.nemo.common.ir.edge.IREdge;
+import edu.snu.nemo.common.ir.edge.executionproperty.CommunicationPatternProperty;
+import edu.snu.nemo.common.ir.edge.executionproperty.KeyExtractorProperty;
+import edu.snu.nemo.common.ir.edge.executionproperty.MetricCollectionProperty;
+import edu.snu.nemo.common.ir.edge.executionproperty.PartitionerProperty;
+import edu.snu.nemo.common.ir.vertex.IRVertex;
+import edu.snu.nemo.common.ir.vertex.MetricCollectionBarrierVertex;
+import edu.snu.nemo.common.ir.vertex.OperatorVertex;
+import edu.snu.nemo.common.ir.vertex.executionproperty.DynamicOptimizationProperty;
+import edu.snu.nemo.common.ir.vertex.transform.RelayTransform;
+import edu.snu.nemo.common.ir.vertex.transform.SortTransform;
+import edu.snu.nemo.common.test.EmptyComponents;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test {@link RangePartitionReshapingPass}.
+ */
+public final class RangePartitionReshapingPassTest {
+  private static final KeyExtractor IDENTITY = element -> element;
+
+  /**
+   * Tests that a sampling barrier and a relay vertex are inserted before the range-partitioned edge.
+   */
+  @Test
+  public void testReshaping() {
+    final IRVertex source = new EmptyComponents.EmptySourceVertex<>("Source");
+    final IRVertex sort = new OperatorVertex(new SortTransform<>(IDENTITY));
+    final DAG<IRVertex, IREdge> processedDAG = new RangePartitionReshapingPass().apply(
+        buildDAG(source, sort, PartitionerProperty.Value.RangePartitioner, true));
+
+    assertEquals(4, processedDAG.getVertices().size());
+    final IREdge edgeToSample = getSingleEdge(processedDAG.getOutgoingEdgesOf(source));
+    assertEquals(CommunicationPatternProperty.Value.OneToOne,
+        edgeToSample.getPropertyValue(CommunicationPatternProperty.class).get());
+    assertTrue(edgeToSample.getDst() instanceof MetricCollectionBarrierVertex);
+    final MetricCollectionBarrierVertex<?, ?> samplingVertex = (MetricCollectionBarrierVertex) edgeToSample.getDst();
+    assertEquals(DynamicOptimizationProperty.Value.RangePartitionRuntimePass,
+        samplingVertex.getPropertyValue(DynamicOptimizationProperty.class).get());
+    // The runtime pass rewrites the DAG that the pass has built.
+    assertSame(processedDAG, samplingVertex.getDAGSnapshot());
+
+    final IREdge edgeToRelay = getSingleEdge(processedDAG.getOutgoingEdgesOf(samplingVertex));
+    assertEquals(CommunicationPatternProperty.Value.OneToOne,
+        edgeToRelay.getPropertyValue(CommunicationPatternProperty.class).get());
+    assertEquals(MetricCollectionProperty.Value.RangePartitionRuntimePass,
+        edgeToRelay.getPropertyValue(MetricCollectionProperty.class).get());
+    assertSame(IDENTITY, edgeToRelay.getPropertyValue(KeyExtractorProperty.class).get());
+    final IRVertex relayVertex = edgeToRelay.getDst();
+    assertTrue(((OperatorVertex) relayVertex).getTransform() instanceof RelayTransform);
+
+    final IREdge edgeFromRelay = getSingleEdge(processedDAG.getIncomingEdgesOf(sort));
+    assertSame(relayVertex, edgeFromRelay.getSrc());
+    assertEquals(CommunicationPatternProperty.Value.Shuffle,
+        edgeFromRelay.getPropertyValue(CommunicationPatternProperty.class).get());
+    assertEquals(PartitionerProperty.Value.RangePartitioner,
+        edgeFromRelay.getPropertyValue(PartitionerProperty.class).get());
+    assertSame(IDENTITY, edgeFromRelay.getPropertyValue(KeyExtractorProperty.class).get());
+  }
+
+  /**
+   * Tests that a DAG without range-partitioned edges is kept as is.
+   */
+  @Test
+  public void testNoRangePartitionedEdge() {
+    final DAG<IRVertex, IREdge> dag = buildDAG(new EmptyComponents.EmptySourceVertex<>("Source"),
+        new OperatorVertex(new SortTransform<>(IDENTITY)), PartitionerProperty.Value.HashPartitioner, true);
+    assertSame(dag, new RangePartitionReshapingPass().apply(dag));
+  }
+
+  /**
+   * Tests that a range-partitioned edge without a key extractor is rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoKeyExtractor() {
+    new RangePartitionReshapingPass().apply(buildDAG(new EmptyComponents.EmptySourceVertex<>("Source"),
+        new OperatorVertex(new SortTransform<>(IDENTITY)), PartitionerProperty.Value.RangePartitioner, false));
+  }
+
+  /**
+   * @param source          the source vertex.
+   * @param sort            the sort vertex.
+   * @param partitioner     the partitioner of the edge between them.
+   * @param hasKeyExtractor whether the edge has a key extractor.
+   * @return a DAG shuffling the source to the sort vertex.
+   */
+  private static DAG<IRVertex, IREdge> buildDAG(final IRVertex source, final IRVertex sort,
+                                                final PartitionerProperty.Value partitioner,
+                                                final boolean hasKeyExtractor) {
+    final IREdge edge = new IREdge(CommunicationPatternProperty.Value.Shuffle, source, sort);
+    edge.setProperty(PartitionerProperty.of(partitioner));
+    if (hasKeyExtractor) {
+      edge.setProperty(KeyExtractorProperty.of(IDENTITY));
+    }
+    return new DAGBuilder<IRVertex, IREdge>().addVertex(source).addVertex(sort).connectVertices(edge).build();
+  }
+
+  /**
+   * @param edges a list of edges.
+   * @return the only edge in the list.
+   */
+  private static IREdge getSingleEdge(final List<IREdge> edges) {
+    assertEquals(1, edges.size());
+    return edges.get(0);
+  }
+}
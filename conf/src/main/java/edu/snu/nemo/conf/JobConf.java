@@ -58,9 +58,10 @@ public final class JobConf extends ConfigurationModuleBuilder {
   }
 
   /**
-   * Directory to store files for storing blocks.
+   * Directories to store files for storing blocks, separated by commas (e.g., one for each local disk).
    */
-  @NamedParameter(doc = "Directory to store files", short_name = "file_dir", default_value = "./files")
+  @NamedParameter(doc = "Comma-separated directories to store files", short_name = "file_dir",
+      default_value = "./files")
   public final class FileDirectory implements Name<String> {
   }
 
@@ -73,6 +74,15 @@ public final class JobConf extends ConfigurationModuleBuilder {
   public final class GlusterVolumeDirectory implements Name<String> {
   }
 
+  /**
+   * Whether to resume the job from the blocks checkpointed in the GlusterFS volume by a previous run.
+   * The previous run must have been of the same program with the same job id and checkpointing policy.
+   */
+  @NamedParameter(doc = "Resume the job from the checkpointed blocks in gfs_dir/job_id", short_name = "resume",
+      default_value = "false")
+  public final class ResumeFromCheckpoint implements Name<Boolean> {
+  }
+
   //////////////////////////////// Client-Driver RPC
 
   /**
@@ -89,6 +99,23 @@ public final class JobConf extends ConfigurationModuleBuilder {
   public final class ClientSideRPCServerPort implements Name<Integer> {
   }
 
+  /**
+   * Directory to stage the in-memory source data of the submitted DAGs to.
+   * The driver reads the staged data from the same path.
+   */
+  @NamedParameter(doc = "Directory to stage the in-memory source data to (empty: a temporary one in the local mode, "
+      + "no staging otherwise)", short_name = "staging_dir", default_value = "")
+  public final class StagingDirectory implements Name<String> {
+  }
+
+  /**
+   * Size of the chunks a serialized DAG is sent to the driver in, in KB.
+   */
+  @NamedParameter(doc = "Size of the chunks a serialized DAG is sent to the driver in, in KB",
+      short_name = "dag_chunk_kb", default_value = "1024")
+  public final class DAGChunkSizeKb implements Name<Integer> {
+  }
+
   //////////////////////////////// Compiler Configurations
 
   /**
@@ -99,6 +126,14 @@ public final class JobConf extends ConfigurationModuleBuilder {
   public final class OptimizationPolicy implements Name<String> {
   }
 
+  /**
+   * Directory to cache the IR DAGs optimized at compile time in, to skip the optimization of the same DAGs later.
+   */
+  @NamedParameter(doc = "Directory to cache the optimized IR DAGs in (empty: no caching)",
+      short_name = "plan_cache_dir", default_value = "")
+  public final class PlanCacheDirectory implements Name<String> {
+  }
+
   //////////////////////////////// Runtime Master-Executor Common Configurations
 
   /**
@@ -133,8 +168,50 @@ public final class JobConf extends ConfigurationModuleBuilder {
   public final class MaxTaskAttempt implements Name<Integer> {
   }
 
+  /**
+   * The window in which changes of the same metric are coalesced before being sent to the web UI.
+   */
+  @NamedParameter(doc = "Window to coalesce metric updates for the web UI in milliseconds",
+      short_name = "metric_broadcast_window_ms", default_value = "200")
+  public final class MetricBroadcastWindowMs implements Name<Long> {
+  }
+
+  /**
+   * The maximum number of changed metrics waiting to be sent to the web UI.
+   * When it is exceeded, the pending updates are dropped and the clients are resynchronized with a full dump.
+   */
+  @NamedParameter(doc = "Max number of pending metric updates for the web UI",
+      short_name = "metric_broadcast_queue_size", default_value = "10000")
+  public final class MetricBroadcastQueueSize implements Name<Integer> {
+  }
+
+  /**
+   * The fraction of time spent in GC above which an executor is considered to be thrashing.
+   * Thrashing executors do not receive new tasks until they recover.
+   */
+  @NamedParameter(doc = "Fraction of time in GC above which an executor stops receiving new tasks",
+      short_name = "gc_thrashing_threshold", default_value = "0.5")
+  public final class GCThrashingThreshold implements Name<Double> {
+  }
+
+  /**
+   * Whether to schedule tasks by the load reported in executor heartbeats, instead of the number of running tasks.
+   */
+  @NamedParameter(doc = "Schedule tasks by the load reported in executor heartbeats",
+      short_name = "load_aware_scheduling", default_value = "false")
+  public final class LoadAwareScheduling implements Name<Boolean> {
+  }
+
   //////////////////////////////// Runtime Executor Configurations
 
+  /**
+   * The period of the resource usage heartbeats from executors to the master.
+   */
+  @NamedParameter(doc = "Period of executor heartbeats in milliseconds", short_name = "executor_heartbeat_period_ms",
+      default_value = "1000")
+  public final class ExecutorHeartbeatPeriodMs implements Name<Long> {
+  }
+
   /**
    * Used for fault-injected tests.
    */
@@ -192,6 +269,55 @@ public final class JobConf extends ConfigurationModuleBuilder {
   public final class MaxNumDownloadsForARuntimeEdge implements Name<Integer> {
   }
 
+  /**
+   * Maximum number of parent-task blocks to fetch and decode ahead of the task that reads them.
+   */
+  @NamedParameter(doc = "Number of blocks to read ahead per parent-task reader (0 disables read-ahead)",
+      short_name = "read_ahead_blocks", default_value = "2")
+  public final class ReadAheadBlocks implements Name<Integer> {
+  }
+
+  /**
+   * Maximum size of the blocks buffered ahead of a parent-task reader.
+   */
+  @NamedParameter(doc = "Memory budget of read-ahead buffers per parent-task reader", short_name = "read_ahead_mem_mb",
+      default_value = "128")
+  public final class ReadAheadMemMb implements Name<Integer> {
+  }
+
+  /**
+   * Maximum number of blocks read ahead at the same time in an executor.
+   */
+  @NamedParameter(doc = "Number of read-ahead threads per executor", short_name = "read_ahead_threads",
+      default_value = "16")
+  public final class ReadAheadThreads implements Name<Integer> {
+  }
+
+  /**
+   * How to choose the local file directory to store each block in, among the directories in {@link FileDirectory}.
+   * RoundRobin: in turn. LeastUsed: the directory with the smallest amount of data written or being written.
+   */
+  @NamedParameter(doc = "Striping of blocks over the local file directories (RoundRobin or LeastUsed)",
+      short_name = "file_striping", default_value = "RoundRobin")
+  public final class FileStriping implements Name<String> {
+  }
+
+  /**
+   * Size of the buffer for the data waiting to be written to each local file directory by its I/O thread.
+   */
+  @NamedParameter(doc = "Write-behind buffer per local file directory (0 writes on the task thread)",
+      short_name = "file_write_behind_mb", default_value = "64")
+  public final class FileWriteBehindMb implements Name<Integer> {
+  }
+
+  /**
+   * Whether to sync the local files to the disk after each batch of writes.
+   */
+  @NamedParameter(doc = "Whether to sync local files to the disk after writes", short_name = "file_sync",
+      default_value = "false")
+  public final class FileSync implements Name<Boolean> {
+  }
+
   /**
    * The number of serialization threads for scheduling.
    */
@@ -221,6 +347,16 @@ public final class JobConf extends ConfigurationModuleBuilder {
   public final class PartitionTransportServerPort implements Name<Integer> {
   }
 
+  /**
+   * The TCP port of the shuffle service on each node, which serves the blocks in the local files of the node
+   * regardless of the executors that wrote them. 0 means the shuffle service is not used.
+   * The shuffle service should serve the directories of {@link FileDirectory}.
+   */
+  @NamedParameter(doc = "Port of the shuffle service on each node (0 means no shuffle service)",
+      short_name = "shuffle_service_port", default_value = "0")
+  public final class ShuffleServicePort implements Name<Integer> {
+  }
+
   /**
    * The maximum length which the pending connection queue of block transfer may grow to.
    */
@@ -254,6 +390,15 @@ public final class JobConf extends ConfigurationModuleBuilder {
   public final class PartitionTransportClientNumThreads implements Name<Integer> {
   }
 
+  /**
+   * The receive window of a block transfer context, which bounds the data buffered for it by the receiver.
+   * The sender stalls once it has sent this much data that the receiver has not consumed yet.
+   */
+  @NamedParameter(doc = "The receive window of a PartitionTransport context, in KB",
+      short_name = "block_window_kb", default_value = "4096")
+  public final class PartitionTransportReceiveWindowKb implements Name<Integer> {
+  }
+
   //////////////////////////////// Intermediate Configurations
 
   /**
@@ -265,13 +410,31 @@ public final class JobConf extends ConfigurationModuleBuilder {
 
   public static final RequiredParameter<String> EXECUTOR_ID = new RequiredParameter<>();
   public static final RequiredParameter<String> JOB_ID = new RequiredParameter<>();
+  public static final RequiredParameter<Integer> SHUFFLE_SERVICE_PORT = new RequiredParameter<>();
   public static final OptionalParameter<String> LOCAL_DISK_DIRECTORY = new OptionalParameter<>();
   public static final OptionalParameter<String> GLUSTER_DISK_DIRECTORY = new OptionalParameter<>();
+  public static final OptionalParameter<Integer> READ_AHEAD_BLOCKS = new OptionalParameter<>();
+  public static final OptionalParameter<Integer> READ_AHEAD_MEM_MB = new OptionalParameter<>();
+  public static final OptionalParameter<Integer> READ_AHEAD_THREADS = new OptionalParameter<>();
+  public static final OptionalParameter<String> FILE_STRIPING = new OptionalParameter<>();
+  public static final OptionalParameter<Integer> FILE_WRITE_BEHIND_MB = new OptionalParameter<>();
+  public static final OptionalParameter<Boolean> FILE_SYNC = new OptionalParameter<>();
+  public static final OptionalParameter<Long> EXECUTOR_HEARTBEAT_PERIOD_MS = new OptionalParameter<>();
+  public static final OptionalParameter<Integer> PARTITION_TRANSPORT_RECEIVE_WINDOW_KB = new OptionalParameter<>();
 
   public static final ConfigurationModule EXECUTOR_CONF = new JobConf()
       .bindNamedParameter(ExecutorId.class, EXECUTOR_ID)
       .bindNamedParameter(JobId.class, JOB_ID)
+      .bindNamedParameter(ShuffleServicePort.class, SHUFFLE_SERVICE_PORT)
       .bindNamedParameter(FileDirectory.class, LOCAL_DISK_DIRECTORY)
       .bindNamedParameter(GlusterVolumeDirectory.class, GLUSTER_DISK_DIRECTORY)
+      .bindNamedParameter(ReadAheadBlocks.class, READ_AHEAD_BLOCKS)
+      .bindNamedParameter(ReadAheadMemMb.class, READ_AHEAD_MEM_MB)
+      .bindNamedParameter(ReadAheadThreads.class, READ_AHEAD_THREADS)
+      .bindNamedParameter(FileStriping.class, FILE_STRIPING)
+      .bindNamedParameter(FileWriteBehindMb.class, FILE_WRITE_BEHIND_MB)
+      .bindNamedParameter(FileSync.class, FILE_SYNC)
+      .bindNamedParameter(ExecutorHeartbeatPeriodMs.class, EXECUTOR_HEARTBEAT_PERIOD_MS)
+      .bindNamedParameter(PartitionTransportReceiveWindowKb.class, PARTITION_TRANSPORT_RECEIVE_WINDOW_KB)
       .build();
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.examples.spark;
+
+import edu.snu.nemo.compiler.frontend.spark.core.rdd.JavaRDD;
+import edu.snu.nemo.compiler.frontend.spark.sql.SparkSession;
+import scala.Tuple2;
+
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+/**
+ * Java example that counts the words and writes the counts sorted by the words.
+ * Each output file holds a sorted range of the words, and the ranges of the files do not overlap.
+ */
+public final class JavaSortByKey {
+  private static final Pattern SPACE = Pattern.compile(" ");
+
+  /**
+   * Private constructor.
+   */
+  private JavaSortByKey() {
+  }
+
+  /**
+   * Main method.
+   * @param args arguments.
+   * @throws Exception exceptions.
+   */
+  public static void main(final String[] args) throws Exception {
+    if (args.length < 2) {
+      System.err.println("Usage: JavaSortByKey <input_file> <output_file_prefix>");
+      System.exit(1);
+    }
+
+    final SparkSession spark = SparkSession
+        .builder()
+        .appName("JavaSortByKey")
+        .getOrCreate();
+
+    final JavaRDD<String> lines = spark.read().textFile(args[0]).javaRDD();
+
+    lines.flatMap(s -> Arrays.asList(SPACE.split(s)).iterator())
+        .mapToPair(s -> new Tuple2<>(s, 1))
+        .reduceByKey((i1, i2) -> i1 + i2)
+        .sortByKey()
+        .map(tuple -> tuple._1 + ": " + tuple._2)
+        .saveAsTextFile(args[1]);
+
+    spark.stop();
+  }
+}
@@ -27,6 +27,17 @@ import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertTrue;
+
 /**
  * Test MR Spark programs with JobLauncher.
  */
@@ -67,5 +78,57 @@ public final class MRJava {
     }
   }
 
+  @Test(timeout = TIMEOUT)
+  public void testSparkSortByKey() throws Exception {
+    final String inputFileName = "test_input_wordcount_spark";
+    final String outputFileName = "test_output_sortbykey_spark";
+    final String expectedOutputFilename = "expected_output_wordcount_spark";
+    final String inputFilePath = fileBasePath + inputFileName;
+    final String outputFilePath = fileBasePath + outputFileName;
+
+    JobLauncher.main(builder
+        .addJobId(JavaSortByKey.class.getSimpleName() + "_test")
+        .addUserMain(JavaSortByKey.class.getCanonicalName())
+        .addUserArgs(inputFilePath, outputFilePath)
+        .addOptimizationPolicy(DefaultPolicy.class.getCanonicalName())
+        .build());
+
+    try {
+      ExampleTestUtil.ensureOutputValidity(fileBasePath, outputFileName, expectedOutputFilename);
+      ensureSortedOutput(outputFileName);
+    } finally {
+      ExampleTestUtil.deleteOutputFile(fileBasePath, outputFileName);
+    }
+  }
+
+  /**
+   * Ensures that each output file is sorted by the words, and that the ranges of the words in the files do not overlap.
+   * @param outputFileName the prefix of the output files, whose lines are in the form of "word: count".
+   * @throws Exception exceptions.
+   */
+  private static void ensureSortedOutput(final String outputFileName) throws Exception {
+    final List<List<String>> wordsOfFiles = new ArrayList<>();
+    try (final Stream<Path> fileStream = Files.list(Paths.get(fileBasePath))) {
+      for (final Path outputFile : fileStream
+          .filter(path -> path.getFileName().toString().startsWith(outputFileName))
+          .collect(Collectors.toList())) {
+        final List<String> words = Files.readAllLines(outputFile).stream()
+            .map(line -> line.substring(0, line.lastIndexOf(": ")))
+            .collect(Collectors.toList());
+        for (int i = 1; i < words.size(); i++) {
+          assertTrue(words.get(i - 1).compareTo(words.get(i)) < 0);
+        }
+        if (!words.isEmpty()) {
+          wordsOfFiles.add(words);
+        }
+      }
+    }
+    wordsOfFiles.sort(Comparator.comparing(words -> words.get(0)));
+    for (int i = 1; i < wordsOfFiles.size(); i++) {
+      final List<String> previousWords = wordsOfFiles.get(i - 1);
+      assertTrue(previousWords.get(previousWords.size() - 1).compareTo(wordsOfFiles.get(i).get(0)) < 0);
+    }
+  }
+
   // TODO #152: enable execution of multiple jobs (call scheduleJob multiple times with caching).
 }
@@ -29,6 +29,7 @@ public final class RuntimeIdGenerator {
   private static final String BLOCK_PREFIX = "Block-";
   private static final String BLOCK_ID_SPLITTER = "_";
   private static final String TASK_INFIX = "-Task-";
+  private static final String SHUFFLE_SERVICE_PREFIX = "ShuffleService-";
 
   /**
    * Private constructor which will not be used.
@@ -58,6 +59,18 @@ public final class RuntimeIdGenerator {
     return "SEdge-" + irEdgeId;
   }
 
+  /**
+   * Generates the ID for {@link edu.snu.nemo.runtime.common.plan.RuntimeEdge} of a physical plan.
+   * The IDs of the blocks are derived from it, so the blocks of the plans running at the same time do not collide.
+   *
+   * @param physicalPlanId the ID of the physical plan.
+   * @param irEdgeId       the ID of the IR edge.
+   * @return the generated ID
+   */
+  public static String generateRuntimeEdgeId(final String physicalPlanId, final String irEdgeId) {
+    return physicalPlanId + "-" + irEdgeId;
+  }
+
   /**
    * Generates the ID for {@link edu.snu.nemo.runtime.common.plan.Stage}.
    * @param stageId stage ID in numeric form.
@@ -67,6 +80,18 @@ public final class RuntimeIdGenerator {
     return "Stage-" + stageId;
   }
 
+  /**
+   * Generates the ID for {@link edu.snu.nemo.runtime.common.plan.Stage} of a physical plan.
+   * The IDs of the tasks are derived from it, so the tasks of the plans running at the same time do not collide.
+   *
+   * @param physicalPlanId the ID of the physical plan.
+   * @param stageId        stage ID in numeric form.
+   * @return the generated ID
+   */
+  public static String generateStageId(final String physicalPlanId, final Integer stageId) {
+    return physicalPlanId + "-" + generateStageId(stageId);
+  }
+
   /**
    * Generates the ID for a task.
    *
@@ -87,6 +112,17 @@ public final class RuntimeIdGenerator {
     return "Executor-" + executorIdGenerator.getAndIncrement();
   }
 
+  /**
+   * Generates the ID for the shuffle service of a node, which also tells where the shuffle service listens.
+   *
+   * @param host the host of the node.
+   * @param port the port the shuffle service listens to.
+   * @return the generated ID
+   */
+  public static String generateShuffleServiceId(final String host, final int port) {
+    return SHUFFLE_SERVICE_PREFIX + host + ":" + port;
+  }
+
   /**
    * Generates the ID for a block, whose data is the output of a task.
    *
@@ -119,6 +155,24 @@ public final class RuntimeIdGenerator {
 
   //////////////////////////////////////////////////////////////// Parse IDs
 
+  /**
+   * @param id the ID of a block location, e.g., an executor.
+   * @return whether the ID is of a shuffle service.
+   */
+  public static boolean isShuffleServiceId(final String id) {
+    return id.startsWith(SHUFFLE_SERVICE_PREFIX);
+  }
+
+  /**
+   * Extracts the address of a shuffle service from its ID.
+   *
+   * @param shuffleServiceId the shuffle service ID to extract.
+   * @return the host and the port of the shuffle service, separated by a colon.
+   */
+  public static String getAddressFromShuffleServiceId(final String shuffleServiceId) {
+    return shuffleServiceId.substring(SHUFFLE_SERVICE_PREFIX.length());
+  }
+
   /**
    * Extracts runtime edge ID from a block ID.
    *
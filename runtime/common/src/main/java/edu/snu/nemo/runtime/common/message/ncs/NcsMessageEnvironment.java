@@ -199,14 +199,18 @@ public final class NcsMessageEnvironment implements MessageEnvironment {
       case BlockStateChanged:
       case ExecutorFailed:
       case DataSizeMetric:
+      case KeySamples:
       case ExecutorDataCollected:
       case MetricMessageReceived:
       case RequestMetricFlush:
       case MetricFlushed:
+      case ExecutorHeartbeat:
         return MessageType.Send;
       case RequestBlockLocation:
+      case RequestBlockReplicaTargets:
         return MessageType.Request;
       case BlockLocationInfo:
+      case BlockReplicaTargetsInfo:
         return MessageType.Reply;
       default:
         throw new IllegalArgumentException(controlMessage.toString());
@@ -217,6 +221,8 @@ public final class NcsMessageEnvironment implements MessageEnvironment {
     switch (controlMessage.getType()) {
       case RequestBlockLocation:
         return controlMessage.getRequestBlockLocationMsg().getExecutorId();
+      case RequestBlockReplicaTargets:
+        return controlMessage.getRequestBlockReplicaTargetsMsg().getExecutorId();
       default:
         throw new IllegalArgumentException(controlMessage.toString());
     }
@@ -226,6 +232,8 @@ public final class NcsMessageEnvironment implements MessageEnvironment {
     switch (controlMessage.getType()) {
       case BlockLocationInfo:
         return controlMessage.getBlockLocationInfoMsg().getRequestId();
+      case BlockReplicaTargetsInfo:
+        return controlMessage.getBlockReplicaTargetsInfoMsg().getRequestId();
       default:
         throw new IllegalArgumentException(controlMessage.toString());
     }
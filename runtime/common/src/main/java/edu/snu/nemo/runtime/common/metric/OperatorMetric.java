@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.common.metric;
+
+import edu.snu.nemo.runtime.common.comm.ControlMessage;
+
+/**
+ * Execution statistics of an operator (IRVertex), accumulated over the tasks or the stage it belongs to.
+ */
+public final class OperatorMetric {
+  private final String vertexId;
+  private long numElementsIn = 0;
+  private long numElementsOut = 0;
+  private long processingNanos = 0;
+  private long closeNanos = 0;
+  private long fetchBlockedNanos = 0;
+  private long writtenBytes = 0;
+
+  /**
+   * Constructor.
+   * @param vertexId id of the operator.
+   */
+  public OperatorMetric(final String vertexId) {
+    this.vertexId = vertexId;
+  }
+
+  /**
+   * Adds the counters in the message to this metric.
+   * @param msg the message.
+   */
+  void add(final ControlMessage.OperatorMetricMsg msg) {
+    numElementsIn += msg.getNumElementsIn();
+    numElementsOut += msg.getNumElementsOut();
+    processingNanos += msg.getProcessingNanos();
+    closeNanos += msg.getCloseNanos();
+    fetchBlockedNanos += msg.getFetchBlockedNanos();
+    writtenBytes += msg.getWrittenBytes();
+  }
+
+  /**
+   * Adds the counters of another metric of the same operator to this metric.
+   * @param other the other metric.
+   */
+  void add(final OperatorMetric other) {
+    numElementsIn += other.numElementsIn;
+    numElementsOut += other.numElementsOut;
+    processingNanos += other.processingNanos;
+    closeNanos += other.closeNanos;
+    fetchBlockedNanos += other.fetchBlockedNanos;
+    writtenBytes += other.writtenBytes;
+  }
+
+  public String getVertexId() {
+    return vertexId;
+  }
+
+  public long getNumElementsIn() {
+    return numElementsIn;
+  }
+
+  public long getNumElementsOut() {
+    return numElementsOut;
+  }
+
+  public long getProcessingNanos() {
+    return processingNanos;
+  }
+
+  public long getCloseNanos() {
+    return closeNanos;
+  }
+
+  public long getFetchBlockedNanos() {
+    return fetchBlockedNanos;
+  }
+
+  public long getWrittenBytes() {
+    return writtenBytes;
+  }
+}
@@ -19,7 +19,9 @@ import edu.snu.nemo.runtime.common.plan.Stage;
 import edu.snu.nemo.runtime.common.state.StageState;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Metric class for {@link Stage}.
@@ -27,6 +29,8 @@ import java.util.List;
 public class StageMetric implements StateMetric<StageState.State> {
   private String id;
   private List<StateTransitionEvent<StageState.State>> stateTransitionEvents = new ArrayList<>();
+  // The operator metrics of the latest attempt of each task of this stage, keyed by task id.
+  private Map<String, TaskAttemptOperatorMetrics> taskIdToOperatorMetrics = new HashMap<>();
 
   public StageMetric(final Stage stage) {
     this.id = stage.getId();
@@ -41,6 +45,13 @@ public class StageMetric implements StateMetric<StageState.State> {
     return id;
   }
 
+  /**
+   * @return the metrics of the operators in this stage, summed over the latest attempts of its tasks.
+   */
+  public final Map<String, OperatorMetric> getOperatorMetrics() {
+    return TaskAttemptOperatorMetrics.sum(taskIdToOperatorMetrics.values());
+  }
+
   @Override
   public final List<StateTransitionEvent<StageState.State>> getStateTransitionEvents() {
     return stateTransitionEvents;
@@ -53,7 +64,10 @@ public class StageMetric implements StateMetric<StageState.State> {
 
   @Override
   public final boolean processMetricMessage(final String metricField, final byte[] metricValue) {
-    // do nothing
+    if ("operatorMetrics".equals(metricField)) {
+      TaskAttemptOperatorMetrics.accumulate(taskIdToOperatorMetrics, metricValue);
+      return true;
+    }
     return false;
   }
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.common.metric;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import edu.snu.nemo.runtime.common.comm.ControlMessage;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The {@link OperatorMetric}s of the latest attempt of a task.
+ * When a task is retried, the counters of its previous attempts are discarded, not to be counted twice.
+ */
+final class TaskAttemptOperatorMetrics {
+  private final int attemptIdx;
+  private final Map<String, OperatorMetric> idToOperatorMetric;
+
+  /**
+   * Constructor.
+   * @param attemptIdx the attempt index of the task.
+   */
+  private TaskAttemptOperatorMetrics(final int attemptIdx) {
+    this.attemptIdx = attemptIdx;
+    this.idToOperatorMetric = new HashMap<>();
+  }
+
+  /**
+   * Accumulates the serialized {@link ControlMessage.OperatorMetricsMsg} into the metrics of its task.
+   * A message from a later attempt replaces the metrics of the task, and one from an earlier attempt is ignored.
+   * @param taskIdToMetrics the metrics to accumulate into, keyed by task id.
+   * @param serializedMsg the serialized message.
+   */
+  static void accumulate(final Map<String, TaskAttemptOperatorMetrics> taskIdToMetrics,
+                         final byte[] serializedMsg) {
+    final ControlMessage.OperatorMetricsMsg msg;
+    try {
+      msg = ControlMessage.OperatorMetricsMsg.parseFrom(serializedMsg);
+    } catch (final InvalidProtocolBufferException e) {
+      throw new IllegalArgumentException(e);
+    }
+    final TaskAttemptOperatorMetrics current = taskIdToMetrics.get(msg.getTaskId());
+    if (current != null && current.attemptIdx > msg.getAttemptIdx()) {
+      return;
+    }
+    final TaskAttemptOperatorMetrics metrics = current == null || current.attemptIdx < msg.getAttemptIdx()
+        ? new TaskAttemptOperatorMetrics(msg.getAttemptIdx())
+        : current;
+    taskIdToMetrics.put(msg.getTaskId(), metrics);
+    for (final ControlMessage.OperatorMetricMsg operatorMetricMsg : msg.getOperatorMetricList()) {
+      metrics.idToOperatorMetric.computeIfAbsent(operatorMetricMsg.getVertexId(), OperatorMetric::new)
+          .add(operatorMetricMsg);
+    }
+  }
+
+  /**
+   * @param taskMetrics the metrics of tasks.
+   * @return the metrics of each operator, summed over the tasks.
+   */
+  static Map<String, OperatorMetric> sum(final Collection<TaskAttemptOperatorMetrics> taskMetrics) {
+    final Map<String, OperatorMetric> idToOperatorMetric = new HashMap<>();
+    for (final TaskAttemptOperatorMetrics metrics : taskMetrics) {
+      metrics.idToOperatorMetric.forEach((vertexId, operatorMetric) ->
+          idToOperatorMetric.computeIfAbsent(vertexId, OperatorMetric::new).add(operatorMetric));
+    }
+    return idToOperatorMetric;
+  }
+}
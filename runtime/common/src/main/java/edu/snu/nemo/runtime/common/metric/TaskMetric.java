@@ -19,7 +19,9 @@ import edu.snu.nemo.runtime.common.state.TaskState;
 import org.apache.commons.lang3.SerializationUtils;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,6 +38,8 @@ public class TaskMetric implements StateMetric<TaskState.State> {
   private long boundedSourceReadTime = -1;
   private int scheduleAttempt = -1;
   private String containerId = "";
+  // The operator metrics of the latest attempt of this task.
+  private Map<String, TaskAttemptOperatorMetrics> attemptOperatorMetrics = new HashMap<>();
 
   private static final Logger LOG = LoggerFactory.getLogger(TaskMetric.class.getName());
 
@@ -91,6 +95,10 @@ public class TaskMetric implements StateMetric<TaskState.State> {
     this.containerId = containerId;
   }
 
+  public final Map<String, OperatorMetric> getOperatorMetrics() {
+    return TaskAttemptOperatorMetrics.sum(attemptOperatorMetrics.values());
+  }
+
   @Override
   public final List<StateTransitionEvent<TaskState.State>> getStateTransitionEvents() {
     return stateTransitionEvents;
@@ -137,6 +145,9 @@ public class TaskMetric implements StateMetric<TaskState.State> {
       case "containerId":
         setContainerId(SerializationUtils.deserialize(metricValue));
         break;
+      case "operatorMetrics":
+        TaskAttemptOperatorMetrics.accumulate(attemptOperatorMetrics, metricValue);
+        break;
       default:
         LOG.warn("metricField {} is not supported.", metricField);
         return false;
@@ -19,6 +19,7 @@ import edu.snu.nemo.common.Pair;
 import edu.snu.nemo.common.ir.vertex.MetricCollectionBarrierVertex;
 import edu.snu.nemo.common.ir.vertex.executionproperty.DynamicOptimizationProperty;
 import edu.snu.nemo.runtime.common.optimizer.pass.runtime.DataSkewRuntimePass;
+import edu.snu.nemo.runtime.common.optimizer.pass.runtime.RangePartitionRuntimePass;
 import edu.snu.nemo.runtime.common.plan.PhysicalPlan;
 
 import java.util.*;
@@ -52,6 +53,13 @@ public final class RunTimeOptimizer {
             Pair.of(metricCollectionBarrierVertex.getBlockIds(),
                 (Map<Integer, Long>) metricCollectionBarrierVertex.getMetricData());
         return new DataSkewRuntimePass().apply(originalPlan, metricData);
+      case RangePartitionRuntimePass:
+        // Metric data for RangePartitionRuntimePass is a pair of the barrier vertex id and map of blockId, key samples.
+        // The metric data is absent if no key has been sampled.
+        final Map<String, List<Object>> keySamples = metricCollectionBarrierVertex.getMetricData() == null
+            ? Collections.emptyMap() : (Map<String, List<Object>>) metricCollectionBarrierVertex.getMetricData();
+        return new RangePartitionRuntimePass().apply(originalPlan,
+            Pair.of(metricCollectionBarrierVertex.getId(), keySamples));
       default:
         throw new UnsupportedOperationException("Unknown runtime pass: " + dynamicOptimizationType);
     }
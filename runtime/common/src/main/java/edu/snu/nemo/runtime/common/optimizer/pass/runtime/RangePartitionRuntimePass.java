@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.common.optimizer.pass.runtime;
+
+import com.google.common.annotations.VisibleForTesting;
+import edu.snu.nemo.common.Pair;
+import edu.snu.nemo.common.dag.DAG;
+import edu.snu.nemo.common.dag.DAGBuilder;
+import edu.snu.nemo.common.eventhandler.RuntimeEventHandler;
+import edu.snu.nemo.common.ir.edge.executionproperty.PartitionerProperty;
+import edu.snu.nemo.common.ir.edge.executionproperty.RangeSplitPointsProperty;
+import edu.snu.nemo.runtime.common.eventhandler.DynamicOptimizationEventHandler;
+import edu.snu.nemo.runtime.common.plan.PhysicalPlan;
+import edu.snu.nemo.runtime.common.plan.Stage;
+import edu.snu.nemo.runtime.common.plan.StageEdge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Dynamic optimization pass for range partitioning.
+ * Using the keys sampled from the output blocks of a barrier vertex as the metric,
+ * this RuntimePass computes the split points of the range-partitioned edges of the following stage,
+ * so that each destination task receives about the same number of keys.
+ */
+public final class RangePartitionRuntimePass
+    extends RuntimePass<Pair<String, Map<String, List<Object>>>> {
+  private static final Logger LOG = LoggerFactory.getLogger(RangePartitionRuntimePass.class.getName());
+  private final Set<Class<? extends RuntimeEventHandler>> eventHandlers;
+
+  /**
+   * Constructor.
+   */
+  public RangePartitionRuntimePass() {
+    this.eventHandlers = Collections.singleton(
+        DynamicOptimizationEventHandler.class);
+  }
+
+  @Override
+  public Set<Class<? extends RuntimeEventHandler>> getEventHandlerClasses() {
+    return this.eventHandlers;
+  }
+
+  /**
+   * @param originalPlan the original physical plan.
+   * @param metricData   the ID of the barrier vertex, and the keys sampled from each of its output blocks.
+   * @return the physical plan with the split points set on the range-partitioned edges.
+   */
+  @Override
+  public PhysicalPlan apply(final PhysicalPlan originalPlan,
+                            final Pair<String, Map<String, List<Object>>> metricData) {
+    final DAG<Stage, StageEdge> stageDAG = originalPlan.getStageDAG();
+    final List<Object> keySamples = metricData.right().values().stream()
+        .flatMap(List::stream)
+        .collect(Collectors.toList());
+
+    // The stages relaying the output of the barrier vertex, and their range-partitioned outgoing edges.
+    final List<StageEdge> rangePartitionedEdges = stageDAG.getVertices().stream()
+        .flatMap(stage -> stageDAG.getIncomingEdgesOf(stage).stream())
+        .filter(stageEdge -> stageEdge.getSrcIRVertex().getId().equals(metricData.left()))
+        .map(StageEdge::getDst)
+        .distinct()
+        .flatMap(relayStage -> stageDAG.getOutgoingEdgesOf(relayStage).stream())
+        .filter(stageEdge -> PartitionerProperty.Value.RangePartitioner
+            .equals(stageEdge.getPropertyValue(PartitionerProperty.class).orElse(null)))
+        .collect(Collectors.toList());
+
+    rangePartitionedEdges.forEach(stageEdge -> {
+      final List<Object> splitPoints = calculateSplitPoints(keySamples, stageEdge.getDst().getTaskIds().size());
+      LOG.info("Split points of {} from {} key samples: {}", stageEdge.getId(), keySamples.size(), splitPoints);
+      stageEdge.getExecutionProperties().put(RangeSplitPointsProperty.of(new ArrayList<>(splitPoints)));
+    });
+
+    return new PhysicalPlan(originalPlan.getId(), new DAGBuilder<>(stageDAG).build());
+  }
+
+  /**
+   * Computes the split points that divide the sampled keys into partitions of about the same size.
+   * Partition i holds the keys in [split point i-1, split point i).
+   *
+   * @param keySamples    the sampled keys, which should be {@link Comparable}.
+   * @param numPartitions the number of partitions.
+   * @return the sorted split points, which are as many as the partitions minus one, or none if there is no sample.
+   */
+  @VisibleForTesting
+  public static List<Object> calculateSplitPoints(final List<Object> keySamples, final int numPartitions) {
+    if (keySamples.isEmpty()) {
+      return Collections.emptyList();
+    }
+    final List<Object> sortedSamples = new ArrayList<>(keySamples);
+    sortedSamples.sort((k1, k2) -> ((Comparable) k1).compareTo(k2));
+    final List<Object> splitPoints = new ArrayList<>(numPartitions - 1);
+    for (int i = 1; i < numPartitions; i++) {
+      splitPoints.add(sortedSamples.get((int) ((long) i * sortedSamples.size() / numPartitions)));
+    }
+    return splitPoints;
+  }
+}
@@ -22,6 +22,7 @@ import edu.snu.nemo.common.ir.edge.executionproperty.DuplicateEdgeGroupPropertyV
 import edu.snu.nemo.common.ir.executionproperty.ExecutionPropertyMap;
 import edu.snu.nemo.common.ir.executionproperty.VertexExecutionProperty;
 import edu.snu.nemo.common.ir.vertex.*;
+import edu.snu.nemo.common.ir.vertex.executionproperty.CacheProperty;
 import edu.snu.nemo.common.ir.vertex.executionproperty.DynamicOptimizationProperty;
 import edu.snu.nemo.common.ir.vertex.executionproperty.ParallelismProperty;
 import edu.snu.nemo.common.ir.vertex.executionproperty.ScheduleGroupProperty;
@@ -35,6 +36,7 @@ import edu.snu.nemo.runtime.common.RuntimeIdGenerator;
 import org.apache.commons.lang3.mutable.MutableInt;
 import org.apache.reef.tang.annotations.Parameter;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import java.util.*;
 import java.util.function.Function;
@@ -58,6 +60,7 @@ public final class PhysicalPlanGenerator implements Function<DAG<IRVertex, IREdg
     this.dagDirectory = dagDirectory;
     this.stagePartitioner = stagePartitioner;
     stagePartitioner.addIgnoredPropertyKey(DynamicOptimizationProperty.class);
+    stagePartitioner.addIgnoredPropertyKey(CacheProperty.class);
   }
 
   /**
@@ -68,8 +71,21 @@ public final class PhysicalPlanGenerator implements Function<DAG<IRVertex, IREdg
    */
   @Override
   public DAG<Stage, StageEdge> apply(final DAG<IRVertex, IREdge> irDAG) {
+    return apply(null, irDAG);
+  }
+
+  /**
+   * Generates the {@link PhysicalPlan} to be executed, along with the other plans in the same runtime.
+   * The ids of the stages and the runtime edges are prefixed with the id of the plan,
+   * so that the tasks and the blocks of the plans do not collide.
+   *
+   * @param physicalPlanId the id of the plan, or {@code null} not to prefix the ids.
+   * @param irDAG that should be converted to a physical execution plan
+   * @return {@link PhysicalPlan} to execute.
+   */
+  public DAG<Stage, StageEdge> apply(@Nullable final String physicalPlanId, final DAG<IRVertex, IREdge> irDAG) {
     // first, stage-partition the IR DAG.
-    final DAG<Stage, StageEdge> dagOfStages = stagePartitionIrDAG(irDAG);
+    final DAG<Stage, StageEdge> dagOfStages = stagePartitionIrDAG(physicalPlanId, irDAG);
 
     // Sanity check
     dagOfStages.getVertices().forEach(this::integrityCheck);
@@ -80,8 +96,9 @@ public final class PhysicalPlanGenerator implements Function<DAG<IRVertex, IREdg
     // Split StageGroup by Pull StageEdges
     splitScheduleGroupByPullStageEdges(dagOfStages);
 
-    // for debugging purposes.
-    dagOfStages.storeJSON(dagDirectory, "plan-logical", "logical execution plan");
+    // for debugging purposes. The plans generated along with other plans are told apart by their ids.
+    dagOfStages.storeJSON(dagDirectory, physicalPlanId == null ? "plan-logical" : physicalPlanId + "-plan-logical",
+        "logical execution plan");
 
     return dagOfStages;
   }
@@ -123,6 +140,18 @@ public final class PhysicalPlanGenerator implements Function<DAG<IRVertex, IREdg
    * @return the DAG composed of stages and stage edges.
    */
   public DAG<Stage, StageEdge> stagePartitionIrDAG(final DAG<IRVertex, IREdge> irDAG) {
+    return stagePartitionIrDAG(null, irDAG);
+  }
+
+  /**
+   * We take the stage-partitioned DAG and create actual stage and stage edge objects to create a DAG of stages.
+   *
+   * @param physicalPlanId the id of the plan to prefix the ids of the stages and the edges with, or {@code null}.
+   * @param irDAG stage-partitioned IR DAG.
+   * @return the DAG composed of stages and stage edges.
+   */
+  private DAG<Stage, StageEdge> stagePartitionIrDAG(@Nullable final String physicalPlanId,
+                                                    final DAG<IRVertex, IREdge> irDAG) {
     final DAGBuilder<Stage, StageEdge> dagOfStagesBuilder = new DAGBuilder<>();
     final Set<IREdge> interStageEdges = new HashSet<>();
     final Map<Integer, Stage> stageIdToStageMap = new HashMap<>();
@@ -139,7 +168,8 @@ public final class PhysicalPlanGenerator implements Function<DAG<IRVertex, IREdg
 
     for (final int stageId : vertexSetForEachStage.keySet()) {
       final Set<IRVertex> stageVertices = vertexSetForEachStage.get(stageId);
-      final String stageIdentifier = RuntimeIdGenerator.generateStageId(stageId);
+      final String stageIdentifier = physicalPlanId == null ? RuntimeIdGenerator.generateStageId(stageId)
+          : RuntimeIdGenerator.generateStageId(physicalPlanId, stageId);
       final ExecutionPropertyMap<VertexExecutionProperty> stageProperties = new ExecutionPropertyMap<>(stageIdentifier);
       stagePartitioner.getStageProperties(stageVertices.iterator().next()).forEach(stageProperties::put);
       final int stageParallelism = stageProperties.get(ParallelismProperty.class)
@@ -182,7 +212,7 @@ public final class PhysicalPlanGenerator implements Function<DAG<IRVertex, IREdg
           // both vertices are in the same stage.
           if (vertexToStageIdMap.get(srcVertex).equals(vertexToStageIdMap.get(dstVertex))) {
             stageInternalDAGBuilder.connectVertices(new RuntimeEdge<>(
-                irEdge.getId(),
+                toRuntimeEdgeId(physicalPlanId, irEdge.getId()),
                 irEdge.getExecutionProperties(),
                 irEdge.getSrc(),
                 irEdge.getDst(),
@@ -211,13 +241,23 @@ public final class PhysicalPlanGenerator implements Function<DAG<IRVertex, IREdg
             srcStage == null ? String.format(" source stage for %s", interStageEdge.getSrc()) : "",
             dstStage == null ? String.format(" destination stage for %s", interStageEdge.getDst()) : ""));
       }
-      dagOfStagesBuilder.connectVertices(new StageEdge(interStageEdge.getId(), interStageEdge.getExecutionProperties(),
+      dagOfStagesBuilder.connectVertices(new StageEdge(toRuntimeEdgeId(physicalPlanId, interStageEdge.getId()),
+          interStageEdge.getExecutionProperties(),
           interStageEdge.getSrc(), interStageEdge.getDst(), srcStage, dstStage, interStageEdge.isSideInput()));
     }
 
     return dagOfStagesBuilder.build();
   }
 
+  /**
+   * @param physicalPlanId the id of the plan, or {@code null}.
+   * @param irEdgeId the id of the IR edge.
+   * @return the id of the runtime edge of the IR edge.
+   */
+  private static String toRuntimeEdgeId(@Nullable final String physicalPlanId, final String irEdgeId) {
+    return physicalPlanId == null ? irEdgeId : RuntimeIdGenerator.generateRuntimeEdgeId(physicalPlanId, irEdgeId);
+  }
+
   /**
    * Integrity check for Stage.
    * @param stage to check for
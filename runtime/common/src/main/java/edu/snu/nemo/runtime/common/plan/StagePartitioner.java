@@ -17,9 +17,12 @@ package edu.snu.nemo.runtime.common.plan;
 
 import edu.snu.nemo.common.dag.DAG;
 import edu.snu.nemo.common.ir.edge.IREdge;
+import edu.snu.nemo.common.ir.edge.executionproperty.CachedDataProperty;
 import edu.snu.nemo.common.ir.edge.executionproperty.CommunicationPatternProperty;
+import edu.snu.nemo.common.ir.edge.executionproperty.MetricCollectionProperty;
 import edu.snu.nemo.common.ir.executionproperty.VertexExecutionProperty;
 import edu.snu.nemo.common.ir.vertex.IRVertex;
+import edu.snu.nemo.common.ir.vertex.executionproperty.CacheProperty;
 import net.jcip.annotations.ThreadSafe;
 import org.apache.commons.lang3.mutable.MutableInt;
 import org.apache.reef.annotations.audience.DriverSide;
@@ -35,7 +38,11 @@ import java.util.stream.Stream;
  * A function that is responsible for stage partitioning on IR DAG.
  * Each stage becomes maximal set of {@link IRVertex} such that
  * <ul>
- *   <li>branches and non-OneToOne edges are not allowed within a stage, and</li>
+ *   <li>branches and non-OneToOne edges are not allowed within a stage,</li>
+ *   <li>edges from a vertex with {@link CacheProperty} and edges with {@link CachedDataProperty} cross stages,
+ *   as their data are kept or read as blocks,</li>
+ *   <li>edges with {@link MetricCollectionProperty} cross stages, as the metric collected from their blocks
+ *   is used to optimize the following stages, and</li>
  *   <li>all vertices in a stage should have same {@link VertexExecutionProperty} map,
  *   except for the ignored properties.</li>
  * </ul>
@@ -105,6 +112,15 @@ public final class StagePartitioner implements Function<DAG<IRVertex, IREdge>, M
     if (dag.getIncomingEdgesOf(edge.getDst()).size() > 1) {
       return false;
     }
+    // If the output of the source vertex is cached, or is read from the cache, return false
+    if (edge.getSrc().getPropertyValue(CacheProperty.class).isPresent()
+        || edge.getPropertyValue(CachedDataProperty.class).isPresent()) {
+      return false;
+    }
+    // If the metric collected from the edge optimizes its destination, return false
+    if (edge.getPropertyValue(MetricCollectionProperty.class).isPresent()) {
+      return false;
+    }
     // If the edge is not OneToOne, return false
     if (edge.getPropertyValue(CommunicationPatternProperty.class).get()
         != CommunicationPatternProperty.Value.OneToOne) {
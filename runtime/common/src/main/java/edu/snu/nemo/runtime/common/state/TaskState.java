@@ -40,6 +40,7 @@ public final class TaskState {
 
     // From READY
     stateMachineBuilder.addTransition(State.READY, State.EXECUTING, "Scheduling to executor");
+    stateMachineBuilder.addTransition(State.READY, State.COMPLETE, "Output restored from a checkpoint");
 
     // From EXECUTING
     stateMachineBuilder.addTransition(State.EXECUTING, State.COMPLETE, "Task completed normally");
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.common.metric;
+
+import edu.snu.nemo.runtime.common.RuntimeIdGenerator;
+import edu.snu.nemo.runtime.common.comm.ControlMessage;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the operator metrics of {@link StageMetric}.
+ */
+public final class StageMetricTest {
+  private static final String STAGE_ID = RuntimeIdGenerator.generateStageId(0);
+  private static final String TASK_ID = RuntimeIdGenerator.generateTaskId(0, STAGE_ID);
+  private static final String OTHER_TASK_ID = RuntimeIdGenerator.generateTaskId(1, STAGE_ID);
+  private static final String VERTEX_ID = "vertex0";
+
+  /**
+   * Tests that the samples of the latest attempt of each task are summed up, ignoring the earlier attempts.
+   */
+  @Test
+  public void testRetriedTask() {
+    final StageMetric stageMetric = new StageMetric(STAGE_ID);
+    stageMetric.processMetricMessage("operatorMetrics", sample(TASK_ID, 0, 10));
+    stageMetric.processMetricMessage("operatorMetrics", sample(OTHER_TASK_ID, 0, 5));
+    assertEquals(15, getNumElementsIn(stageMetric));
+
+    // The task is retried: its first attempt no longer counts
+    stageMetric.processMetricMessage("operatorMetrics", sample(TASK_ID, 1, 3));
+    assertEquals(8, getNumElementsIn(stageMetric));
+    stageMetric.processMetricMessage("operatorMetrics", sample(TASK_ID, 1, 7));
+    assertEquals(15, getNumElementsIn(stageMetric));
+
+    // A late sample of the first attempt is ignored
+    stageMetric.processMetricMessage("operatorMetrics", sample(TASK_ID, 0, 100));
+    assertEquals(15, getNumElementsIn(stageMetric));
+  }
+
+  private static long getNumElementsIn(final StageMetric stageMetric) {
+    final Map<String, OperatorMetric> operatorMetrics = stageMetric.getOperatorMetrics();
+    assertEquals(1, operatorMetrics.size());
+    return operatorMetrics.get(VERTEX_ID).getNumElementsIn();
+  }
+
+  private static byte[] sample(final String taskId, final int attemptIdx, final long numElementsIn) {
+    return ControlMessage.OperatorMetricsMsg.newBuilder()
+        .setTaskId(taskId)
+        .setAttemptIdx(attemptIdx)
+        .addOperatorMetric(ControlMessage.OperatorMetricMsg.newBuilder()
+            .setVertexId(VERTEX_ID)
+            .setNumElementsIn(numElementsIn))
+        .build()
+        .toByteArray();
+  }
+}
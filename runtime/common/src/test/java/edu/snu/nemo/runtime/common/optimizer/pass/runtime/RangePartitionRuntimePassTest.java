@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.common.optimizer.pass.runtime;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test {@link RangePartitionRuntimePass}.
+ */
+public class RangePartitionRuntimePassTest {
+
+  /**
+   * Test whether the split points divide the sampled keys into partitions of the same size.
+   */
+  @Test
+  public void testCalculateSplitPoints() {
+    final List<Object> keySamples = new ArrayList<>();
+    for (int key = 0; key < 100; key++) {
+      keySamples.add(key);
+    }
+    Collections.shuffle(keySamples, new Random(0));
+
+    assertEquals(Arrays.asList(25, 50, 75), RangePartitionRuntimePass.calculateSplitPoints(keySamples, 4));
+    assertEquals(Collections.emptyList(), RangePartitionRuntimePass.calculateSplitPoints(keySamples, 1));
+  }
+
+  /**
+   * Test that there is no split point without any sample, and that few samples still give sorted split points.
+   */
+  @Test
+  public void testCalculateSplitPointsFromFewSamples() {
+    assertTrue(RangePartitionRuntimePass.calculateSplitPoints(Collections.emptyList(), 4).isEmpty());
+    assertEquals(Arrays.asList("a", "b", "b"),
+        RangePartitionRuntimePass.calculateSplitPoints(Arrays.<Object>asList("b", "a"), 4));
+  }
+}
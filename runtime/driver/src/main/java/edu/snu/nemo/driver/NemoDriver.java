@@ -15,6 +15,7 @@
  */
 package edu.snu.nemo.driver;
 
+import com.google.protobuf.ByteString;
 import edu.snu.nemo.common.ir.IdManager;
 import edu.snu.nemo.compiler.optimizer.pass.compiletime.annotating.ResourceSitePass;
 import edu.snu.nemo.conf.JobConf;
@@ -49,6 +50,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.logging.LogManager;
@@ -71,11 +74,24 @@ public final class NemoDriver {
   private final String jobId;
   private final String localDirectory;
   private final String glusterDirectory;
+  private final int readAheadBlocks;
+  private final int readAheadMemMb;
+  private final int readAheadThreads;
+  private final String fileStriping;
+  private final int fileWriteBehindMb;
+  private final boolean fileSync;
+  private final long executorHeartbeatPeriodMs;
+  private final int shuffleServicePort;
+  private final int partitionTransportReceiveWindowKb;
   private final ClientRPC clientRPC;
 
-  private static ExecutorService runnerThread = Executors.newSingleThreadExecutor(
+  // The DAGs launched by the client run at the same time, each on its own thread.
+  private static ExecutorService runnerThread = Executors.newCachedThreadPool(
       new BasicThreadFactory.Builder().namingPattern("User App thread-%d").build());
 
+  // The chunks of the DAGs received so far, until the last chunks arrive, keyed by the job ids.
+  private final Map<String, ByteString> jobIdToReceivedDAGChunks = new ConcurrentHashMap<>();
+
   // Client for sending log messages
   private final RemoteClientMessageLoggingHandler handler;
 
@@ -90,7 +106,17 @@ public final class NemoDriver {
                      @Parameter(JobConf.BandwidthJSONContents.class) final String bandwidthString,
                      @Parameter(JobConf.JobId.class) final String jobId,
                      @Parameter(JobConf.FileDirectory.class) final String localDirectory,
-                     @Parameter(JobConf.GlusterVolumeDirectory.class) final String glusterDirectory) {
+                     @Parameter(JobConf.GlusterVolumeDirectory.class) final String glusterDirectory,
+                     @Parameter(JobConf.ReadAheadBlocks.class) final int readAheadBlocks,
+                     @Parameter(JobConf.ReadAheadMemMb.class) final int readAheadMemMb,
+                     @Parameter(JobConf.ReadAheadThreads.class) final int readAheadThreads,
+                     @Parameter(JobConf.FileStriping.class) final String fileStriping,
+                     @Parameter(JobConf.FileWriteBehindMb.class) final int fileWriteBehindMb,
+                     @Parameter(JobConf.FileSync.class) final boolean fileSync,
+                     @Parameter(JobConf.ExecutorHeartbeatPeriodMs.class) final long executorHeartbeatPeriodMs,
+                     @Parameter(JobConf.ShuffleServicePort.class) final int shuffleServicePort,
+                     @Parameter(JobConf.PartitionTransportReceiveWindowKb.class)
+                     final int partitionTransportReceiveWindowKb) {
     IdManager.setInDriver();
     this.userApplicationRunner = userApplicationRunner;
     this.runtimeMaster = runtimeMaster;
@@ -100,12 +126,29 @@ public final class NemoDriver {
     this.jobId = jobId;
     this.localDirectory = localDirectory;
     this.glusterDirectory = glusterDirectory;
+    this.readAheadBlocks = readAheadBlocks;
+    this.readAheadMemMb = readAheadMemMb;
+    this.readAheadThreads = readAheadThreads;
+    this.fileStriping = fileStriping;
+    this.fileWriteBehindMb = fileWriteBehindMb;
+    this.fileSync = fileSync;
+    this.executorHeartbeatPeriodMs = executorHeartbeatPeriodMs;
+    this.shuffleServicePort = shuffleServicePort;
+    this.partitionTransportReceiveWindowKb = partitionTransportReceiveWindowKb;
     this.handler = new RemoteClientMessageLoggingHandler(client);
     this.clientRPC = clientRPC;
     // TODO #69: Support job-wide execution property
     ResourceSitePass.setBandwidthSpecificationString(bandwidthString);
-    clientRPC.registerHandler(ControlMessage.ClientToDriverMessageType.LaunchDAG, message ->
-        startSchedulingUserDAG(message.getLaunchDAG().getDag()));
+    clientRPC.registerHandler(ControlMessage.ClientToDriverMessageType.LaunchDAG, message -> {
+      final ControlMessage.LaunchDAGMessage launchDAG = message.getLaunchDAG();
+      final String dagJobId = launchDAG.hasJobId() ? launchDAG.getJobId() : RuntimeIdGenerator.generatePhysicalPlanId();
+      // Concatenating ByteStrings does not copy the chunks.
+      final ByteString receivedDAG = jobIdToReceivedDAGChunks.merge(dagJobId, launchDAG.getDag(), ByteString::concat);
+      if (launchDAG.getLastChunk()) {
+        jobIdToReceivedDAGChunks.remove(dagJobId);
+        startSchedulingUserDAG(dagJobId, receivedDAG.toByteArray(), launchDAG.getWeight());
+      }
+    });
     clientRPC.registerHandler(ControlMessage.ClientToDriverMessageType.DriverShutdown, message -> shutdown());
     // Send DriverStarted message to the client
     clientRPC.send(ControlMessage.DriverToClientMessage.newBuilder()
@@ -168,14 +211,25 @@ public final class NemoDriver {
   }
 
   /**
-   * Start user DAG.
+   * Start user DAG, which runs along with the other DAGs started before.
+   * @param dagJobId the id of the job of the DAG.
+   * @param serializedDAG the serialized DAG.
+   * @param weight of the job, in proportion to which the job is given the executor slots.
    */
-  public void startSchedulingUserDAG(final String dagString) {
+  public void startSchedulingUserDAG(final String dagJobId, final byte[] serializedDAG, final int weight) {
     runnerThread.execute(() -> {
-      userApplicationRunner.run(dagString);
-      // send driver notification that user application is done.
-      clientRPC.send(ControlMessage.DriverToClientMessage.newBuilder()
-          .setType(ControlMessage.DriverToClientMessageType.ExecutionDone).build());
+      final ControlMessage.DriverToClientMessage.Builder executionDone = ControlMessage.DriverToClientMessage
+          .newBuilder()
+          .setType(ControlMessage.DriverToClientMessageType.ExecutionDone)
+          .setJobId(dagJobId);
+      try {
+        userApplicationRunner.run(dagJobId, serializedDAG, weight);
+      } catch (final Exception e) {
+        LOG.error(dagJobId + " failed", e);
+        executionDone.setFailure(e.toString());
+      }
+      // send driver notification that user application is done, whether it succeeded or not.
+      clientRPC.send(executionDone.build());
     });
   }
 
@@ -217,6 +271,15 @@ public final class NemoDriver {
         .set(JobConf.GLUSTER_DISK_DIRECTORY, glusterDirectory)
         .set(JobConf.LOCAL_DISK_DIRECTORY, localDirectory)
         .set(JobConf.JOB_ID, jobId)
+        .set(JobConf.SHUFFLE_SERVICE_PORT, shuffleServicePort)
+        .set(JobConf.READ_AHEAD_BLOCKS, readAheadBlocks)
+        .set(JobConf.READ_AHEAD_MEM_MB, readAheadMemMb)
+        .set(JobConf.READ_AHEAD_THREADS, readAheadThreads)
+        .set(JobConf.FILE_STRIPING, fileStriping)
+        .set(JobConf.FILE_WRITE_BEHIND_MB, fileWriteBehindMb)
+        .set(JobConf.FILE_SYNC, fileSync)
+        .set(JobConf.EXECUTOR_HEARTBEAT_PERIOD_MS, executorHeartbeatPeriodMs)
+        .set(JobConf.PARTITION_TRANSPORT_RECEIVE_WINDOW_KB, partitionTransportReceiveWindowKb)
         .build();
 
     final Configuration contextConfiguration = ContextConfiguration.CONF
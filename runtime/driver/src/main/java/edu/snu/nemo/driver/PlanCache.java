@@ -0,0 +1,343 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.driver;
+
+import edu.snu.nemo.common.dag.DAG;
+import edu.snu.nemo.common.ir.IdManager;
+import edu.snu.nemo.common.ir.edge.IREdge;
+import edu.snu.nemo.common.ir.executionproperty.ExecutionProperty;
+import edu.snu.nemo.common.ir.executionproperty.ExecutionPropertyMap;
+import edu.snu.nemo.common.ir.vertex.IRVertex;
+import edu.snu.nemo.common.ir.vertex.LoopVertex;
+import edu.snu.nemo.common.ir.vertex.OperatorVertex;
+import edu.snu.nemo.common.ir.vertex.SourceVertex;
+import edu.snu.nemo.conf.JobConf;
+import org.apache.commons.lang3.SerializationException;
+import org.apache.commons.lang3.SerializationUtils;
+import org.apache.reef.annotations.audience.DriverSide;
+import org.apache.reef.tang.annotations.Parameter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.ThreadSafe;
+import javax.inject.Inject;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.Callable;
+
+/**
+ * Caches the IR DAGs optimized at compile time on the local disk, so that a recurring job skips the optimization.
+ * A cached DAG is keyed by the fingerprint of the IR DAG before the optimization, the optimization policy,
+ * and the resource and bandwidth specifications the optimization depends on.
+ * The fingerprint covers the structure of the DAG and the execution properties, but not the data of the sources:
+ * the sources of a cached DAG are cleared, and read the sources of the submitted DAG when the DAG is reused.
+ */
+@ThreadSafe
+@DriverSide
+public final class PlanCache {
+  private static final Logger LOG = LoggerFactory.getLogger(PlanCache.class.getName());
+  private static final String CACHED_DAG_EXTENSION = ".dag";
+
+  private final String cacheDirectory;
+  private final String resourceSpecification;
+  private final String bandwidthSpecification;
+
+  /**
+   * Constructor.
+   *
+   * @param cacheDirectory         the directory to cache the optimized DAGs in, or empty not to cache them.
+   * @param resourceSpecification  the resource specification.
+   * @param bandwidthSpecification the bandwidth specification.
+   */
+  @Inject
+  private PlanCache(@Parameter(JobConf.PlanCacheDirectory.class) final String cacheDirectory,
+                    @Parameter(JobConf.ExecutorJSONContents.class) final String resourceSpecification,
+                    @Parameter(JobConf.BandwidthJSONContents.class) final String bandwidthSpecification) {
+    this.cacheDirectory = cacheDirectory;
+    this.resourceSpecification = resourceSpecification;
+    this.bandwidthSpecification = bandwidthSpecification;
+  }
+
+  /**
+   * Returns the optimized IR DAG, which is read from the cache if the same DAG has been optimized before
+   * with the same policy, or is optimized with the given optimization and cached otherwise.
+   * The sources of a cached DAG read the sources of the given DAG.
+   *
+   * @param dag          the IR DAG to optimize.
+   * @param policyName   the canonical name of the optimization policy.
+   * @param optimization the compile-time optimization of the DAG.
+   * @return the optimized IR DAG.
+   * @throws Exception exception thrown by the optimization.
+   */
+  public DAG<IRVertex, IREdge> getOrOptimize(final DAG<IRVertex, IREdge> dag,
+                                             final String policyName,
+                                             final Callable<DAG<IRVertex, IREdge>> optimization) throws Exception {
+    if (cacheDirectory.isEmpty()) {
+      return optimization.call();
+    }
+
+    final Path cachedDAGPath;
+    try {
+      cachedDAGPath = Paths.get(cacheDirectory, fingerprint(dag, policyName) + CACHED_DAG_EXTENSION);
+    } catch (final IOException | SerializationException e) {
+      LOG.warn("Failed to fingerprint the IR DAG, not caching it", e);
+      return optimization.call();
+    }
+
+    final Optional<DAG<IRVertex, IREdge>> cachedDAG = readCachedDAG(cachedDAGPath);
+    if (cachedDAG.isPresent() && refreshSources(cachedDAG.get(), dag)) {
+      LOG.info("Skipping the compile-time optimization with the cached DAG {}", cachedDAGPath);
+      // The IDs generated by the driver which has cached the DAG should not be generated again.
+      final List<String> ids = new ArrayList<>();
+      collectIds(cachedDAG.get(), ids);
+      IdManager.reserveDriverIds(ids);
+      return cachedDAG.get();
+    }
+
+    final DAG<IRVertex, IREdge> optimizedDAG = optimization.call();
+    writeCachedDAG(cachedDAGPath, optimizedDAG);
+    return optimizedDAG;
+  }
+
+  /**
+   * Fingerprints the IR DAG with the other inputs of the optimization, by their SHA-256 digest.
+   *
+   * @param dag        the IR DAG.
+   * @param policyName the canonical name of the optimization policy.
+   * @return the fingerprint in hexadecimal.
+   * @throws IOException if failed to write the DAG to the digest.
+   */
+  private String fingerprint(final DAG<IRVertex, IREdge> dag, final String policyName) throws IOException {
+    final MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (final NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e); // Every Java platform supports SHA-256.
+    }
+    final OutputStream discardingStream = new OutputStream() {
+      @Override
+      public void write(final int b) {
+      }
+
+      @Override
+      public void write(final byte[] b, final int off, final int len) {
+      }
+    };
+    try (final DataOutputStream outputStream =
+             new DataOutputStream(new DigestOutputStream(discardingStream, digest))) {
+      writeString(outputStream, policyName);
+      writeString(outputStream, resourceSpecification);
+      writeString(outputStream, bandwidthSpecification);
+      writeDAG(outputStream, dag);
+    }
+
+    final StringBuilder sb = new StringBuilder();
+    for (final byte b : digest.digest()) {
+      sb.append(String.format("%02x", b));
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Writes the structure of the DAG and the execution properties in the topological order, including the loops.
+   * Of a source, only the estimated size, which may affect the optimization, is written, not the data.
+   * The transforms of the operators and the termination conditions of the loops are written as serialized.
+   *
+   * @param outputStream the stream to write to.
+   * @param dag          the IR DAG.
+   * @throws IOException if failed to write.
+   */
+  private static void writeDAG(final DataOutputStream outputStream,
+                               final DAG<IRVertex, IREdge> dag) throws IOException {
+    for (final IRVertex vertex : dag.getTopologicalSort()) {
+      writeString(outputStream, vertex.getId());
+      writeString(outputStream, vertex.getClass().getName());
+      writeProperties(outputStream, vertex.getExecutionProperties());
+      if (vertex instanceof SourceVertex) {
+        outputStream.writeLong(((SourceVertex) vertex).getEstimatedSizeBytes());
+      } else if (vertex instanceof OperatorVertex) {
+        writeObject(outputStream, ((OperatorVertex) vertex).getTransform());
+      } else if (vertex instanceof LoopVertex) {
+        final LoopVertex loopVertex = (LoopVertex) vertex;
+        writeObject(outputStream, loopVertex.getMaxNumberOfIterations());
+        writeObject(outputStream, loopVertex.getTerminationCondition());
+        writeDAG(outputStream, loopVertex.getDAG());
+      }
+
+      for (final IREdge edge : dag.getIncomingEdgesOf(vertex)) {
+        writeString(outputStream, edge.getId());
+        writeString(outputStream, edge.getSrc().getId());
+        outputStream.writeBoolean(edge.isSideInput());
+        writeProperties(outputStream, edge.getExecutionProperties());
+      }
+    }
+  }
+
+  /**
+   * Writes the execution properties sorted by their classes.
+   * The order of the properties in the map depends on the identity hash codes of their classes,
+   * which differ from a driver to another.
+   *
+   * @param outputStream the stream to write to.
+   * @param propertyMap  the execution properties.
+   * @throws IOException if failed to write.
+   */
+  private static void writeProperties(final DataOutputStream outputStream,
+                                      final ExecutionPropertyMap<?> propertyMap) throws IOException {
+    final TreeMap<String, ExecutionProperty> sortedProperties = new TreeMap<>();
+    propertyMap.forEachProperties(property -> sortedProperties.put(property.getClass().getName(), property));
+    for (final Map.Entry<String, ExecutionProperty> entry : sortedProperties.entrySet()) {
+      writeString(outputStream, entry.getKey());
+      writeObject(outputStream, entry.getValue());
+    }
+  }
+
+  /**
+   * @param outputStream the stream to write to.
+   * @param object       the object to write in the serialized form, or by its class if it is not serializable.
+   * @throws IOException if failed to write.
+   */
+  private static void writeObject(final DataOutputStream outputStream, final Object object) throws IOException {
+    if (object == null || object instanceof Serializable) {
+      final byte[] bytes = SerializationUtils.serialize((Serializable) object);
+      outputStream.writeInt(bytes.length);
+      outputStream.write(bytes);
+    } else {
+      writeString(outputStream, object.getClass().getName());
+    }
+  }
+
+  /**
+   * @param outputStream the stream to write to.
+   * @param string       the string to write, which may be longer than {@link DataOutputStream#writeUTF} allows.
+   * @throws IOException if failed to write.
+   */
+  private static void writeString(final DataOutputStream outputStream, final String string) throws IOException {
+    final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+    outputStream.writeInt(bytes.length);
+    outputStream.write(bytes);
+  }
+
+  /**
+   * Makes each source of the cached DAG read the source of the submitted DAG with the same ID.
+   *
+   * @param cachedDAG    the cached DAG.
+   * @param submittedDAG the submitted DAG, of the same fingerprint.
+   * @return whether all the sources of the cached DAG have been refreshed.
+   *         It is false if the optimization has added a source, which the submitted DAG does not have.
+   */
+  private static boolean refreshSources(final DAG<IRVertex, IREdge> cachedDAG,
+                                        final DAG<IRVertex, IREdge> submittedDAG) {
+    final Map<String, SourceVertex> cachedSources = new HashMap<>();
+    collectSources(cachedDAG, cachedSources);
+    final Map<String, SourceVertex> submittedSources = new HashMap<>();
+    collectSources(submittedDAG, submittedSources);
+
+    for (final SourceVertex cachedSource : cachedSources.values()) {
+      final SourceVertex submittedSource = submittedSources.get(cachedSource.getId());
+      if (submittedSource == null || !submittedSource.getClass().equals(cachedSource.getClass())) {
+        LOG.warn("The cached DAG has {}, which the submitted DAG does not have, optimizing the DAG again",
+            cachedSource.getId());
+        return false;
+      }
+    }
+    cachedSources.values().forEach(cachedSource ->
+        cachedSource.refreshSourceFrom(submittedSources.get(cachedSource.getId())));
+    return true;
+  }
+
+  /**
+   * @param cachedDAGPath the path of the cached DAG.
+   * @return the cached DAG, or empty if it is not cached or cannot be read, e.g., with the classes changed.
+   */
+  private static Optional<DAG<IRVertex, IREdge>> readCachedDAG(final Path cachedDAGPath) {
+    if (!Files.exists(cachedDAGPath)) {
+      return Optional.empty();
+    }
+    try (final InputStream inputStream = new BufferedInputStream(Files.newInputStream(cachedDAGPath))) {
+      return Optional.of(SerializationUtils.deserialize(inputStream));
+    } catch (final IOException | SerializationException e) {
+      LOG.warn("Failed to read the cached DAG {}, optimizing the DAG again", cachedDAGPath, e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Writes the optimized DAG to a temporary file first and then moves it, so that a partially written DAG is not read
+   * by the jobs running at the same time.
+   * The sources are cleared in a copy of the DAG before being written, as they are refreshed when the DAG is reused.
+   *
+   * @param cachedDAGPath the path to cache the DAG at.
+   * @param optimizedDAG  the optimized DAG.
+   */
+  private static void writeCachedDAG(final Path cachedDAGPath, final DAG<IRVertex, IREdge> optimizedDAG) {
+    Path temporaryPath = null;
+    try {
+      final DAG<IRVertex, IREdge> dagToCache = SerializationUtils.clone(optimizedDAG);
+      final Map<String, SourceVertex> sources = new HashMap<>();
+      collectSources(dagToCache, sources);
+      sources.values().forEach(SourceVertex::clearInternalStates);
+
+      Files.createDirectories(cachedDAGPath.getParent());
+      temporaryPath = Files.createTempFile(cachedDAGPath.getParent(), cachedDAGPath.getFileName().toString(), null);
+      try (final OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(temporaryPath))) {
+        SerializationUtils.serialize(dagToCache, outputStream);
+      }
+      Files.move(temporaryPath, cachedDAGPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (final IOException | SerializationException e) {
+      LOG.warn("Failed to cache the optimized DAG at {}", cachedDAGPath, e);
+      if (temporaryPath != null) {
+        temporaryPath.toFile().delete();
+      }
+    }
+  }
+
+  /**
+   * @param dag the IR DAG.
+   * @param ids the list to add the IDs of the vertices and edges in the DAG, including the ones in the loops, to.
+   */
+  private static void collectIds(final DAG<IRVertex, IREdge> dag, final List<String> ids) {
+    dag.getVertices().forEach(vertex -> {
+      ids.add(vertex.getId());
+      dag.getIncomingEdgesOf(vertex).forEach(edge -> ids.add(edge.getId()));
+      if (vertex instanceof LoopVertex) {
+        collectIds(((LoopVertex) vertex).getDAG(), ids);
+      }
+    });
+  }
+
+  /**
+   * @param dag     the IR DAG.
+   * @param sources the map to put the sources in the DAG, including the ones in the loops, to, keyed by their IDs.
+   */
+  private static void collectSources(final DAG<IRVertex, IREdge> dag, final Map<String, SourceVertex> sources) {
+    dag.getVertices().forEach(vertex -> {
+      if (vertex instanceof SourceVertex) {
+        sources.put(vertex.getId(), (SourceVertex) vertex);
+      } else if (vertex instanceof LoopVertex) {
+        collectSources(((LoopVertex) vertex).getDAG(), sources);
+      }
+    });
+  }
+}
@@ -19,13 +19,15 @@ import edu.snu.nemo.common.Pair;
 import edu.snu.nemo.common.dag.DAG;
 import edu.snu.nemo.common.eventhandler.PubSubEventHandlerWrapper;
 import edu.snu.nemo.common.exception.CompileTimeOptimizationException;
+import edu.snu.nemo.common.exception.UnrecoverableFailureException;
 import edu.snu.nemo.common.ir.edge.IREdge;
 import edu.snu.nemo.common.ir.vertex.IRVertex;
-import edu.snu.nemo.compiler.backend.Backend;
 import edu.snu.nemo.compiler.backend.nemo.NemoBackend;
 import edu.snu.nemo.compiler.optimizer.policy.Policy;
 import edu.snu.nemo.conf.JobConf;
 import edu.snu.nemo.runtime.common.plan.PhysicalPlan;
+import edu.snu.nemo.runtime.common.state.JobState;
+import edu.snu.nemo.runtime.master.CachedDataManager;
 import edu.snu.nemo.runtime.master.JobStateManager;
 import edu.snu.nemo.runtime.master.RuntimeMaster;
 import org.apache.commons.lang3.SerializationUtils;
@@ -35,9 +37,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
-import java.util.Base64;
+import java.io.File;
 import java.util.concurrent.ScheduledExecutorService;
 
+import static edu.snu.nemo.common.dag.DAG.EMPTY_DAG_DIRECTORY;
+
 /**
  * Compiles and runs User application.
  */
@@ -50,7 +54,9 @@ public final class UserApplicationRunner {
 
   private final Injector injector;
   private final RuntimeMaster runtimeMaster;
-  private final Backend<PhysicalPlan> backend;
+  private final CachedDataManager cachedDataManager;
+  private final NemoBackend backend;
+  private final PlanCache planCache;
 
   private final PubSubEventHandlerWrapper pubSubWrapper;
 
@@ -61,13 +67,17 @@ public final class UserApplicationRunner {
                                 final NemoBackend backend,
                                 final PubSubEventHandlerWrapper pubSubEventHandlerWrapper,
                                 final Injector injector,
-                                final RuntimeMaster runtimeMaster) {
+                                final RuntimeMaster runtimeMaster,
+                                final CachedDataManager cachedDataManager,
+                                final PlanCache planCache) {
     this.dagDirectory = dagDirectory;
     this.optimizationPolicyCanonicalName = optimizationPolicy;
     this.maxScheduleAttempt = maxScheduleAttempt;
     this.injector = injector;
     this.runtimeMaster = runtimeMaster;
+    this.cachedDataManager = cachedDataManager;
     this.backend = backend;
+    this.planCache = planCache;
     this.pubSubWrapper = pubSubEventHandlerWrapper;
   }
 
@@ -75,44 +85,67 @@ public final class UserApplicationRunner {
    * Run the user program submitted by Nemo Client.
    * Specifically, deserialize DAG from Client, optimize it, generate physical plan,
    * and tell {@link RuntimeMaster} to execute the plan.
+   * Multiple DAGs can run at the same time, each with its own job id.
+   * The JSON representations of the DAGs of each job are stored in a subdirectory named after the job id.
    *
-   * @param dagString Serialized IR DAG from Nemo Client.
+   * @param jobId         the id of the job, which becomes the id of the physical plan.
+   * @param serializedDAG Serialized IR DAG from Nemo Client.
+   * @param weight        of the job, in proportion to which the job is given the executor slots.
+   * @throws RuntimeException if the job fails.
    */
-  public void run(final String dagString) {
+  public void run(final String jobId, final byte[] serializedDAG, final int weight) {
     try {
       LOG.info("##### Nemo Compiler Start #####");
 
-      final DAG<IRVertex, IREdge> dag = SerializationUtils.deserialize(Base64.getDecoder().decode(dagString));
-      dag.storeJSON(dagDirectory, "ir", "IR before optimization");
+      final String jobDagDirectory = EMPTY_DAG_DIRECTORY.equals(dagDirectory)
+          ? EMPTY_DAG_DIRECTORY : new File(dagDirectory, jobId).getPath();
+      final DAG<IRVertex, IREdge> submittedDAG = SerializationUtils.deserialize(serializedDAG);
+      final DAG<IRVertex, IREdge> dag = cachedDataManager.apply(submittedDAG);
+      dag.storeJSON(jobDagDirectory, "ir", "IR before optimization");
       final Policy optimizationPolicy = (Policy) Class.forName(optimizationPolicyCanonicalName).newInstance();
 
       if (optimizationPolicy == null) {
         throw new CompileTimeOptimizationException("A policy name should be specified.");
       }
-      final DAG<IRVertex, IREdge> optimizedDAG = optimizationPolicy.runCompileTimeOptimization(dag, dagDirectory);
-      optimizedDAG.storeJSON(dagDirectory, "ir-" + optimizationPolicy.getClass().getSimpleName(),
+      final DAG<IRVertex, IREdge> optimizedDAG = planCache.getOrOptimize(dag, optimizationPolicyCanonicalName,
+          () -> optimizationPolicy.runCompileTimeOptimization(dag, jobDagDirectory));
+      optimizedDAG.storeJSON(jobDagDirectory, "ir-" + optimizationPolicy.getClass().getSimpleName(),
           "IR optimized for " + optimizationPolicy.getClass().getSimpleName());
 
       optimizationPolicy.registerRunTimeOptimizations(injector, pubSubWrapper);
 
-      final PhysicalPlan physicalPlan = backend.compile(optimizedDAG);
+      final PhysicalPlan physicalPlan = backend.compile(jobId, optimizedDAG);
 
       LOG.info("##### Nemo Compiler Finish #####");
 
-      physicalPlan.getStageDAG().storeJSON(dagDirectory, "plan", "physical execution plan by compiler");
+      physicalPlan.getStageDAG().storeJSON(jobDagDirectory, "plan", "physical execution plan by compiler");
 
       // Execute!
       final Pair<JobStateManager, ScheduledExecutorService> executionResult =
-          runtimeMaster.execute(physicalPlan, maxScheduleAttempt);
+          runtimeMaster.execute(physicalPlan, maxScheduleAttempt, weight);
 
       // Wait for the job to finish and stop logging
       final JobStateManager jobStateManager = executionResult.left();
       final ScheduledExecutorService dagLoggingExecutor = executionResult.right();
-      jobStateManager.waitUntilFinish();
-      dagLoggingExecutor.shutdown();
+      final JobState.State finalState;
+      try {
+        finalState = jobStateManager.waitUntilFinish();
+      } finally {
+        dagLoggingExecutor.shutdown();
+      }
+      if (JobState.State.COMPLETE.equals(finalState)) {
+        cachedDataManager.onJobCompleted(physicalPlan.getId(), optimizedDAG);
+      }
 
-      jobStateManager.storeJSON(dagDirectory, "final");
+      jobStateManager.storeJSON(jobDagDirectory, "final");
+      // The runtime does not need the states of the job any more, except for the cached data.
+      runtimeMaster.onJobFinished(physicalPlan);
+      if (!JobState.State.COMPLETE.equals(finalState)) {
+        throw new UnrecoverableFailureException(new Exception(physicalPlan.getId() + " is " + finalState));
+      }
       LOG.info("{} is complete!", physicalPlan.getId());
+    } catch (final RuntimeException e) {
+      throw e;
     } catch (final Exception e) {
       throw new RuntimeException(e);
     }
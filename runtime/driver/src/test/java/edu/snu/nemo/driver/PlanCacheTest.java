@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.driver;
+
+import edu.snu.nemo.common.dag.DAG;
+import edu.snu.nemo.common.dag.DAGBuilder;
+import edu.snu.nemo.common.ir.Readable;
+import edu.snu.nemo.common.ir.edge.IREdge;
+import edu.snu.nemo.common.ir.edge.executionproperty.CommunicationPatternProperty;
+import edu.snu.nemo.common.ir.vertex.IRVertex;
+import edu.snu.nemo.common.ir.vertex.InMemorySourceVertex;
+import edu.snu.nemo.common.ir.vertex.OperatorVertex;
+import edu.snu.nemo.common.ir.vertex.executionproperty.ParallelismProperty;
+import edu.snu.nemo.common.ir.vertex.transform.RelayTransform;
+import edu.snu.nemo.conf.JobConf;
+import org.apache.commons.lang3.SerializationUtils;
+import org.apache.reef.tang.Injector;
+import org.apache.reef.tang.Tang;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Test {@link PlanCache}.
+ */
+public final class PlanCacheTest {
+  private static final String POLICY_NAME = "TestPolicy";
+  private static final int OPTIMIZED_PARALLELISM = 3;
+
+  @Rule
+  public final TemporaryFolder cacheFolder = new TemporaryFolder();
+
+  private final AtomicInteger numOptimizations = new AtomicInteger(0);
+  private List<Integer> sourceData;
+  private DAG<IRVertex, IREdge> dag;
+
+  @Before
+  public void setUp() {
+    sourceData = new ArrayList<>(Arrays.asList(0, 1, 2));
+    final IRVertex source = new InMemorySourceVertex<>(sourceData);
+    final IRVertex operator = new OperatorVertex(new RelayTransform());
+    dag = new DAGBuilder<IRVertex, IREdge>()
+        .addVertex(source)
+        .addVertex(operator)
+        .connectVertices(new IREdge(CommunicationPatternProperty.Value.OneToOne, source, operator))
+        .build();
+  }
+
+  /**
+   * Test that a cached DAG is reused regardless of the data of the sources, and reads the latest data.
+   */
+  @Test
+  public void testReuseWithNewData() throws Exception {
+    final PlanCache planCache = newPlanCache(cacheFolder.getRoot().getPath());
+    final DAG<IRVertex, IREdge> optimizedDAG = planCache.getOrOptimize(dag, POLICY_NAME, optimization(dag));
+    assertEquals(1, numOptimizations.get());
+
+    sourceData.add(3);
+    final DAG<IRVertex, IREdge> cachedDAG = planCache.getOrOptimize(dag, POLICY_NAME, optimization(dag));
+    assertEquals(1, numOptimizations.get());
+    assertNotSame(optimizedDAG, cachedDAG);
+    cachedDAG.getVertices().forEach(vertex ->
+        assertEquals(OPTIMIZED_PARALLELISM, (int) vertex.getPropertyValue(ParallelismProperty.class).get()));
+
+    final InMemorySourceVertex<Integer> cachedSource =
+        (InMemorySourceVertex<Integer>) cachedDAG.getRootVertices().get(0);
+    final List<Integer> readData = new ArrayList<>();
+    for (final Readable<Integer> readable : cachedSource.getReadables(1)) {
+      readable.read().forEach(readData::add);
+    }
+    assertEquals(sourceData, readData);
+  }
+
+  /**
+   * Test that a DAG with different execution properties is optimized again.
+   */
+  @Test
+  public void testMissWithNewProperties() throws Exception {
+    final PlanCache planCache = newPlanCache(cacheFolder.getRoot().getPath());
+    planCache.getOrOptimize(dag, POLICY_NAME, optimization(dag));
+    planCache.getOrOptimize(dag, "AnotherPolicy", optimization(dag));
+    assertEquals(2, numOptimizations.get());
+
+    dag.getRootVertices().get(0).setProperty(ParallelismProperty.of(1));
+    planCache.getOrOptimize(dag, POLICY_NAME, optimization(dag));
+    assertEquals(3, numOptimizations.get());
+    planCache.getOrOptimize(dag, POLICY_NAME, optimization(dag));
+    assertEquals(3, numOptimizations.get());
+  }
+
+  /**
+   * Test that nothing is cached without the cache directory.
+   */
+  @Test
+  public void testNoCacheDirectory() throws Exception {
+    final PlanCache planCache = newPlanCache("");
+    final DAG<IRVertex, IREdge> optimizedDAG = planCache.getOrOptimize(dag, POLICY_NAME, () -> dag);
+    assertSame(dag, optimizedDAG);
+    planCache.getOrOptimize(dag, POLICY_NAME, optimization(dag));
+    assertEquals(1, numOptimizations.get());
+  }
+
+  /**
+   * @param cacheDirectory the directory to cache the DAGs in.
+   * @return a new plan cache.
+   * @throws Exception if failed to inject the plan cache.
+   */
+  private static PlanCache newPlanCache(final String cacheDirectory) throws Exception {
+    final Injector injector = Tang.Factory.getTang().newInjector();
+    injector.bindVolatileParameter(JobConf.PlanCacheDirectory.class, cacheDirectory);
+    injector.bindVolatileParameter(JobConf.ExecutorJSONContents.class, "");
+    injector.bindVolatileParameter(JobConf.BandwidthJSONContents.class, "");
+    return injector.getInstance(PlanCache.class);
+  }
+
+  /**
+   * An optimization which sets the parallelism of the vertices in a copy of the DAG, leaving the DAG as it is.
+   * @param dagToOptimize the DAG to optimize.
+   * @return the optimization, which counts the number of times it is run.
+   */
+  private Callable<DAG<IRVertex, IREdge>> optimization(final DAG<IRVertex, IREdge> dagToOptimize) {
+    return () -> {
+      numOptimizations.incrementAndGet();
+      final DAG<IRVertex, IREdge> optimizedDAG = SerializationUtils.clone(dagToOptimize);
+      optimizedDAG.getVertices().forEach(vertex -> vertex.setProperty(ParallelismProperty.of(OPTIMIZED_PARALLELISM)));
+      return optimizedDAG;
+    };
+  }
+}
@@ -33,7 +33,9 @@ import edu.snu.nemo.runtime.common.message.MessageListener;
 import edu.snu.nemo.runtime.common.message.PersistentConnectionToMasterMap;
 import edu.snu.nemo.runtime.common.plan.RuntimeEdge;
 import edu.snu.nemo.runtime.common.plan.Task;
+import edu.snu.nemo.runtime.executor.data.BlockManagerWorker;
 import edu.snu.nemo.runtime.executor.data.SerializerManager;
+import edu.snu.nemo.runtime.executor.data.stores.LocalFileStore;
 import edu.snu.nemo.runtime.executor.datatransfer.DataTransferFactory;
 import edu.snu.nemo.runtime.executor.task.TaskExecutor;
 import org.apache.commons.lang3.SerializationUtils;
@@ -41,8 +43,11 @@ import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.reef.tang.annotations.Parameter;
 
 import javax.inject.Inject;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -73,13 +78,37 @@ public final class Executor {
 
   private final MetricMessageSender metricMessageSender;
 
+  /**
+   * Reports the resource usage of this executor to the master.
+   */
+  private final ExecutorHeartbeatSender heartbeatSender;
+
+  /**
+   * Stores blocks in local files, with I/O threads to stop on termination.
+   */
+  private final LocalFileStore localFileStore;
+
+  /**
+   * Keeps the replicas of the blocks of other executors, to drop when the master tells.
+   */
+  private final BlockManagerWorker blockManagerWorker;
+
+  /**
+   * The local directories for the tasks to spill data to.
+   */
+  private final List<String> spillDirectories;
+
   @Inject
   private Executor(@Parameter(JobConf.ExecutorId.class) final String executorId,
+                   @Parameter(JobConf.FileDirectory.class) final String fileDirectories,
                    final PersistentConnectionToMasterMap persistentConnectionToMasterMap,
                    final MessageEnvironment messageEnvironment,
                    final SerializerManager serializerManager,
                    final DataTransferFactory dataTransferFactory,
-                   final MetricManagerWorker metricMessageSender) {
+                   final MetricManagerWorker metricMessageSender,
+                   final ExecutorHeartbeatSender heartbeatSender,
+                   final LocalFileStore localFileStore,
+                   final BlockManagerWorker blockManagerWorker) {
     this.executorId = executorId;
     this.executorService = Executors.newCachedThreadPool(new BasicThreadFactory.Builder()
         .namingPattern("TaskExecutor thread-%d")
@@ -88,6 +117,12 @@ public final class Executor {
     this.serializerManager = serializerManager;
     this.dataTransferFactory = dataTransferFactory;
     this.metricMessageSender = metricMessageSender;
+    this.heartbeatSender = heartbeatSender;
+    this.localFileStore = localFileStore;
+    this.blockManagerWorker = blockManagerWorker;
+    this.spillDirectories = Arrays.stream(fileDirectories.split(","))
+        .map(String::trim)
+        .collect(Collectors.toList());
     messageEnvironment.setupListener(MessageEnvironment.EXECUTOR_MESSAGE_LISTENER_ID, new ExecutorMessageReceiver());
   }
 
@@ -131,7 +166,7 @@ public final class Executor {
       });
 
       new TaskExecutor(task, irDag, taskStateManager, dataTransferFactory,
-          metricMessageSender, persistentConnectionToMasterMap).execute();
+          metricMessageSender, persistentConnectionToMasterMap, spillDirectories).execute();
     } catch (final Exception e) {
       persistentConnectionToMasterMap.getMessageSender(MessageEnvironment.RUNTIME_MASTER_MESSAGE_LISTENER_ID).send(
           ControlMessage.Message.newBuilder()
@@ -148,6 +183,8 @@ public final class Executor {
   }
 
   public void terminate() {
+    heartbeatSender.close();
+    localFileStore.close();
     try {
       metricMessageSender.close();
     } catch (final UnknownFailureCauseException e) {
@@ -173,6 +210,16 @@ public final class Executor {
         case RequestMetricFlush:
           metricMessageSender.flush();
           break;
+        case RemoveReplicas:
+          blockManagerWorker.removeReplicas(message.getRemoveReplicasMsg().getBlockIdsList());
+          break;
+        case RemoveShuffleServiceBlocks:
+          final ControlMessage.RemoveShuffleServiceBlocksMsg removeShuffleServiceBlocksMsg =
+              message.getRemoveShuffleServiceBlocksMsg();
+          blockManagerWorker.removeShuffleServiceBlocks(removeShuffleServiceBlocksMsg.getShuffleServiceId(),
+              removeShuffleServiceBlocksMsg.getBlockIdsList(),
+              removeShuffleServiceBlocksMsg.getForwardToShuffleService());
+          break;
         default:
           throw new IllegalMessageException(
               new Exception("This message should not be received by an executor :" + message.getType()));
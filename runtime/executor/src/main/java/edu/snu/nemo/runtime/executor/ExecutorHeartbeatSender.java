@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.executor;
+
+import edu.snu.nemo.conf.JobConf;
+import edu.snu.nemo.runtime.common.RuntimeIdGenerator;
+import edu.snu.nemo.runtime.common.comm.ControlMessage;
+import edu.snu.nemo.runtime.common.message.MessageEnvironment;
+import edu.snu.nemo.runtime.common.message.PersistentConnectionToMasterMap;
+import edu.snu.nemo.runtime.executor.bytetransfer.ByteTransportTrafficCounter;
+import edu.snu.nemo.runtime.executor.data.stores.LocalFileStore;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.reef.annotations.audience.EvaluatorSide;
+import org.apache.reef.tang.annotations.Parameter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import java.lang.management.*;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically reports the resource usage of this executor to the master, for the scheduler to take it into account.
+ */
+@EvaluatorSide
+public final class ExecutorHeartbeatSender implements AutoCloseable {
+  private static final Logger LOG = LoggerFactory.getLogger(ExecutorHeartbeatSender.class.getName());
+
+  private final String executorId;
+  private final PersistentConnectionToMasterMap persistentConnectionToMasterMap;
+  private final LocalFileStore localFileStore;
+  private final ByteTransportTrafficCounter trafficCounter;
+  private final ScheduledExecutorService scheduledExecutorService;
+
+  private final MemoryMXBean memoryMXBean;
+  private final OperatingSystemMXBean operatingSystemMXBean;
+  private final List<GarbageCollectorMXBean> garbageCollectorMXBeans;
+  private final List<BufferPoolMXBean> bufferPoolMXBeans;
+
+  // The values at the previous heartbeat, accessed only by the heartbeat thread
+  private long lastHeartbeatTimeMs;
+  private long lastGCTimeMs;
+  private long lastNetworkBytes;
+
+  @Inject
+  private ExecutorHeartbeatSender(@Parameter(JobConf.ExecutorId.class) final String executorId,
+                                  @Parameter(JobConf.ExecutorHeartbeatPeriodMs.class) final long periodMs,
+                                  final PersistentConnectionToMasterMap persistentConnectionToMasterMap,
+                                  final LocalFileStore localFileStore,
+                                  final ByteTransportTrafficCounter trafficCounter) {
+    this(executorId, periodMs, persistentConnectionToMasterMap, localFileStore, trafficCounter,
+        ManagementFactory.getGarbageCollectorMXBeans());
+  }
+
+  /**
+   * Constructor.
+   * @param executorId                      the id of this executor.
+   * @param periodMs                        the period of the heartbeats.
+   * @param persistentConnectionToMasterMap the connection to the master.
+   * @param localFileStore                  the store whose disk usage is reported.
+   * @param trafficCounter                  the counter of the network traffic.
+   * @param garbageCollectorMXBeans         the garbage collectors whose collection time is reported.
+   */
+  ExecutorHeartbeatSender(final String executorId,
+                          final long periodMs,
+                          final PersistentConnectionToMasterMap persistentConnectionToMasterMap,
+                          final LocalFileStore localFileStore,
+                          final ByteTransportTrafficCounter trafficCounter,
+                          final List<GarbageCollectorMXBean> garbageCollectorMXBeans) {
+    this.executorId = executorId;
+    this.persistentConnectionToMasterMap = persistentConnectionToMasterMap;
+    this.localFileStore = localFileStore;
+    this.trafficCounter = trafficCounter;
+    this.memoryMXBean = ManagementFactory.getMemoryMXBean();
+    this.operatingSystemMXBean = ManagementFactory.getOperatingSystemMXBean();
+    this.garbageCollectorMXBeans = garbageCollectorMXBeans;
+    this.bufferPoolMXBeans = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class);
+    this.lastHeartbeatTimeMs = System.currentTimeMillis();
+    this.lastGCTimeMs = getGCTimeMs();
+    this.lastNetworkBytes = 0;
+    this.scheduledExecutorService = Executors.newSingleThreadScheduledExecutor(
+        new BasicThreadFactory.Builder().namingPattern("ExecutorHeartbeat thread").daemon(true).build());
+    this.scheduledExecutorService.scheduleAtFixedRate(this::sendHeartbeat, periodMs, periodMs, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Samples the resource usage and sends it to the master.
+   */
+  void sendHeartbeat() {
+    try {
+      final long now = System.currentTimeMillis();
+      final long elapsedMs = Math.max(1, now - lastHeartbeatTimeMs);
+      final long gcTimeMs = getGCTimeMs();
+      final long networkBytesIn = trafficCounter.getNumBytesIn();
+      final long networkBytesOut = trafficCounter.getNumBytesOut();
+      final long networkBytes = networkBytesIn + networkBytesOut;
+
+      final MemoryUsage heapUsage = memoryMXBean.getHeapMemoryUsage();
+      final long heapMaxBytes = heapUsage.getMax() < 0 ? heapUsage.getCommitted() : heapUsage.getMax();
+      long offHeapUsedBytes = memoryMXBean.getNonHeapMemoryUsage().getUsed();
+      for (final BufferPoolMXBean bufferPoolMXBean : bufferPoolMXBeans) {
+        offHeapUsedBytes += Math.max(0, bufferPoolMXBean.getMemoryUsed());
+      }
+
+      final ControlMessage.ExecutorHeartbeatMsg heartbeatMsg = ControlMessage.ExecutorHeartbeatMsg.newBuilder()
+          .setExecutorId(executorId)
+          .setHeapUsedBytes(heapUsage.getUsed())
+          .setHeapMaxBytes(heapMaxBytes)
+          .setOffHeapUsedBytes(offHeapUsedBytes)
+          .setGcTimeRatio(Math.min(1.0, (double) (gcTimeMs - lastGCTimeMs) / elapsedMs))
+          .setCpuLoad(getCpuLoad())
+          .setLocalDiskUsedBytes(localFileStore.getUsedBytes())
+          .setNetworkBytesIn(networkBytesIn)
+          .setNetworkBytesOut(networkBytesOut)
+          .setNetworkBytesPerSec((double) (networkBytes - lastNetworkBytes) * 1000 / elapsedMs)
+          .build();
+
+      lastHeartbeatTimeMs = now;
+      lastGCTimeMs = gcTimeMs;
+      lastNetworkBytes = networkBytes;
+
+      persistentConnectionToMasterMap.getMessageSender(MessageEnvironment.RUNTIME_MASTER_MESSAGE_LISTENER_ID).send(
+          ControlMessage.Message.newBuilder()
+              .setId(RuntimeIdGenerator.generateMessageId())
+              .setListenerId(MessageEnvironment.RUNTIME_MASTER_MESSAGE_LISTENER_ID)
+              .setType(ControlMessage.MessageType.ExecutorHeartbeat)
+              .setExecutorHeartbeatMsg(heartbeatMsg)
+              .build());
+    } catch (final RuntimeException e) {
+      // Do not let a single failure cancel the periodic heartbeats.
+      LOG.warn("Failed to send a heartbeat of {}", executorId, e);
+    }
+  }
+
+  /**
+   * @return the accumulated time spent in GC by this JVM.
+   */
+  private long getGCTimeMs() {
+    long gcTimeMs = 0;
+    for (final GarbageCollectorMXBean garbageCollectorMXBean : garbageCollectorMXBeans) {
+      gcTimeMs += Math.max(0, garbageCollectorMXBean.getCollectionTime());
+    }
+    return gcTimeMs;
+  }
+
+  /**
+   * @return the recent CPU usage of this process in [0, 1], or a negative value if it is not available.
+   */
+  private double getCpuLoad() {
+    if (operatingSystemMXBean instanceof com.sun.management.OperatingSystemMXBean) {
+      return ((com.sun.management.OperatingSystemMXBean) operatingSystemMXBean).getProcessCpuLoad();
+    }
+    final double loadAverage = operatingSystemMXBean.getSystemLoadAverage();
+    return loadAverage < 0 ? loadAverage : Math.min(1.0, loadAverage / operatingSystemMXBean.getAvailableProcessors());
+  }
+
+  @Override
+  public void close() {
+    scheduledExecutorService.shutdownNow();
+  }
+}
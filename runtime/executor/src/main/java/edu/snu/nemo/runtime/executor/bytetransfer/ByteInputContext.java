@@ -16,6 +16,7 @@
 package edu.snu.nemo.runtime.executor.bytetransfer;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -25,13 +26,22 @@ import java.io.InputStream;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Container for multiple input streams. Represents a transfer context on receiver-side.
  *
+ * <h3>Flow control:</h3>
+ * <p>The receiver grants its sender credits, in bytes, up to the receive window at first and then as the
+ * received data are consumed. As the sender sends data only within the credits, the data buffered by this context
+ * are bounded by the receive window. Should the sender exceed it, reading from the channel is paused.</p>
+ *
  * <h3>Thread safety:</h3>
  * <p>Methods with default access modifier, namely {@link #onNewStream()}, {@link #onByteBuf(ByteBuf)},
  * {@link #onContextClose()}, are not thread-safe, since they are called by a single Netty event loop.</p>
+ * <p>The {@link InputStream}s are consumed by a single thread, which also iterates over them.
+ * Moving on to the next {@link InputStream} discards what is left unread in the previous one.</p>
  * <p>Public methods are thread safe,
  * although the execution order may not be linearized if they were called from different threads.</p>
  */
@@ -40,13 +50,27 @@ public final class ByteInputContext extends ByteTransferContext {
   private static final Logger LOG = LoggerFactory.getLogger(ByteInputContext.class.getName());
 
   private final CompletableFuture<Iterator<InputStream>> completedFuture = new CompletableFuture<>();
-  private final ClosableBlockingQueue<ByteBufInputStream> byteBufInputStreams = new ClosableBlockingQueue<>();
+  private final ClosableSpscQueue<ByteBufInputStream> byteBufInputStreams = new ClosableSpscQueue<>();
   private volatile ByteBufInputStream currentByteBufInputStream = null;
 
+  private final ContextManager contextManager;
+  private final Channel channel;
+  private final long receiveWindowBytes;
+  // The bytes received but not consumed yet.
+  private final AtomicLong bufferedBytes = new AtomicLong(0);
+  // The bytes consumed, which have not been granted back to the sender yet.
+  private final AtomicLong creditsToGrant = new AtomicLong(0);
+  private final AtomicBoolean overflowed = new AtomicBoolean(false);
+  private volatile boolean closed = false;
+
   private final Iterator<InputStream> inputStreams = new Iterator<InputStream>() {
+    // The stream being consumed. Only accessed by the consumer.
+    private ByteBufInputStream consumingStream = null;
+
     @Override
     public boolean hasNext() {
       try {
+        discardConsumingStream();
         return byteBufInputStreams.peek() != null;
       } catch (final InterruptedException e) {
         Thread.currentThread().interrupt();
@@ -57,13 +81,31 @@ public final class ByteInputContext extends ByteTransferContext {
     @Override
     public InputStream next() {
       try {
-        return byteBufInputStreams.take();
+        discardConsumingStream();
+        consumingStream = byteBufInputStreams.take();
+        return consumingStream;
       } catch (final InterruptedException e) {
         Thread.currentThread().interrupt();
         LOG.error("Interrupted while taking byte buf.", e);
         throw new NoSuchElementException();
       }
     }
+
+    /**
+     * Discards what is left unread in the stream being consumed, for its credits to be granted back.
+     * Otherwise, the sender may not be able to send the rest of the stream, which ends it.
+     */
+    private void discardConsumingStream() {
+      if (consumingStream == null) {
+        return;
+      }
+      try {
+        consumingStream.skip(Long.MAX_VALUE);
+      } catch (final IOException e) {
+        throw new RuntimeException(e);
+      }
+      consumingStream = null;
+    }
   };
 
   /**
@@ -78,6 +120,9 @@ public final class ByteInputContext extends ByteTransferContext {
                    final byte[] contextDescriptor,
                    final ContextManager contextManager) {
     super(remoteExecutorId, contextId, contextDescriptor, contextManager);
+    this.contextManager = contextManager;
+    this.channel = contextManager.getChannel();
+    this.receiveWindowBytes = contextManager.getReceiveWindowBytes();
   }
 
   /**
@@ -97,6 +142,14 @@ public final class ByteInputContext extends ByteTransferContext {
     return completedFuture;
   }
 
+  /**
+   * Grants the sender the credits of the whole receive window.
+   * Called once the context is set up, on both sides.
+   */
+  void grantInitialCredit() {
+    grantCredit(receiveWindowBytes);
+  }
+
   /**
    * Called when a punctuation for sub-stream incarnation is detected.
    */
@@ -116,8 +169,13 @@ public final class ByteInputContext extends ByteTransferContext {
     if (currentByteBufInputStream == null) {
       throw new RuntimeException("Cannot accept ByteBuf: No sub-stream is opened.");
     }
-    if (byteBuf.readableBytes() > 0) {
+    final int length = byteBuf.readableBytes();
+    if (length > 0) {
       currentByteBufInputStream.byteBufQueue.put(byteBuf);
+      if (bufferedBytes.addAndGet(length) > receiveWindowBytes && overflowed.compareAndSet(false, true)) {
+        LOG.warn("{} received more data than its receive window", toString());
+        contextManager.onInputContextOverflowed();
+      }
     } else {
       // ignore empty data frames
       byteBuf.release();
@@ -128,47 +186,86 @@ public final class ByteInputContext extends ByteTransferContext {
    * Called when {@link #onByteBuf(ByteBuf)} event is no longer expected.
    */
   void onContextClose() {
+    closed = true;
     if (currentByteBufInputStream != null) {
       currentByteBufInputStream.byteBufQueue.close();
     }
     byteBufInputStreams.close();
     completedFuture.complete(inputStreams);
+    onDrained();
     deregister();
   }
 
   @Override
   public void onChannelError(@Nullable final Throwable cause) {
     setChannelError(cause);
+    closed = true;
 
     if (currentByteBufInputStream != null) {
       currentByteBufInputStream.byteBufQueue.closeExceptionally(cause);
     }
     byteBufInputStreams.closeExceptionally(cause);
     completedFuture.completeExceptionally(cause);
+    onDrained();
     deregister();
   }
 
+  /**
+   * Called by the consumer when it has consumed some bytes.
+   * The credits are granted back to the sender in batches of half the receive window,
+   * or right away if the consumer is about to wait for more data.
+   * @param numBytes  the number of bytes consumed
+   * @param beforeWait whether the consumer is about to wait for more data
+   */
+  private void onBytesConsumed(final long numBytes, final boolean beforeWait) {
+    if (bufferedBytes.addAndGet(-numBytes) <= receiveWindowBytes / 2) {
+      onDrained();
+    }
+    final long credits = creditsToGrant.addAndGet(numBytes);
+    if (credits >= receiveWindowBytes / 2 || (beforeWait && credits > 0)) {
+      grantCredit(creditsToGrant.getAndSet(0));
+    }
+  }
+
+  /**
+   * Resumes reading from the channel if it has been paused by this context.
+   */
+  private void onDrained() {
+    if (overflowed.compareAndSet(true, false)) {
+      contextManager.onInputContextDrained();
+    }
+  }
+
+  /**
+   * Sends a credit frame to the sender.
+   * @param credit the number of bytes the sender may send in addition
+   */
+  private void grantCredit(final long credit) {
+    if (credit > 0 && !closed) {
+      channel.writeAndFlush(new CreditFrameEncoder.CreditFrame(getContextId(), credit))
+          .addListener(getChannelWriteListener());
+    }
+  }
+
   /**
    * An {@link InputStream} implementation that reads data from a composition of {@link ByteBuf}s.
    */
-  private static final class ByteBufInputStream extends InputStream {
+  private final class ByteBufInputStream extends InputStream {
 
-    private final ClosableBlockingQueue<ByteBuf> byteBufQueue = new ClosableBlockingQueue<>();
+    private final ClosableSpscQueue<ByteBuf> byteBufQueue = new ClosableSpscQueue<>();
+    // The bytes consumed from the head, which are reported to the context once the head is released.
+    private long consumedBytes = 0;
 
     @Override
     public int read() throws IOException {
       try {
-        final ByteBuf head = byteBufQueue.peek();
+        final ByteBuf head = getHead();
         if (head == null) {
           // end of stream event
           return -1;
         }
         final int b = head.readUnsignedByte();
-        if (head.readableBytes() == 0) {
-          // remove and release header if no longer required
-          byteBufQueue.take();
-          head.release();
-        }
+        onHeadRead(head, 1);
         return b;
       } catch (final InterruptedException e) {
         Thread.currentThread().interrupt();
@@ -190,17 +287,14 @@ public final class ByteInputContext extends ByteTransferContext {
         // the number of bytes to read
         int capacity = maxLength;
         while (capacity > 0) {
-          final ByteBuf head = byteBufQueue.peek();
+          final ByteBuf head = getHead();
           if (head == null) {
             // end of stream event
             return readBytes == 0 ? -1 : readBytes;
           }
           final int toRead = Math.min(head.readableBytes(), capacity);
           head.readBytes(bytes, baseOffset + readBytes, toRead);
-          if (head.readableBytes() == 0) {
-            byteBufQueue.take();
-            head.release();
-          }
+          onHeadRead(head, toRead);
           readBytes += toRead;
           capacity -= toRead;
         }
@@ -222,22 +316,17 @@ public final class ByteInputContext extends ByteTransferContext {
         // the number of bytes to skip
         long toSkip = n;
         while (toSkip > 0) {
-          final ByteBuf head = byteBufQueue.peek();
+          final ByteBuf head = getHead();
           if (head == null) {
             // end of stream event
             return skippedBytes;
           }
-          if (head.readableBytes() > toSkip) {
-            head.skipBytes((int) toSkip);
-            skippedBytes += toSkip;
-            return skippedBytes;
-          } else {
-            // discard the whole ByteBuf
-            skippedBytes += head.readableBytes();
-            toSkip -= head.readableBytes();
-            byteBufQueue.take();
-            head.release();
-          }
+          // discard the whole ByteBuf, or a part of it
+          final int skipped = (int) Math.min(head.readableBytes(), toSkip);
+          head.skipBytes(skipped);
+          onHeadRead(head, skipped);
+          skippedBytes += skipped;
+          toSkip -= skipped;
         }
         return skippedBytes;
       } catch (final InterruptedException e) {
@@ -249,7 +338,7 @@ public final class ByteInputContext extends ByteTransferContext {
     @Override
     public int available() throws IOException {
       try {
-        final ByteBuf head = byteBufQueue.peek();
+        final ByteBuf head = getHead();
         if (head == null) {
           return 0;
         } else {
@@ -260,5 +349,39 @@ public final class ByteInputContext extends ByteTransferContext {
         throw new IOException(e);
       }
     }
+
+    /**
+     * Retrieves the head {@link ByteBuf}, waiting if necessary.
+     * Before waiting, all the credits for the consumed bytes are granted back,
+     * so that the sender is never stalled by the data that have already been consumed.
+     * @return the head, or {@code null} if the stream has ended
+     * @throws InterruptedException when interrupted while waiting
+     */
+    private ByteBuf getHead() throws InterruptedException {
+      final ByteBuf head = byteBufQueue.tryPeek();
+      if (head != null) {
+        return head;
+      }
+      onBytesConsumed(consumedBytes, true);
+      consumedBytes = 0;
+      return byteBufQueue.peek();
+    }
+
+    /**
+     * Removes and releases the head if no longer required.
+     * @param head      the head {@link ByteBuf}
+     * @param readBytes the number of bytes read from the head
+     * @throws InterruptedException when interrupted while removing the head
+     */
+    private void onHeadRead(final ByteBuf head, final int readBytes) throws InterruptedException {
+      consumedBytes += readBytes;
+      if (head.readableBytes() == 0) {
+        // remove and release header if no longer required
+        byteBufQueue.take();
+        head.release();
+        onBytesConsumed(consumedBytes, false);
+        consumedBytes = 0;
+      }
+    }
   }
 }
@@ -18,18 +18,25 @@ package edu.snu.nemo.runtime.executor.bytetransfer;
 import edu.snu.nemo.runtime.executor.data.FileArea;
 import edu.snu.nemo.runtime.executor.data.partition.SerializedPartition;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.*;
 
 import javax.annotation.Nullable;
+import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.nio.channels.FileChannel;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Queue;
 
 /**
  * Container for multiple output streams. Represents a transfer context on sender-side.
  *
+ * <h3>Flow control:</h3>
+ * <p>Data frames are sent only within the credits granted by the receiver. The frames beyond the credits are
+ * queued, without blocking the writer, and sent as more credits arrive. Data frame bodies are split into
+ * {@link DataFrameEncoder#BODY_LENGTH_PER_FRAME} bytes at most, so that every frame fits in the receive window.
+ * The context is deregistered once all the queued frames have been sent after closing.</p>
+ *
  * <p>Public methods are thread safe,
  * although the execution order may not be linearized if they were called from different threads.</p>
  */
@@ -40,6 +47,13 @@ public final class ByteOutputContext extends ByteTransferContext implements Auto
   private volatile ByteOutputStream currentByteOutputStream = null;
   private volatile boolean closed = false;
 
+  // The following fields are guarded by this context.
+  // The number of bytes which the receiver can accept.
+  private long credit = 0;
+  // The frames waiting for credits.
+  private final Queue<DataFrameEncoder.DataFrame> pendingFrames = new ArrayDeque<>();
+  private boolean deregistered = false;
+
   /**
    * Creates a output context.
    *
@@ -87,18 +101,72 @@ public final class ByteOutputContext extends ByteTransferContext implements Auto
     if (currentByteOutputStream != null) {
       currentByteOutputStream.close();
     }
-    channel.writeAndFlush(DataFrameEncoder.DataFrame.newInstance(getContextId()))
-        .addListener(getChannelWriteListener());
-    deregister();
-    closed = true;
+    synchronized (this) {
+      writeOrQueue(DataFrameEncoder.DataFrame.newInstance(getContextId()));
+      closed = true;
+      deregisterIfFlushed();
+    }
   }
 
   @Override
   public void onChannelError(@Nullable final Throwable cause) {
     setChannelError(cause);
+    synchronized (this) {
+      pendingFrames.forEach(DataFrameEncoder.DataFrame::release);
+      pendingFrames.clear();
+    }
     channel.close();
   }
 
+  /**
+   * Called when the receiver grants credits. Sends the queued frames within the credits.
+   * @param grantedCredit the number of bytes the receiver can accept in addition
+   */
+  synchronized void onCredit(final long grantedCredit) {
+    credit += grantedCredit;
+    if (pendingFrames.isEmpty() || pendingFrames.peek().getLength() > credit) {
+      return;
+    }
+    final Queue<DataFrameEncoder.DataFrame> framesToWrite = new ArrayDeque<>();
+    while (!pendingFrames.isEmpty() && pendingFrames.peek().getLength() <= credit) {
+      final DataFrameEncoder.DataFrame frame = pendingFrames.poll();
+      credit -= frame.getLength();
+      framesToWrite.add(frame);
+    }
+    channel.eventLoop().execute(() -> {
+      for (final DataFrameEncoder.DataFrame frame : framesToWrite) {
+        channel.write(frame).addListener(getChannelWriteListener());
+      }
+      channel.flush();
+    });
+    deregisterIfFlushed();
+  }
+
+  /**
+   * Writes a frame if the credits allow and no frame is waiting, or queues it otherwise.
+   * Writes are submitted to the event loop, for the frames to be written in the order they are passed here
+   * regardless of the calling threads.
+   * @param frame the frame to write
+   */
+  private synchronized void writeOrQueue(final DataFrameEncoder.DataFrame frame) {
+    if (pendingFrames.isEmpty() && frame.getLength() <= credit) {
+      credit -= frame.getLength();
+      channel.eventLoop().execute(() -> channel.writeAndFlush(frame).addListener(getChannelWriteListener()));
+    } else {
+      pendingFrames.add(frame);
+    }
+  }
+
+  /**
+   * Deregisters this context if it has been closed and all the frames have been written.
+   */
+  private synchronized void deregisterIfFlushed() {
+    if (closed && pendingFrames.isEmpty() && !deregistered) {
+      deregister();
+      deregistered = true;
+    }
+  }
+
   /**
    * @throws IOException when a channel exception has been set.
    */
@@ -132,37 +200,54 @@ public final class ByteOutputContext extends ByteTransferContext implements Auto
 
     @Override
     public void write(final byte[] bytes, final int offset, final int length) throws IOException {
-      final ByteBuf byteBuf = channel.alloc().ioBuffer(length, length);
-      byteBuf.writeBytes(bytes, offset, length);
-      writeByteBuf(byteBuf);
+      int cursor = offset;
+      int bytesToWrite = length;
+      while (bytesToWrite > 0) {
+        final int size = Math.min(bytesToWrite, DataFrameEncoder.BODY_LENGTH_PER_FRAME);
+        final ByteBuf byteBuf = channel.alloc().ioBuffer(size, size);
+        byteBuf.writeBytes(bytes, cursor, size);
+        writeByteBuf(byteBuf);
+        cursor += size;
+        bytesToWrite -= size;
+      }
     }
 
     /**
      * Writes {@link SerializedPartition}.
+     * The data are wrapped without copying, as a {@link SerializedPartition} is not modified once serialized.
      * @param serializedPartition {@link SerializedPartition} to write.
      * @return {@code this}
      * @throws IOException when an exception has been set or this stream was closed
      */
     public ByteOutputStream writeSerializedPartition(final SerializedPartition serializedPartition)
         throws IOException {
-      write(serializedPartition.getData(), 0, serializedPartition.getLength());
+      final byte[] data = serializedPartition.getData();
+      int cursor = 0;
+      int bytesToWrite = serializedPartition.getLength();
+      while (bytesToWrite > 0) {
+        final int size = Math.min(bytesToWrite, DataFrameEncoder.BODY_LENGTH_PER_FRAME);
+        writeByteBuf(Unpooled.wrappedBuffer(data, cursor, size));
+        cursor += size;
+        bytesToWrite -= size;
+      }
       return this;
     }
 
     /**
-     * Writes a data frame from {@link FileArea}.
+     * Writes data frames from {@link FileArea}.
+     * The file is opened lazily when each frame is written.
      *
      * @param fileArea the {@link FileArea} to transfer
      * @return {@code this}
-     * @throws IOException when failed to open the file, an exception has been set, or this stream was closed
+     * @throws IOException when an exception has been set or this stream was closed
      */
     public ByteOutputStream writeFileArea(final FileArea fileArea) throws IOException {
-      final Path path = Paths.get(fileArea.getPath());
+      final File file = new File(fileArea.getPath());
       long cursor = fileArea.getPosition();
       long bytesToSend = fileArea.getCount();
       while (bytesToSend > 0) {
-        final long size = Math.min(bytesToSend, DataFrameEncoder.LENGTH_MAX);
-        final FileRegion fileRegion = new DefaultFileRegion(FileChannel.open(path), cursor, size);
+        final long size = Math.min(bytesToSend, DataFrameEncoder.BODY_LENGTH_PER_FRAME);
+        final FileRegion fileRegion = new DefaultFileRegion(file, cursor, size);
         writeDataFrame(fileRegion, size);
         cursor += size;
         bytesToSend -= size;
@@ -203,8 +288,7 @@ public final class ByteOutputContext extends ByteTransferContext implements Auto
       if (closed) {
         throw new IOException("Stream already closed.");
       }
-      channel.writeAndFlush(DataFrameEncoder.DataFrame.newInstance(getContextId(), body, length, newSubStream))
-          .addListener(getChannelWriteListener());
+      writeOrQueue(DataFrameEncoder.DataFrame.newInstance(getContextId(), body, length, newSubStream));
       newSubStream = false;
     }
   }
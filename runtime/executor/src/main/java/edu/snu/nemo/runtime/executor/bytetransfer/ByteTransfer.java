@@ -26,7 +26,8 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 /**
- * Manages channels and exposes interface for {@link edu.snu.nemo.runtime.executor.data.BlockManagerWorker}.
+ * Manages channels and exposes interface for {@link edu.snu.nemo.runtime.executor.data.BlockManagerWorker}
+ * and {@link edu.snu.nemo.runtime.executor.data.ShuffleService}.
  */
 @ThreadSafe
 public final class ByteTransfer {
@@ -45,6 +46,13 @@ public final class ByteTransfer {
     this.byteTransport = byteTransport;
   }
 
+  /**
+   * Closes all channels and stops listening.
+   */
+  public void close() {
+    byteTransport.close();
+  }
+
   /**
    * Initiate a transfer context to receive data.
    * @param executorId        the id of the remote executor
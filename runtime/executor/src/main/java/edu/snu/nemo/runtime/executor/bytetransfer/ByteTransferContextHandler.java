@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.executor.bytetransfer;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import edu.snu.nemo.runtime.executor.data.BlockManagerWorker;
+import org.apache.reef.tang.annotations.DefaultImplementation;
+
+/**
+ * Handles the transfer contexts initiated by remote executors.
+ * Never execute a blocking call in the methods, which are called by {@link ByteTransport} threads.
+ */
+@DefaultImplementation(BlockManagerWorker.class)
+public interface ByteTransferContextHandler {
+  /**
+   * Responds to a request for data by a remote executor.
+   *
+   * @param outputContext the context to write the requested data to.
+   * @throws InvalidProtocolBufferException from errors during parsing context descriptor.
+   */
+  void onOutputContext(ByteOutputContext outputContext) throws InvalidProtocolBufferException;
+
+  /**
+   * Responds to a notification of data by a remote executor.
+   *
+   * @param inputContext the context to read the data from.
+   * @throws InvalidProtocolBufferException from errors during parsing context descriptor.
+   */
+  void onInputContext(ByteInputContext inputContext) throws InvalidProtocolBufferException;
+}
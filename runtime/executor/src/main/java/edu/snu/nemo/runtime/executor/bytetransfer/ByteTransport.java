@@ -17,6 +17,7 @@ package edu.snu.nemo.runtime.executor.bytetransfer;
 
 import edu.snu.nemo.conf.JobConf;
 import edu.snu.nemo.runtime.common.NettyChannelImplementationSelector;
+import edu.snu.nemo.runtime.common.RuntimeIdGenerator;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.*;
@@ -190,14 +191,22 @@ final class ByteTransport implements AutoCloseable {
 
   /**
    * Connect to the {@link ByteTransport} server of the specified executor.
-   * @param remoteExecutorId  the id of the executor
+   * The address of a shuffle service is taken from its id, as it is not registered to the naming registry.
+   * @param remoteExecutorId  the id of the executor, or of a shuffle service
    * @return a {@link ChannelFuture} for connecting
    */
   ChannelFuture connectTo(final String remoteExecutorId) {
     final InetSocketAddress address;
     try {
-      final ByteTransportIdentifier identifier = new ByteTransportIdentifier(remoteExecutorId);
-      address = nameResolver.lookup(identifier);
+      if (RuntimeIdGenerator.isShuffleServiceId(remoteExecutorId)) {
+        final String hostAndPort = RuntimeIdGenerator.getAddressFromShuffleServiceId(remoteExecutorId);
+        final int separatorIndex = hostAndPort.lastIndexOf(':');
+        address = new InetSocketAddress(hostAndPort.substring(0, separatorIndex),
+            Integer.parseInt(hostAndPort.substring(separatorIndex + 1)));
+      } else {
+        final ByteTransportIdentifier identifier = new ByteTransportIdentifier(remoteExecutorId);
+        address = nameResolver.lookup(identifier);
+      }
     } catch (final Exception e) {
       LOG.error(String.format("Cannot lookup ByteTransport listening address of %s", remoteExecutorId), e);
       throw new RuntimeException(e);
@@ -16,7 +16,6 @@
 package edu.snu.nemo.runtime.executor.bytetransfer;
 
 import edu.snu.nemo.conf.JobConf;
-import edu.snu.nemo.runtime.executor.data.BlockManagerWorker;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.socket.SocketChannel;
 import org.apache.reef.tang.InjectionFuture;
@@ -51,53 +50,72 @@ import javax.inject.Inject;
  *      +------------------+
  *   <= | DataFrameEncoder | <== FileRegion === A FileArea added to ByteOutputStream
  *      +------------------+
+ *      +--------------------+
+ *   <= | CreditFrameEncoder | <== Credits ==== Reading bytes from ByteInputContext
+ *      +--------------------+
  * }
  * </pre>
  */
 final class ByteTransportChannelInitializer extends ChannelInitializer<SocketChannel> {
 
-  private final InjectionFuture<BlockManagerWorker> blockManagerWorker;
+  private final InjectionFuture<ByteTransferContextHandler> contextHandler;
   private final InjectionFuture<ByteTransfer> byteTransfer;
   private final InjectionFuture<ByteTransport> byteTransport;
   private final ControlFrameEncoder controlFrameEncoder;
   private final DataFrameEncoder dataFrameEncoder;
+  private final CreditFrameEncoder creditFrameEncoder;
+  private final ByteTransportTrafficCounter trafficCounter;
   private final String localExecutorId;
+  private final long receiveWindowBytes;
 
   /**
    * Creates a netty channel initializer.
    *
-   * @param blockManagerWorker  provides handler for new contexts by remote executors
+   * @param contextHandler      handles new contexts by remote executors
    * @param byteTransfer        provides channel caching
    * @param byteTransport       provides {@link io.netty.channel.group.ChannelGroup}
    * @param controlFrameEncoder encodes control frames
    * @param dataFrameEncoder    encodes data frames
+   * @param creditFrameEncoder  encodes credit frames
+   * @param trafficCounter      counts the bytes received and sent
    * @param localExecutorId     the id of this executor
+   * @param receiveWindowKb     the receive window of each input context, in KB
    */
   @Inject
-  private ByteTransportChannelInitializer(final InjectionFuture<BlockManagerWorker> blockManagerWorker,
+  private ByteTransportChannelInitializer(final InjectionFuture<ByteTransferContextHandler> contextHandler,
                                           final InjectionFuture<ByteTransfer> byteTransfer,
                                           final InjectionFuture<ByteTransport> byteTransport,
                                           final ControlFrameEncoder controlFrameEncoder,
                                           final DataFrameEncoder dataFrameEncoder,
-                                          @Parameter(JobConf.ExecutorId.class) final String localExecutorId) {
-    this.blockManagerWorker = blockManagerWorker;
+                                          final CreditFrameEncoder creditFrameEncoder,
+                                          final ByteTransportTrafficCounter trafficCounter,
+                                          @Parameter(JobConf.ExecutorId.class) final String localExecutorId,
+                                          @Parameter(JobConf.PartitionTransportReceiveWindowKb.class)
+                                          final int receiveWindowKb) {
+    this.contextHandler = contextHandler;
     this.byteTransfer = byteTransfer;
     this.byteTransport = byteTransport;
     this.controlFrameEncoder = controlFrameEncoder;
     this.dataFrameEncoder = dataFrameEncoder;
+    this.creditFrameEncoder = creditFrameEncoder;
+    this.trafficCounter = trafficCounter;
     this.localExecutorId = localExecutorId;
+    this.receiveWindowBytes = receiveWindowKb * 1024L;
   }
 
   @Override
   protected void initChannel(final SocketChannel ch) {
-    final ContextManager contextManager = new ContextManager(blockManagerWorker.get(), byteTransfer.get(),
-        byteTransport.get().getChannelGroup(), localExecutorId, ch);
+    final ContextManager contextManager = new ContextManager(contextHandler.get(), byteTransfer.get(),
+        byteTransport.get().getChannelGroup(), localExecutorId, ch, receiveWindowBytes);
     ch.pipeline()
+        // inbound and outbound, next to the socket
+        .addLast(trafficCounter)
         // inbound
         .addLast(new FrameDecoder(contextManager))
         // outbound
         .addLast(controlFrameEncoder)
         .addLast(dataFrameEncoder)
+        .addLast(creditFrameEncoder)
         // inbound
         .addLast(contextManager);
   }
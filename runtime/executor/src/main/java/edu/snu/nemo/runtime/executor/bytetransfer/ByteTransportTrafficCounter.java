@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.executor.bytetransfer;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufHolder;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.FileRegion;
+
+import javax.annotation.concurrent.ThreadSafe;
+import javax.inject.Inject;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the bytes received and sent over all channels of the {@link ByteTransport}.
+ * Placed at the head of each channel pipeline, so that it sees the raw inbound bytes and the encoded outbound frames.
+ */
+@ChannelHandler.Sharable
+@ThreadSafe
+public final class ByteTransportTrafficCounter extends ChannelDuplexHandler {
+  private final LongAdder numBytesIn = new LongAdder();
+  private final LongAdder numBytesOut = new LongAdder();
+
+  /**
+   * Private constructor.
+   */
+  @Inject
+  private ByteTransportTrafficCounter() {
+  }
+
+  @Override
+  public void channelRead(final ChannelHandlerContext ctx, final Object msg) throws Exception {
+    numBytesIn.add(sizeOf(msg));
+    ctx.fireChannelRead(msg);
+  }
+
+  @Override
+  public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise)
+      throws Exception {
+    numBytesOut.add(sizeOf(msg));
+    ctx.write(msg, promise);
+  }
+
+  /**
+   * @return the number of bytes received since the executor started.
+   */
+  public long getNumBytesIn() {
+    return numBytesIn.sum();
+  }
+
+  /**
+   * @return the number of bytes sent since the executor started.
+   */
+  public long getNumBytesOut() {
+    return numBytesOut.sum();
+  }
+
+  /**
+   * @param msg a message in the pipeline.
+   * @return its size in bytes, or 0 if it does not carry bytes.
+   */
+  private static long sizeOf(final Object msg) {
+    if (msg instanceof ByteBuf) {
+      return ((ByteBuf) msg).readableBytes();
+    } else if (msg instanceof ByteBufHolder) {
+      return ((ByteBufHolder) msg).content().readableBytes();
+    } else if (msg instanceof FileRegion) {
+      return ((FileRegion) msg).count();
+    } else {
+      return 0;
+    }
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.executor.bytetransfer;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A lock-free, unbounded queue for a single producer thread and a single consumer thread,
+ * whose consumer can wait for elements and whose input end is capable of closing.
+ *
+ * <p>{@link #put(Object)} should only be called by the producer, and {@link #tryPeek()}, {@link #peek()} and
+ * {@link #take()} by the consumer. {@link #close()} and {@link #closeExceptionally(Throwable)} may be called by any
+ * thread. The memory held by this queue is bounded by its user, e.g., with the credits of a transfer context.</p>
+ *
+ * @param <T> the type of elements
+ */
+@ThreadSafe
+public final class ClosableSpscQueue<T> implements AutoCloseable {
+
+  // The consumer-owned dummy node, whose next node holds the head element.
+  private Node<T> head = new Node<>(null);
+  // The producer-owned last node.
+  private Node<T> tail = head;
+  private volatile Thread waitingConsumer = null;
+  private volatile boolean closed = false;
+  private volatile Throwable throwable = null;
+
+  /**
+   * Adds an element.
+   *
+   * @param element the element to add
+   * @throws IllegalStateException if the input end of this queue has been closed
+   * @throws NullPointerException if {@code element} is {@code null}
+   */
+  public void put(final T element) {
+    if (element == null) {
+      throw new NullPointerException();
+    }
+    if (closed) {
+      throw new IllegalStateException("This queue has been closed");
+    }
+    final Node<T> node = new Node<>(element);
+    // The volatile write publishes the element to the consumer.
+    tail.next = node;
+    tail = node;
+    wakeUpConsumer();
+  }
+
+  /**
+   * Mark the input end of this queue as closed.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    wakeUpConsumer();
+  }
+
+  /**
+   * Mark the input end of this queue as closed.
+   *
+   * @param throwableToSet the cause, which is thrown to the consumer
+   */
+  public void closeExceptionally(final Throwable throwableToSet) {
+    this.throwable = throwableToSet;
+    close();
+  }
+
+  /**
+   * Retrieves, but does not remove, the head of this queue without waiting.
+   *
+   * @return the head of this queue, or {@code null} if no elements are there at the moment
+   */
+  @Nullable
+  public T tryPeek() {
+    final Node<T> next = head.next;
+    return next == null ? null : next.element;
+  }
+
+  /**
+   * Retrieves and removes the head of this queue, waiting if necessary.
+   *
+   * @return the head of this queue, or {@code null} if no elements are there and this queue has been closed
+   * @throws InterruptedException when interrupted while waiting
+   */
+  @Nullable
+  public T take() throws InterruptedException {
+    final Node<T> next = awaitHead();
+    if (next == null) {
+      return null;
+    }
+    final T element = next.element;
+    // The next node becomes the dummy node, without retaining the element.
+    next.element = null;
+    head = next;
+    return element;
+  }
+
+  /**
+   * Retrieves, but does not removes, the head of this queue, waiting if necessary.
+   *
+   * @return the head of this queue, or {@code null} if no elements are there and this queue has been closed
+   * @throws InterruptedException when interrupted while waiting
+   */
+  @Nullable
+  public T peek() throws InterruptedException {
+    final Node<T> next = awaitHead();
+    return next == null ? null : next.element;
+  }
+
+  /**
+   * Waits until the head element is available or this queue is closed.
+   *
+   * @return the node holding the head element, or {@code null} if no elements are there and this queue is closed
+   * @throws InterruptedException when interrupted while waiting
+   */
+  @Nullable
+  private Node<T> awaitHead() throws InterruptedException {
+    Node<T> next = head.next;
+    while (next == null && !closed) {
+      waitingConsumer = Thread.currentThread();
+      // Check again after publishing the waiting consumer, not to miss the wake-up by an element put meanwhile.
+      next = head.next;
+      if (next == null && !closed) {
+        LockSupport.park(this);
+      }
+      waitingConsumer = null;
+      if (Thread.interrupted()) {
+        throw new InterruptedException();
+      }
+      next = head.next;
+    }
+
+    // This should come after waiting, to be always checked on close
+    if (throwable != null) {
+      throw new RuntimeException(throwable);
+    }
+    // An element may have been put right before closing
+    return next == null ? head.next : next;
+  }
+
+  /**
+   * Wakes up the consumer if it is waiting.
+   */
+  private void wakeUpConsumer() {
+    final Thread consumer = waitingConsumer;
+    if (consumer != null) {
+      LockSupport.unpark(consumer);
+    }
+  }
+
+  /**
+   * A node of the linked list.
+   *
+   * @param <E> the type of the element
+   */
+  private static final class Node<E> {
+    private E element;
+    private volatile Node<E> next;
+
+    /**
+     * @param element the element, or {@code null} for the dummy node
+     */
+    private Node(@Nullable final E element) {
+      this.element = element;
+    }
+  }
+}
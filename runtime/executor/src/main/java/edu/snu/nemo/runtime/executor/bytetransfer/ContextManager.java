@@ -18,7 +18,6 @@ package edu.snu.nemo.runtime.executor.bytetransfer;
 import edu.snu.nemo.runtime.common.comm.ControlMessage.ByteTransferContextSetupMessage;
 import edu.snu.nemo.runtime.common.comm.ControlMessage.ByteTransferDataDirection;
 import edu.snu.nemo.runtime.executor.bytetransfer.ByteTransferContext.ContextId;
-import edu.snu.nemo.runtime.executor.data.BlockManagerWorker;
 import io.netty.channel.*;
 import io.netty.channel.group.ChannelGroup;
 
@@ -32,12 +31,15 @@ import java.util.function.Function;
  */
 final class ContextManager extends SimpleChannelInboundHandler<ByteTransferContextSetupMessage> {
 
-  private final BlockManagerWorker blockManagerWorker;
+  private final ByteTransferContextHandler contextHandler;
   private final ByteTransfer byteTransfer;
   private final ChannelGroup channelGroup;
   private final String localExecutorId;
   private final Channel channel;
+  private final long receiveWindowBytes;
   private volatile String remoteExecutorId = null;
+  // The number of input contexts whose buffered data exceed their receive window. Guarded by this.
+  private int numOverflowedInputContexts = 0;
 
   private final ConcurrentMap<Integer, ByteInputContext> inputContextsInitiatedByLocal = new ConcurrentHashMap<>();
   private final ConcurrentMap<Integer, ByteOutputContext> outputContextsInitiatedByLocal = new ConcurrentHashMap<>();
@@ -48,22 +50,28 @@ final class ContextManager extends SimpleChannelInboundHandler<ByteTransferConte
 
   /**
    * Creates context manager for this channel.
-   * @param blockManagerWorker  provides handler for new contexts by remote executors
+   * @param contextHandler      handles new contexts by remote executors
    * @param byteTransfer        provides channel caching
    * @param channelGroup        to cleanup this channel when closing {@link ByteTransport}
    * @param localExecutorId     local executor id
    * @param channel             the {@link Channel} to manage
+   * @param receiveWindowBytes  the receive window of each input context, in bytes
    */
-  ContextManager(final BlockManagerWorker blockManagerWorker,
+  ContextManager(final ByteTransferContextHandler contextHandler,
                  final ByteTransfer byteTransfer,
                  final ChannelGroup channelGroup,
                  final String localExecutorId,
-                 final Channel channel) {
-    this.blockManagerWorker = blockManagerWorker;
+                 final Channel channel,
+                 final long receiveWindowBytes) {
+    this.contextHandler = contextHandler;
     this.byteTransfer = byteTransfer;
     this.channelGroup = channelGroup;
     this.localExecutorId = localExecutorId;
     this.channel = channel;
+    // A window should hold two frames, for the sender to send a frame while the receiver consumes the other.
+    // It also should be advertised within a credit frame.
+    this.receiveWindowBytes = Math.min(DataFrameEncoder.LENGTH_MAX,
+        Math.max(receiveWindowBytes, 2L * DataFrameEncoder.BODY_LENGTH_PER_FRAME));
   }
 
   /**
@@ -73,6 +81,32 @@ final class ContextManager extends SimpleChannelInboundHandler<ByteTransferConte
     return channel;
   }
 
+  /**
+   * @return the receive window of each input context, in bytes.
+   */
+  long getReceiveWindowBytes() {
+    return receiveWindowBytes;
+  }
+
+  /**
+   * Stops reading from the channel, as an input context has buffered more data than its receive window.
+   * This happens only if the sender has not respected the credits, and pauses all the contexts of the channel.
+   */
+  synchronized void onInputContextOverflowed() {
+    numOverflowedInputContexts++;
+    channel.config().setAutoRead(false);
+  }
+
+  /**
+   * Resumes reading from the channel if no other input context has overflowed.
+   */
+  synchronized void onInputContextDrained() {
+    numOverflowedInputContexts--;
+    if (numOverflowedInputContexts == 0) {
+      channel.config().setAutoRead(true);
+    }
+  }
+
   /**
    * Returns {@link ByteInputContext} to provide {@link io.netty.buffer.ByteBuf}s on.
    * @param dataDirection the data direction
@@ -87,6 +121,21 @@ final class ContextManager extends SimpleChannelInboundHandler<ByteTransferConte
     return contexts.get(transferIndex);
   }
 
+  /**
+   * Returns {@link ByteOutputContext} to grant credits to.
+   * @param dataDirection the data direction
+   * @param transferIndex transfer index
+   * @return the {@link ByteOutputContext} corresponding to the pair of {@code dataDirection} and
+   *         {@code transferIndex}, or {@code null} if it has expired
+   */
+  ByteOutputContext getOutputContext(final ByteTransferDataDirection dataDirection,
+                                     final int transferIndex) {
+    final ConcurrentMap<Integer, ByteOutputContext> contexts =
+        dataDirection == ByteTransferDataDirection.INITIATOR_SENDS_DATA
+            ? outputContextsInitiatedByLocal : outputContextsInitiatedByRemote;
+    return contexts.get(transferIndex);
+  }
+
   /**
    * Responds to new transfer contexts by a remote executor.
    * @param ctx netty {@link ChannelHandlerContext}
@@ -110,7 +159,8 @@ final class ContextManager extends SimpleChannelInboundHandler<ByteTransferConte
         }
         return new ByteInputContext(remoteExecutorId, contextId, contextDescriptor, this);
       });
-      blockManagerWorker.onInputContext(context);
+      context.grantInitialCredit();
+      contextHandler.onInputContext(context);
     } else {
       final ByteOutputContext context = outputContextsInitiatedByRemote.compute(transferIndex, (idx, existing) -> {
         if (existing != null) {
@@ -118,7 +168,7 @@ final class ContextManager extends SimpleChannelInboundHandler<ByteTransferConte
         }
         return new ByteOutputContext(remoteExecutorId, contextId, contextDescriptor, this);
       });
-      blockManagerWorker.onOutputContext(context);
+      contextHandler.onOutputContext(context);
     }
   }
 
@@ -171,10 +221,13 @@ final class ContextManager extends SimpleChannelInboundHandler<ByteTransferConte
    * @return new {@link ByteInputContext}
    */
   ByteInputContext newInputContext(final String executorId, final byte[] contextDescriptor) {
-    return newContext(inputContextsInitiatedByLocal, nextInputTransferIndex,
+    final ByteInputContext context = newContext(inputContextsInitiatedByLocal, nextInputTransferIndex,
         ByteTransferDataDirection.INITIATOR_RECEIVES_DATA,
         contextId -> new ByteInputContext(executorId, contextId, contextDescriptor, this),
         executorId);
+    // Granted after the context setup, which the sender handles first.
+    context.grantInitialCredit();
+    return context;
   }
 
   /**
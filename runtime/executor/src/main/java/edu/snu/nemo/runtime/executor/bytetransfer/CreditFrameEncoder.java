@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.executor.bytetransfer;
+
+import edu.snu.nemo.runtime.common.comm.ControlMessage;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToMessageEncoder;
+
+import javax.inject.Inject;
+import java.util.List;
+
+/**
+ * Encodes a credit frame, with which a receiver grants its sender to send more data on a context, into bytes.
+ *
+ * @see FrameDecoder
+ */
+@ChannelHandler.Sharable
+final class CreditFrameEncoder extends MessageToMessageEncoder<CreditFrameEncoder.CreditFrame> {
+
+  private static final int TRANSFER_INDEX_LENGTH = Integer.BYTES;
+  private static final int CREDIT_LENGTH = Integer.BYTES;
+  private static final int HEADER_LENGTH = Byte.BYTES + TRANSFER_INDEX_LENGTH + CREDIT_LENGTH;
+
+  @Inject
+  private CreditFrameEncoder() {
+  }
+
+  @Override
+  protected void encode(final ChannelHandlerContext ctx, final CreditFrame in, final List out) {
+    final ByteBuf header = ctx.alloc().ioBuffer(HEADER_LENGTH, HEADER_LENGTH);
+    byte flags = (byte) 0;
+    flags |= (byte) (1 << 4);
+    if (in.contextId.getDataDirection() == ControlMessage.ByteTransferDataDirection.INITIATOR_RECEIVES_DATA) {
+      flags |= (byte) (1 << 2);
+    }
+
+    header.writeByte(flags);
+    header.writeInt(in.contextId.getTransferIndex());
+
+    // in.credit should not exceed the range of unsigned int
+    assert (in.credit <= DataFrameEncoder.LENGTH_MAX);
+    header.writeInt((int) in.credit);
+
+    out.add(header);
+  }
+
+  /**
+   * Credit frame representation.
+   */
+  static final class CreditFrame {
+
+    private final ByteTransferContext.ContextId contextId;
+    private final long credit;
+
+    /**
+     * Creates a {@link CreditFrame}.
+     *
+     * @param contextId the id of the context on which the data is received
+     * @param credit    the number of bytes the sender may send in addition
+     */
+    CreditFrame(final ByteTransferContext.ContextId contextId, final long credit) {
+      this.contextId = contextId;
+      this.credit = credit;
+    }
+  }
+}
@@ -21,6 +21,7 @@ import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToMessageEncoder;
 import io.netty.util.Recycler;
+import io.netty.util.ReferenceCountUtil;
 
 import javax.annotation.Nullable;
 import javax.inject.Inject;
@@ -41,6 +42,9 @@ final class DataFrameEncoder extends MessageToMessageEncoder<DataFrameEncoder.Da
   // the maximum length of a frame body. 2**32 - 1
   static final long LENGTH_MAX = 4294967295L;
 
+  // the maximum length of a frame body that a sender writes, for a frame to fit in the receive window.
+  static final int BODY_LENGTH_PER_FRAME = 1024 * 1024;
+
   @Inject
   private DataFrameEncoder() {
   }
@@ -145,6 +149,23 @@ final class DataFrameEncoder extends MessageToMessageEncoder<DataFrameEncoder.Da
       return dataFrame;
     }
 
+    /**
+     * @return the length of the body, in bytes, which is the amount of credits to send this frame.
+     */
+    long getLength() {
+      return length;
+    }
+
+    /**
+     * Releases the body and recycles this object, without encoding it.
+     */
+    void release() {
+      if (body != null) {
+        ReferenceCountUtil.release(body);
+      }
+      recycle();
+    }
+
     /**
      * Recycles this object.
      */
@@ -30,10 +30,12 @@ import java.util.List;
  * <p>
  * More specifically,
  * <ul>
- *   <li>Recognizes the type of the frame, namely control or data.</li>
+ *   <li>Recognizes the type of the frame, namely control, data or credit.</li>
  *   <li>If the received bytes are a part of a control frame, waits until the full content of the frame becomes
  *   available and decode the frame to emit a control frame object.</li>
  *   <li>If the received bytes consists a data frame, supply the data to the corresponding {@link ByteInputContext}.
+ *   <li>If the received bytes consists a credit frame, grant the credits to the corresponding
+ *   {@link ByteOutputContext}.</li>
  * </ul>
  *
  * <h3>Control frame specification:</h3>
@@ -58,6 +60,20 @@ import java.util.List;
  * }
  * </pre>
  *
+ * <h3>Credit frame specification:</h3>
+ * <pre>
+ * {@literal
+ *   <-------------------------------- HEADER -------------------------------->
+ *   +-------+-------+-------+-------------------+-------+-------------+---------+
+ *   | Zeros |   1   | Zeros | DataDirectionFlag | Zeros | TransferIdx | Credit  |
+ *   | 3 bit | 1 bit | 1 bit |       1 bit       | 2 bit |   4 bytes   | 4 bytes |
+ *   +-------+-------+-------+-------------------+-------+-------------+---------+
+ * }
+ * </pre>
+ * <p>The receiver of a context grants its sender credits, in bytes, as it consumes the data.
+ * The sender sends a data frame only with enough credits, so that the data buffered by the receiver
+ * never exceeds its receive window.</p>
+ *
  * @see ByteTransportChannelInitializer
  */
 final class FrameDecoder extends ByteToMessageDecoder {
@@ -96,7 +112,10 @@ final class FrameDecoder extends ByteToMessageDecoder {
     while (true) {
       final boolean toContinue;
       if (controlBodyBytesToRead > 0) {
-        toContinue = onControlBodyAdded(in, out);
+        // Stop decoding once a control frame is emitted, for the context it sets up to be registered
+        // before the following frames of the context are decoded.
+        onControlBodyAdded(in, out);
+        toContinue = false;
       } else if (dataBodyBytesToRead > 0) {
         onDataBodyAdded(in);
         toContinue = in.readableBytes() > 0;
@@ -131,7 +150,16 @@ final class FrameDecoder extends ByteToMessageDecoder {
     if (length < 0) {
       throw new IllegalStateException(String.format("Frame length is negative: %d", length));
     }
-    if ((flags & ((byte) (1 << 3))) == 0) {
+    if ((flags & ((byte) (1 << 4))) != 0) {
+      // a credit frame, which has no body
+      final ByteTransferDataDirection dataDirection = (flags & ((byte) (1 << 2))) == 0
+          ? ByteTransferDataDirection.INITIATOR_SENDS_DATA : ByteTransferDataDirection.INITIATOR_RECEIVES_DATA;
+      final ByteOutputContext outputContext = contextManager.getOutputContext(dataDirection, transferIndex);
+      // Credits may arrive after the context has sent all of its data and expired.
+      if (outputContext != null) {
+        outputContext.onCredit(length);
+      }
+    } else if ((flags & ((byte) (1 << 3))) == 0) {
       // setup context for reading control frame body
       controlBodyBytesToRead = length;
     } else {
@@ -162,10 +190,9 @@ final class FrameDecoder extends ByteToMessageDecoder {
    *
    * @param in  the {@link ByteBuf} from which to read data
    * @param out the list to which the body of the control frame is added
-   * @return {@code true} if the control frame body was emitted, {@code false} otherwise
    * @throws InvalidProtocolBufferException when failed to parse
    */
-  private boolean onControlBodyAdded(final ByteBuf in, final List out)
+  private void onControlBodyAdded(final ByteBuf in, final List out)
       throws InvalidProtocolBufferException {
     assert (controlBodyBytesToRead > 0);
     assert (dataBodyBytesToRead == 0);
@@ -175,7 +202,7 @@ final class FrameDecoder extends ByteToMessageDecoder {
 
     if (in.readableBytes() < controlBodyBytesToRead) {
       // cannot read body now
-      return false;
+      return;
     }
 
     final byte[] bytes;
@@ -194,7 +221,6 @@ final class FrameDecoder extends ByteToMessageDecoder {
     out.add(controlMessage);
     in.skipBytes((int) controlBodyBytesToRead);
     controlBodyBytesToRead = 0;
-    return true;
   }
 
   /**
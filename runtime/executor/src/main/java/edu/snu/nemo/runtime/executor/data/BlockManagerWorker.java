@@ -23,9 +23,12 @@ import edu.snu.nemo.common.exception.UnsupportedBlockStoreException;
 import edu.snu.nemo.common.exception.UnsupportedExecutionPropertyException;
 import edu.snu.nemo.common.ir.edge.executionproperty.DataStoreProperty;
 import edu.snu.nemo.common.ir.edge.executionproperty.DataPersistenceProperty;
+import edu.snu.nemo.common.ir.edge.executionproperty.DataReplicationProperty;
 import edu.snu.nemo.conf.JobConf;
 import edu.snu.nemo.runtime.common.comm.ControlMessage;
+import edu.snu.nemo.runtime.common.comm.ControlMessage.ByteTransferBlockDescriptor;
 import edu.snu.nemo.runtime.common.comm.ControlMessage.ByteTransferContextDescriptor;
+import edu.snu.nemo.runtime.common.data.HashRange;
 import edu.snu.nemo.runtime.common.data.KeyRange;
 import edu.snu.nemo.runtime.common.RuntimeIdGenerator;
 import edu.snu.nemo.runtime.common.message.MessageEnvironment;
@@ -33,18 +36,25 @@ import edu.snu.nemo.runtime.common.message.PersistentConnectionToMasterMap;
 import edu.snu.nemo.runtime.executor.bytetransfer.ByteInputContext;
 import edu.snu.nemo.runtime.executor.bytetransfer.ByteOutputContext;
 import edu.snu.nemo.runtime.executor.bytetransfer.ByteTransfer;
+import edu.snu.nemo.runtime.executor.bytetransfer.ByteTransferContextHandler;
 import edu.snu.nemo.runtime.executor.data.block.Block;
 import edu.snu.nemo.runtime.executor.data.block.FileBlock;
+import edu.snu.nemo.runtime.executor.data.block.SerializedMemoryBlock;
 import edu.snu.nemo.runtime.executor.data.partition.NonSerializedPartition;
 import edu.snu.nemo.runtime.executor.data.partition.SerializedPartition;
 import edu.snu.nemo.runtime.executor.data.stores.BlockStore;
 import edu.snu.nemo.runtime.executor.data.stores.*;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.SerializationUtils;
 import org.apache.reef.tang.annotations.Parameter;
+import org.apache.reef.wake.remote.address.LocalAddressProvider;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 import javax.inject.Inject;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -54,13 +64,21 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Executor-side block manager.
+ * If the shuffle service is used, the blocks in the {@link LocalFileStore} are handed over to the shuffle service
+ * of this node when committed, and are served by the shuffle service even after this executor is lost.
+ * Note that such blocks with {@link DataPersistenceProperty.Value#Discard} are discarded only if all of their reads
+ * are served by this executor, as the shuffle service does not count the reads.
+ * The blocks of the edges with {@link DataReplicationProperty} are pushed to other executors when committed,
+ * which keep the replicas in memory in a serialized form and serve them when the block is lost.
  */
 @ThreadSafe
-public final class BlockManagerWorker {
+public final class BlockManagerWorker implements ByteTransferContextHandler {
   private static final Logger LOG = LoggerFactory.getLogger(BlockManagerWorker.class.getName());
   private static final String REMOTE_FILE_STORE = "REMOTE_FILE_STORE";
 
   private final String executorId;
+  // The ID of the shuffle service of this node, or null if the shuffle service is not used.
+  @Nullable private final String localShuffleServiceId;
   private final SerializerManager serializerManager;
 
   // Block stores
@@ -77,6 +95,8 @@ public final class BlockManagerWorker {
   private final ByteTransfer byteTransfer;
   private final ExecutorService backgroundExecutorService;
   private final Map<String, AtomicInteger> blockToRemainingRead;
+  // The replicas of the blocks of other executors, which are never deserialized until read by this executor.
+  private final Map<String, SerializedMemoryBlock> replicas;
   private final BlockTransferThrottler blockTransferThrottler;
 
   /**
@@ -92,6 +112,8 @@ public final class BlockManagerWorker {
    * @param byteTransfer                    the byte transfer.
    * @param serializerManager               the serializer manager.
    * @param blockTransferThrottler    restricts parallel connections
+   * @param shuffleServicePort              the port of the shuffle service, 0 if not used.
+   * @param localAddressProvider            provides the address of this node.
    */
   @Inject
   private BlockManagerWorker(@Parameter(JobConf.ExecutorId.class) final String executorId,
@@ -103,8 +125,13 @@ public final class BlockManagerWorker {
                              final PersistentConnectionToMasterMap persistentConnectionToMasterMap,
                              final ByteTransfer byteTransfer,
                              final SerializerManager serializerManager,
-                             final BlockTransferThrottler blockTransferThrottler) {
+                             final BlockTransferThrottler blockTransferThrottler,
+                             @Parameter(JobConf.ShuffleServicePort.class) final int shuffleServicePort,
+                             final LocalAddressProvider localAddressProvider) {
     this.executorId = executorId;
+    this.localShuffleServiceId = shuffleServicePort > 0
+        ? RuntimeIdGenerator.generateShuffleServiceId(localAddressProvider.getLocalAddress(), shuffleServicePort)
+        : null;
     this.memoryStore = memoryStore;
     this.serializedMemoryStore = serializedMemoryStore;
     this.localFileStore = localFileStore;
@@ -113,6 +140,7 @@ public final class BlockManagerWorker {
     this.byteTransfer = byteTransfer;
     this.backgroundExecutorService = Executors.newFixedThreadPool(numThreads);
     this.blockToRemainingRead = new ConcurrentHashMap<>();
+    this.replicas = new ConcurrentHashMap<>();
     this.serializerManager = serializerManager;
     this.pendingBlockLocationRequest = new ConcurrentHashMap<>();
     this.blockTransferThrottler = blockTransferThrottler;
@@ -150,79 +178,79 @@ public final class BlockManagerWorker {
       final String runtimeEdgeId,
       final DataStoreProperty.Value blockStore,
       final KeyRange keyRange) {
-    // Let's see if a remote worker has it
-    final CompletableFuture<ControlMessage.Message> blockLocationFuture =
-        pendingBlockLocationRequest.computeIfAbsent(blockId, blockIdToRequest -> {
-          // Ask Master for the location.
-          // (IMPORTANT): This 'request' effectively blocks the TaskExecutor thread if the block is IN_PROGRESS.
-          // We use this property to make the receiver task of a 'push' edge to wait in an Executor for its input data
-          // to become available.
-          final CompletableFuture<ControlMessage.Message> responseFromMasterFuture = persistentConnectionToMasterMap
-              .getMessageSender(MessageEnvironment.BLOCK_MANAGER_MASTER_MESSAGE_LISTENER_ID).request(
-                  ControlMessage.Message.newBuilder()
-                      .setId(RuntimeIdGenerator.generateMessageId())
-                      .setListenerId(MessageEnvironment.BLOCK_MANAGER_MASTER_MESSAGE_LISTENER_ID)
-                      .setType(ControlMessage.MessageType.RequestBlockLocation)
-                      .setRequestBlockLocationMsg(
-                          ControlMessage.RequestBlockLocationMsg.newBuilder()
-                              .setExecutorId(executorId)
-                              .setBlockId(blockId)
-                              .build())
-                      .build());
-          return responseFromMasterFuture;
-        });
-    blockLocationFuture.whenComplete((message, throwable) -> {
-      pendingBlockLocationRequest.remove(blockId);
-    });
-
-    // Using thenCompose so that fetching block data starts after getting response from master.
-    return blockLocationFuture.thenCompose(responseFromMaster -> {
-      if (responseFromMaster.getType() != ControlMessage.MessageType.BlockLocationInfo) {
-        throw new RuntimeException("Response message type mismatch!");
-      }
+    return readBlocks(Collections.singletonList(blockId), runtimeEdgeId, blockStore, keyRange).get(0);
+  }
 
-      final ControlMessage.BlockLocationInfoMsg blockLocationInfoMsg =
-          responseFromMaster.getBlockLocationInfoMsg();
-      if (!blockLocationInfoMsg.hasOwnerExecutorId()) {
-        throw new BlockFetchException(new Throwable(
-            "Block " + blockId + " location unknown: "
-                + "The block state is " + blockLocationInfoMsg.getState()));
-      }
-      // This is the executor id that we wanted to know
-      final String targetExecutorId = blockLocationInfoMsg.getOwnerExecutorId();
-      if (targetExecutorId.equals(executorId) || targetExecutorId.equals(REMOTE_FILE_STORE)) {
-        // Block resides in the evaluator
-        return getDataFromLocalBlock(blockId, blockStore, keyRange);
-      } else {
-        final ByteTransferContextDescriptor descriptor = ByteTransferContextDescriptor.newBuilder()
-            .setBlockId(blockId)
-            .setBlockStore(convertBlockStore(blockStore))
-            .setRuntimeEdgeId(runtimeEdgeId)
-            .setKeyRange(ByteString.copyFrom(SerializationUtils.serialize(keyRange)))
-            .build();
-        final CompletableFuture<ByteInputContext> contextFuture = blockTransferThrottler
-            .requestTransferPermission(runtimeEdgeId)
-            .thenCompose(obj -> byteTransfer.newInputContext(targetExecutorId, descriptor.toByteArray()));
-
-        // whenComplete() ensures that blockTransferThrottler.onTransferFinished() is always called,
-        // even on failures. Actual failure handling and Task retry will be done by DataFetcher.
-        contextFuture.whenComplete((connectionContext, connectionThrowable) -> {
-          if (connectionThrowable != null) {
-            // Something wrong with the connection. Notify blockTransferThrottler immediately.
-            blockTransferThrottler.onTransferFinished(runtimeEdgeId);
-          } else {
-            // Connection is okay. Notify blockTransferThrottler when the actual transfer is done, or fails.
-            connectionContext.getCompletedFuture().whenComplete((transferContext, transferThrowable) -> {
-              blockTransferThrottler.onTransferFinished(runtimeEdgeId);
+  /**
+   * Inquiries the locations of the specific blocks and routes the requests to the local block manager worker
+   * or to the lower data plane.
+   * The blocks are fetched as soon as their locations are known. Those residing in the same remote executor
+   * whose locations become known together are fetched over a single {@link ByteInputContext}, one after another:
+   * the future of such a block completes once the previous block in the group has been consumed.
+   * This can be invoked multiple times per blockId (maybe due to failures).
+   *
+   * @param blockIds      of the blocks.
+   * @param runtimeEdgeId id of the runtime edge that corresponds to the blocks.
+   * @param blockStore    for the data storage.
+   * @param keyRange      the key range descriptor
+   * @return the {@link CompletableFuture}s of the blocks, in the order of the given block IDs.
+   */
+  public List<CompletableFuture<DataUtil.IteratorWithNumBytes>> readBlocks(
+      final List<String> blockIds,
+      final String runtimeEdgeId,
+      final DataStoreProperty.Value blockStore,
+      final KeyRange keyRange) {
+    final List<CompletableFuture<DataUtil.IteratorWithNumBytes>> blockFutures = new ArrayList<>(blockIds.size());
+    for (int blockIndex = 0; blockIndex < blockIds.size(); blockIndex++) {
+      blockFutures.add(new CompletableFuture<>());
+    }
+    // The blocks to fetch from each remote executor, whose fetch has not started yet. Guarded by itself.
+    final Map<String, List<Integer>> executorIdToPendingBlockIndices = new HashMap<>();
+
+    for (int i = 0; i < blockIds.size(); i++) {
+      final int blockIndex = i;
+      final CompletableFuture<DataUtil.IteratorWithNumBytes> blockFuture = blockFutures.get(blockIndex);
+      requestBlockLocation(blockIds.get(blockIndex)).whenComplete((targetExecutorId, throwable) -> {
+        if (throwable != null) {
+          blockFuture.completeExceptionally(throwable);
+        } else if (targetExecutorId.equals(executorId) || targetExecutorId.equals(REMOTE_FILE_STORE)
+            || (targetExecutorId.equals(localShuffleServiceId)
+            && getBlockStore(blockStore).readBlock(blockIds.get(blockIndex)).isPresent())) {
+          // Block resides in the evaluator
+          try {
+            completeWith(blockFuture, getDataFromLocalBlock(blockIds.get(blockIndex), blockStore, keyRange));
+          } catch (final RuntimeException e) {
+            blockFuture.completeExceptionally(e);
+          }
+        } else {
+          final boolean isFirstPendingBlock;
+          synchronized (executorIdToPendingBlockIndices) {
+            final List<Integer> pendingBlockIndices =
+                executorIdToPendingBlockIndices.computeIfAbsent(targetExecutorId, id -> new ArrayList<>());
+            isFirstPendingBlock = pendingBlockIndices.isEmpty();
+            pendingBlockIndices.add(blockIndex);
+          }
+          if (isFirstPendingBlock) {
+            // The blocks of the executor whose locations arrive until the fetch starts join this fetch.
+            backgroundExecutorService.execute(() -> {
+              final List<Integer> blockIndices;
+              synchronized (executorIdToPendingBlockIndices) {
+                blockIndices = executorIdToPendingBlockIndices.remove(targetExecutorId);
+              }
+              final List<String> blockIdsToFetch = new ArrayList<>(blockIndices.size());
+              blockIndices.forEach(index -> blockIdsToFetch.add(blockIds.get(index)));
+              final List<CompletableFuture<DataUtil.IteratorWithNumBytes>> fetchedBlockFutures =
+                  getDataFromRemoteBlocks(targetExecutorId, blockIdsToFetch, runtimeEdgeId, blockStore, keyRange);
+              for (int j = 0; j < blockIndices.size(); j++) {
+                completeWith(blockFutures.get(blockIndices.get(j)), fetchedBlockFutures.get(j));
+              }
             });
           }
-        });
+        }
+      });
+    }
 
-        return contextFuture
-            .thenApply(context -> new DataUtil.InputStreamIterator(context.getInputStreams(),
-                serializerManager.getSerializer(runtimeEdgeId)));
-      }
-    });
+    return blockFutures;
   }
 
   /**
@@ -235,6 +263,7 @@ public final class BlockManagerWorker {
    * @param srcIRVertexId        the IR vertex ID of the source task.
    * @param expectedReadTotal    the expected number of read for this block.
    * @param persistence          how to handle the used block.
+   * @param numReplicas          the number of replicas to keep in other executors.
    */
   public void writeBlock(final Block block,
                          final DataStoreProperty.Value blockStore,
@@ -242,7 +271,8 @@ public final class BlockManagerWorker {
                          final Map<Integer, Long> partitionSizeMap,
                          final String srcIRVertexId,
                          final int expectedReadTotal,
-                         final DataPersistenceProperty.Value persistence) {
+                         final DataPersistenceProperty.Value persistence,
+                         final int numReplicas) {
     final String blockId = block.getId();
     LOG.info("CommitBlock: {}", blockId);
 
@@ -267,6 +297,9 @@ public final class BlockManagerWorker {
 
     if (DataStoreProperty.Value.GlusterFileStore.equals(blockStore)) {
       blockStateChangedMsgBuilder.setLocation(REMOTE_FILE_STORE);
+    } else if (DataStoreProperty.Value.LocalFileStore.equals(blockStore) && localShuffleServiceId != null) {
+      // The block is owned by the node from now on.
+      blockStateChangedMsgBuilder.setLocation(localShuffleServiceId);
     } else {
       blockStateChangedMsgBuilder.setLocation(executorId);
     }
@@ -302,6 +335,81 @@ public final class BlockManagerWorker {
               )
               .build());
     }
+
+    if (numReplicas > 0) {
+      replicateBlock(block, blockStore, numReplicas);
+    }
+  }
+
+  /**
+   * Report the keys sampled from a block to the master,
+   * for the split points of the following range-partitioned edge to be computed from them.
+   *
+   * @param blockId       the ID of the block whose keys are sampled.
+   * @param srcIRVertexId the ID of the source vertex of the block.
+   * @param keySamples    the sampled keys.
+   */
+  public void reportKeySamples(final String blockId,
+                               final String srcIRVertexId,
+                               final ArrayList<Object> keySamples) {
+    persistentConnectionToMasterMap.getMessageSender(MessageEnvironment.RUNTIME_MASTER_MESSAGE_LISTENER_ID)
+        .send(ControlMessage.Message.newBuilder()
+            .setId(RuntimeIdGenerator.generateMessageId())
+            .setListenerId(MessageEnvironment.RUNTIME_MASTER_MESSAGE_LISTENER_ID)
+            .setType(ControlMessage.MessageType.KeySamples)
+            .setKeySamplesMsg(ControlMessage.KeySamplesMsg.newBuilder()
+                .setBlockId(blockId)
+                .setSrcIRVertexId(srcIRVertexId)
+                .setKeySamples(ByteString.copyFrom(SerializationUtils.serialize(keySamples))))
+            .build());
+  }
+
+  /**
+   * Drops the replicas of the blocks which are no longer needed, e.g., the blocks of a finished job.
+   * The blocks which this executor has no replicas of are ignored.
+   *
+   * @param blockIds the ids of the blocks.
+   */
+  public void removeReplicas(final Collection<String> blockIds) {
+    final long numRemovedReplicas = blockIds.stream().map(replicas::remove).filter(Objects::nonNull).count();
+    if (numRemovedReplicas > 0) {
+      LOG.info("Removed {} replicas", numRemovedReplicas);
+    }
+  }
+
+  /**
+   * Forgets the blocks of a finished job which a shuffle service serves,
+   * and asks the shuffle service to delete their files if told to.
+   * The files are deleted only by the shuffle service, which also serves the blocks of lost executors.
+   *
+   * @param shuffleServiceId        the ID of the shuffle service.
+   * @param blockIds                the IDs of the blocks.
+   * @param forwardToShuffleService whether to ask the shuffle service to delete the files of the blocks.
+   */
+  public void removeShuffleServiceBlocks(final String shuffleServiceId,
+                                         final List<String> blockIds,
+                                         final boolean forwardToShuffleService) {
+    final long numForgottenBlocks = blockIds.stream().filter(localFileStore::forgetBlock).count();
+    if (numForgottenBlocks > 0) {
+      LOG.info("Forgot {} blocks served by {}", numForgottenBlocks, shuffleServiceId);
+    }
+    if (!forwardToShuffleService) {
+      return;
+    }
+
+    final ByteTransferContextDescriptor.Builder descriptorBuilder = ByteTransferContextDescriptor.newBuilder()
+        .setBlockStore(ControlMessage.BlockStore.LOCAL_FILE)
+        .setRuntimeEdgeId("")
+        .setRemoveBlocks(true);
+    blockIds.forEach(blockId -> descriptorBuilder.addBlocks(ByteTransferBlockDescriptor.newBuilder()
+        .setBlockId(blockId)));
+    byteTransfer.newInputContext(shuffleServiceId, descriptorBuilder.build().toByteArray())
+        .thenCompose(ByteInputContext::getCompletedFuture)
+        .whenComplete((streams, throwable) -> {
+          if (throwable != null) {
+            LOG.warn("Failed to delete {} blocks in {}", blockIds.size(), shuffleServiceId, throwable);
+          }
+        });
   }
 
   /**
@@ -352,29 +460,38 @@ public final class BlockManagerWorker {
    * @param outputContext {@link ByteOutputContext}
    * @throws InvalidProtocolBufferException from errors during parsing context descriptor
    */
+  @Override
   public void onOutputContext(final ByteOutputContext outputContext) throws InvalidProtocolBufferException {
     final ByteTransferContextDescriptor descriptor = ByteTransferContextDescriptor.PARSER
         .parseFrom(outputContext.getContextDescriptor());
     final DataStoreProperty.Value blockStore = convertBlockStore(descriptor.getBlockStore());
-    final String blockId = descriptor.getBlockId();
-    final KeyRange keyRange = SerializationUtils.deserialize(descriptor.getKeyRange().toByteArray());
 
     backgroundExecutorService.submit(new Runnable() {
       @Override
       public void run() {
         try {
-          final Optional<Block> optionalBlock = getBlockStore(blockStore).readBlock(blockId);
-          if (optionalBlock.isPresent()) {
-            if (DataStoreProperty.Value.LocalFileStore.equals(blockStore)
-                || DataStoreProperty.Value.GlusterFileStore.equals(blockStore)) {
+          // Stream the requested blocks back to back.
+          for (final ByteTransferBlockDescriptor blockDescriptor : descriptor.getBlocksList()) {
+            final String blockId = blockDescriptor.getBlockId();
+            final KeyRange keyRange = SerializationUtils.deserialize(blockDescriptor.getKeyRange().toByteArray());
+            final Optional<Block> optionalBlock = Optional.ofNullable(getBlockStore(blockStore).readBlock(blockId)
+                .orElse(replicas.get(blockId)));
+            if (!optionalBlock.isPresent()) {
+              // We don't have the block here...
+              throw new RuntimeException(String.format("Block %s not found in local BlockManagerWorker", blockId));
+            }
+            if (optionalBlock.get() instanceof FileBlock) {
               final List<FileArea> fileAreas = ((FileBlock) optionalBlock.get()).asFileAreas(keyRange);
+              GroupedBlockStreams.writeHeader(outputContext, fileAreas.size());
               for (final FileArea fileArea : fileAreas) {
                 try (ByteOutputContext.ByteOutputStream os = outputContext.newOutputStream()) {
                   os.writeFileArea(fileArea);
                 }
               }
             } else {
-              final Iterable<SerializedPartition> partitions = optionalBlock.get().readSerializedPartitions(keyRange);
+              final List<SerializedPartition> partitions = new ArrayList<>();
+              optionalBlock.get().readSerializedPartitions(keyRange).forEach(partitions::add);
+              GroupedBlockStreams.writeHeader(outputContext, partitions.size());
               for (final SerializedPartition partition : partitions) {
                 try (ByteOutputContext.ByteOutputStream os = outputContext.newOutputStream()) {
                   os.writeSerializedPartition(partition);
@@ -382,12 +499,8 @@ public final class BlockManagerWorker {
               }
             }
             handleDataPersistence(blockStore, blockId);
-            outputContext.close();
-
-          } else {
-            // We don't have the block here...
-            throw new RuntimeException(String.format("Block %s not found in local BlockManagerWorker", blockId));
           }
+          outputContext.close();
         } catch (final IOException | BlockFetchException e) {
           LOG.error("Closing a block request exceptionally", e);
           outputContext.onChannelError(e);
@@ -397,15 +510,52 @@ public final class BlockManagerWorker {
   }
 
   /**
-   * Respond to a block notification by another executor.
+   * Respond to a block notification by another executor, which pushes a replica of its block.
    * <p>
    * This method is executed by {edu.snu.nemo.runtime.executor.data.blocktransfer.BlockTransport}
    * thread. Never execute a blocking call in this method!
    *
    * @param inputContext {@link ByteInputContext}
+   * @throws InvalidProtocolBufferException from errors during parsing context descriptor
    */
-  public void onInputContext(final ByteInputContext inputContext) {
-    throw new IllegalStateException("No logic here");
+  @Override
+  public void onInputContext(final ByteInputContext inputContext) throws InvalidProtocolBufferException {
+    final ByteTransferContextDescriptor descriptor = ByteTransferContextDescriptor.PARSER
+        .parseFrom(inputContext.getContextDescriptor());
+    final ByteTransferBlockDescriptor blockDescriptor = descriptor.getBlocks(0);
+    final String blockId = blockDescriptor.getBlockId();
+    final List<Serializable> keys = SerializationUtils.deserialize(blockDescriptor.getPartitionKeys().toByteArray());
+
+    backgroundExecutorService.submit(() -> {
+      try {
+        // The replica is never written to by this executor, thus no serializer is needed.
+        final SerializedMemoryBlock<Serializable> replica = new SerializedMemoryBlock<>(blockId, null);
+        final List<SerializedPartition<Serializable>> partitions = new ArrayList<>(keys.size());
+        final Iterator<InputStream> inputStreams = inputContext.getInputStreams();
+        for (final Serializable key : keys) {
+          final byte[] data = IOUtils.toByteArray(inputStreams.next());
+          partitions.add(new SerializedPartition<>(key, data, data.length));
+        }
+        replica.writeSerializedPartitions(partitions);
+        replica.commit();
+        replicas.put(blockId, replica);
+
+        persistentConnectionToMasterMap.getMessageSender(MessageEnvironment.BLOCK_MANAGER_MASTER_MESSAGE_LISTENER_ID)
+            .send(ControlMessage.Message.newBuilder()
+                .setId(RuntimeIdGenerator.generateMessageId())
+                .setListenerId(MessageEnvironment.BLOCK_MANAGER_MASTER_MESSAGE_LISTENER_ID)
+                .setType(ControlMessage.MessageType.BlockStateChanged)
+                .setBlockStateChangedMsg(ControlMessage.BlockStateChangedMsg.newBuilder()
+                    .setExecutorId(executorId)
+                    .setBlockId(blockId)
+                    .setState(ControlMessage.BlockStateFromExecutor.AVAILABLE)
+                    .setLocation(executorId)
+                    .setReplica(true))
+                .build());
+      } catch (final IOException | RuntimeException e) {
+        LOG.warn(String.format("Failed to receive a replica of %s", blockId), e);
+      }
+    });
   }
 
   //////////////////////////////////////////////////////////// Private helper methods
@@ -426,10 +576,22 @@ public final class BlockManagerWorker {
 
     // First, try to fetch the block from local BlockStore.
     final Optional<Block> optionalBlock = store.readBlock(blockId);
+    final SerializedMemoryBlock replica = replicas.get(blockId);
 
-    if (optionalBlock.isPresent()) {
-      final Iterable<NonSerializedPartition> partitions = optionalBlock.get().readPartitions(keyRange);
-      handleDataPersistence(blockStore, blockId);
+    if (optionalBlock.isPresent() || replica != null) {
+      final Iterable<NonSerializedPartition> partitions;
+      if (optionalBlock.isPresent()) {
+        partitions = optionalBlock.get().readPartitions(keyRange);
+        handleDataPersistence(blockStore, blockId);
+      } else {
+        // The replica has taken over the block, and is deserialized with the serializer of the edge.
+        try {
+          partitions = DataUtil.convertToNonSerPartitions(serializerManager.getSerializer(
+              RuntimeIdGenerator.getRuntimeEdgeIdFromBlockId(blockId)), replica.readSerializedPartitions(keyRange));
+        } catch (final IOException e) {
+          throw new BlockFetchException(e);
+        }
+      }
 
       // Block resides in this evaluator!
       try {
@@ -457,6 +619,236 @@ public final class BlockManagerWorker {
   }
 
 
+  /**
+   * Pushes a committed block to the executors chosen by the master, which keep the replicas of the block.
+   * The replication is asynchronous, and its failure only leaves the block with fewer replicas.
+   *
+   * @param block       the committed block.
+   * @param blockStore  the store of the block.
+   * @param numReplicas the number of replicas.
+   */
+  private void replicateBlock(final Block block,
+                              final DataStoreProperty.Value blockStore,
+                              final int numReplicas) {
+    final String blockId = block.getId();
+    persistentConnectionToMasterMap.getMessageSender(MessageEnvironment.BLOCK_MANAGER_MASTER_MESSAGE_LISTENER_ID)
+        .request(ControlMessage.Message.newBuilder()
+            .setId(RuntimeIdGenerator.generateMessageId())
+            .setListenerId(MessageEnvironment.BLOCK_MANAGER_MASTER_MESSAGE_LISTENER_ID)
+            .setType(ControlMessage.MessageType.RequestBlockReplicaTargets)
+            .setRequestBlockReplicaTargetsMsg(ControlMessage.RequestBlockReplicaTargetsMsg.newBuilder()
+                .setExecutorId(executorId)
+                .setBlockId(blockId)
+                .setNumReplicas(numReplicas))
+            .build())
+        .thenAcceptAsync(responseFromMaster -> {
+          final List<String> targetExecutorIds =
+              responseFromMaster.getBlockReplicaTargetsInfoMsg().getExecutorIdsList();
+          if (targetExecutorIds.size() < numReplicas) {
+            LOG.warn("Block {} has only {} of {} replicas",
+                new Object[]{blockId, targetExecutorIds.size(), numReplicas});
+          }
+
+          // Empty partitions are not pushed, as they cannot be told apart over the byte transport.
+          final ArrayList<Serializable> keys = new ArrayList<>();
+          final List<SerializedPartition> partitions = new ArrayList<>();
+          final Iterable<SerializedPartition> serializedPartitions = block.readSerializedPartitions(HashRange.all());
+          for (final SerializedPartition partition : serializedPartitions) {
+            if (partition.getLength() > 0) {
+              keys.add((Serializable) partition.getKey());
+              partitions.add(partition);
+            }
+          }
+          final ByteTransferContextDescriptor descriptor = ByteTransferContextDescriptor.newBuilder()
+              .setBlockStore(convertBlockStore(blockStore))
+              .setRuntimeEdgeId(RuntimeIdGenerator.getRuntimeEdgeIdFromBlockId(blockId))
+              .addBlocks(ByteTransferBlockDescriptor.newBuilder()
+                  .setBlockId(blockId)
+                  .setPartitionKeys(ByteString.copyFrom(SerializationUtils.serialize(keys))))
+              .build();
+
+          targetExecutorIds.forEach(targetExecutorId -> byteTransfer
+              .newOutputContext(targetExecutorId, descriptor.toByteArray())
+              .thenAcceptAsync(outputContext -> {
+                try {
+                  for (final SerializedPartition partition : partitions) {
+                    try (ByteOutputContext.ByteOutputStream os = outputContext.newOutputStream()) {
+                      os.writeSerializedPartition(partition);
+                    }
+                  }
+                  outputContext.close();
+                } catch (final IOException e) {
+                  outputContext.onChannelError(e);
+                  throw new BlockWriteException(e);
+                }
+              }, backgroundExecutorService)
+              .whenComplete((result, throwable) -> {
+                if (throwable != null) {
+                  LOG.warn(String.format("Failed to replicate %s to %s", blockId, targetExecutorId), throwable);
+                }
+              }));
+        }, backgroundExecutorService)
+        .whenComplete((result, throwable) -> {
+          if (throwable != null) {
+            LOG.warn(String.format("Failed to replicate %s", blockId), throwable);
+          }
+        });
+  }
+
+  /**
+   * Asks the master for the location of a block.
+   * (IMPORTANT): The response effectively blocks the TaskExecutor thread if the block is IN_PROGRESS.
+   * We use this property to make the receiver task of a 'push' edge to wait in an Executor for its input data
+   * to become available.
+   *
+   * @param blockId the ID of the block.
+   * @return the future of the ID of the executor which has the block, or {@link #REMOTE_FILE_STORE}.
+   */
+  private CompletableFuture<String> requestBlockLocation(final String blockId) {
+    final CompletableFuture<ControlMessage.Message> blockLocationFuture =
+        pendingBlockLocationRequest.computeIfAbsent(blockId, blockIdToRequest ->
+            persistentConnectionToMasterMap
+                .getMessageSender(MessageEnvironment.BLOCK_MANAGER_MASTER_MESSAGE_LISTENER_ID).request(
+                    ControlMessage.Message.newBuilder()
+                        .setId(RuntimeIdGenerator.generateMessageId())
+                        .setListenerId(MessageEnvironment.BLOCK_MANAGER_MASTER_MESSAGE_LISTENER_ID)
+                        .setType(ControlMessage.MessageType.RequestBlockLocation)
+                        .setRequestBlockLocationMsg(
+                            ControlMessage.RequestBlockLocationMsg.newBuilder()
+                                .setExecutorId(executorId)
+                                .setBlockId(blockId)
+                                .build())
+                        .build()));
+    blockLocationFuture.whenComplete((message, throwable) -> {
+      pendingBlockLocationRequest.remove(blockId);
+    });
+
+    return blockLocationFuture.thenApply(responseFromMaster -> {
+      if (responseFromMaster.getType() != ControlMessage.MessageType.BlockLocationInfo) {
+        throw new RuntimeException("Response message type mismatch!");
+      }
+
+      final ControlMessage.BlockLocationInfoMsg blockLocationInfoMsg =
+          responseFromMaster.getBlockLocationInfoMsg();
+      if (!blockLocationInfoMsg.hasOwnerExecutorId()) {
+        throw new BlockFetchException(new Throwable(
+            "Block " + blockId + " location unknown: "
+                + "The block state is " + blockLocationInfoMsg.getState()));
+      }
+      // This is the executor id that we wanted to know
+      return blockLocationInfoMsg.getOwnerExecutorId();
+    });
+  }
+
+  /**
+   * Fetches blocks from a remote executor over a single {@link ByteInputContext}.
+   *
+   * @param targetExecutorId the ID of the executor which has the blocks.
+   * @param blockIds         the IDs of the blocks.
+   * @param runtimeEdgeId    id of the runtime edge that corresponds to the blocks.
+   * @param blockStore       for the data storage.
+   * @param keyRange         the key range descriptor.
+   * @return the futures of the blocks, in the order of the given block IDs.
+   */
+  private List<CompletableFuture<DataUtil.IteratorWithNumBytes>> getDataFromRemoteBlocks(
+      final String targetExecutorId,
+      final List<String> blockIds,
+      final String runtimeEdgeId,
+      final DataStoreProperty.Value blockStore,
+      final KeyRange keyRange) {
+    final ByteString serializedKeyRange = ByteString.copyFrom(SerializationUtils.serialize(keyRange));
+    final ByteTransferContextDescriptor.Builder descriptorBuilder = ByteTransferContextDescriptor.newBuilder()
+        .setBlockStore(convertBlockStore(blockStore))
+        .setRuntimeEdgeId(runtimeEdgeId);
+    blockIds.forEach(blockId -> descriptorBuilder.addBlocks(ByteTransferBlockDescriptor.newBuilder()
+        .setBlockId(blockId)
+        .setKeyRange(serializedKeyRange)));
+    final ByteTransferContextDescriptor descriptor = descriptorBuilder.build();
+    final CompletableFuture<ByteInputContext> contextFuture = blockTransferThrottler
+        .requestTransferPermission(runtimeEdgeId)
+        .thenCompose(obj -> byteTransfer.newInputContext(targetExecutorId, descriptor.toByteArray()));
+
+    // whenComplete() ensures that blockTransferThrottler.onTransferFinished() is always called,
+    // even on failures. Actual failure handling and Task retry will be done by DataFetcher.
+    contextFuture.whenComplete((connectionContext, connectionThrowable) -> {
+      if (connectionThrowable != null) {
+        // Something wrong with the connection. Notify blockTransferThrottler immediately.
+        blockTransferThrottler.onTransferFinished(runtimeEdgeId);
+        if (RuntimeIdGenerator.isShuffleServiceId(targetExecutorId)) {
+          reportShuffleServiceLost(targetExecutorId, blockIds.get(0));
+        }
+      } else {
+        // Connection is okay. Notify blockTransferThrottler when the actual transfer is done, or fails.
+        connectionContext.getCompletedFuture().whenComplete((transferContext, transferThrowable) -> {
+          blockTransferThrottler.onTransferFinished(runtimeEdgeId);
+        });
+      }
+    });
+
+    final List<CompletableFuture<DataUtil.IteratorWithNumBytes>> blockFutures = new ArrayList<>(blockIds.size());
+    for (int blockIndex = 0; blockIndex < blockIds.size(); blockIndex++) {
+      blockFutures.add(new CompletableFuture<>());
+    }
+    contextFuture.whenComplete((context, throwable) -> {
+      if (throwable != null) {
+        blockFutures.forEach(blockFuture -> blockFuture.completeExceptionally(throwable));
+        return;
+      }
+      // The blocks not consumed yet should not wait forever if the transfer fails.
+      context.getCompletedFuture().whenComplete((streams, transferThrowable) -> {
+        if (transferThrowable != null) {
+          blockFutures.forEach(blockFuture -> blockFuture.completeExceptionally(transferThrowable));
+        }
+      });
+      final List<CompletableFuture<Iterator<InputStream>>> blockStreamsFutures =
+          GroupedBlockStreams.split(context.getInputStreams(), blockIds.size());
+      for (int blockIndex = 0; blockIndex < blockIds.size(); blockIndex++) {
+        completeWith(blockFutures.get(blockIndex), blockStreamsFutures.get(blockIndex)
+            .<DataUtil.IteratorWithNumBytes>thenApply(blockStreams -> new DataUtil.InputStreamIterator(blockStreams,
+                serializerManager.getSerializer(runtimeEdgeId))));
+      }
+    });
+    return blockFutures;
+  }
+
+  /**
+   * Reports that a shuffle service cannot be reached, so that the master recomputes all the blocks it owns.
+   *
+   * @param shuffleServiceId the ID of the shuffle service.
+   * @param blockId          the ID of a block failed to fetch from the shuffle service.
+   */
+  private void reportShuffleServiceLost(final String shuffleServiceId, final String blockId) {
+    LOG.warn("Cannot connect to {} for {}", shuffleServiceId, blockId);
+    persistentConnectionToMasterMap.getMessageSender(MessageEnvironment.BLOCK_MANAGER_MASTER_MESSAGE_LISTENER_ID)
+        .send(ControlMessage.Message.newBuilder()
+            .setId(RuntimeIdGenerator.generateMessageId())
+            .setListenerId(MessageEnvironment.BLOCK_MANAGER_MASTER_MESSAGE_LISTENER_ID)
+            .setType(ControlMessage.MessageType.BlockStateChanged)
+            .setBlockStateChangedMsg(ControlMessage.BlockStateChangedMsg.newBuilder()
+                .setExecutorId(executorId)
+                .setBlockId(blockId)
+                .setState(ControlMessage.BlockStateFromExecutor.NOT_AVAILABLE)
+                .setLocation(shuffleServiceId))
+            .build());
+  }
+
+  /**
+   * Completes a future with the result of another future.
+   *
+   * @param future the future to complete.
+   * @param source the future to take the result from.
+   * @param <T>    the type of the result.
+   */
+  private static <T> void completeWith(final CompletableFuture<T> future, final CompletableFuture<T> source) {
+    source.whenComplete((result, throwable) -> {
+      if (throwable != null) {
+        future.completeExceptionally(throwable);
+      } else {
+        future.complete(result);
+      }
+    });
+  }
+
   /**
    * Handles used {@link edu.snu.nemo.runtime.executor.data.block.Block}.
    *
@@ -61,6 +61,7 @@ public final class DataUtil {
     for (final Object element : nonSerializedPartition.getData()) {
       encoder.encode(element);
     }
+    encoder.flush();
   }
 
   /**
@@ -292,6 +293,12 @@ public final class DataUtil {
       }
       return numEncodedBytes;
     }
+
+    @Override
+    public long getNumEncodedBytesRead() {
+      final CountingInputStream currentStream = encodedCountingStream;
+      return numEncodedBytes + (currentStream == null ? 0 : currentStream.getCount());
+    }
   }
 
   /**
@@ -435,5 +442,15 @@ public final class DataUtil {
      * @throws IllegalStateException         when the information is not ready
      */
     long getNumEncodedBytes() throws NumBytesNotSupportedException;
+
+    /**
+     * Unlike {@link #getNumEncodedBytes()}, this method can be called in the middle of the iteration.
+     *
+     * @return the number of bytes in encoded form read so far, which includes the elements taken out of the iterator
+     * @throws NumBytesNotSupportedException when the operation is not supported
+     */
+    default long getNumEncodedBytesRead() throws NumBytesNotSupportedException {
+      throw new NumBytesNotSupportedException();
+    }
   }
 }
@@ -0,0 +1,199 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.executor.data;
+
+import edu.snu.nemo.runtime.executor.data.partition.SerializedPartition;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Appends data to the files in a local directory (disk) with a dedicated I/O thread, behind the writers.
+ * The data waiting to be written are bounded by the size of the write-behind buffer,
+ * and the writers block while the buffer is full.
+ * The I/O thread batches the pending appends to the same file into a single open of the file.
+ * Appends to the same file are applied in the order of the calls.
+ */
+@ThreadSafe
+public final class DiskWriter implements AutoCloseable {
+  private static final Logger LOG = LoggerFactory.getLogger(DiskWriter.class.getName());
+
+  private final int bufferBytes;
+  private final boolean sync;
+  private final Semaphore bufferPermits;
+  private final AtomicLong pendingBytes;
+  private final BlockingQueue<AppendRequest> requestQueue;
+  private final ExecutorService ioThread;
+
+  /**
+   * Constructor.
+   *
+   * @param directory   the directory that this writer writes to, used to name the I/O thread.
+   * @param bufferBytes the size of the write-behind buffer, in bytes.
+   * @param sync        whether to sync the files to the disk after each batch of appends.
+   */
+  public DiskWriter(final String directory, final int bufferBytes, final boolean sync) {
+    this.bufferBytes = bufferBytes;
+    this.sync = sync;
+    this.bufferPermits = new Semaphore(bufferBytes);
+    this.pendingBytes = new AtomicLong(0);
+    this.requestQueue = new LinkedBlockingQueue<>();
+    this.ioThread = Executors.newSingleThreadExecutor(new BasicThreadFactory.Builder()
+        .namingPattern("DiskWriter thread (" + directory.replace("%", "%%") + ")").daemon(true).build());
+    ioThread.execute(this::runIOLoop);
+  }
+
+  /**
+   * Appends the data of partitions to a file, after the data previously appended to the file.
+   * This method blocks while the write-behind buffer is full.
+   *
+   * @param filePath   the path of the file.
+   * @param partitions the committed partitions to append.
+   * @return the future completed when the data is written to the file.
+   * @throws IOException if the data of the partitions is not available.
+   */
+  public CompletableFuture<Void> append(final String filePath,
+                                        final List<? extends SerializedPartition<?>> partitions) throws IOException {
+    final List<byte[]> data = new ArrayList<>(partitions.size());
+    final int[] lengths = new int[partitions.size()];
+    long numBytes = 0;
+    for (int i = 0; i < partitions.size(); i++) {
+      data.add(partitions.get(i).getData());
+      lengths[i] = partitions.get(i).getLength();
+      numBytes += lengths[i];
+    }
+
+    // A request larger than the whole buffer takes the whole buffer.
+    final int permits = (int) Math.min(numBytes, bufferBytes);
+    try {
+      bufferPermits.acquire(permits);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    }
+    pendingBytes.addAndGet(numBytes);
+    final AppendRequest request = new AppendRequest(filePath, data, lengths, numBytes, permits);
+    requestQueue.add(request);
+    return request.future;
+  }
+
+  /**
+   * @return the number of bytes waiting to be written.
+   */
+  public long getPendingBytes() {
+    return pendingBytes.get();
+  }
+
+  /**
+   * Takes the pending appends and writes them, grouped by file.
+   */
+  private void runIOLoop() {
+    final List<AppendRequest> batch = new ArrayList<>();
+    while (!Thread.currentThread().isInterrupted()) {
+      try {
+        batch.add(requestQueue.take());
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+      requestQueue.drainTo(batch);
+
+      // The relative order of the appends to each file is preserved.
+      final Map<String, List<AppendRequest>> filePathToRequests = new LinkedHashMap<>();
+      batch.forEach(request -> filePathToRequests.computeIfAbsent(request.filePath, path -> new ArrayList<>())
+          .add(request));
+      filePathToRequests.forEach(this::write);
+      batch.clear();
+    }
+  }
+
+  /**
+   * Writes the appends to a file, and completes them.
+   *
+   * @param filePath the path of the file.
+   * @param requests the appends to the file.
+   */
+  private void write(final String filePath, final List<AppendRequest> requests) {
+    IOException exception = null;
+    try (final FileOutputStream fileOutputStream = new FileOutputStream(filePath, true)) {
+      for (final AppendRequest request : requests) {
+        for (int i = 0; i < request.data.size(); i++) {
+          fileOutputStream.write(request.data.get(i), 0, request.lengths[i]);
+        }
+      }
+      if (sync) {
+        fileOutputStream.getFD().sync();
+      }
+    } catch (final IOException e) {
+      LOG.error("Failed to write to " + filePath, e);
+      exception = e;
+    }
+
+    for (final AppendRequest request : requests) {
+      pendingBytes.addAndGet(-request.numBytes);
+      bufferPermits.release(request.permits);
+      if (exception == null) {
+        request.future.complete(null);
+      } else {
+        request.future.completeExceptionally(exception);
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    ioThread.shutdownNow();
+  }
+
+  /**
+   * An append of data to a file.
+   */
+  private static final class AppendRequest {
+    private final String filePath;
+    private final List<byte[]> data;
+    private final int[] lengths;
+    private final long numBytes;
+    private final int permits;
+    private final CompletableFuture<Void> future;
+
+    /**
+     * @param filePath the path of the file.
+     * @param data     the data to append.
+     * @param lengths  the length of each data.
+     * @param numBytes the total length of the data.
+     * @param permits  the size of the buffer taken by this append.
+     */
+    private AppendRequest(final String filePath,
+                          final List<byte[]> data,
+                          final int[] lengths,
+                          final long numBytes,
+                          final int permits) {
+      this.filePath = filePath;
+      this.data = data;
+      this.lengths = lengths;
+      this.numBytes = numBytes;
+      this.permits = permits;
+      this.future = new CompletableFuture<>();
+    }
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.executor.data;
+
+import edu.snu.nemo.runtime.executor.bytetransfer.ByteOutputContext;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Frames the blocks transferred back to back over a single byte transfer context.
+ * The streams of each block are preceded by a header stream, which holds the number of the streams.
+ * This lets the receiver give each block its own {@link Iterator} of {@link InputStream}s.
+ */
+final class GroupedBlockStreams {
+
+  /**
+   * Private constructor for utility class.
+   */
+  private GroupedBlockStreams() {
+  }
+
+  /**
+   * Writes the header of a block, which should be followed by the streams of the block.
+   *
+   * @param outputContext the context to write to.
+   * @param numStreams    the number of the streams of the block.
+   * @throws IOException if fail to write.
+   */
+  static void writeHeader(final ByteOutputContext outputContext, final int numStreams) throws IOException {
+    try (ByteOutputContext.ByteOutputStream os = outputContext.newOutputStream()) {
+      new DataOutputStream(os).writeInt(numStreams);
+    }
+  }
+
+  /**
+   * Splits the streams received over a context into the streams of each block.
+   * As the streams can only be consumed in order, the streams of a block become available
+   * once the streams of the previous block have been consumed.
+   *
+   * @param contextStreams the streams received over the context.
+   * @param numBlocks      the number of the blocks transferred over the context.
+   * @return the futures of the streams of the blocks, in the order of transfer.
+   */
+  static List<CompletableFuture<Iterator<InputStream>>> split(final Iterator<InputStream> contextStreams,
+                                                              final int numBlocks) {
+    final List<CompletableFuture<Iterator<InputStream>>> blockStreamsFutures = new ArrayList<>(numBlocks);
+    for (int blockIndex = 0; blockIndex < numBlocks; blockIndex++) {
+      blockStreamsFutures.add(new CompletableFuture<>());
+    }
+    if (numBlocks > 0) {
+      completeBlockStreams(blockStreamsFutures, 0, contextStreams);
+    }
+    return blockStreamsFutures;
+  }
+
+  /**
+   * Completes the future of the streams of a block,
+   * and arranges the future of the next block to be completed once the block has been consumed.
+   *
+   * @param blockStreamsFutures the futures of the streams of the blocks.
+   * @param blockIndex          the index of the block to complete the future of.
+   * @param contextStreams      the streams received over the context, positioned at the header of the block.
+   */
+  private static void completeBlockStreams(final List<CompletableFuture<Iterator<InputStream>>> blockStreamsFutures,
+                                           final int blockIndex,
+                                           final Iterator<InputStream> contextStreams) {
+    final Runnable onConsumed = blockIndex + 1 < blockStreamsFutures.size()
+        ? () -> completeBlockStreams(blockStreamsFutures, blockIndex + 1, contextStreams)
+        : () -> { };
+    blockStreamsFutures.get(blockIndex).complete(new BlockStreams(contextStreams, onConsumed));
+  }
+
+  /**
+   * The streams of a block, which reads its header lazily.
+   */
+  private static final class BlockStreams implements Iterator<InputStream> {
+    private final Iterator<InputStream> contextStreams;
+    private final Runnable onConsumed;
+    private int numRemainingStreams = -1;
+    private boolean consumed = false;
+
+    /**
+     * @param contextStreams the streams received over the context, positioned at the header of the block.
+     * @param onConsumed     the action to run once all the streams of the block have been taken and the next
+     *                       stream is asked for, which means the last stream of the block has been consumed.
+     */
+    private BlockStreams(final Iterator<InputStream> contextStreams, final Runnable onConsumed) {
+      this.contextStreams = contextStreams;
+      this.onConsumed = onConsumed;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (numRemainingStreams < 0) {
+        if (!contextStreams.hasNext()) {
+          throw new IllegalStateException("The header of a block is missing");
+        }
+        try {
+          numRemainingStreams = new DataInputStream(contextStreams.next()).readInt();
+        } catch (final IOException e) {
+          throw new RuntimeException(e);
+        }
+      }
+      if (numRemainingStreams == 0 && !consumed) {
+        consumed = true;
+        onConsumed.run();
+      }
+      return numRemainingStreams > 0;
+    }
+
+    @Override
+    public InputStream next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      numRemainingStreams--;
+      return contextStreams.next();
+    }
+  }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.executor.data;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import edu.snu.nemo.conf.JobConf;
+import edu.snu.nemo.runtime.common.RuntimeIdGenerator;
+import edu.snu.nemo.runtime.common.comm.ControlMessage;
+import edu.snu.nemo.runtime.common.comm.ControlMessage.ByteTransferBlockDescriptor;
+import edu.snu.nemo.runtime.common.comm.ControlMessage.ByteTransferContextDescriptor;
+import edu.snu.nemo.runtime.common.data.KeyRange;
+import edu.snu.nemo.runtime.executor.bytetransfer.ByteInputContext;
+import edu.snu.nemo.runtime.executor.bytetransfer.ByteOutputContext;
+import edu.snu.nemo.runtime.executor.bytetransfer.ByteTransfer;
+import edu.snu.nemo.runtime.executor.bytetransfer.ByteTransferContextHandler;
+import edu.snu.nemo.runtime.executor.data.block.FileBlock;
+import edu.snu.nemo.runtime.executor.data.metadata.RemoteFileMetadata;
+import org.apache.commons.lang3.SerializationUtils;
+import org.apache.reef.io.network.naming.LocalNameResolverConfiguration;
+import org.apache.reef.io.network.util.StringIdentifierFactory;
+import org.apache.reef.tang.*;
+import org.apache.reef.tang.annotations.Parameter;
+import org.apache.reef.tang.exceptions.InjectionException;
+import org.apache.reef.tang.formats.CommandLine;
+import org.apache.reef.wake.IdentifierFactory;
+import org.apache.reef.wake.remote.address.LocalAddressProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.ThreadSafe;
+import javax.inject.Inject;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves the blocks in the local files of a node, independently of the executors which wrote them.
+ * The executors using the shuffle service write the metadata of their {@link LocalFileStore} blocks to files,
+ * and hand the blocks over to the shuffle service of their node when committed.
+ * The shuffle service finds a requested block in the directories of {@link JobConf.FileDirectory} by its ID,
+ * and sends the {@link FileArea}s of the block as the executors do.
+ * When the job of the blocks finishes, the master has an executor ask the shuffle service to delete their files.
+ * It runs as a separate process on each node with {@link #main(String[])},
+ * or in the same process for tests with {@link #start(Configuration)}.
+ */
+@ThreadSafe
+public final class ShuffleService implements ByteTransferContextHandler, AutoCloseable {
+  private static final Logger LOG = LoggerFactory.getLogger(ShuffleService.class.getName());
+
+  private final String[] fileDirectories;
+  private final ExecutorService backgroundExecutorService;
+  private final InjectionFuture<ByteTransfer> byteTransfer;
+
+  /**
+   * Constructor.
+   *
+   * @param fileDirectories the comma-separated directories to serve the blocks in.
+   * @param numThreads      the number of threads to read the blocks with.
+   * @param byteTransfer    the byte transfer, which listens to the port of the shuffle service.
+   */
+  @Inject
+  private ShuffleService(@Parameter(JobConf.FileDirectory.class) final String fileDirectories,
+                         @Parameter(JobConf.IORequestHandleThreadsTotal.class) final int numThreads,
+                         final InjectionFuture<ByteTransfer> byteTransfer) {
+    this.fileDirectories = fileDirectories.split(",");
+    for (int i = 0; i < this.fileDirectories.length; i++) {
+      this.fileDirectories[i] = this.fileDirectories[i].trim();
+    }
+    this.backgroundExecutorService = Executors.newFixedThreadPool(numThreads);
+    this.byteTransfer = byteTransfer;
+  }
+
+  /**
+   * Starts a shuffle service, which listens to the port of {@link JobConf.ShuffleServicePort}.
+   *
+   * @param configuration the configuration with the port and the directories of the shuffle service.
+   * @return the started shuffle service.
+   * @throws InjectionException if the configuration is incomplete.
+   */
+  public static ShuffleService start(final Configuration configuration) throws InjectionException {
+    final Injector injector = Tang.Factory.getTang().newInjector(configuration);
+    final int port = injector.getNamedInstance(JobConf.ShuffleServicePort.class);
+    if (port <= 0) {
+      throw new IllegalArgumentException("The port of the shuffle service must be positive: " + port);
+    }
+    final String host = injector.getInstance(LocalAddressProvider.class).getLocalAddress();
+
+    final Configuration serviceConfiguration = Configurations.merge(configuration,
+        LocalNameResolverConfiguration.CONF.build(),
+        Tang.Factory.getTang().newConfigurationBuilder()
+            .bindImplementation(IdentifierFactory.class, StringIdentifierFactory.class)
+            .bindImplementation(ByteTransferContextHandler.class, ShuffleService.class)
+            .bindNamedParameter(JobConf.ExecutorId.class, RuntimeIdGenerator.generateShuffleServiceId(host, port))
+            .bindNamedParameter(JobConf.PartitionTransportServerPort.class, String.valueOf(port))
+            .build());
+    final Injector serviceInjector = Tang.Factory.getTang().newInjector(serviceConfiguration);
+    final ShuffleService shuffleService = serviceInjector.getInstance(ShuffleService.class);
+    // Start listening.
+    serviceInjector.getInstance(ByteTransfer.class);
+    LOG.info("Shuffle service started at {}:{}, serving {}",
+        host, port, String.join(",", shuffleService.fileDirectories));
+    return shuffleService;
+  }
+
+  /**
+   * Starts a shuffle service, which runs until the process is terminated.
+   *
+   * @param args the command line arguments, e.g., -shuffle_service_port 7338 -file_dir /data0/nemo,/data1/nemo
+   * @throws Exception exception while parsing the arguments or starting the shuffle service.
+   */
+  public static void main(final String[] args) throws Exception {
+    final JavaConfigurationBuilder confBuilder = Tang.Factory.getTang().newConfigurationBuilder();
+    final CommandLine cl = new CommandLine(confBuilder);
+    cl.registerShortNameOfClass(JobConf.ShuffleServicePort.class);
+    cl.registerShortNameOfClass(JobConf.FileDirectory.class);
+    cl.registerShortNameOfClass(JobConf.IORequestHandleThreadsTotal.class);
+    cl.processCommandLine(args);
+
+    final ShuffleService shuffleService = start(confBuilder.build());
+    Runtime.getRuntime().addShutdownHook(new Thread(shuffleService::close));
+  }
+
+  /**
+   * Responds to a block request by an executor.
+   *
+   * @param outputContext {@link ByteOutputContext}
+   * @throws InvalidProtocolBufferException from errors during parsing context descriptor
+   */
+  @Override
+  public void onOutputContext(final ByteOutputContext outputContext) throws InvalidProtocolBufferException {
+    final ByteTransferContextDescriptor descriptor = ByteTransferContextDescriptor.PARSER
+        .parseFrom(outputContext.getContextDescriptor());
+    if (descriptor.getBlockStore() != ControlMessage.BlockStore.LOCAL_FILE) {
+      outputContext.onChannelError(new IllegalArgumentException(
+          "The shuffle service only serves local file blocks: " + descriptor.getBlockStore()));
+      return;
+    }
+    if (descriptor.getRemoveBlocks()) {
+      backgroundExecutorService.submit(() -> {
+        try {
+          for (final ByteTransferBlockDescriptor blockDescriptor : descriptor.getBlocksList()) {
+            deleteFiles(blockDescriptor.getBlockId());
+          }
+          outputContext.close();
+        } catch (final IOException e) {
+          LOG.error("Closing a block removal request exceptionally", e);
+          outputContext.onChannelError(e);
+        }
+      });
+      return;
+    }
+
+    backgroundExecutorService.submit(() -> {
+      try {
+        // Stream the requested blocks back to back.
+        for (final ByteTransferBlockDescriptor blockDescriptor : descriptor.getBlocksList()) {
+          final KeyRange keyRange = SerializationUtils.deserialize(blockDescriptor.getKeyRange().toByteArray());
+          final List<FileArea> fileAreas = getFileAreas(blockDescriptor.getBlockId(), keyRange);
+          GroupedBlockStreams.writeHeader(outputContext, fileAreas.size());
+          for (final FileArea fileArea : fileAreas) {
+            try (ByteOutputContext.ByteOutputStream os = outputContext.newOutputStream()) {
+              os.writeFileArea(fileArea);
+            }
+          }
+        }
+        outputContext.close();
+      } catch (final IOException e) {
+        LOG.error("Closing a block request exceptionally", e);
+        outputContext.onChannelError(e);
+      }
+    });
+  }
+
+  /**
+   * The shuffle service does not receive any data.
+   *
+   * @param inputContext {@link ByteInputContext}
+   */
+  @Override
+  public void onInputContext(final ByteInputContext inputContext) {
+    throw new IllegalStateException("No logic here");
+  }
+
+  /**
+   * Stops listening and serving the blocks.
+   */
+  @Override
+  public void close() {
+    byteTransfer.get().close();
+    backgroundExecutorService.shutdown();
+  }
+
+  /**
+   * Deletes the data and metadata files of a block, if any.
+   *
+   * @param blockId the ID of the block.
+   * @throws IOException if a file exists but cannot be deleted.
+   */
+  private void deleteFiles(final String blockId) throws IOException {
+    for (final String fileDirectory : fileDirectories) {
+      Files.deleteIfExists(Paths.get(DataUtil.blockIdToMetaFilePath(blockId, fileDirectory)));
+      Files.deleteIfExists(Paths.get(DataUtil.blockIdToFilePath(blockId, fileDirectory)));
+    }
+  }
+
+  /**
+   * @param blockId  the ID of the block.
+   * @param keyRange the key range to read.
+   * @return the file areas of the block in the key range.
+   * @throws IOException if the block is not found, or its metadata cannot be read.
+   */
+  private List<FileArea> getFileAreas(final String blockId, final KeyRange keyRange) throws IOException {
+    for (final String fileDirectory : fileDirectories) {
+      final String filePath = DataUtil.blockIdToFilePath(blockId, fileDirectory);
+      final String metaFilePath = DataUtil.blockIdToMetaFilePath(blockId, fileDirectory);
+      if (new File(filePath).isFile() && new File(metaFilePath).isFile()) {
+        // The data are not deserialized, thus no serializer is needed.
+        return new FileBlock<>(blockId, null, filePath, RemoteFileMetadata.open(metaFilePath)).asFileAreas(keyRange);
+      }
+    }
+    throw new IOException(String.format("Block %s not found in the shuffle service", blockId));
+  }
+}
@@ -27,11 +27,14 @@ import edu.snu.nemo.runtime.executor.data.streamchainer.Serializer;
 import edu.snu.nemo.runtime.executor.data.metadata.PartitionMetadata;
 import edu.snu.nemo.runtime.executor.data.metadata.FileMetadata;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 /**
  * This class represents a block which is stored in (local or remote) file.
@@ -47,6 +50,9 @@ public final class FileBlock<K extends Serializable> implements Block<K> {
   private final Serializer serializer;
   private final String filePath;
   private final FileMetadata<K> metadata;
+  // Writes the data behind this block if not null. The data are written synchronously otherwise.
+  @Nullable private final DiskWriter diskWriter;
+  private final List<CompletableFuture<Void>> pendingWrites;
 
   /**
    * Constructor.
@@ -60,11 +66,30 @@ public final class FileBlock<K extends Serializable> implements Block<K> {
                    final Serializer serializer,
                    final String filePath,
                    final FileMetadata<K> metadata) {
+    this(blockId, serializer, filePath, metadata, null);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param blockId    the ID of this block.
+   * @param serializer the {@link Serializer}.
+   * @param filePath   the path of the file that this block will be stored.
+   * @param metadata   the metadata for this block.
+   * @param diskWriter the {@link DiskWriter} to write the data of this block behind, or null to write synchronously.
+   */
+  public FileBlock(final String blockId,
+                   final Serializer serializer,
+                   final String filePath,
+                   final FileMetadata<K> metadata,
+                   @Nullable final DiskWriter diskWriter) {
     this.id = blockId;
     this.nonCommittedPartitionsMap = new HashMap<>();
     this.serializer = serializer;
     this.filePath = filePath;
     this.metadata = metadata;
+    this.diskWriter = diskWriter;
+    this.pendingWrites = new ArrayList<>();
   }
 
   /**
@@ -77,6 +102,17 @@ public final class FileBlock<K extends Serializable> implements Block<K> {
    */
   private void writeToFile(final Iterable<SerializedPartition<K>> serializedPartitions)
       throws IOException {
+    if (diskWriter != null) {
+      final List<SerializedPartition<K>> partitionsToWrite = new ArrayList<>();
+      for (final SerializedPartition<K> serializedPartition : serializedPartitions) {
+        // Reserve a partition write and get the metadata.
+        metadata.writePartitionMetadata(serializedPartition.getKey(), serializedPartition.getLength());
+        partitionsToWrite.add(serializedPartition);
+      }
+      pendingWrites.add(diskWriter.append(filePath, partitionsToWrite));
+      return;
+    }
+
     try (final FileOutputStream fileOutputStream = new FileOutputStream(filePath, true)) {
       for (final SerializedPartition<K> serializedPartition : serializedPartitions) {
         // Reserve a partition write and get the metadata.
@@ -292,6 +328,9 @@ public final class FileBlock<K extends Serializable> implements Block<K> {
    * @throws IOException if failed to delete.
    */
   public void deleteFile() throws IOException {
+    // Wait for the data written behind this block, whether or not it succeeds, not to write after the deletion.
+    pendingWrites.forEach(pendingWrite -> pendingWrite.handle((result, throwable) -> null).join());
+    pendingWrites.clear();
     metadata.deleteMetadata();
     if (new File(filePath).exists()) {
       Files.delete(Paths.get(filePath));
@@ -309,6 +348,8 @@ public final class FileBlock<K extends Serializable> implements Block<K> {
     try {
       if (!metadata.isCommitted()) {
         commitPartitions();
+        // The data have to be in the file before the block is read.
+        waitForPendingWrites();
         metadata.commitBlock();
       }
       final List<PartitionMetadata<K>> partitionMetadataList = metadata.getPartitionMetadataList();
@@ -348,6 +389,26 @@ public final class FileBlock<K extends Serializable> implements Block<K> {
     }
   }
 
+  /**
+   * Waits until the data written behind this block are in the file.
+   *
+   * @throws IOException if failed to write the data.
+   */
+  private void waitForPendingWrites() throws IOException {
+    try {
+      for (final CompletableFuture<Void> pendingWrite : pendingWrites) {
+        pendingWrite.get();
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (final ExecutionException e) {
+      throw new IOException(e.getCause());
+    } finally {
+      pendingWrites.clear();
+    }
+  }
+
   /**
    * @return the ID of this block.
    */
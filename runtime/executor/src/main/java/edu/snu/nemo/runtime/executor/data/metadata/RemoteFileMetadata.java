@@ -21,6 +21,7 @@ import javax.annotation.concurrent.ThreadSafe;
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -69,12 +70,15 @@ public final class RemoteFileMetadata<K extends Serializable> extends FileMetada
   /**
    * Write the collected {@link PartitionMetadata}s to the metadata file.
    * Notifies that all writes are finished for the block corresponding to this metadata.
+   * The metadata file is written aside and then atomically moved in place, so that the existence of the file
+   * guarantees a complete block (e.g., for the checkpointed blocks a resumed job reads).
    */
   @Override
   public synchronized void commitBlock() throws IOException {
     final Iterable<PartitionMetadata<K>> partitionMetadataItr = getPartitionMetadataList();
+    final String tmpMetaFilePath = metaFilePath + ".tmp";
     try (
-        final FileOutputStream metafileOutputStream = new FileOutputStream(metaFilePath, false);
+        final FileOutputStream metafileOutputStream = new FileOutputStream(tmpMetaFilePath, false);
         final DataOutputStream dataOutputStream = new DataOutputStream(metafileOutputStream)
     ) {
       for (PartitionMetadata<K> partitionMetadata : partitionMetadataItr) {
@@ -84,7 +88,11 @@ public final class RemoteFileMetadata<K extends Serializable> extends FileMetada
         dataOutputStream.writeInt(partitionMetadata.getPartitionSize());
         dataOutputStream.writeLong(partitionMetadata.getOffset());
       }
+      dataOutputStream.flush();
+      metafileOutputStream.getFD().sync();
     }
+    Files.move(Paths.get(tmpMetaFilePath), Paths.get(metaFilePath),
+        StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
     setCommitted(true);
   }
 
@@ -105,6 +105,7 @@ public final class SerializedPartition<K> implements Partition<byte[], K> {
   @Override
   public void commit() throws IOException {
     if (!committed) {
+      encoder.flush();
       // We need to close wrappedStream on here, because DirectByteArrayOutputStream:getBufDirectly() returns
       // inner buffer directly, which can be an unfinished(not flushed) buffer.
       wrappedStream.close();
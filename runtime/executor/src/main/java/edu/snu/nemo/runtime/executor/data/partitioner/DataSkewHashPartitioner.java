@@ -24,7 +24,7 @@ import java.math.BigInteger;
 /**
  * An implementation of {@link Partitioner} which hashes output data from a source task appropriate to detect data skew.
  * It hashes data finer than {@link HashPartitioner}.
- * The elements will be hashed by their key, and applied "modulo" operation.
+ * The elements will be hashed by their key, mixed by {@link MurmurHash3}, and applied "modulo" operation.
  *
  * When we need to split or recombine the output data from a task after it is stored,
  * we multiply the hash range with a multiplier, which is commonly-known by the source and destination tasks,
@@ -36,6 +36,7 @@ public final class DataSkewHashPartitioner implements Partitioner<Integer> {
   private final KeyExtractor keyExtractor;
   private final BigInteger hashRangeBase;
   private final int hashRange;
+  private final Integer[] partitionKeys;
 
   /**
    * Constructor.
@@ -52,6 +53,7 @@ public final class DataSkewHashPartitioner implements Partitioner<Integer> {
     // For actual hash range to use, we calculate a prime number right next to the desired hash range.
     this.hashRangeBase = new BigInteger(String.valueOf(dstParallelism * hashRangeMultiplier));
     this.hashRange = hashRangeBase.nextProbablePrime().intValue();
+    this.partitionKeys = MurmurHash3.boxedIndices(hashRange);
     LOG.info("hashRangeBase {} resulting hashRange {}", hashRangeBase, hashRange);
   }
 
@@ -60,6 +62,14 @@ public final class DataSkewHashPartitioner implements Partitioner<Integer> {
    */
   @Override
   public Integer partition(final Object element) {
-    return Math.abs(keyExtractor.extractKey(element).hashCode() % hashRange);
+    return partitionKeys[partitionIndex(element)];
+  }
+
+  /**
+   * @param element the output element from a source task.
+   * @return the hash index of the element in the hash range, without boxing it.
+   */
+  public int partitionIndex(final Object element) {
+    return MurmurHash3.partitionIndex(keyExtractor.extractKey(element), hashRange);
   }
 }
@@ -21,10 +21,12 @@ import edu.snu.nemo.common.KeyExtractor;
  * An implementation of {@link Partitioner} which hashes output data from a source task
  * according to the key of elements.
  * The data will be hashed by their key, and applied "modulo" operation by the number of destination tasks.
+ * The hash codes of the keys are mixed by {@link MurmurHash3} beforehand, so that poor hash codes are spread evenly.
  */
 public final class HashPartitioner implements Partitioner<Integer> {
   private final KeyExtractor keyExtractor;
   private final int dstParallelism;
+  private final Integer[] partitionKeys;
 
   /**
    * Constructor.
@@ -36,10 +38,19 @@ public final class HashPartitioner implements Partitioner<Integer> {
                          final KeyExtractor keyExtractor) {
     this.keyExtractor = keyExtractor;
     this.dstParallelism = dstParallelism;
+    this.partitionKeys = MurmurHash3.boxedIndices(dstParallelism);
   }
 
   @Override
   public Integer partition(final Object element) {
-    return Math.abs(keyExtractor.extractKey(element).hashCode() % dstParallelism);
+    return partitionKeys[partitionIndex(element)];
+  }
+
+  /**
+   * @param element the output element from a source task.
+   * @return the index of the destination task of the element, without boxing it.
+   */
+  public int partitionIndex(final Object element) {
+    return MurmurHash3.partitionIndex(keyExtractor.extractKey(element), dstParallelism);
   }
 }
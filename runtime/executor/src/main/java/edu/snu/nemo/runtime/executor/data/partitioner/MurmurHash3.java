@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.executor.data.partitioner;
+
+/**
+ * Hashes the keys of elements for the hash partitioners.
+ * The hash code of a key is mixed with the finalizer of MurmurHash3, so that every bit of the hash code
+ * affects the partition of the key. Otherwise, keys whose hash codes share their low bits or
+ * have a common divisor with the number of partitions (e.g., sequential numbers or strings of a fixed pattern)
+ * all end up in a few partitions.
+ */
+public final class MurmurHash3 {
+  /**
+   * Private constructor for utility class.
+   */
+  private MurmurHash3() {
+  }
+
+  /**
+   * The 32-bit finalizer of MurmurHash3, which is a bijection that avalanches all the bits of the input.
+   *
+   * @param hash the hash to mix.
+   * @return the mixed hash.
+   */
+  public static int mix(final int hash) {
+    int h = hash;
+    h ^= h >>> 16;
+    h *= 0x85ebca6b;
+    h ^= h >>> 13;
+    h *= 0xc2b2ae35;
+    h ^= h >>> 16;
+    return h;
+  }
+
+  /**
+   * @param key   the key to hash.
+   * @param range the number of partitions.
+   * @return the index of the partition of the key, in [0, range).
+   */
+  public static int partitionIndex(final Object key, final int range) {
+    return (mix(key.hashCode()) & Integer.MAX_VALUE) % range;
+  }
+
+  /**
+   * @param range the number of partitions.
+   * @return the boxed indices of the partitions, which the partitioners return instead of boxing an index
+   *         for every element.
+   */
+  static Integer[] boxedIndices(final int range) {
+    final Integer[] indices = new Integer[range];
+    for (int i = 0; i < range; i++) {
+      indices[i] = i;
+    }
+    return indices;
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.executor.data.partitioner;
+
+import edu.snu.nemo.common.KeyExtractor;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * An implementation of {@link Partitioner} which partitions output data from a source task
+ * by the ranges of their keys, according to the given split points.
+ * Partition i holds the keys in [split point i-1, split point i), so that the partitions are ordered by their keys.
+ * The keys should be {@link Comparable}.
+ */
+public final class RangePartitioner implements Partitioner<Integer> {
+  private static final Comparator<Object> KEY_COMPARATOR = (k1, k2) -> ((Comparable) k1).compareTo(k2);
+  private final KeyExtractor keyExtractor;
+  private final List<Object> splitPoints;
+  private final Integer[] partitionKeys;
+
+  /**
+   * Constructor.
+   *
+   * @param splitPoints  the sorted split points between the partitions.
+   * @param keyExtractor the key extractor that extracts keys from elements.
+   */
+  public RangePartitioner(final List<Object> splitPoints,
+                          final KeyExtractor keyExtractor) {
+    this.keyExtractor = keyExtractor;
+    this.splitPoints = splitPoints;
+    this.partitionKeys = MurmurHash3.boxedIndices(splitPoints.size() + 1);
+  }
+
+  @Override
+  public Integer partition(final Object element) {
+    final int index = Collections.binarySearch(splitPoints, keyExtractor.extractKey(element), KEY_COMPARATOR);
+    // A key equal to a split point starts the partition after it.
+    return partitionKeys[index >= 0 ? index + 1 : -(index + 1)];
+  }
+}
@@ -21,33 +21,77 @@ import edu.snu.nemo.conf.JobConf;
 import edu.snu.nemo.runtime.executor.data.*;
 import edu.snu.nemo.runtime.executor.data.block.Block;
 import edu.snu.nemo.runtime.executor.data.streamchainer.Serializer;
+import edu.snu.nemo.runtime.executor.data.metadata.FileMetadata;
 import edu.snu.nemo.runtime.executor.data.metadata.LocalFileMetadata;
+import edu.snu.nemo.runtime.executor.data.metadata.RemoteFileMetadata;
 import edu.snu.nemo.runtime.executor.data.block.FileBlock;
 import org.apache.reef.tang.annotations.Parameter;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 import javax.inject.Inject;
 import java.io.*;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Stores blocks in local files.
+ * The blocks are striped over the local file directories (e.g., one for each local disk),
+ * and the data of the blocks are written behind the tasks by an I/O thread for each directory.
+ * If the shuffle service is used, the metadata of the blocks are also written to files,
+ * so that the shuffle service can serve the blocks without this store.
  */
 @ThreadSafe
-public final class LocalFileStore extends LocalBlockStore {
-  private final String fileDirectory;
+public final class LocalFileStore extends LocalBlockStore implements AutoCloseable {
+  private static final String LEAST_USED_STRIPING = "LeastUsed";
+
+  private final String[] fileDirectories;
+  private final boolean leastUsedStriping;
+  private final boolean writeMetadataFiles;
+  // The I/O thread of each directory. Null if the data are written on the task threads.
+  @Nullable private final DiskWriter[] diskWriters;
+  // The total size of the files of the blocks written to each directory.
+  private final AtomicLong[] usedBytesPerDirectory;
+  private final AtomicInteger nextDirectoryIndex;
+  private final Map<String, Integer> blockIdToDirectoryIndex;
 
   /**
    * Constructor.
    *
-   * @param fileDirectory the directory which will contain the files.
-   * @param serializerManager  the serializer manager.
+   * @param fileDirectories   the comma-separated directories which will contain the files.
+   * @param fileStriping      how to choose the directory for each block.
+   * @param writeBehindMb     the size of the write-behind buffer for each directory, 0 to write synchronously.
+   * @param sync              whether to sync the files to the disk after writes.
+   * @param shuffleServicePort the port of the shuffle service, 0 if not used.
+   * @param serializerManager the serializer manager.
    */
   @Inject
-  private LocalFileStore(@Parameter(JobConf.FileDirectory.class) final String fileDirectory,
+  private LocalFileStore(@Parameter(JobConf.FileDirectory.class) final String fileDirectories,
+                         @Parameter(JobConf.FileStriping.class) final String fileStriping,
+                         @Parameter(JobConf.FileWriteBehindMb.class) final int writeBehindMb,
+                         @Parameter(JobConf.FileSync.class) final boolean sync,
+                         @Parameter(JobConf.ShuffleServicePort.class) final int shuffleServicePort,
                          final SerializerManager serializerManager) {
     super(serializerManager);
-    this.fileDirectory = fileDirectory;
-    new File(fileDirectory).mkdirs();
+    this.fileDirectories = fileDirectories.split(",");
+    this.leastUsedStriping = LEAST_USED_STRIPING.equals(fileStriping);
+    this.writeMetadataFiles = shuffleServicePort > 0;
+    this.diskWriters = writeBehindMb > 0 ? new DiskWriter[this.fileDirectories.length] : null;
+    this.usedBytesPerDirectory = new AtomicLong[this.fileDirectories.length];
+    this.nextDirectoryIndex = new AtomicInteger(0);
+    this.blockIdToDirectoryIndex = new ConcurrentHashMap<>();
+    for (int i = 0; i < this.fileDirectories.length; i++) {
+      this.fileDirectories[i] = this.fileDirectories[i].trim();
+      new File(this.fileDirectories[i]).mkdirs();
+      usedBytesPerDirectory[i] = new AtomicLong(0);
+      if (diskWriters != null) {
+        // The semaphore of the writer counts the bytes in an int.
+        final int bufferBytes = (int) Math.min(writeBehindMb * 1024L * 1024L, Integer.MAX_VALUE);
+        diskWriters[i] = new DiskWriter(this.fileDirectories[i], bufferBytes, sync);
+      }
+    }
   }
 
   /**
@@ -58,9 +102,14 @@ public final class LocalFileStore extends LocalBlockStore {
     deleteBlock(blockId);
 
     final Serializer serializer = getSerializerFromWorker(blockId);
-    final LocalFileMetadata metadata = new LocalFileMetadata();
+    final int directoryIndex = selectDirectory();
+    blockIdToDirectoryIndex.put(blockId, directoryIndex);
+    final FileMetadata metadata = writeMetadataFiles
+        ? RemoteFileMetadata.create(DataUtil.blockIdToMetaFilePath(blockId, fileDirectories[directoryIndex]))
+        : new LocalFileMetadata();
 
-    return new FileBlock(blockId, serializer, DataUtil.blockIdToFilePath(blockId, fileDirectory), metadata);
+    return new FileBlock(blockId, serializer, DataUtil.blockIdToFilePath(blockId, fileDirectories[directoryIndex]),
+        metadata, diskWriters == null ? null : diskWriters[directoryIndex]);
   }
 
   /**
@@ -78,6 +127,10 @@ public final class LocalFileStore extends LocalBlockStore {
       throw new BlockWriteException(new Throwable("The block " + block.getId() + "is not committed yet."));
     } else {
       getBlockMap().put(block.getId(), block);
+      final Integer directoryIndex = blockIdToDirectoryIndex.get(block.getId());
+      if (directoryIndex != null) {
+        usedBytesPerDirectory[directoryIndex].addAndGet(getFileSize(block.getId(), directoryIndex));
+      }
     }
   }
 
@@ -93,6 +146,10 @@ public final class LocalFileStore extends LocalBlockStore {
     if (fileBlock == null) {
       return false;
     }
+    final Integer directoryIndex = blockIdToDirectoryIndex.remove(blockId);
+    if (directoryIndex != null) {
+      usedBytesPerDirectory[directoryIndex].addAndGet(-getFileSize(blockId, directoryIndex));
+    }
     try {
       fileBlock.deleteFile();
     } catch (final IOException e) {
@@ -100,4 +157,80 @@ public final class LocalFileStore extends LocalBlockStore {
     }
     return true;
   }
+
+  /**
+   * Forgets a block whose files are deleted by the shuffle service, without touching the files.
+   *
+   * @param blockId the ID of the block.
+   * @return whether the block was in this store.
+   */
+  public boolean forgetBlock(final String blockId) {
+    if (getBlockMap().remove(blockId) == null) {
+      return false;
+    }
+    final Integer directoryIndex = blockIdToDirectoryIndex.remove(blockId);
+    if (directoryIndex != null) {
+      usedBytesPerDirectory[directoryIndex].addAndGet(-getFileSize(blockId, directoryIndex));
+    }
+    return true;
+  }
+
+  /**
+   * @return the total size of the files of the blocks in this store, in bytes.
+   */
+  public long getUsedBytes() {
+    long usedBytes = 0;
+    for (final AtomicLong usedBytesOfDirectory : usedBytesPerDirectory) {
+      usedBytes += usedBytesOfDirectory.get();
+    }
+    return usedBytes;
+  }
+
+  /**
+   * Stops the I/O threads of the directories.
+   * The appends that are not written yet are discarded.
+   */
+  @Override
+  public void close() {
+    if (diskWriters != null) {
+      for (final DiskWriter diskWriter : diskWriters) {
+        diskWriter.close();
+      }
+    }
+  }
+
+  /**
+   * Chooses the directory to store a new block in.
+   *
+   * @return the index of the directory.
+   */
+  private int selectDirectory() {
+    final int numDirectories = fileDirectories.length;
+    // Start from the next directory in turn, so that ties are broken in a round-robin fashion.
+    final int firstIndex = Math.floorMod(nextDirectoryIndex.getAndIncrement(), numDirectories);
+    if (!leastUsedStriping) {
+      return firstIndex;
+    }
+    int selectedIndex = firstIndex;
+    long minLoad = Long.MAX_VALUE;
+    for (int i = 0; i < numDirectories; i++) {
+      final int index = (firstIndex + i) % numDirectories;
+      final long load = usedBytesPerDirectory[index].get()
+          + (diskWriters == null ? 0 : diskWriters[index].getPendingBytes());
+      if (load < minLoad) {
+        selectedIndex = index;
+        minLoad = load;
+      }
+    }
+    return selectedIndex;
+  }
+
+  /**
+   * @param blockId        of the block.
+   * @param directoryIndex the index of the directory of the block.
+   * @return the size of the file of the block, or 0 if it does not exist.
+   */
+  private long getFileSize(final String blockId, final int directoryIndex) {
+    return new File(DataUtil.blockIdToFilePath(blockId, fileDirectories[directoryIndex])).length();
+  }
 }
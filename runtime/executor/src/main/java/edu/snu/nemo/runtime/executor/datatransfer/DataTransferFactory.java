@@ -29,13 +29,16 @@ import javax.inject.Inject;
 public final class DataTransferFactory {
 
   private final BlockManagerWorker blockManagerWorker;
+  private final InputPrefetcher inputPrefetcher;
   private final int hashRangeMultiplier;
 
   @Inject
   private DataTransferFactory(@Parameter(JobConf.HashRangeMultiplier.class) final int hashRangeMultiplier,
-                              final BlockManagerWorker blockManagerWorker) {
+                              final BlockManagerWorker blockManagerWorker,
+                              final InputPrefetcher inputPrefetcher) {
     this.hashRangeMultiplier = hashRangeMultiplier;
     this.blockManagerWorker = blockManagerWorker;
+    this.inputPrefetcher = inputPrefetcher;
   }
 
   /**
@@ -68,4 +71,11 @@ public final class DataTransferFactory {
                                   final RuntimeEdge runtimeEdge) {
     return new InputReader(dstTaskIdx, srcIRVertex, runtimeEdge, blockManagerWorker);
   }
+
+  /**
+   * @return the {@link InputPrefetcher} to read ahead the data of {@link InputReader}s with.
+   */
+  public InputPrefetcher getInputPrefetcher() {
+    return inputPrefetcher;
+  }
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.executor.datatransfer;
+
+import edu.snu.nemo.conf.JobConf;
+import edu.snu.nemo.runtime.executor.data.DataUtil;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.reef.tang.annotations.Parameter;
+
+import javax.annotation.concurrent.ThreadSafe;
+import javax.inject.Inject;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the blocks of parent tasks ahead of the tasks that consume them.
+ * Blocks are fetched and decoded on dedicated I/O threads while a task processes its current block,
+ * so that network transfer and computation overlap.
+ */
+@ThreadSafe
+public final class InputPrefetcher {
+  private final int readAheadBlocks;
+  private final long readAheadBytes;
+  private final ExecutorService readAheadExecutorService;
+
+  /**
+   * Constructor.
+   *
+   * @param readAheadBlocks the maximum number of blocks to buffer ahead per reader, 0 to disable read-ahead.
+   * @param readAheadMemMb  the memory budget of the buffered blocks per reader.
+   * @param readAheadThreads the maximum number of blocks read ahead at the same time in this executor.
+   */
+  @Inject
+  private InputPrefetcher(@Parameter(JobConf.ReadAheadBlocks.class) final int readAheadBlocks,
+                          @Parameter(JobConf.ReadAheadMemMb.class) final int readAheadMemMb,
+                          @Parameter(JobConf.ReadAheadThreads.class) final int readAheadThreads) {
+    this.readAheadBlocks = readAheadBlocks;
+    this.readAheadBytes = (long) readAheadMemMb * 1024 * 1024;
+    // Read-aheads are not queued: a block is handed over without read-ahead when all threads are busy,
+    // so that a reader never waits for the read-aheads of other readers.
+    this.readAheadExecutorService = new ThreadPoolExecutor(0, Math.max(readAheadThreads, 1),
+        60L, TimeUnit.SECONDS, new SynchronousQueue<>(), new BasicThreadFactory.Builder()
+        .namingPattern("ReadAhead thread-%d")
+        .daemon(true)
+        .build());
+  }
+
+  /**
+   * Starts reading ahead the blocks of a parent task.
+   *
+   * @param futures the futures of the block iterators, as returned by {@link InputReader#read()}.
+   * @return the queue that hands over the blocks to the reading task.
+   */
+  public ReadAheadQueue readAhead(final List<CompletableFuture<DataUtil.IteratorWithNumBytes>> futures) {
+    return new ReadAheadQueue(futures, readAheadBlocks, readAheadBytes, readAheadExecutorService);
+  }
+}
@@ -16,6 +16,7 @@
 package edu.snu.nemo.runtime.executor.datatransfer;
 
 import com.google.common.annotations.VisibleForTesting;
+import edu.snu.nemo.common.ir.edge.executionproperty.CachedDataProperty;
 import edu.snu.nemo.common.ir.edge.executionproperty.CommunicationPatternProperty;
 import edu.snu.nemo.common.ir.edge.executionproperty.DataStoreProperty;
 import edu.snu.nemo.common.ir.edge.executionproperty.DuplicateEdgeGroupProperty;
@@ -100,13 +101,12 @@ public final class InputReader extends DataTransfer {
     final Optional<DataStoreProperty.Value> dataStoreProperty
         = runtimeEdge.getPropertyValue(DataStoreProperty.class);
 
-    final List<CompletableFuture<DataUtil.IteratorWithNumBytes>> futures = new ArrayList<>();
+    final List<String> blockIds = new ArrayList<>(numSrcTasks);
     for (int srcTaskIdx = 0; srcTaskIdx < numSrcTasks; srcTaskIdx++) {
-      final String blockId = getBlockId(srcTaskIdx);
-      futures.add(blockManagerWorker.readBlock(blockId, getId(), dataStoreProperty.get(), HashRange.all()));
+      blockIds.add(getBlockId(srcTaskIdx));
     }
 
-    return futures;
+    return blockManagerWorker.readBlocks(blockIds, getId(), dataStoreProperty.get(), HashRange.all());
   }
 
   /**
@@ -126,14 +126,13 @@ public final class InputReader extends DataTransfer {
     }
 
     final int numSrcTasks = this.getSourceParallelism();
-    final List<CompletableFuture<DataUtil.IteratorWithNumBytes>> futures = new ArrayList<>();
+    final List<String> blockIds = new ArrayList<>(numSrcTasks);
     for (int srcTaskIdx = 0; srcTaskIdx < numSrcTasks; srcTaskIdx++) {
-      final String blockId = getBlockId(srcTaskIdx);
-      futures.add(
-          blockManagerWorker.readBlock(blockId, getId(), dataStoreProperty.get(), hashRangeToRead));
+      blockIds.add(getBlockId(srcTaskIdx));
     }
 
-    return futures;
+    // Blocks residing in the same executor are fetched together.
+    return blockManagerWorker.readBlocks(blockIds, getId(), dataStoreProperty.get(), hashRangeToRead);
   }
 
   public RuntimeEdge getRuntimeEdge() {
@@ -147,6 +146,10 @@ public final class InputReader extends DataTransfer {
    * @return the block id
    */
   private String getBlockId(final int taskIdx) {
+    final Optional<String> cachedEdgeId = runtimeEdge.getPropertyValue(CachedDataProperty.class);
+    if (cachedEdgeId.isPresent()) {
+      return RuntimeIdGenerator.generateBlockId(cachedEdgeId.get(), taskIdx);
+    }
     final Optional<DuplicateEdgeGroupPropertyValue> duplicateDataProperty =
         runtimeEdge.getPropertyValue(DuplicateEdgeGroupProperty.class);
     if (!duplicateDataProperty.isPresent() || duplicateDataProperty.get().getGroupSize() <= 1) {
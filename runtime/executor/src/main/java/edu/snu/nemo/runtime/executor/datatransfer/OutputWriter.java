@@ -27,11 +27,14 @@ import edu.snu.nemo.runtime.executor.data.block.Block;
 import edu.snu.nemo.runtime.executor.data.partitioner.*;
 
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Represents the output data transfer from a task.
  */
 public final class OutputWriter extends DataTransfer implements AutoCloseable {
+  // The maximum number of keys sampled from a block for the split points of a range-partitioned edge.
+  private static final int NUM_KEY_SAMPLES = 1000;
   private final String blockId;
   private final RuntimeEdge<?> runtimeEdge;
   private final String srcVertexId;
@@ -42,6 +45,11 @@ public final class OutputWriter extends DataTransfer implements AutoCloseable {
   private final Block blockToWrite;
   private long writtenBytes;
   private Partitioner partitioner;
+  private final boolean dedicatedKeyPerElement;
+  // Reservoir of the sampled keys and the key extractor for it, or null if the keys of this edge are not sampled.
+  private final ArrayList<Object> keySamples;
+  private final KeyExtractor sampledKeyExtractor;
+  private long numElementsSampled;
 
   /**
    * Constructor.
@@ -91,10 +99,26 @@ public final class OutputWriter extends DataTransfer implements AutoCloseable {
       case DedicatedKeyPerElementPartitioner:
         this.partitioner = new DedicatedKeyPerElementPartitioner();
         break;
+      case RangePartitioner:
+        // Without the split points, which are not computed if there was no key to sample, all go to one partition.
+        this.partitioner = new RangePartitioner(
+            runtimeEdge.getPropertyValue(RangeSplitPointsProperty.class).orElse(new ArrayList<>()), keyExtractor
+            .orElseThrow(() -> new RuntimeException("No key extractor property on the edge")));
+        break;
       default:
         throw new UnsupportedPartitionerException(
             new Throwable("Partitioner " + partitionerPropertyValue + " is not supported."));
     }
+    // Looked up once here, rather than reflectively for every element.
+    this.dedicatedKeyPerElement = partitioner.getClass().isAnnotationPresent(DedicatedKeyPerElement.class);
+    final boolean isKeySampleCollectionEdge = Optional.of(MetricCollectionProperty.Value.RangePartitionRuntimePass)
+        .equals(runtimeEdge.getPropertyValue(MetricCollectionProperty.class));
+    if (isKeySampleCollectionEdge && !keyExtractor.isPresent()) {
+      throw new RuntimeException("No key extractor property on the edge to sample the keys of");
+    }
+    this.keySamples = isKeySampleCollectionEdge ? new ArrayList<>() : null;
+    this.sampledKeyExtractor = isKeySampleCollectionEdge ? keyExtractor.get() : null;
+    this.numElementsSampled = 0;
     blockToWrite = blockManagerWorker.createBlock(blockId, blockStoreValue);
 
     final Optional<DuplicateEdgeGroupPropertyValue> duplicateDataProperty =
@@ -112,15 +136,32 @@ public final class OutputWriter extends DataTransfer implements AutoCloseable {
   public void write(final Object element) {
     if (nonDummyBlock) {
       blockToWrite.write(partitioner.partition(element), element);
-
-      final DedicatedKeyPerElement dedicatedKeyPerElement =
-          partitioner.getClass().getAnnotation(DedicatedKeyPerElement.class);
-      if (dedicatedKeyPerElement != null) {
+      if (dedicatedKeyPerElement) {
         blockToWrite.commitPartitions();
       }
+      if (keySamples != null) {
+        sampleKey(element);
+      }
     } // If else, does not need to write because the data is duplicated.
   }
 
+  /**
+   * Samples the key of the element into the reservoir, so that every key written is sampled with equal probability.
+   *
+   * @param element the element to sample the key of.
+   */
+  private void sampleKey(final Object element) {
+    numElementsSampled++;
+    if (keySamples.size() < NUM_KEY_SAMPLES) {
+      keySamples.add(sampledKeyExtractor.extractKey(element));
+    } else {
+      final long index = ThreadLocalRandom.current().nextLong(numElementsSampled);
+      if (index < NUM_KEY_SAMPLES) {
+        keySamples.set((int) index, sampledKeyExtractor.extractKey(element));
+      }
+    }
+  }
+
   /**
    * Notifies that all writes for a block is end.
    * Further write about a committed block will throw an exception.
@@ -133,6 +174,7 @@ public final class OutputWriter extends DataTransfer implements AutoCloseable {
 
     final boolean isDataSizeMetricCollectionEdge = Optional.of(MetricCollectionProperty.Value.DataSkewRuntimePass)
         .equals(runtimeEdge.getPropertyValue(MetricCollectionProperty.class));
+    final int numReplicas = runtimeEdge.getPropertyValue(DataReplicationProperty.class).orElse(0);
     final Optional<Map<Integer, Long>> partitionSizeMap = blockToWrite.commit();
     // Return the total size of the committed block.
     if (partitionSizeMap.isPresent()) {
@@ -142,11 +184,14 @@ public final class OutputWriter extends DataTransfer implements AutoCloseable {
       }
       this.writtenBytes = blockSizeTotal;
       blockManagerWorker.writeBlock(blockToWrite, blockStoreValue, isDataSizeMetricCollectionEdge,
-          partitionSizeMap.get(), srcVertexId, getExpectedRead(), persistence);
+          partitionSizeMap.get(), srcVertexId, getExpectedRead(), persistence, numReplicas);
     } else {
       this.writtenBytes = -1; // no written bytes info.
       blockManagerWorker.writeBlock(blockToWrite, blockStoreValue, isDataSizeMetricCollectionEdge,
-          Collections.emptyMap(), srcVertexId, getExpectedRead(), persistence);
+          Collections.emptyMap(), srcVertexId, getExpectedRead(), persistence, numReplicas);
+    }
+    if (keySamples != null && nonDummyBlock) {
+      blockManagerWorker.reportKeySamples(blockId, srcVertexId, keySamples);
     }
   }
 
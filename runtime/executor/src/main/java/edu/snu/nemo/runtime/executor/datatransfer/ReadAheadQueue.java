@@ -0,0 +1,230 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.executor.datatransfer;
+
+import edu.snu.nemo.runtime.executor.data.DataUtil;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Hands over the block iterators of a parent task to the reading task, in the order they become available.
+ * Up to a given number of blocks are drained into memory ahead of the reading task. The bytes of a block count
+ * against the memory budget as they are read, and a block stops counting against the limits once the reading task
+ * has consumed its buffered elements. Draining a block stops as soon as the buffered blocks exceed the budget:
+ * the reading task then consumes the rest of the block directly. Read-ahead of further blocks pauses while
+ * the budget is exceeded, and blocks are handed over without read-ahead while all read-ahead threads are busy.
+ */
+@ThreadSafe
+public final class ReadAheadQueue {
+  private final int maxBufferedBlocks;
+  private final long maxBufferedBytes;
+  private final ExecutorService readAheadExecutorService;
+  private final int numOfIterators;
+
+  // Iterators (buffered or not) or Throwables, ready to be taken by the reading task.
+  private final LinkedBlockingQueue<Object> readyQueue;
+  // Iterators whose blocks are available, but not yet read ahead. Guarded by this, as are the counters below.
+  private final Queue<DataUtil.IteratorWithNumBytes> pendingQueue;
+  private int numBufferedBlocks;
+  private long numBufferedBytes;
+
+  /**
+   * Constructor.
+   *
+   * @param futures                  the futures of the block iterators.
+   * @param maxBufferedBlocks        the maximum number of blocks to buffer, 0 to disable read-ahead.
+   * @param maxBufferedBytes         the memory budget of the buffered blocks, in encoded bytes.
+   * @param readAheadExecutorService the executor service to read ahead with.
+   */
+  ReadAheadQueue(final List<CompletableFuture<DataUtil.IteratorWithNumBytes>> futures,
+                 final int maxBufferedBlocks,
+                 final long maxBufferedBytes,
+                 final ExecutorService readAheadExecutorService) {
+    this.maxBufferedBlocks = maxBufferedBlocks;
+    this.maxBufferedBytes = maxBufferedBytes;
+    this.readAheadExecutorService = readAheadExecutorService;
+    this.numOfIterators = futures.size();
+    this.readyQueue = new LinkedBlockingQueue<>();
+    this.pendingQueue = new ArrayDeque<>();
+    this.numBufferedBlocks = 0;
+    this.numBufferedBytes = 0;
+
+    futures.forEach(future -> future.whenComplete((iterator, throwable) -> {
+      if (throwable != null) {
+        readyQueue.add(throwable);
+      } else if (maxBufferedBlocks <= 0 || maxBufferedBytes <= 0) {
+        readyQueue.add(iterator);
+      } else {
+        synchronized (this) {
+          pendingQueue.add(iterator);
+        }
+        scheduleReadAhead();
+      }
+    }));
+  }
+
+  /**
+   * @return the number of iterators this queue will hand over.
+   */
+  public int getNumOfIterators() {
+    return numOfIterators;
+  }
+
+  /**
+   * Takes the next available iterator, blocking until one is ready.
+   *
+   * @return the iterator.
+   * @throws Throwable if fetching or reading ahead the block has failed.
+   */
+  public DataUtil.IteratorWithNumBytes take() throws Throwable {
+    final Object iteratorOrThrowable = readyQueue.take();
+    if (iteratorOrThrowable instanceof Throwable) {
+      throw (Throwable) iteratorOrThrowable;
+    }
+    return (DataUtil.IteratorWithNumBytes) iteratorOrThrowable;
+  }
+
+  /**
+   * Starts reading ahead pending blocks as long as the limits allow.
+   */
+  private void scheduleReadAhead() {
+    final List<DataUtil.IteratorWithNumBytes> toReadAhead = new ArrayList<>();
+    synchronized (this) {
+      while (!pendingQueue.isEmpty() && numBufferedBlocks < maxBufferedBlocks && numBufferedBytes < maxBufferedBytes) {
+        toReadAhead.add(pendingQueue.poll());
+        numBufferedBlocks++;
+      }
+    }
+    for (final DataUtil.IteratorWithNumBytes iterator : toReadAhead) {
+      try {
+        readAheadExecutorService.execute(() -> readAhead(iterator));
+      } catch (final RejectedExecutionException e) {
+        // All read-ahead threads are busy: the reading task consumes the block directly.
+        synchronized (this) {
+          numBufferedBlocks--;
+        }
+        readyQueue.add(iterator);
+      }
+    }
+  }
+
+  /**
+   * Drains an iterator, fetching and decoding the block into memory until the memory budget is exceeded.
+   *
+   * @param iterator the iterator to drain.
+   */
+  private void readAhead(final DataUtil.IteratorWithNumBytes iterator) {
+    long numChargedBytes = 0;
+    try {
+      final List<Object> elements = new ArrayList<>();
+      boolean overBudget = false;
+      while (!overBudget && iterator.hasNext()) {
+        elements.add(iterator.next());
+        final long numReadBytes = getNumEncodedBytesRead(iterator);
+        synchronized (this) {
+          numBufferedBytes += numReadBytes - numChargedBytes;
+          overBudget = numBufferedBytes > maxBufferedBytes;
+        }
+        numChargedBytes = numReadBytes;
+      }
+      readyQueue.add(new BufferedIterator(elements.iterator(), iterator, numChargedBytes));
+    } catch (final Throwable e) {
+      release(numChargedBytes);
+      readyQueue.add(e);
+    }
+  }
+
+  /**
+   * Releases a block consumed by the reading task from the limits.
+   *
+   * @param numBytes the number of bytes charged for the block.
+   */
+  private void release(final long numBytes) {
+    synchronized (this) {
+      numBufferedBlocks--;
+      numBufferedBytes -= numBytes;
+    }
+    scheduleReadAhead();
+  }
+
+  /**
+   * @param iterator an iterator being drained.
+   * @return the number of bytes in encoded form read so far, or 0 if unknown (e.g., for blocks already in memory).
+   */
+  private static long getNumEncodedBytesRead(final DataUtil.IteratorWithNumBytes iterator) {
+    try {
+      return iterator.getNumEncodedBytesRead();
+    } catch (final DataUtil.IteratorWithNumBytes.NumBytesNotSupportedException e) {
+      return 0;
+    }
+  }
+
+  /**
+   * An iterator over the elements of a block read ahead, followed by the elements not read ahead, if any.
+   * It reports the number of bytes of the drained iterator, and releases the block once the buffer is exhausted.
+   */
+  private final class BufferedIterator implements DataUtil.IteratorWithNumBytes {
+    private final Iterator<Object> bufferIterator;
+    private final DataUtil.IteratorWithNumBytes drainedIterator;
+    private final long numBytes;
+    private boolean released;
+
+    private BufferedIterator(final Iterator<Object> bufferIterator,
+                             final DataUtil.IteratorWithNumBytes drainedIterator,
+                             final long numBytes) {
+      this.bufferIterator = bufferIterator;
+      this.drainedIterator = drainedIterator;
+      this.numBytes = numBytes;
+      this.released = false;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (bufferIterator.hasNext()) {
+        return true;
+      }
+      if (!released) {
+        released = true;
+        release(numBytes);
+      }
+      return drainedIterator.hasNext();
+    }
+
+    @Override
+    public Object next() {
+      return bufferIterator.hasNext() ? bufferIterator.next() : drainedIterator.next();
+    }
+
+    @Override
+    public long getNumSerializedBytes() throws NumBytesNotSupportedException {
+      return drainedIterator.getNumSerializedBytes();
+    }
+
+    @Override
+    public long getNumEncodedBytes() throws NumBytesNotSupportedException {
+      return drainedIterator.getNumEncodedBytes();
+    }
+  }
+}
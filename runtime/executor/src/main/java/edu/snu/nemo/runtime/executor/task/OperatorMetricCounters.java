@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.executor.task;
+
+import edu.snu.nemo.runtime.common.comm.ControlMessage;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Execution counters of a single vertex in a task.
+ * Owned and updated only by the thread executing the task, so plain primitive fields suffice.
+ * The counters are reset whenever they are sampled, so that each sample carries only the increments.
+ */
+@NotThreadSafe
+final class OperatorMetricCounters {
+  // Only one in this many elements is timed, to keep the clock reads off the hot path.
+  static final int PROCESSING_TIME_SAMPLING_INTERVAL = 1024;
+  private final String vertexId;
+  // Not reset by the samples, so that the timed elements are evenly spaced across the samples.
+  private int numElementsUntilTimed;
+  private long numElementsIn;
+  private long numElementsOut;
+  private long processingNanos;
+  private long closeNanos;
+  private long fetchBlockedNanos;
+  private long writtenBytes;
+
+  /**
+   * Constructor.
+   * @param vertexId id of the vertex to count for.
+   */
+  OperatorMetricCounters(final String vertexId) {
+    this.vertexId = vertexId;
+    this.numElementsUntilTimed = 1;
+    reset();
+  }
+
+  void incrementNumElementsIn() {
+    numElementsIn++;
+  }
+
+  void incrementNumElementsOut() {
+    numElementsOut++;
+  }
+
+  /**
+   * Called for every element, and tells whether the processing time of the element should be timed.
+   * @return whether to time the element.
+   */
+  boolean shouldTimeElement() {
+    if (--numElementsUntilTimed > 0) {
+      return false;
+    }
+    numElementsUntilTimed = PROCESSING_TIME_SAMPLING_INTERVAL;
+    return true;
+  }
+
+  /**
+   * @param nanos the processing time of a timed element, which stands for the elements until the next timed one.
+   */
+  void addSampledProcessingNanos(final long nanos) {
+    processingNanos += nanos * PROCESSING_TIME_SAMPLING_INTERVAL;
+  }
+
+  void addCloseNanos(final long nanos) {
+    closeNanos += nanos;
+  }
+
+  void addFetchBlockedNanos(final long nanos) {
+    fetchBlockedNanos += nanos;
+  }
+
+  void addWrittenBytes(final long bytes) {
+    writtenBytes += bytes;
+  }
+
+  /**
+   * @return whether nothing has been counted since the last sample.
+   */
+  boolean isEmpty() {
+    return numElementsIn == 0 && numElementsOut == 0 && processingNanos == 0 && closeNanos == 0
+        && fetchBlockedNanos == 0 && writtenBytes == 0;
+  }
+
+  /**
+   * Takes the counters accumulated since the last sample, and resets them.
+   * @return the counters as a message.
+   */
+  ControlMessage.OperatorMetricMsg sampleAndReset() {
+    final ControlMessage.OperatorMetricMsg msg = ControlMessage.OperatorMetricMsg.newBuilder()
+        .setVertexId(vertexId)
+        .setNumElementsIn(numElementsIn)
+        .setNumElementsOut(numElementsOut)
+        .setProcessingNanos(processingNanos)
+        .setCloseNanos(closeNanos)
+        .setFetchBlockedNanos(fetchBlockedNanos)
+        .setWrittenBytes(writtenBytes)
+        .build();
+    reset();
+    return msg;
+  }
+
+  private void reset() {
+    numElementsIn = 0;
+    numElementsOut = 0;
+    processingNanos = 0;
+    closeNanos = 0;
+    fetchBlockedNanos = 0;
+    writtenBytes = 0;
+  }
+}
@@ -19,29 +19,30 @@ import edu.snu.nemo.common.coder.DecoderFactory;
 import edu.snu.nemo.common.ir.edge.executionproperty.DecoderProperty;
 import edu.snu.nemo.common.ir.vertex.IRVertex;
 import edu.snu.nemo.runtime.executor.data.DataUtil;
+import edu.snu.nemo.runtime.executor.datatransfer.InputPrefetcher;
 import edu.snu.nemo.runtime.executor.datatransfer.InputReader;
+import edu.snu.nemo.runtime.executor.datatransfer.ReadAheadQueue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.concurrent.NotThreadSafe;
 import java.io.IOException;
-import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.LinkedBlockingQueue;
 
 /**
  * Fetches data from parent tasks.
+ * The blocks of the parent tasks are read ahead by the {@link InputPrefetcher} while the current one is processed.
  */
 @NotThreadSafe
 class ParentTaskDataFetcher extends DataFetcher {
   private static final Logger LOG = LoggerFactory.getLogger(ParentTaskDataFetcher.class);
 
   private final InputReader readersForParentTask;
-  private final LinkedBlockingQueue iteratorQueue;
+  private final InputPrefetcher inputPrefetcher;
 
   // Non-finals (lazy fetching)
   private boolean hasFetchStarted;
+  private ReadAheadQueue iteratorQueue;
   private int expectedNumOfIterators;
   private DataUtil.IteratorWithNumBytes currentIterator;
   private int currentIteratorIndex;
@@ -51,13 +52,14 @@ class ParentTaskDataFetcher extends DataFetcher {
 
   ParentTaskDataFetcher(final IRVertex dataSource,
                         final InputReader readerForParentTask,
+                        final InputPrefetcher inputPrefetcher,
                         final VertexHarness child,
                         final boolean isToSideInput) {
     super(dataSource, child, readerForParentTask.isSideInputReader(), isToSideInput);
     this.readersForParentTask = readerForParentTask;
+    this.inputPrefetcher = inputPrefetcher;
     this.hasFetchStarted = false;
     this.currentIteratorIndex = 0;
-    this.iteratorQueue = new LinkedBlockingQueue<>();
   }
 
   private void countBytes(final DataUtil.IteratorWithNumBytes iterator) {
@@ -81,21 +83,8 @@ class ParentTaskDataFetcher extends DataFetcher {
    * Blocking call.
    */
   private void fetchInBackground() {
-    final List<CompletableFuture<DataUtil.IteratorWithNumBytes>> futures = readersForParentTask.read();
-    this.expectedNumOfIterators = futures.size();
-
-    futures.forEach(compFuture -> compFuture.whenComplete((iterator, exception) -> {
-      try {
-        if (exception != null) {
-          iteratorQueue.put(exception); // can block here
-        } else {
-          iteratorQueue.put(iterator); // can block here
-        }
-      } catch (final InterruptedException e) {
-        Thread.currentThread().interrupt();
-        throw new RuntimeException(e); // This shouldn't happen
-      }
-    }));
+    this.iteratorQueue = inputPrefetcher.readAhead(readersForParentTask.read());
+    this.expectedNumOfIterators = iteratorQueue.getNumOfIterators();
   }
 
   @Override
@@ -147,23 +136,12 @@ class ParentTaskDataFetcher extends DataFetcher {
   }
 
   private void advanceIterator() throws Throwable {
-    // Take from iteratorQueue
-    final Object iteratorOrThrowable;
-    try {
-      iteratorOrThrowable = iteratorQueue.take();
-    } catch (InterruptedException e) {
-      throw e;
-    }
-
-    // Handle iteratorOrThrowable
-    if (iteratorOrThrowable instanceof Throwable) {
-      throw (Throwable) iteratorOrThrowable;
-    } else {
-      // This iterator is valid. Do advance.
-      hasFetchStarted = true;
-      this.currentIterator = (DataUtil.IteratorWithNumBytes) iteratorOrThrowable;
-      this.currentIteratorIndex++;
-    }
+    // Take from iteratorQueue. This iterator is valid. Do advance.
+    final long takeStartTime = System.nanoTime();
+    this.currentIterator = iteratorQueue.take();
+    getChild().getMetricCounters().addFetchBlockedNanos(System.nanoTime() - takeStartTime);
+    hasFetchStarted = true;
+    this.currentIteratorIndex++;
   }
 
   public final long getSerializedBytes() {
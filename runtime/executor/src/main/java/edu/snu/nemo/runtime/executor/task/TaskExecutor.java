@@ -37,6 +37,7 @@ import edu.snu.nemo.runtime.executor.datatransfer.*;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.SerializationUtils;
@@ -54,20 +55,29 @@ import javax.annotation.concurrent.NotThreadSafe;
 public final class TaskExecutor {
   private static final Logger LOG = LoggerFactory.getLogger(TaskExecutor.class.getName());
   private static final int NONE_FINISHED = -1;
+  private static final long OPERATOR_METRIC_SAMPLING_PERIOD_NANOS = TimeUnit.SECONDS.toNanos(3);
+  // The sampling period is checked only once in this many input elements, to keep the check off the hot path.
+  private static final int OPERATOR_METRIC_SAMPLING_CHECK_INTERVAL = 1024;
 
   // Essential information
   private boolean isExecuted;
+  private final String jobId;
   private final String taskId;
+  private final int attemptIdx;
   private final TaskStateManager taskStateManager;
   private final List<DataFetcher> dataFetchers;
   private final List<VertexHarness> sortedHarnesses;
   private final Map sideInputMap;
+  // The local directories for the transforms to spill data to.
+  private final List<String> spillDirectories;
 
   // Metrics information
   private long boundedSourceReadTime = 0;
   private long serializedReadBytes = 0;
   private long encodedReadBytes = 0;
   private final MetricMessageSender metricMessageSender;
+  private long lastOperatorMetricSampleTime;
+  private int numElementsSinceSamplingCheck;
 
   // Dynamic optimization
   private String idOfVertexPutOnHold;
@@ -81,6 +91,7 @@ public final class TaskExecutor {
    * @param taskStateManager State manager for this Task.
    * @param dataTransferFactory For reading from/writing to data to other tasks.
    * @param metricMessageSender For sending metric with execution stats to Master.
+   * @param persistentConnectionToMasterMap For sending messages to Master.
    */
   public TaskExecutor(final Task task,
                       final DAG<IRVertex, RuntimeEdge<IRVertex>> irVertexDag,
@@ -88,9 +99,32 @@ public final class TaskExecutor {
                       final DataTransferFactory dataTransferFactory,
                       final MetricMessageSender metricMessageSender,
                       final PersistentConnectionToMasterMap persistentConnectionToMasterMap) {
+    this(task, irVertexDag, taskStateManager, dataTransferFactory, metricMessageSender,
+        persistentConnectionToMasterMap, Collections.emptyList());
+  }
+
+  /**
+   * Constructor.
+   * @param task Task with information needed during execution.
+   * @param irVertexDag A DAG of vertices.
+   * @param taskStateManager State manager for this Task.
+   * @param dataTransferFactory For reading from/writing to data to other tasks.
+   * @param metricMessageSender For sending metric with execution stats to Master.
+   * @param persistentConnectionToMasterMap For sending messages to Master.
+   * @param spillDirectories The local directories for the transforms to spill data to.
+   */
+  public TaskExecutor(final Task task,
+                      final DAG<IRVertex, RuntimeEdge<IRVertex>> irVertexDag,
+                      final TaskStateManager taskStateManager,
+                      final DataTransferFactory dataTransferFactory,
+                      final MetricMessageSender metricMessageSender,
+                      final PersistentConnectionToMasterMap persistentConnectionToMasterMap,
+                      final List<String> spillDirectories) {
     // Essential information
     this.isExecuted = false;
+    this.jobId = task.getJobId();
     this.taskId = task.getTaskId();
+    this.attemptIdx = task.getAttemptIdx();
     this.taskStateManager = taskStateManager;
 
     // Metric sender
@@ -104,6 +138,7 @@ public final class TaskExecutor {
 
     // Prepare data structures
     this.sideInputMap = new HashMap();
+    this.spillDirectories = spillDirectories;
     final Pair<List<DataFetcher>, List<VertexHarness>> pair = prepare(task, irVertexDag, dataTransferFactory);
     this.dataFetchers = pair.left();
     this.sortedHarnesses = pair.right();
@@ -173,9 +208,13 @@ public final class TaskExecutor {
       // intra-vertex writes
       final VertexHarness vertexHarness = new VertexHarness(irVertex, oci, children,
           isToSideInputs, isToAdditionalTagOutputs, mainChildrenTaskWriters, additionalChildrenTaskWriters,
-          new ContextImpl(sideInputMap, additionalOutputMap));
+          new ContextImpl(sideInputMap, additionalOutputMap, spillDirectories));
       prepareTransform(vertexHarness);
       vertexIdToHarness.put(irVertex.getId(), vertexHarness);
+      if (irVertex instanceof MetricCollectionBarrierVertex) {
+        // Put on hold even without any input, for the dynamic optimization not to depend on which task completes last.
+        setIRVertexPutOnHold((MetricCollectionBarrierVertex) irVertex);
+      }
 
       // Handle reads
       final boolean isToSideInput = isToSideInputs.stream().anyMatch(bool -> bool);
@@ -187,7 +226,7 @@ public final class TaskExecutor {
           getParentTaskReaders(taskIndex, irVertex, task.getTaskIncomingEdges(), dataTransferFactory);
       parentTaskReaders.forEach(parentTaskReader -> {
         dataFetcherList.add(new ParentTaskDataFetcher(parentTaskReader.getSrcIrVertex(), parentTaskReader,
-            vertexHarness, isToSideInput)); // Parent-task read
+            dataTransferFactory.getInputPrefetcher(), vertexHarness, isToSideInput)); // Parent-task read
       });
     });
 
@@ -207,14 +246,21 @@ public final class TaskExecutor {
   private void processElementRecursively(final VertexHarness vertexHarness, final Object dataElement) {
     final IRVertex irVertex = vertexHarness.getIRVertex();
     final OutputCollectorImpl outputCollector = vertexHarness.getOutputCollector();
+    final OperatorMetricCounters metricCounters = vertexHarness.getMetricCounters();
+    metricCounters.incrementNumElementsIn();
     if (irVertex instanceof SourceVertex) {
       outputCollector.emit(dataElement);
     } else if (irVertex instanceof OperatorVertex) {
       final Transform transform = ((OperatorVertex) irVertex).getTransform();
-      transform.onData(dataElement);
+      if (metricCounters.shouldTimeElement()) {
+        final long onDataStartTime = System.nanoTime();
+        transform.onData(dataElement);
+        metricCounters.addSampledProcessingNanos(System.nanoTime() - onDataStartTime);
+      } else {
+        transform.onData(dataElement);
+      }
     } else if (irVertex instanceof MetricCollectionBarrierVertex) {
       outputCollector.emit(dataElement);
-      setIRVertexPutOnHold((MetricCollectionBarrierVertex) irVertex);
     } else {
       throw new UnsupportedOperationException("This type of IRVertex is not supported");
     }
@@ -223,6 +269,7 @@ public final class TaskExecutor {
     // Here, we recursively process all of the main output elements.
     while (!outputCollector.isEmpty()) {
       final Object element = outputCollector.remove();
+      metricCounters.incrementNumElementsOut();
       handleMainOutputElement(vertexHarness, element); // Recursion
     }
 
@@ -231,6 +278,7 @@ public final class TaskExecutor {
       final String dstVertexId = (String) value;
       while (!outputCollector.isEmpty(dstVertexId)) {
         final Object element = outputCollector.remove(dstVertexId);
+        metricCounters.incrementNumElementsOut();
         handleAdditionalOutputElement(vertexHarness, element, dstVertexId); // Recursion
       }
     });
@@ -261,6 +309,7 @@ public final class TaskExecutor {
       throw new RuntimeException("Task {" + taskId + "} execution called again");
     }
     LOG.info("{} started", taskId);
+    lastOperatorMetricSampleTime = System.nanoTime();
     taskStateManager.onTaskStateChanged(TaskState.State.EXECUTING, Optional.empty(), Optional.empty());
 
     // Phase 1: Consume task-external side-input related data.
@@ -297,6 +346,7 @@ public final class TaskExecutor {
         finalizeVertex(vertexHarness);
       }
     }
+    sendOperatorMetrics();
 
     if (idOfVertexPutOnHold == null) {
       taskStateManager.onTaskStateChanged(TaskState.State.COMPLETE, Optional.empty(), Optional.empty());
@@ -324,10 +374,12 @@ public final class TaskExecutor {
   private void finalizeVertex(final VertexHarness vertexHarness) {
     closeTransform(vertexHarness);
     final OutputCollectorImpl outputCollector = vertexHarness.getOutputCollector();
+    final OperatorMetricCounters metricCounters = vertexHarness.getMetricCounters();
 
     // handle main outputs
     while (!outputCollector.isEmpty()) {
       final Object element = outputCollector.remove();
+      metricCounters.incrementNumElementsOut();
       handleMainOutputElement(vertexHarness, element);
     }
 
@@ -335,6 +387,7 @@ public final class TaskExecutor {
     vertexHarness.getAdditionalTagOutputChildren().keySet().forEach(tag -> {
       while (!outputCollector.isEmpty(tag)) {
         final Object element = outputCollector.remove(tag);
+        metricCounters.incrementNumElementsOut();
         handleAdditionalOutputElement(vertexHarness, element, tag);
       }
     });
@@ -407,6 +460,7 @@ public final class TaskExecutor {
           } else {
             processElementRecursively(dataFetcher.getChild(), element);
           }
+          maybeSendOperatorMetrics();
         }
       }
 
@@ -551,7 +605,9 @@ public final class TaskExecutor {
     final IRVertex irVertex = vertexHarness.getIRVertex();
     if (irVertex instanceof OperatorVertex) {
       Transform transform = ((OperatorVertex) irVertex).getTransform();
+      final long closeStartTime = System.nanoTime();
       transform.close();
+      vertexHarness.getMetricCounters().addCloseNanos(System.nanoTime() - closeStartTime);
     }
     vertexHarness.getContext().getSerializedData().ifPresent(data ->
         persistentConnectionToMasterMap.getMessageSender(MessageEnvironment.RUNTIME_MASTER_MESSAGE_LISTENER_ID).send(
@@ -559,10 +615,54 @@ public final class TaskExecutor {
                 .setId(RuntimeIdGenerator.generateMessageId())
                 .setListenerId(MessageEnvironment.RUNTIME_MASTER_MESSAGE_LISTENER_ID)
                 .setType(ControlMessage.MessageType.ExecutorDataCollected)
-                .setDataCollected(ControlMessage.DataCollectMessage.newBuilder().setData(data).build())
+                .setDataCollected(ControlMessage.DataCollectMessage.newBuilder()
+                    .setData(data)
+                    .setJobId(jobId)
+                    .build())
                 .build()));
   }
 
+  ////////////////////////////////////////////// Operator metrics
+
+  /**
+   * Sends the operator metrics if the sampling period has passed since the last sample.
+   * Called for every input element, so the clock is read only once in a while.
+   */
+  private void maybeSendOperatorMetrics() {
+    numElementsSinceSamplingCheck++;
+    if (numElementsSinceSamplingCheck < OPERATOR_METRIC_SAMPLING_CHECK_INTERVAL) {
+      return;
+    }
+    numElementsSinceSamplingCheck = 0;
+    if (System.nanoTime() - lastOperatorMetricSampleTime >= OPERATOR_METRIC_SAMPLING_PERIOD_NANOS) {
+      sendOperatorMetrics();
+    }
+  }
+
+  /**
+   * Samples the counters of every vertex in this task and sends the increments since the last sample,
+   * to both the metric of this task and the metric of its stage.
+   */
+  private void sendOperatorMetrics() {
+    lastOperatorMetricSampleTime = System.nanoTime();
+    final ControlMessage.OperatorMetricsMsg.Builder msgBuilder = ControlMessage.OperatorMetricsMsg.newBuilder()
+        .setTaskId(taskId)
+        .setAttemptIdx(attemptIdx);
+    for (final VertexHarness vertexHarness : sortedHarnesses) {
+      final OperatorMetricCounters metricCounters = vertexHarness.getMetricCounters();
+      if (!metricCounters.isEmpty()) {
+        msgBuilder.addOperatorMetric(metricCounters.sampleAndReset());
+      }
+    }
+    if (msgBuilder.getOperatorMetricCount() == 0) {
+      return;
+    }
+    final byte[] serializedMsg = msgBuilder.build().toByteArray();
+    metricMessageSender.send("TaskMetric", taskId, "operatorMetrics", serializedMsg);
+    metricMessageSender.send("StageMetric", RuntimeIdGenerator.getStageIdFromTaskId(taskId),
+        "operatorMetrics", serializedMsg);
+  }
+
   ////////////////////////////////////////////// Misc
 
   private void setIRVertexPutOnHold(final MetricCollectionBarrierVertex irVertex) {
@@ -596,6 +696,7 @@ public final class TaskExecutor {
     for (final Long writtenBytes : writtenBytesList) {
       totalWrittenBytes += writtenBytes;
     }
+    vertexHarness.getMetricCounters().addWrittenBytes(totalWrittenBytes);
     metricMessageSender.send("TaskMetric", taskId,
         "writtenBytes", SerializationUtils.serialize(totalWrittenBytes));
   }
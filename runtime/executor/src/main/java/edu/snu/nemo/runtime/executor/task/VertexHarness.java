@@ -41,6 +41,9 @@ final class VertexHarness {
   private final List<OutputWriter> writersToMainChildrenTasks;
   private final Map<String, OutputWriter> writersToAdditionalChildrenTasks;
 
+  // Execution counters of this vertex
+  private final OperatorMetricCounters metricCounters;
+
   VertexHarness(final IRVertex irVertex,
                 final OutputCollectorImpl outputCollector,
                 final List<VertexHarness> children,
@@ -76,6 +79,7 @@ final class VertexHarness {
     this.writersToMainChildrenTasks = writersToMainChildrenTasks;
     this.writersToAdditionalChildrenTasks = writersToAdditionalChildrenTasks;
     this.context = context;
+    this.metricCounters = new OperatorMetricCounters(irVertex.getId());
   }
 
   /**
@@ -133,4 +137,11 @@ final class VertexHarness {
   Transform.Context getContext() {
     return context;
   }
+
+  /**
+   * @return execution counters of this irVertex.
+   */
+  OperatorMetricCounters getMetricCounters() {
+    return metricCounters;
+  }
 }
@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.executor;
+
+import edu.snu.nemo.conf.JobConf;
+import edu.snu.nemo.runtime.common.comm.ControlMessage;
+import edu.snu.nemo.runtime.common.message.MessageEnvironment;
+import edu.snu.nemo.runtime.common.message.MessageSender;
+import edu.snu.nemo.runtime.common.message.PersistentConnectionToMasterMap;
+import edu.snu.nemo.runtime.executor.bytetransfer.ByteTransportTrafficCounter;
+import edu.snu.nemo.runtime.executor.data.stores.LocalFileStore;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import org.apache.commons.io.FileUtils;
+import org.apache.reef.tang.Injector;
+import org.apache.reef.tang.Tang;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.stubbing.Answer;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import java.io.File;
+import java.lang.management.GarbageCollectorMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests {@link ExecutorHeartbeatSender}.
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest(PersistentConnectionToMasterMap.class)
+@PowerMockIgnore("javax.management.*")
+public final class ExecutorHeartbeatSenderTest {
+  private static final String EXECUTOR_ID = "executor";
+  private static final String FILE_DIRECTORY = "./tmpHeartbeatFiles";
+  // Long enough for the scheduled heartbeats not to interfere with the ones sent by the tests.
+  private static final long LONG_PERIOD_MS = TimeUnit.HOURS.toMillis(1);
+  private static final long SLEEP_MS = 100;
+
+  private final List<ControlMessage.ExecutorHeartbeatMsg> heartbeats = Collections.synchronizedList(new ArrayList<>());
+  private PersistentConnectionToMasterMap persistentConnectionToMasterMap;
+  private LocalFileStore localFileStore;
+  private ByteTransportTrafficCounter trafficCounter;
+  private GarbageCollectorMXBean garbageCollectorMXBean;
+  private AtomicLong gcTimeMs;
+
+  @Before
+  public void setUp() throws Exception {
+    final MessageSender<ControlMessage.Message> messageSender = mock(MessageSender.class);
+    doAnswer((Answer<Void>) invocationOnMock -> {
+      final ControlMessage.Message msg = (ControlMessage.Message) invocationOnMock.getArguments()[0];
+      assertEquals(ControlMessage.MessageType.ExecutorHeartbeat, msg.getType());
+      heartbeats.add(msg.getExecutorHeartbeatMsg());
+      return null;
+    }).when(messageSender).send(any());
+    persistentConnectionToMasterMap = mock(PersistentConnectionToMasterMap.class);
+    when(persistentConnectionToMasterMap.getMessageSender(MessageEnvironment.RUNTIME_MASTER_MESSAGE_LISTENER_ID))
+        .thenReturn(messageSender);
+
+    final Injector injector = Tang.Factory.getTang().newInjector();
+    injector.bindVolatileParameter(JobConf.FileDirectory.class, FILE_DIRECTORY);
+    injector.bindVolatileParameter(JobConf.FileWriteBehindMb.class, 0);
+    localFileStore = injector.getInstance(LocalFileStore.class);
+    trafficCounter = injector.getInstance(ByteTransportTrafficCounter.class);
+
+    // The JVM has spent a lot of time in GC before, which should not count for the heartbeats.
+    gcTimeMs = new AtomicLong(TimeUnit.HOURS.toMillis(1));
+    garbageCollectorMXBean = mock(GarbageCollectorMXBean.class);
+    when(garbageCollectorMXBean.getCollectionTime()).thenAnswer(invocationOnMock -> gcTimeMs.get());
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    FileUtils.deleteDirectory(new File(FILE_DIRECTORY));
+  }
+
+  /**
+   * Tests that the fields of the heartbeats are filled,
+   * and that the GC time ratio and the network throughput are computed over the last period only.
+   */
+  @Test(timeout = 10000)
+  public void testHeartbeatFields() throws Exception {
+    try (final ExecutorHeartbeatSender heartbeatSender = newHeartbeatSender(LONG_PERIOD_MS)) {
+      trafficCounter.channelRead(mock(ChannelHandlerContext.class), Unpooled.wrappedBuffer(new byte[1000]));
+      trafficCounter.write(mock(ChannelHandlerContext.class), Unpooled.wrappedBuffer(new byte[500]), null);
+      Thread.sleep(SLEEP_MS);
+      heartbeatSender.sendHeartbeat();
+
+      assertEquals(1, heartbeats.size());
+      final ControlMessage.ExecutorHeartbeatMsg first = heartbeats.get(0);
+      assertEquals(EXECUTOR_ID, first.getExecutorId());
+      assertTrue(first.getHeapUsedBytes() > 0);
+      assertTrue(first.getHeapMaxBytes() >= first.getHeapUsedBytes());
+      assertTrue(first.getOffHeapUsedBytes() > 0);
+      assertTrue(first.getCpuLoad() <= 1.0);
+      assertEquals(0, first.getLocalDiskUsedBytes());
+      assertEquals(0.0, first.getGcTimeRatio(), 0.0);
+      assertEquals(1000, first.getNetworkBytesIn());
+      assertEquals(500, first.getNetworkBytesOut());
+      // 1500 bytes in at least SLEEP_MS milliseconds.
+      assertTrue(first.getNetworkBytesPerSec() > 0);
+      assertTrue(first.getNetworkBytesPerSec() <= 1500.0 * 1000 / SLEEP_MS);
+
+      gcTimeMs.addAndGet(10);
+      Thread.sleep(SLEEP_MS);
+      heartbeatSender.sendHeartbeat();
+
+      assertEquals(2, heartbeats.size());
+      final ControlMessage.ExecutorHeartbeatMsg second = heartbeats.get(1);
+      // 10 ms of GC in at least SLEEP_MS milliseconds.
+      assertTrue(second.getGcTimeRatio() > 0);
+      assertTrue(second.getGcTimeRatio() <= 10.0 / SLEEP_MS);
+      // The traffic counters are cumulative, but the throughput only counts the last period, which had no traffic.
+      assertEquals(1000, second.getNetworkBytesIn());
+      assertEquals(500, second.getNetworkBytesOut());
+      assertEquals(0.0, second.getNetworkBytesPerSec(), 0.0);
+    }
+  }
+
+  /**
+   * Tests that the heartbeats are sent periodically.
+   */
+  @Test(timeout = 10000)
+  public void testPeriodicHeartbeats() throws Exception {
+    final int numHeartbeats = 3;
+    final CountDownLatch latch = new CountDownLatch(numHeartbeats);
+    final MessageSender<ControlMessage.Message> messageSender = mock(MessageSender.class);
+    doAnswer((Answer<Void>) invocationOnMock -> {
+      latch.countDown();
+      return null;
+    }).when(messageSender).send(any());
+    when(persistentConnectionToMasterMap.getMessageSender(MessageEnvironment.RUNTIME_MASTER_MESSAGE_LISTENER_ID))
+        .thenReturn(messageSender);
+
+    try (final ExecutorHeartbeatSender heartbeatSender = newHeartbeatSender(SLEEP_MS)) {
+      latch.await();
+    }
+  }
+
+  /**
+   * @param periodMs the period of the heartbeats.
+   * @return a heartbeat sender with the mocked components.
+   */
+  private ExecutorHeartbeatSender newHeartbeatSender(final long periodMs) {
+    return new ExecutorHeartbeatSender(EXECUTOR_ID, periodMs, persistentConnectionToMasterMap, localFileStore,
+        trafficCounter, Collections.singletonList(garbageCollectorMXBean));
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.executor.bytetransfer;
+
+import org.junit.Test;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests {@link ClosableSpscQueue}.
+ */
+public final class ClosableSpscQueueTest {
+  private static final int TIMEOUT = 10000;
+  private static final int NUM_ELEMENTS = 100000;
+
+  @Test(timeout = TIMEOUT)
+  public void testOrderAcrossThreads() throws InterruptedException, ExecutionException {
+    final ClosableSpscQueue<Integer> queue = new ClosableSpscQueue<>();
+    final ExecutorService producer = Executors.newSingleThreadExecutor();
+    final Future producerFuture = producer.submit(() -> {
+      for (int i = 0; i < NUM_ELEMENTS; i++) {
+        queue.put(i);
+      }
+      queue.close();
+    });
+    for (int i = 0; i < NUM_ELEMENTS; i++) {
+      assertEquals(i, (int) queue.peek());
+      assertEquals(i, (int) queue.take());
+    }
+    // The queue is drained and closed.
+    assertNull(queue.take());
+    assertNull(queue.peek());
+    producerFuture.get();
+    producer.shutdown();
+  }
+
+  @Test(timeout = TIMEOUT)
+  public void testClose() throws InterruptedException {
+    final ClosableSpscQueue<String> queue = new ClosableSpscQueue<>();
+    assertNull(queue.tryPeek());
+    queue.put("a");
+    queue.close();
+    // Elements put before closing remain available.
+    assertEquals("a", queue.tryPeek());
+    assertEquals("a", queue.take());
+    assertNull(queue.tryPeek());
+    assertNull(queue.take());
+  }
+
+  @Test(timeout = TIMEOUT)
+  public void testCloseExceptionally() throws InterruptedException {
+    final ClosableSpscQueue<String> queue = new ClosableSpscQueue<>();
+    final Thread closer = new Thread(() -> {
+      try {
+        Thread.sleep(TIMEOUT / 10);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      queue.closeExceptionally(new IllegalStateException());
+    });
+    closer.start();
+    try {
+      // Blocks until the queue is closed exceptionally.
+      queue.take();
+      fail();
+    } catch (final RuntimeException e) {
+      assertEquals(IllegalStateException.class, e.getCause().getClass());
+    }
+    closer.join();
+  }
+}
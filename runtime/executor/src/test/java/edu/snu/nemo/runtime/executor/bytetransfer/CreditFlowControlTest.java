@@ -0,0 +1,231 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.executor.bytetransfer;
+
+import edu.snu.nemo.conf.JobConf;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.group.ChannelGroup;
+import org.apache.commons.io.IOUtils;
+import org.apache.reef.tang.Injector;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.exceptions.InjectionException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests the credit-based flow control of {@link ByteOutputContext} and {@link ByteInputContext}.
+ * The sender and the receiver are connected by {@link EmbeddedChannel}s, between which the frames are moved
+ * explicitly, so that what is in flight at each step is deterministic.
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest(ByteTransfer.class)
+@PowerMockIgnore("javax.management.*")
+public final class CreditFlowControlTest {
+  private static final int TIMEOUT = 10000;
+  private static final String SENDER_ID = "sender";
+  private static final String RECEIVER_ID = "receiver";
+  private static final int FRAME_BODY_BYTES = DataFrameEncoder.BODY_LENGTH_PER_FRAME;
+  // The smallest window ContextManager allows, which holds two frames.
+  private static final int WINDOW_BYTES = 2 * FRAME_BODY_BYTES;
+  private static final int FRAME_HEADER_BYTES = 9;
+  private static final byte CREDIT_FRAME_FLAG = (byte) (1 << 4);
+
+  private EmbeddedChannel senderChannel;
+  private EmbeddedChannel receiverChannel;
+  private ContextManager senderContextManager;
+  private ContextManager receiverContextManager;
+  private ByteTransferContextHandler receiverContextHandler;
+
+  @Before
+  public void setUp() throws InjectionException {
+    senderChannel = new EmbeddedChannel();
+    receiverChannel = new EmbeddedChannel();
+    senderContextManager = setUpPipeline(senderChannel, SENDER_ID, mock(ByteTransferContextHandler.class));
+    receiverContextHandler = mock(ByteTransferContextHandler.class);
+    receiverContextManager = setUpPipeline(receiverChannel, RECEIVER_ID, receiverContextHandler);
+  }
+
+  @After
+  public void tearDown() {
+    senderChannel.close();
+    receiverChannel.close();
+  }
+
+  /**
+   * Tests that the receiver grants the whole window at first, that the sender stalls once it runs out of credits,
+   * and that it resumes as the consumer drains the data, which replenishes the credits.
+   * @throws Exception exception on the way.
+   */
+  @Test(timeout = TIMEOUT)
+  public void testSenderStallsAndResumes() throws Exception {
+    final ByteOutputContext outputContext = senderContextManager.newOutputContext(RECEIVER_ID, new byte[0]);
+    transfer(senderChannel, receiverChannel);
+    final ByteInputContext inputContext = getReceivedInputContext();
+
+    // Without credits, nothing is sent although the writer does not block.
+    final byte[] data = newData(3 * FRAME_BODY_BYTES);
+    outputContext.newOutputStream().write(data);
+    outputContext.close();
+    assertEquals(0, transfer(senderChannel, receiverChannel));
+
+    // The initial credits allow two frames, and the third one stalls.
+    assertEquals(WINDOW_BYTES, grantCredit());
+    assertEquals(2 * (FRAME_HEADER_BYTES + FRAME_BODY_BYTES), transfer(senderChannel, receiverChannel));
+    assertEquals(0, transfer(senderChannel, receiverChannel));
+    assertTrue(receiverChannel.config().isAutoRead());
+
+    // Consuming half the window replenishes the credits, with which the rest is sent.
+    final InputStream inputStream = inputContext.getInputStreams().next();
+    final byte[] firstFrame = new byte[FRAME_BODY_BYTES];
+    IOUtils.readFully(inputStream, firstFrame);
+    assertArrayEquals(Arrays.copyOfRange(data, 0, FRAME_BODY_BYTES), firstFrame);
+    assertEquals(FRAME_BODY_BYTES, grantCredit());
+    assertEquals(FRAME_HEADER_BYTES + FRAME_BODY_BYTES + FRAME_HEADER_BYTES,
+        transfer(senderChannel, receiverChannel));
+
+    assertArrayEquals(Arrays.copyOfRange(data, FRAME_BODY_BYTES, data.length), IOUtils.toByteArray(inputStream));
+    assertFalse(inputContext.getInputStreams().hasNext());
+    assertTrue(inputContext.getCompletedFuture().isDone());
+  }
+
+  /**
+   * Tests that the receiver stops reading from the channel once a sender exceeds the window,
+   * and resumes once the consumer drains the buffered data down to half the window.
+   * @throws Exception exception on the way.
+   */
+  @Test(timeout = TIMEOUT)
+  public void testOverflowPausesReading() throws Exception {
+    final ByteOutputContext outputContext = senderContextManager.newOutputContext(RECEIVER_ID, new byte[0]);
+    transfer(senderChannel, receiverChannel);
+    final ByteInputContext inputContext = getReceivedInputContext();
+    assertEquals(WINDOW_BYTES, grantCredit());
+    // A sender which does not respect the credits of the receiver.
+    outputContext.onCredit(FRAME_BODY_BYTES);
+
+    // The context is left open, as closing it would also resume reading.
+    outputContext.newOutputStream().write(newData(3 * FRAME_BODY_BYTES));
+    transfer(senderChannel, receiverChannel);
+    assertFalse(receiverChannel.config().isAutoRead());
+
+    final InputStream inputStream = inputContext.getInputStreams().next();
+    final byte[] frame = new byte[FRAME_BODY_BYTES];
+    IOUtils.readFully(inputStream, frame);
+    assertFalse(receiverChannel.config().isAutoRead());
+    IOUtils.readFully(inputStream, frame);
+    assertTrue(receiverChannel.config().isAutoRead());
+  }
+
+  /**
+   * Tests that reading from the channel resumes only after all the overflowed contexts have drained.
+   */
+  @Test(timeout = TIMEOUT)
+  public void testAutoReadWithMultipleOverflowedContexts() {
+    receiverContextManager.onInputContextOverflowed();
+    receiverContextManager.onInputContextOverflowed();
+    assertFalse(receiverChannel.config().isAutoRead());
+    receiverContextManager.onInputContextDrained();
+    assertFalse(receiverChannel.config().isAutoRead());
+    receiverContextManager.onInputContextDrained();
+    assertTrue(receiverChannel.config().isAutoRead());
+  }
+
+  /**
+   * Sets up the pipeline of a channel as {@link ByteTransportChannelInitializer} does,
+   * without the traffic counter.
+   */
+  private static ContextManager setUpPipeline(final EmbeddedChannel channel,
+                                              final String localExecutorId,
+                                              final ByteTransferContextHandler contextHandler)
+      throws InjectionException {
+    final Injector injector = Tang.Factory.getTang().newInjector(Tang.Factory.getTang().newConfigurationBuilder()
+        .bindNamedParameter(JobConf.ExecutorId.class, localExecutorId)
+        .build());
+    final ContextManager contextManager = new ContextManager(contextHandler, mock(ByteTransfer.class),
+        mock(ChannelGroup.class), localExecutorId, channel, WINDOW_BYTES);
+    channel.pipeline()
+        .addLast(new FrameDecoder(contextManager))
+        .addLast(injector.getInstance(ControlFrameEncoder.class))
+        .addLast(injector.getInstance(DataFrameEncoder.class))
+        .addLast(injector.getInstance(CreditFrameEncoder.class))
+        .addLast(contextManager);
+    return contextManager;
+  }
+
+  /**
+   * @return the input context set up on the receiver.
+   */
+  private ByteInputContext getReceivedInputContext() throws Exception {
+    final ArgumentCaptor<ByteInputContext> captor = ArgumentCaptor.forClass(ByteInputContext.class);
+    verify(receiverContextHandler).onInputContext(captor.capture());
+    return captor.getValue();
+  }
+
+  /**
+   * Moves a credit frame from the receiver to the sender.
+   * @return the number of bytes granted.
+   */
+  private long grantCredit() {
+    final ByteBuf creditFrame = receiverChannel.readOutbound();
+    assertNotEquals(0, creditFrame.getByte(0) & CREDIT_FRAME_FLAG);
+    final long credit = creditFrame.getUnsignedInt(Byte.BYTES + Integer.BYTES);
+    senderChannel.writeInbound(creditFrame);
+    return credit;
+  }
+
+  /**
+   * Moves all the frames written to a channel to the other channel.
+   * @return the number of bytes moved.
+   */
+  private static long transfer(final EmbeddedChannel from, final EmbeddedChannel to) {
+    // run the writes submitted to the event loop
+    from.runPendingTasks();
+    long numBytes = 0;
+    ByteBuf byteBuf;
+    while ((byteBuf = from.readOutbound()) != null) {
+      numBytes += byteBuf.readableBytes();
+      to.writeInbound(byteBuf);
+    }
+    return numBytes;
+  }
+
+  /**
+   * @return random bytes.
+   */
+  private static byte[] newData(final int length) {
+    final byte[] data = new byte[length];
+    new Random(0).nextBytes(data);
+    return data;
+  }
+}
@@ -257,6 +257,41 @@ public final class BlockStoreTest {
     FileUtils.deleteDirectory(new File(TMP_FILE_DIRECTORY));
   }
 
+  /**
+   * Test {@link LocalFileStore} striping blocks over multiple directories.
+   */
+  @Test(timeout = 10000)
+  public void testStripedLocalFileStore() throws Exception {
+    final String firstDirectory = TMP_FILE_DIRECTORY + "/disk0";
+    final String secondDirectory = TMP_FILE_DIRECTORY + "/disk1";
+    FileUtils.deleteDirectory(new File(TMP_FILE_DIRECTORY));
+    final Injector injector = Tang.Factory.getTang().newInjector();
+    injector.bindVolatileParameter(JobConf.FileDirectory.class, firstDirectory + "," + secondDirectory);
+    injector.bindVolatileParameter(JobConf.FileStriping.class, "LeastUsed");
+    injector.bindVolatileInstance(SerializerManager.class, serializerManager);
+
+    final LocalFileStore localFileStore = injector.getInstance(LocalFileStore.class);
+
+    // The blocks are spread over both directories.
+    for (int writeTaskIdx = 0; writeTaskIdx < NUM_WRITE_VERTICES; writeTaskIdx++) {
+      final Block block = localFileStore.createBlock(blockIdList.get(writeTaskIdx));
+      for (final NonSerializedPartition<Integer> partition : partitionsPerBlock.get(writeTaskIdx)) {
+        partition.getData().forEach(element -> block.write(partition.getKey(), element));
+      }
+      block.commit();
+      localFileStore.writeBlock(block);
+    }
+    assertTrue(new File(firstDirectory).list().length > 0);
+    assertTrue(new File(secondDirectory).list().length > 0);
+    blockIdList.forEach(localFileStore::deleteBlock);
+
+    shuffle(localFileStore, localFileStore);
+    concurrentRead(localFileStore, localFileStore);
+    shuffleInHashRange(localFileStore, localFileStore);
+    localFileStore.close();
+    FileUtils.deleteDirectory(new File(TMP_FILE_DIRECTORY));
+  }
+
   /**
    * Test {@link GlusterFileStore}.
    * Actually, we cannot create a virtual GFS volume in here.
@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.executor.data;
+
+import com.google.protobuf.ByteString;
+import edu.snu.nemo.conf.JobConf;
+import edu.snu.nemo.runtime.common.RuntimeIdGenerator;
+import edu.snu.nemo.runtime.common.comm.ControlMessage;
+import edu.snu.nemo.runtime.common.data.HashRange;
+import edu.snu.nemo.runtime.executor.bytetransfer.ByteInputContext;
+import edu.snu.nemo.runtime.executor.bytetransfer.ByteTransfer;
+import edu.snu.nemo.runtime.executor.bytetransfer.ByteTransferContextHandler;
+import edu.snu.nemo.runtime.executor.data.metadata.RemoteFileMetadata;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.SerializationUtils;
+import org.apache.reef.io.network.naming.LocalNameResolverConfiguration;
+import org.apache.reef.io.network.util.StringIdentifierFactory;
+import org.apache.reef.tang.Configurations;
+import org.apache.reef.tang.Injector;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.wake.IdentifierFactory;
+import org.apache.reef.wake.remote.address.LocalAddressProvider;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link ShuffleService}.
+ */
+public final class ShuffleServiceTest {
+  private static final String RUNTIME_EDGE_ID = RuntimeIdGenerator.generateRuntimeEdgeId("Plan-0", "edge-0");
+  private static final String BLOCK_ID = RuntimeIdGenerator.generateBlockId(RUNTIME_EDGE_ID, 0);
+  private static final String OTHER_BLOCK_ID = RuntimeIdGenerator.generateBlockId(RUNTIME_EDGE_ID, 1);
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  /**
+   * Tests that blocks written by an executor can be read from the shuffle service of the node,
+   * each block on its own although they are transferred over a single context.
+   * @throws Exception exception on the way.
+   */
+  @Test(timeout = 10000)
+  public void testServeLocalFileBlocks() throws Exception {
+    final String fileDirectory = folder.newFolder().getAbsolutePath();
+    writeBlock(BLOCK_ID, fileDirectory, "hello", "world!");
+    writeBlock(OTHER_BLOCK_ID, fileDirectory, "nemo");
+
+    final int port = getFreePort();
+    final ShuffleService shuffleService = startShuffleService(port, fileDirectory);
+    final Injector clientInjector = newClientInjector();
+    final ByteTransfer byteTransfer = clientInjector.getInstance(ByteTransfer.class);
+    final String host = clientInjector.getInstance(LocalAddressProvider.class).getLocalAddress();
+
+    try {
+      final ControlMessage.ByteTransferContextDescriptor descriptor =
+          ControlMessage.ByteTransferContextDescriptor.newBuilder()
+              .setBlockStore(ControlMessage.BlockStore.LOCAL_FILE)
+              .setRuntimeEdgeId(RUNTIME_EDGE_ID)
+              .addBlocks(ControlMessage.ByteTransferBlockDescriptor.newBuilder()
+                  .setBlockId(BLOCK_ID)
+                  .setKeyRange(ByteString.copyFrom(SerializationUtils.serialize(HashRange.all()))))
+              .addBlocks(ControlMessage.ByteTransferBlockDescriptor.newBuilder()
+                  .setBlockId(OTHER_BLOCK_ID)
+                  .setKeyRange(ByteString.copyFrom(SerializationUtils.serialize(HashRange.all()))))
+              .build();
+      final ByteInputContext inputContext = byteTransfer.newInputContext(
+          RuntimeIdGenerator.generateShuffleServiceId(host, port), descriptor.toByteArray()).get();
+      final List<CompletableFuture<Iterator<InputStream>>> blockStreamsFutures =
+          GroupedBlockStreams.split(inputContext.getInputStreams(), 2);
+
+      // The second block is available only after the first block has been consumed
+      assertFalse(blockStreamsFutures.get(1).isDone());
+      assertEquals(Arrays.asList("hello", "world!"), readStreams(blockStreamsFutures.get(0).get()));
+      assertEquals(Collections.singletonList("nemo"), readStreams(blockStreamsFutures.get(1).get()));
+    } finally {
+      byteTransfer.close();
+      shuffleService.close();
+    }
+  }
+
+  /**
+   * Tests that the shuffle service deletes the files of the requested blocks only.
+   * @throws Exception exception on the way.
+   */
+  @Test(timeout = 10000)
+  public void testRemoveBlocks() throws Exception {
+    final String fileDirectory = folder.newFolder().getAbsolutePath();
+    writeBlock(BLOCK_ID, fileDirectory, "hello");
+    writeBlock(OTHER_BLOCK_ID, fileDirectory, "nemo");
+
+    final int port = getFreePort();
+    final ShuffleService shuffleService = startShuffleService(port, fileDirectory);
+    final Injector clientInjector = newClientInjector();
+    final ByteTransfer byteTransfer = clientInjector.getInstance(ByteTransfer.class);
+    final String host = clientInjector.getInstance(LocalAddressProvider.class).getLocalAddress();
+
+    try {
+      final ControlMessage.ByteTransferContextDescriptor descriptor =
+          ControlMessage.ByteTransferContextDescriptor.newBuilder()
+              .setBlockStore(ControlMessage.BlockStore.LOCAL_FILE)
+              .setRuntimeEdgeId("")
+              .setRemoveBlocks(true)
+              .addBlocks(ControlMessage.ByteTransferBlockDescriptor.newBuilder().setBlockId(BLOCK_ID))
+              .build();
+      // The shuffle service closes the context once the files are deleted.
+      byteTransfer.newInputContext(RuntimeIdGenerator.generateShuffleServiceId(host, port), descriptor.toByteArray())
+          .get().getCompletedFuture().get();
+
+      assertFalse(new File(DataUtil.blockIdToFilePath(BLOCK_ID, fileDirectory)).exists());
+      assertFalse(new File(DataUtil.blockIdToMetaFilePath(BLOCK_ID, fileDirectory)).exists());
+      assertTrue(new File(DataUtil.blockIdToFilePath(OTHER_BLOCK_ID, fileDirectory)).exists());
+      assertTrue(new File(DataUtil.blockIdToMetaFilePath(OTHER_BLOCK_ID, fileDirectory)).exists());
+    } finally {
+      byteTransfer.close();
+      shuffleService.close();
+    }
+  }
+
+  /**
+   * @return a port not in use.
+   */
+  private static int getFreePort() throws Exception {
+    try (ServerSocket serverSocket = new ServerSocket(0)) {
+      return serverSocket.getLocalPort();
+    }
+  }
+
+  /**
+   * Starts a shuffle service.
+   */
+  private static ShuffleService startShuffleService(final int port, final String fileDirectory) throws Exception {
+    return ShuffleService.start(Tang.Factory.getTang().newConfigurationBuilder()
+        .bindNamedParameter(JobConf.ShuffleServicePort.class, String.valueOf(port))
+        .bindNamedParameter(JobConf.FileDirectory.class, fileDirectory)
+        .build());
+  }
+
+  /**
+   * @return an injector for the byte transfer of an executor, which requests blocks to the shuffle service.
+   */
+  private static Injector newClientInjector() {
+    return Tang.Factory.getTang().newInjector(Configurations.merge(
+        LocalNameResolverConfiguration.CONF.build(),
+        Tang.Factory.getTang().newConfigurationBuilder()
+            .bindImplementation(IdentifierFactory.class, StringIdentifierFactory.class)
+            .bindImplementation(ByteTransferContextHandler.class, ShuffleService.class)
+            .bindNamedParameter(JobConf.ExecutorId.class, "Executor-test")
+            .build()));
+  }
+
+  /**
+   * Writes a local file block, with a partition per content.
+   */
+  private static void writeBlock(final String blockId, final String fileDirectory, final String... contents)
+      throws Exception {
+    final RemoteFileMetadata<Integer> metadata =
+        RemoteFileMetadata.create(DataUtil.blockIdToMetaFilePath(blockId, fileDirectory));
+    try (FileOutputStream fileOutputStream =
+             new FileOutputStream(new File(DataUtil.blockIdToFilePath(blockId, fileDirectory)))) {
+      for (int partition = 0; partition < contents.length; partition++) {
+        final byte[] bytes = contents[partition].getBytes(StandardCharsets.UTF_8);
+        fileOutputStream.write(bytes);
+        metadata.writePartitionMetadata(partition, bytes.length);
+      }
+    }
+    metadata.commitBlock();
+  }
+
+  /**
+   * Reads the streams of a block.
+   */
+  private static List<String> readStreams(final Iterator<InputStream> blockStreams) throws Exception {
+    final List<String> received = new ArrayList<>();
+    while (blockStreams.hasNext()) {
+      received.add(IOUtils.toString(blockStreams.next(), StandardCharsets.UTF_8));
+    }
+    return received;
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.executor.data.partitioner;
+
+import edu.snu.nemo.common.KeyExtractor;
+import org.junit.Test;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link HashPartitioner} and {@link DataSkewHashPartitioner}.
+ */
+public final class HashPartitionerTest {
+  private static final int DST_PARALLELISM = 16;
+  private static final int NUM_KEYS_PER_PARTITION = 1000;
+  private static final int HASH_RANGE_MULTIPLIER = 10;
+  private static final KeyExtractor IDENTITY = element -> element;
+
+  /**
+   * Tests that keys whose hash codes are all multiples of the number of partitions,
+   * which a plain modulo puts in a single partition, are spread evenly.
+   */
+  @Test
+  public void testPoorHashCodesAreSpread() {
+    final HashPartitioner partitioner = new HashPartitioner(DST_PARALLELISM, IDENTITY);
+    final int[] partitionSizes = new int[DST_PARALLELISM];
+    for (int i = 0; i < DST_PARALLELISM * NUM_KEYS_PER_PARTITION; i++) {
+      final int partitionIndex = partitioner.partitionIndex(i * DST_PARALLELISM);
+      assertTrue(partitionIndex >= 0 && partitionIndex < DST_PARALLELISM);
+      partitionSizes[partitionIndex]++;
+    }
+    for (final int partitionSize : partitionSizes) {
+      assertTrue(partitionSize > NUM_KEYS_PER_PARTITION / 2 && partitionSize < NUM_KEYS_PER_PARTITION * 3 / 2);
+    }
+  }
+
+  /**
+   * Tests that the partition keys are not boxed for every element,
+   * including the ones beyond the range of {@link Integer#valueOf(int)} cache.
+   */
+  @Test
+  public void testPartitionKeysAreShared() {
+    final DataSkewHashPartitioner partitioner = new DataSkewHashPartitioner(HASH_RANGE_MULTIPLIER, DST_PARALLELISM,
+        IDENTITY);
+    for (int i = 0; i < DST_PARALLELISM * NUM_KEYS_PER_PARTITION; i++) {
+      assertSame(partitioner.partition(i), partitioner.partition(i));
+    }
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.executor.data.partitioner;
+
+import edu.snu.nemo.common.KeyExtractor;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link RangePartitioner}.
+ */
+public final class RangePartitionerTest {
+  private static final KeyExtractor IDENTITY = element -> element;
+
+  /**
+   * Tests that the keys are put in the ranges between the split points,
+   * and that a key equal to a split point starts the partition after it.
+   */
+  @Test
+  public void testBoundaryKeys() {
+    final RangePartitioner partitioner = new RangePartitioner(Arrays.asList(10, 20, 30), IDENTITY);
+    assertEquals(0, (int) partitioner.partition(Integer.MIN_VALUE));
+    assertEquals(0, (int) partitioner.partition(9));
+    assertEquals(1, (int) partitioner.partition(10));
+    assertEquals(1, (int) partitioner.partition(19));
+    assertEquals(2, (int) partitioner.partition(20));
+    assertEquals(3, (int) partitioner.partition(30));
+    assertEquals(3, (int) partitioner.partition(Integer.MAX_VALUE));
+  }
+
+  /**
+   * Tests that the keys are ordered across the partitions.
+   */
+  @Test
+  public void testPartitionsAreOrdered() {
+    final RangePartitioner partitioner = new RangePartitioner(Arrays.asList("b", "d"), IDENTITY);
+    int lastPartition = 0;
+    for (final String key : Arrays.asList("a", "aa", "b", "bc", "c", "d", "e", "z")) {
+      final int partition = partitioner.partition(key);
+      assertTrue(partition >= lastPartition);
+      lastPartition = partition;
+    }
+    assertEquals(2, lastPartition);
+  }
+
+  /**
+   * Tests that all keys go to the single partition without split points.
+   */
+  @Test
+  public void testNoSplitPoints() {
+    final RangePartitioner partitioner = new RangePartitioner(new ArrayList<>(), IDENTITY);
+    for (int i = -5; i < 5; i++) {
+      assertEquals(0, (int) partitioner.partition(i));
+    }
+  }
+}
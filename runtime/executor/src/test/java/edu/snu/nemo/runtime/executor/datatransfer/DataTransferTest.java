@@ -130,6 +130,7 @@ public final class DataTransferTest {
     injector.bindVolatileInstance(MetricManagerMaster.class, mock(MetricManagerMaster.class));
     injector.bindVolatileInstance(MetricMessageHandler.class, mock(MetricMessageHandler.class));
     injector.bindVolatileParameter(JobConf.DAGDirectory.class, EMPTY_DAG_DIRECTORY);
+    injector.bindVolatileParameter(JobConf.JobId.class, "data transfer test");
 
     // Necessary for wiring up the message environments
     injector.getInstance(RuntimeMaster.class);
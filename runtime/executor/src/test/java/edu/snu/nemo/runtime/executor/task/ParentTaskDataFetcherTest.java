@@ -16,12 +16,17 @@
 package edu.snu.nemo.runtime.executor.task;
 
 import edu.snu.nemo.common.coder.DecoderFactory;
+import edu.snu.nemo.conf.JobConf;
 import edu.snu.nemo.common.ir.edge.executionproperty.DecoderProperty;
 import edu.snu.nemo.common.ir.executionproperty.ExecutionPropertyMap;
 import edu.snu.nemo.common.ir.vertex.IRVertex;
 import edu.snu.nemo.runtime.common.plan.RuntimeEdge;
 import edu.snu.nemo.runtime.executor.data.DataUtil;
+import edu.snu.nemo.runtime.executor.datatransfer.InputPrefetcher;
 import edu.snu.nemo.runtime.executor.datatransfer.InputReader;
+import org.apache.reef.tang.Configuration;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.exceptions.InjectionException;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.powermock.core.classloader.annotations.PrepareForTest;
@@ -89,6 +94,58 @@ public final class ParentTaskDataFetcherTest {
     assertEquals(null, fetcher.fetchDataElement());
   }
 
+  @Test(timeout=5000)
+  public void testReadAhead() throws Exception {
+    // InputReader with multiple blocks
+    final List<CompletableFuture> futures = new ArrayList<>();
+    final Set<Integer> expected = new HashSet<>();
+    for (int block = 0; block < 5; block++) {
+      final List<Integer> dataElements = new ArrayList<>();
+      for (int element = 0; element < 10; element++) {
+        dataElements.add(block * 10 + element);
+        expected.add(block * 10 + element);
+      }
+      futures.add(generateCompletableFuture(dataElements.iterator()));
+    }
+    final InputReader inputReader = mock(InputReader.class);
+    when(inputReader.read()).thenReturn((List) futures);
+
+    // Fetcher
+    final ParentTaskDataFetcher fetcher = createFetcher(inputReader);
+
+    // Should return all elements of all blocks
+    final Set<Integer> fetched = new HashSet<>();
+    for (int i = 0; i < expected.size(); i++) {
+      fetched.add((Integer) fetcher.fetchDataElement());
+    }
+    assertEquals(expected, fetched);
+    assertEquals(null, fetcher.fetchDataElement());
+  }
+
+  @Test(timeout=5000)
+  public void testReadAheadBudget() throws Exception {
+    // A block of 10 elements, each of which takes 1 MB in encoded form
+    final SizedIterator sizedIterator = new SizedIterator(10, 1024 * 1024);
+    final InputReader inputReader = generateInputReader(CompletableFuture.completedFuture(sizedIterator));
+
+    // Fetcher with a read-ahead budget of 1 MB
+    final Configuration conf = Tang.Factory.getTang().newConfigurationBuilder()
+        .bindNamedParameter(JobConf.ReadAheadMemMb.class, "1")
+        .build();
+    final ParentTaskDataFetcher fetcher = createFetcher(inputReader,
+        Tang.Factory.getTang().newInjector(conf).getInstance(InputPrefetcher.class));
+
+    // Read-ahead should stop as soon as the budget is exceeded
+    assertEquals(0, fetcher.fetchDataElement());
+    assertEquals(2, sizedIterator.numReadElements);
+
+    // The rest of the block should be read directly
+    for (int i = 1; i < 10; i++) {
+      assertEquals(i, fetcher.fetchDataElement());
+    }
+    assertEquals(null, fetcher.fetchDataElement());
+  }
+
   @Test(timeout=5000, expected = IOException.class)
   public void testErrorWhenRPC() throws Exception {
     // Failing future
@@ -123,11 +180,19 @@ public final class ParentTaskDataFetcherTest {
     fetcher.fetchDataElement(); // checked by 'expected = IOException.class'
   }
 
-  private ParentTaskDataFetcher createFetcher(final InputReader readerForParentTask) {
+  private ParentTaskDataFetcher createFetcher(final InputReader readerForParentTask) throws InjectionException {
+    return createFetcher(readerForParentTask, Tang.Factory.getTang().newInjector().getInstance(InputPrefetcher.class));
+  }
+
+  private ParentTaskDataFetcher createFetcher(final InputReader readerForParentTask,
+                                              final InputPrefetcher inputPrefetcher) {
+    final VertexHarness child = mock(VertexHarness.class);
+    when(child.getMetricCounters()).thenReturn(new OperatorMetricCounters("child"));
     return new ParentTaskDataFetcher(
         mock(IRVertex.class),
         readerForParentTask, // This is the only argument that affects the behavior of ParentTaskDataFetcher
-        mock(VertexHarness.class),
+        inputPrefetcher,
+        child,
         false);
   }
 
@@ -163,6 +228,45 @@ public final class ParentTaskDataFetcherTest {
    return CompletableFuture.completedFuture(DataUtil.IteratorWithNumBytes.of(iterator));
   }
 
+  /**
+   * Iterates over integers, each of which takes the given number of bytes in encoded form.
+   */
+  private static final class SizedIterator implements DataUtil.IteratorWithNumBytes<Integer> {
+    private final int numElements;
+    private final long numBytesPerElement;
+    private volatile int numReadElements = 0;
+
+    private SizedIterator(final int numElements, final long numBytesPerElement) {
+      this.numElements = numElements;
+      this.numBytesPerElement = numBytesPerElement;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return numReadElements < numElements;
+    }
+
+    @Override
+    public Integer next() {
+      return numReadElements++;
+    }
+
+    @Override
+    public long getNumSerializedBytes() {
+      return getNumEncodedBytes();
+    }
+
+    @Override
+    public long getNumEncodedBytes() {
+      return numElements * numBytesPerElement;
+    }
+
+    @Override
+    public long getNumEncodedBytesRead() {
+      return numReadElements * numBytesPerElement;
+    }
+  }
+
   private class FailedIterator implements Iterator {
     @Override
     public boolean hasNext() {
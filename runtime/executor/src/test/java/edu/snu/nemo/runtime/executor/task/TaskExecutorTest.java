@@ -40,8 +40,10 @@ import edu.snu.nemo.runtime.executor.MetricMessageSender;
 import edu.snu.nemo.runtime.executor.TaskStateManager;
 import edu.snu.nemo.runtime.executor.data.DataUtil;
 import edu.snu.nemo.runtime.executor.datatransfer.DataTransferFactory;
+import edu.snu.nemo.runtime.executor.datatransfer.InputPrefetcher;
 import edu.snu.nemo.runtime.executor.datatransfer.InputReader;
 import edu.snu.nemo.runtime.executor.datatransfer.OutputWriter;
+import org.apache.reef.tang.Tang;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -100,6 +102,8 @@ public final class TaskExecutorTest {
     dataTransferFactory = mock(DataTransferFactory.class);
     when(dataTransferFactory.createReader(anyInt(), any(), any())).then(new ParentTaskReaderAnswer());
     when(dataTransferFactory.createWriter(any(), anyInt(), any(), any())).then(new ChildTaskWriterAnswer());
+    when(dataTransferFactory.getInputPrefetcher())
+        .thenReturn(Tang.Factory.getTang().newInjector().getInstance(InputPrefetcher.class));
 
     // Mock a MetricMessageSender.
     metricMessageSender = mock(MetricMessageSender.class);
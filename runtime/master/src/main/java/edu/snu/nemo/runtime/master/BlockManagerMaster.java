@@ -19,6 +19,7 @@ import edu.snu.nemo.common.dag.DAG;
 import edu.snu.nemo.common.exception.IllegalMessageException;
 import edu.snu.nemo.common.exception.UnknownExecutionStateException;
 import edu.snu.nemo.common.ir.vertex.IRVertex;
+import edu.snu.nemo.common.ir.vertex.executionproperty.ResourcePriorityProperty;
 import edu.snu.nemo.runtime.common.comm.ControlMessage;
 import edu.snu.nemo.runtime.common.exception.AbsentBlockException;
 import edu.snu.nemo.runtime.common.RuntimeIdGenerator;
@@ -30,6 +31,8 @@ import edu.snu.nemo.runtime.common.plan.RuntimeEdge;
 import edu.snu.nemo.runtime.common.plan.Stage;
 import edu.snu.nemo.runtime.common.plan.StageEdge;
 import edu.snu.nemo.runtime.common.state.BlockState;
+import edu.snu.nemo.runtime.master.resource.ExecutorRepresenter;
+import edu.snu.nemo.runtime.master.scheduler.ExecutorRegistry;
 
 import com.google.common.annotations.VisibleForTesting;
 
@@ -43,6 +46,8 @@ import java.util.concurrent.Future;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import org.apache.reef.annotations.audience.DriverSide;
@@ -53,6 +58,9 @@ import static edu.snu.nemo.runtime.common.state.BlockState.State.IN_PROGRESS;
 
 /**
  * Master-side block manager.
+ * The location of a block is the executor which has it, or the shuffle service of the node which has it.
+ * The blocks owned by a shuffle service are not lost with the executors of the node.
+ * A block may also have replicas in other executors, one of which takes over the block when its location is lost.
  */
 @ThreadSafe
 @DriverSide
@@ -66,19 +74,23 @@ public final class BlockManagerMaster {
   // On the other hand, operation that deals with multiple blocks or
   // modifies global variables in this class have to acquire an (exclusive) write lock.
   private final ReadWriteLock lock;
+  private final ExecutorRegistry executorRegistry;
 
   /**
    * Constructor.
    *
    * @param masterMessageEnvironment the message environment.
+   * @param executorRegistry         the registry of the executors to choose the replica locations from.
    */
   @Inject
-  private BlockManagerMaster(final MessageEnvironment masterMessageEnvironment) {
+  private BlockManagerMaster(final MessageEnvironment masterMessageEnvironment,
+                             final ExecutorRegistry executorRegistry) {
     masterMessageEnvironment.setupListener(MessageEnvironment.BLOCK_MANAGER_MASTER_MESSAGE_LISTENER_ID,
         new PartitionManagerMasterControlMessageReceiver());
     this.blockIdToMetadata = new HashMap<>();
     this.producerTaskIdToBlockIds = new HashMap<>();
     this.lock = new ReentrantReadWriteLock();
+    this.executorRegistry = executorRegistry;
   }
 
   public void initialize(final PhysicalPlan physicalPlan) {
@@ -131,25 +143,104 @@ public final class BlockManagerMaster {
     }
   }
 
+  /**
+   * Detaches the blocks from their producer tasks, to keep them beyond the job that produced them.
+   * The ids of the producer tasks may be reused by the tasks of later jobs,
+   * whose scheduling or failure must not change the states of these blocks.
+   * Note that a detached block is not recomputed when it is lost with its executor.
+   *
+   * @param blockIds the ids of the blocks to keep.
+   */
+  public void retainBlocks(final Collection<String> blockIds) {
+    final Lock writeLock = lock.writeLock();
+    writeLock.lock();
+    try {
+      producerTaskIdToBlockIds.values().forEach(producedBlockIds -> producedBlockIds.removeAll(blockIds));
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * Forgets the blocks of a finished job, except the ones retained beyond the job,
+   * tells the executors to drop the replicas of the forgotten blocks,
+   * and has the shuffle services delete the files of the forgotten blocks they serve.
+   *
+   * @param physicalPlan the physical plan of the finished job.
+   * @return the ids of the forgotten blocks.
+   */
+  public Set<String> onJobFinished(final PhysicalPlan physicalPlan) {
+    final Set<String> removedBlockIds = new HashSet<>();
+    final Map<String, List<String>> shuffleServiceIdToBlockIds = new HashMap<>();
+    final Lock writeLock = lock.writeLock();
+    writeLock.lock();
+    try {
+      physicalPlan.getStageDAG().getVertices().forEach(stage -> stage.getTaskIds().forEach(taskId -> {
+        // The retained blocks have been detached from their producer tasks.
+        final Set<String> blockIds = producerTaskIdToBlockIds.remove(taskId);
+        if (blockIds != null) {
+          blockIds.forEach(blockId -> getLocation(blockIdToMetadata.remove(blockId))
+              .filter(RuntimeIdGenerator::isShuffleServiceId)
+              .ifPresent(location -> shuffleServiceIdToBlockIds
+                  .computeIfAbsent(location, id -> new ArrayList<>()).add(blockId)));
+          removedBlockIds.addAll(blockIds);
+        }
+      }));
+    } finally {
+      writeLock.unlock();
+    }
+
+    if (!removedBlockIds.isEmpty()) {
+      removeReplicas(executor -> true, removedBlockIds);
+    }
+    shuffleServiceIdToBlockIds.forEach(this::removeShuffleServiceBlocks);
+    return removedBlockIds;
+  }
+
   /**
    * Manages the block information when a executor is removed.
+   * The blocks handed over to the shuffle service of its node, or taken over by their replicas, are kept.
    *
    * @param executorId the id of removed executor.
    * @return the set of tasks have to be recomputed.
    */
   public Set<String> removeWorker(final String executorId) {
+    return removeLocation(executorId);
+  }
+
+  /**
+   * Manages the block information when a shuffle service cannot be reached,
+   * in which case all the blocks owned by its node are lost.
+   *
+   * @param shuffleServiceId the id of the lost shuffle service.
+   * @return the set of tasks have to be recomputed.
+   */
+  public Set<String> removeShuffleService(final String shuffleServiceId) {
+    LOG.warn("{} is lost", shuffleServiceId);
+    return removeLocation(shuffleServiceId);
+  }
+
+  /**
+   * @param location the lost location of blocks.
+   * @return the set of tasks have to be recomputed.
+   */
+  private Set<String> removeLocation(final String location) {
     final Set<String> tasksToRecompute = new HashSet<>();
 
     final Lock writeLock = lock.writeLock();
     writeLock.lock();
     try {
-      // Set committed block states to lost
-      getCommittedBlocksByWorker(executorId).forEach(blockId -> {
-        onBlockStateChanged(blockId, BlockState.State.NOT_AVAILABLE, executorId);
-        // producerTaskForPartition should always be non-empty.
+      // Set committed block states to lost, unless replicas take over them
+      getCommittedBlocksByWorker(location).forEach(blockId -> {
+        if (blockIdToMetadata.get(blockId).failOver(location)) {
+          return;
+        }
+        onBlockStateChanged(blockId, BlockState.State.NOT_AVAILABLE, location);
+        // producerTaskForPartition is empty only for the blocks retained beyond the job that produced them.
         final Set<String> producerTaskForPartition = getProducerTaskIds(blockId);
         producerTaskForPartition.forEach(tasksToRecompute::add);
       });
+      blockIdToMetadata.values().forEach(blockMetadata -> blockMetadata.removeReplica(location));
 
       return tasksToRecompute;
     } finally {
@@ -168,6 +259,12 @@ public final class BlockManagerMaster {
     final Lock readLock = lock.readLock();
     readLock.lock();
     try {
+      if (!blockIdToMetadata.containsKey(blockId)) {
+        // The block of a finished job, which has been forgotten.
+        final BlockLocationRequestHandler handler = new BlockLocationRequestHandler(blockId);
+        handler.completeExceptionally(new AbsentBlockException(blockId, BlockState.State.NOT_AVAILABLE));
+        return handler;
+      }
       final BlockState.State state = getBlockState(blockId);
       switch (state) {
         case IN_PROGRESS:
@@ -266,7 +363,7 @@ public final class BlockManagerMaster {
   /**
    * Gets the committed blocks by an executor.
    *
-   * @param executorId the id of the executor.
+   * @param executorId the id of the executor, or of a shuffle service.
    * @return the committed blocks by the executor.
    */
   @VisibleForTesting
@@ -325,10 +422,155 @@ public final class BlockManagerMaster {
     final Lock readLock = lock.readLock();
     readLock.lock();
     try {
-      blockIdToMetadata.get(blockId).onStateChanged(newState, location);
+      final BlockMetadata blockMetadata = blockIdToMetadata.get(blockId);
+      if (blockMetadata == null) {
+        LOG.info("{} state change to {} arrived after its job finished, we will ignore this.", blockId, newState);
+        return;
+      }
+      blockMetadata.onStateChanged(newState, location);
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  /**
+   * Deals with a new replica of a block.
+   *
+   * @param blockId  the id of the block.
+   * @param location the executor which has the replica.
+   */
+  @VisibleForTesting
+  public void onReplicaAdded(final String blockId, final String location) {
+    final Lock readLock = lock.readLock();
+    readLock.lock();
+    try {
+      final BlockMetadata blockMetadata = blockIdToMetadata.get(blockId);
+      if (blockMetadata != null) {
+        blockMetadata.onReplicaAdded(location);
+        return;
+      }
     } finally {
       readLock.unlock();
     }
+
+    LOG.info("A replica of {} arrived after its job finished, removing it from {}", blockId, location);
+    removeReplicas(executor -> executor.getExecutorId().equals(location), Collections.singleton(blockId));
+  }
+
+  /**
+   * Tells the executors to drop the replicas of the blocks, if they have any.
+   *
+   * @param executorFilter selects the executors to tell.
+   * @param blockIds       the ids of the blocks.
+   */
+  private void removeReplicas(final Predicate<ExecutorRepresenter> executorFilter,
+                              final Collection<String> blockIds) {
+    executorRegistry.viewExecutors(executors -> executors.stream().filter(executorFilter).forEach(executor ->
+        executor.sendControlMessage(ControlMessage.Message.newBuilder()
+            .setId(RuntimeIdGenerator.generateMessageId())
+            .setListenerId(MessageEnvironment.EXECUTOR_MESSAGE_LISTENER_ID)
+            .setType(ControlMessage.MessageType.RemoveReplicas)
+            .setRemoveReplicasMsg(ControlMessage.RemoveReplicasMsg.newBuilder().addAllBlockIds(blockIds))
+            .build())));
+  }
+
+  /**
+   * Tells the executors to forget the blocks which a shuffle service serves,
+   * and one of them to have the shuffle service delete the files of the blocks.
+   * The files of the blocks written by lost executors are deleted as well, as the shuffle service does not rely on
+   * the executors which wrote them. If there is no executor left, the files are not deleted.
+   *
+   * @param shuffleServiceId the id of the shuffle service.
+   * @param blockIds         the ids of the blocks.
+   */
+  private void removeShuffleServiceBlocks(final String shuffleServiceId, final List<String> blockIds) {
+    executorRegistry.viewExecutors(executors -> {
+      boolean isForwarded = false;
+      for (final ExecutorRepresenter executor : executors) {
+        executor.sendControlMessage(ControlMessage.Message.newBuilder()
+            .setId(RuntimeIdGenerator.generateMessageId())
+            .setListenerId(MessageEnvironment.EXECUTOR_MESSAGE_LISTENER_ID)
+            .setType(ControlMessage.MessageType.RemoveShuffleServiceBlocks)
+            .setRemoveShuffleServiceBlocksMsg(ControlMessage.RemoveShuffleServiceBlocksMsg.newBuilder()
+                .setShuffleServiceId(shuffleServiceId)
+                .addAllBlockIds(blockIds)
+                .setForwardToShuffleService(!isForwarded))
+            .build());
+        isForwarded = true;
+      }
+      if (!isForwarded) {
+        LOG.warn("No executor to ask {} to delete {} blocks", shuffleServiceId, blockIds.size());
+      }
+    });
+  }
+
+  /**
+   * @param blockMetadata the metadata of a block, or null.
+   * @return the location of the block, or empty if the block is not committed or lost.
+   */
+  private static Optional<String> getLocation(@Nullable final BlockMetadata blockMetadata) {
+    if (blockMetadata == null) {
+      return Optional.empty();
+    }
+    final Future<String> location = blockMetadata.getLocationHandler().getLocationFuture();
+    if (!location.isDone()) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(location.get());
+    } catch (final ExecutionException e) {
+      // The block is not available.
+      return Optional.empty();
+    } catch (final InterruptedException e) {
+      // Cannot reach here because we check the completion of the future already.
+      Thread.currentThread().interrupt();
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Chooses the executors to keep the replicas of a block.
+   * The executors of {@link ResourcePriorityProperty#RESERVED} resources are preferred,
+   * as they are not expected to be lost with the executors of transient resources.
+   *
+   * @param requestingExecutorId the executor which has the block.
+   * @param numReplicas          the number of replicas.
+   * @return the ids of the chosen executors, which can be fewer than the number of replicas.
+   */
+  @VisibleForTesting
+  public List<String> chooseReplicaTargets(final String requestingExecutorId, final int numReplicas) {
+    final List<String> targets = new ArrayList<>();
+    executorRegistry.viewExecutors(executors -> targets.addAll(executors.stream()
+        .filter(executor -> !executor.getExecutorId().equals(requestingExecutorId))
+        .sorted(Comparator.comparing((ExecutorRepresenter executor) ->
+            !ResourcePriorityProperty.RESERVED.equals(executor.getContainerType()))
+            .thenComparing(ExecutorRepresenter::getExecutorId))
+        .limit(numReplicas)
+        .map(ExecutorRepresenter::getExecutorId)
+        .collect(Collectors.toList())));
+    return targets;
+  }
+
+  /**
+   * Deals with a request for the executors to keep the replicas of a block.
+   *
+   * @param message        the request message.
+   * @param messageContext the message context which will be used for response.
+   */
+  void onRequestBlockReplicaTargets(final ControlMessage.Message message,
+                                    final MessageContext messageContext) {
+    assert (message.getType() == ControlMessage.MessageType.RequestBlockReplicaTargets);
+    final ControlMessage.RequestBlockReplicaTargetsMsg requestMsg = message.getRequestBlockReplicaTargetsMsg();
+    messageContext.reply(
+        ControlMessage.Message.newBuilder()
+            .setId(RuntimeIdGenerator.generateMessageId())
+            .setListenerId(MessageEnvironment.EXECUTOR_MESSAGE_LISTENER_ID)
+            .setType(ControlMessage.MessageType.BlockReplicaTargetsInfo)
+            .setBlockReplicaTargetsInfoMsg(ControlMessage.BlockReplicaTargetsInfoMsg.newBuilder()
+                .setRequestId(message.getId())
+                .setBlockId(requestMsg.getBlockId())
+                .addAllExecutorIds(chooseReplicaTargets(requestMsg.getExecutorId(), requestMsg.getNumReplicas())))
+            .build());
   }
 
   /**
@@ -365,8 +607,17 @@ public final class BlockManagerMaster {
             final ControlMessage.BlockStateChangedMsg blockStateChangedMsg =
                 message.getBlockStateChangedMsg();
             final String blockId = blockStateChangedMsg.getBlockId();
-            onBlockStateChanged(blockId, convertBlockState(blockStateChangedMsg.getState()),
-                blockStateChangedMsg.getLocation());
+            final BlockState.State newState = convertBlockState(blockStateChangedMsg.getState());
+            final String location = blockStateChangedMsg.getLocation();
+            if (blockStateChangedMsg.getReplica()) {
+              onReplicaAdded(blockId, location);
+            } else if (BlockState.State.NOT_AVAILABLE.equals(newState)
+                && RuntimeIdGenerator.isShuffleServiceId(location)) {
+              // A reader failed to connect to the shuffle service.
+              removeShuffleService(location);
+            } else {
+              onBlockStateChanged(blockId, newState, location);
+            }
             break;
           default:
             throw new IllegalMessageException(
@@ -384,6 +635,9 @@ public final class BlockManagerMaster {
         case RequestBlockLocation:
           onRequestBlockLocation(message, messageContext);
           break;
+        case RequestBlockReplicaTargets:
+          onRequestBlockReplicaTargets(message, messageContext);
+          break;
         default:
           throw new IllegalMessageException(
               new Exception("This message should not be received by "
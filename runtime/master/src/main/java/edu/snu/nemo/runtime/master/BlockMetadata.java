@@ -23,9 +23,13 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 /**
  * This class represents a block metadata stored in the metadata server.
+ * Besides the location of the block, it keeps the locations of the replicas of the block,
+ * one of which takes over when the block is lost with its location.
  */
 @ThreadSafe
 final class BlockMetadata {
@@ -33,6 +37,7 @@ final class BlockMetadata {
   private final String blockId;
   private final BlockState blockState;
   private volatile BlockManagerMaster.BlockLocationRequestHandler locationHandler;
+  private final Set<String> replicaLocations;
 
   /**
    * Constructs the metadata for a block.
@@ -44,6 +49,7 @@ final class BlockMetadata {
     this.blockId = blockId;
     this.blockState = new BlockState();
     this.locationHandler = new BlockManagerMaster.BlockLocationRequestHandler(blockId);
+    this.replicaLocations = new LinkedHashSet<>();
   }
 
   /**
@@ -66,6 +72,7 @@ final class BlockMetadata {
         // Reset the block location and committer information.
         locationHandler.completeExceptionally(new AbsentBlockException(blockId, newState));
         locationHandler = new BlockManagerMaster.BlockLocationRequestHandler(blockId);
+        replicaLocations.clear();
         break;
       case AVAILABLE:
         if (location == null) {
@@ -80,6 +87,47 @@ final class BlockMetadata {
     stateMachine.setState(newState);
   }
 
+  /**
+   * Deals with a new replica of the corresponding block.
+   * Replicas of a block which is not available (e.g., lost before the replication completes) are ignored.
+   *
+   * @param location the location of the replica.
+   */
+  synchronized void onReplicaAdded(final String location) {
+    if (BlockState.State.AVAILABLE.equals(blockState.getStateMachine().getCurrentState())) {
+      replicaLocations.add(location);
+    }
+  }
+
+  /**
+   * Deals with the loss of a location, which may hold the block or one of its replicas.
+   * If the block is lost and it has a replica, the replica takes over the block.
+   *
+   * @param lostLocation the lost location.
+   * @return whether the block has been taken over by a replica.
+   */
+  synchronized boolean failOver(final String lostLocation) {
+    replicaLocations.remove(lostLocation);
+    if (replicaLocations.isEmpty()) {
+      return false;
+    }
+    final String replicaLocation = replicaLocations.iterator().next();
+    replicaLocations.remove(replicaLocation);
+    LOG.info("Block {} is taken over from {} by {}", new Object[]{blockId, lostLocation, replicaLocation});
+    locationHandler = new BlockManagerMaster.BlockLocationRequestHandler(blockId);
+    locationHandler.complete(replicaLocation);
+    return true;
+  }
+
+  /**
+   * Removes a lost location from the replicas of the corresponding block.
+   *
+   * @param lostLocation the lost location.
+   */
+  synchronized void removeReplica(final String lostLocation) {
+    replicaLocations.remove(lostLocation);
+  }
+
   /**
    * @return the block id.
    */
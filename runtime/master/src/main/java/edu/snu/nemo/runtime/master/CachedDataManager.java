@@ -0,0 +1,230 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.master;
+
+import edu.snu.nemo.common.dag.DAG;
+import edu.snu.nemo.common.dag.DAGBuilder;
+import edu.snu.nemo.common.ir.edge.IREdge;
+import edu.snu.nemo.common.ir.edge.executionproperty.*;
+import edu.snu.nemo.common.ir.vertex.CachedSourceVertex;
+import edu.snu.nemo.common.ir.vertex.IRVertex;
+import edu.snu.nemo.common.ir.vertex.OperatorVertex;
+import edu.snu.nemo.common.ir.vertex.executionproperty.CacheProperty;
+import edu.snu.nemo.common.ir.vertex.executionproperty.ParallelismProperty;
+import edu.snu.nemo.common.ir.vertex.transform.RelayTransform;
+import edu.snu.nemo.runtime.common.RuntimeIdGenerator;
+import edu.snu.nemo.runtime.common.state.BlockState;
+import org.apache.reef.annotations.audience.DriverSide;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.ThreadSafe;
+import javax.inject.Inject;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Keeps track of the outputs of the vertices with {@link CacheProperty}, which are kept as blocks
+ * beyond the end of the job that computed them.
+ * The IR DAGs of the later jobs are rewritten to read the cached blocks instead of recomputing them.
+ */
+@ThreadSafe
+@DriverSide
+public final class CachedDataManager {
+  private static final Logger LOG = LoggerFactory.getLogger(CachedDataManager.class.getName());
+
+  private final BlockManagerMaster blockManagerMaster;
+  private final Map<String, CachedData> cachedVertexIdToData;
+
+  /**
+   * Constructor.
+   *
+   * @param blockManagerMaster the block manager master which manages the cached blocks.
+   */
+  @Inject
+  private CachedDataManager(final BlockManagerMaster blockManagerMaster) {
+    this.blockManagerMaster = blockManagerMaster;
+    this.cachedVertexIdToData = new HashMap<>();
+  }
+
+  /**
+   * Rewrites the IR DAG of a job, before the optimization.
+   * A vertex whose output is cached is replaced by a {@link CachedSourceVertex} followed by a relay vertex,
+   * which reads the cached blocks, and the vertices that only the cached vertices depend on are removed.
+   * The outgoing edges of the vertices with {@link CacheProperty} whose output is not cached yet
+   * are annotated to keep their output.
+   *
+   * @param dag the IR DAG to rewrite.
+   * @return the rewritten IR DAG.
+   */
+  public synchronized DAG<IRVertex, IREdge> apply(final DAG<IRVertex, IREdge> dag) {
+    // The cached outputs some blocks of which are lost, e.g., with their executors, are computed again.
+    cachedVertexIdToData.values().removeIf(cachedData -> !isAvailable(cachedData));
+
+    final Set<IRVertex> cachedVertices = dag.getVertices().stream()
+        .filter(vertex -> cachedVertexIdToData.containsKey(vertex.getId()))
+        .collect(Collectors.toSet());
+    dag.getVertices().stream()
+        .filter(vertex -> !cachedVertices.contains(vertex))
+        .forEach(vertex -> vertex.getPropertyValue(CacheProperty.class).ifPresent(dataStore ->
+            dag.getOutgoingEdgesOf(vertex).forEach(edge -> edge
+                .setProperty(DataStoreProperty.of(dataStore))
+                .setProperty(DataPersistenceProperty.of(DataPersistenceProperty.Value.Keep)))));
+    if (cachedVertices.isEmpty()) {
+      return dag;
+    }
+
+    // Only the vertices which the sinks depend on, not through the cached vertices, are required.
+    final Set<IRVertex> requiredVertices = new HashSet<>();
+    final Deque<IRVertex> verticesToVisit = dag.getVertices().stream()
+        .filter(vertex -> dag.getOutgoingEdgesOf(vertex).isEmpty())
+        .collect(Collectors.toCollection(ArrayDeque::new));
+    while (!verticesToVisit.isEmpty()) {
+      final IRVertex vertex = verticesToVisit.pop();
+      if (requiredVertices.add(vertex) && !cachedVertices.contains(vertex)) {
+        verticesToVisit.addAll(dag.getParents(vertex.getId()));
+      }
+    }
+
+    final DAGBuilder<IRVertex, IREdge> builder = new DAGBuilder<>();
+    final Map<IRVertex, IRVertex> cachedVertexToRelay = new HashMap<>();
+    dag.topologicalDo(vertex -> {
+      if (!requiredVertices.contains(vertex)) {
+        return;
+      } else if (cachedVertices.contains(vertex)) {
+        final CachedData cachedData = cachedVertexIdToData.get(vertex.getId());
+        final IRVertex sourceVertex = new CachedSourceVertex<>(vertex.getId(), cachedData.getParallelism());
+        sourceVertex.setProperty(ParallelismProperty.of(cachedData.getParallelism()));
+        final IRVertex relayVertex = new OperatorVertex(new RelayTransform());
+        relayVertex.setProperty(ParallelismProperty.of(cachedData.getParallelism()));
+        builder.addVertex(sourceVertex).addVertex(relayVertex).connectVertices(
+            cachedData.newEdgeToRead(sourceVertex, relayVertex));
+        cachedVertexToRelay.put(vertex, relayVertex);
+        LOG.info("Reading the cached output of {} instead of computing it", vertex.getId());
+      } else {
+        builder.addVertex(vertex);
+        dag.getIncomingEdgesOf(vertex).forEach(edge -> {
+          final IRVertex relayVertex = cachedVertexToRelay.get(edge.getSrc());
+          if (relayVertex == null) {
+            builder.connectVertices(edge);
+          } else {
+            final IREdge newEdge = new IREdge(edge.getPropertyValue(CommunicationPatternProperty.class).get(),
+                relayVertex, vertex, edge.isSideInput());
+            edge.copyExecutionPropertiesTo(newEdge);
+            builder.connectVertices(newEdge);
+          }
+        });
+      }
+    });
+    return builder.build();
+  }
+
+  /**
+   * Remembers the outputs of the vertices with {@link CacheProperty} in a completed job,
+   * and keeps their blocks in the {@link BlockManagerMaster}.
+   *
+   * @param physicalPlanId the id of the physical plan of the completed job, which prefixes the ids of its blocks.
+   * @param dag the optimized IR DAG of the completed job.
+   */
+  public synchronized void onJobCompleted(final String physicalPlanId, final DAG<IRVertex, IREdge> dag) {
+    dag.getVertices().stream()
+        .filter(vertex -> vertex.getPropertyValue(CacheProperty.class).isPresent())
+        .filter(vertex -> !cachedVertexIdToData.containsKey(vertex.getId()))
+        .forEach(vertex -> dag.getOutgoingEdgesOf(vertex).stream()
+            .filter(edge -> DataPersistenceProperty.Value.Keep
+                .equals(edge.getPropertyValue(DataPersistenceProperty.class).orElse(null)))
+            .findFirst()
+            .ifPresent(edge -> {
+              final CachedData cachedData = new CachedData(edge,
+                  RuntimeIdGenerator.generateRuntimeEdgeId(physicalPlanId, edge.getId()),
+                  vertex.getPropertyValue(ParallelismProperty.class).get());
+              blockManagerMaster.retainBlocks(cachedData.getBlockIds());
+              cachedVertexIdToData.put(vertex.getId(), cachedData);
+              LOG.info("Cached the output of {} through {}", vertex.getId(), edge.getId());
+            }));
+  }
+
+  /**
+   * @param cachedData the cached data.
+   * @return whether all the blocks of the cached data are available.
+   */
+  private boolean isAvailable(final CachedData cachedData) {
+    return cachedData.getBlockIds().stream()
+        .allMatch(blockId -> BlockState.State.AVAILABLE.equals(blockManagerMaster.getBlockState(blockId)));
+  }
+
+  /**
+   * The output of a vertex, kept as the blocks of one of its outgoing edges.
+   */
+  private static final class CachedData {
+    private final IREdge cachedEdge;
+    private final String runtimeEdgeId;
+    private final int parallelism;
+
+    /**
+     * Constructor.
+     *
+     * @param cachedEdge  the edge whose blocks are kept.
+     * @param runtimeEdgeId the id of the runtime edge of the cached edge, from which the ids of the blocks derive.
+     * @param parallelism the parallelism of the cached vertex, which is the number of the blocks.
+     */
+    private CachedData(final IREdge cachedEdge, final String runtimeEdgeId, final int parallelism) {
+      this.cachedEdge = cachedEdge;
+      this.runtimeEdgeId = runtimeEdgeId;
+      this.parallelism = parallelism;
+    }
+
+    /**
+     * @return the parallelism of the cached vertex.
+     */
+    private int getParallelism() {
+      return parallelism;
+    }
+
+    /**
+     * @return the ids of the cached blocks.
+     */
+    private List<String> getBlockIds() {
+      return IntStream.range(0, parallelism)
+          .mapToObj(taskIdx -> RuntimeIdGenerator.generateBlockId(runtimeEdgeId, taskIdx))
+          .collect(Collectors.toList());
+    }
+
+    /**
+     * Creates an edge which reads the cached blocks, with the properties needed to deserialize them.
+     *
+     * @param src the source of the edge.
+     * @param dst the destination of the edge.
+     * @return the new edge.
+     */
+    private IREdge newEdgeToRead(final IRVertex src, final IRVertex dst) {
+      final IREdge edge = new IREdge(CommunicationPatternProperty.Value.OneToOne, src, dst);
+      edge.setProperty(CachedDataProperty.of(runtimeEdgeId));
+      edge.setProperty(DataStoreProperty.of(cachedEdge.getPropertyValue(DataStoreProperty.class).get()));
+      edge.setProperty(DataPersistenceProperty.of(DataPersistenceProperty.Value.Keep));
+      cachedEdge.getPropertyValue(EncoderProperty.class)
+          .ifPresent(encoderFactory -> edge.setProperty(EncoderProperty.of(encoderFactory)));
+      cachedEdge.getPropertyValue(DecoderProperty.class)
+          .ifPresent(decoderFactory -> edge.setProperty(DecoderProperty.of(decoderFactory)));
+      cachedEdge.getPropertyValue(CompressionProperty.class)
+          .ifPresent(compression -> edge.setProperty(CompressionProperty.of(compression)));
+      cachedEdge.getPropertyValue(DecompressionProperty.class)
+          .ifPresent(decompression -> edge.setProperty(DecompressionProperty.of(decompression)));
+      return edge;
+    }
+  }
+}
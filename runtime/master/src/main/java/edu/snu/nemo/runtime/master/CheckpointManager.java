@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.master;
+
+import edu.snu.nemo.common.dag.DAG;
+import edu.snu.nemo.common.ir.edge.executionproperty.DataPersistenceProperty;
+import edu.snu.nemo.common.ir.edge.executionproperty.DataStoreProperty;
+import edu.snu.nemo.conf.JobConf;
+import edu.snu.nemo.runtime.common.RuntimeIdGenerator;
+import edu.snu.nemo.runtime.common.plan.PhysicalPlan;
+import edu.snu.nemo.runtime.common.plan.Stage;
+import edu.snu.nemo.runtime.common.plan.StageEdge;
+import edu.snu.nemo.runtime.common.state.BlockState;
+import edu.snu.nemo.runtime.common.state.TaskState;
+import org.apache.reef.annotations.audience.DriverSide;
+import org.apache.reef.tang.annotations.Parameter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.ThreadSafe;
+import javax.inject.Inject;
+import java.io.File;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Resumes a job from the outputs of its stages checkpointed in the GlusterFS volume by a previous run.
+ * A stage is checkpointed when all of its outgoing edges keep their blocks in the GlusterFS volume
+ * (e.g., with {@code CheckpointPolicy}) and all of the blocks have been committed.
+ * The tasks of the stages which are not required to compute the remaining stages are marked as complete,
+ * and the checkpointed blocks are marked as available, so that neither the scheduler
+ * nor the recovery from a failure computes them again.
+ */
+@ThreadSafe
+@DriverSide
+public final class CheckpointManager {
+  private static final Logger LOG = LoggerFactory.getLogger(CheckpointManager.class.getName());
+  // The location of the blocks in the remote file store, which the executors read directly.
+  private static final String REMOTE_FILE_STORE = "REMOTE_FILE_STORE";
+
+  private final BlockManagerMaster blockManagerMaster;
+  private final String checkpointDirectory;
+  private final boolean resume;
+
+  /**
+   * Constructor.
+   *
+   * @param blockManagerMaster the block manager master which manages the checkpointed blocks.
+   * @param volumeDirectory    the directory of the GlusterFS volume.
+   * @param jobId              the id of the job, whose blocks are stored in the sub-directory of the same name.
+   * @param resume             whether to resume the job from the checkpointed blocks.
+   */
+  @Inject
+  private CheckpointManager(final BlockManagerMaster blockManagerMaster,
+                            @Parameter(JobConf.GlusterVolumeDirectory.class) final String volumeDirectory,
+                            @Parameter(JobConf.JobId.class) final String jobId,
+                            @Parameter(JobConf.ResumeFromCheckpoint.class) final boolean resume) {
+    this.blockManagerMaster = blockManagerMaster;
+    this.checkpointDirectory = volumeDirectory + "/" + jobId;
+    this.resume = resume;
+  }
+
+  /**
+   * Restores the states of the tasks and the blocks of a physical plan from the checkpoint, if resuming.
+   * This has to be called after initializing the blocks of the plan, and before scheduling it.
+   *
+   * @param physicalPlan    the physical plan to restore.
+   * @param jobStateManager the manager of the states of the tasks of the plan.
+   */
+  public synchronized void restore(final PhysicalPlan physicalPlan, final JobStateManager jobStateManager) {
+    if (!resume) {
+      return;
+    }
+    final DAG<Stage, StageEdge> stageDAG = physicalPlan.getStageDAG();
+    final Set<Stage> checkpointedStages = stageDAG.getVertices().stream()
+        .filter(stage -> isCheckpointed(stageDAG, stage))
+        .collect(Collectors.toSet());
+
+    // A stage is required if it is not checkpointed and any of its children, or its own output, is required.
+    final Set<Stage> requiredStages = new HashSet<>();
+    final List<Stage> reverseTopologicalSort = new ArrayList<>(stageDAG.getTopologicalSort());
+    Collections.reverse(reverseTopologicalSort);
+    for (final Stage stage : reverseTopologicalSort) {
+      final List<Stage> children = stageDAG.getChildren(stage.getId());
+      if (!checkpointedStages.contains(stage)
+          && (children.isEmpty() || children.stream().anyMatch(requiredStages::contains))) {
+        requiredStages.add(stage);
+      }
+    }
+
+    stageDAG.topologicalDo(stage -> {
+      if (requiredStages.contains(stage)) {
+        return;
+      }
+      if (checkpointedStages.contains(stage)) {
+        stageDAG.getOutgoingEdgesOf(stage).forEach(stageEdge -> getBlockIds(stageEdge, stage).forEach(blockId -> {
+          blockManagerMaster.onBlockStateChanged(blockId, BlockState.State.IN_PROGRESS, null);
+          blockManagerMaster.onBlockStateChanged(blockId, BlockState.State.AVAILABLE, REMOTE_FILE_STORE);
+        }));
+      }
+      stage.getTaskIds().forEach(taskId -> jobStateManager.onTaskStateChanged(taskId, TaskState.State.COMPLETE));
+      LOG.info("Restored {} from the checkpoint in {}", stage.getId(), checkpointDirectory);
+    });
+  }
+
+  /**
+   * @param stageDAG the stage DAG.
+   * @param stage    the stage to check.
+   * @return whether all the outgoing blocks of the stage are committed in the checkpoint directory.
+   */
+  private boolean isCheckpointed(final DAG<Stage, StageEdge> stageDAG, final Stage stage) {
+    final List<StageEdge> outgoingEdges = stageDAG.getOutgoingEdgesOf(stage);
+    return !outgoingEdges.isEmpty() && outgoingEdges.stream().allMatch(stageEdge ->
+        DataStoreProperty.Value.GlusterFileStore
+            .equals(stageEdge.getPropertyValue(DataStoreProperty.class).orElse(null))
+            && DataPersistenceProperty.Value.Keep
+            .equals(stageEdge.getPropertyValue(DataPersistenceProperty.class).orElse(null))
+            // The metadata file of a block is committed after its data.
+            && getBlockIds(stageEdge, stage).stream()
+            .allMatch(blockId -> new File(checkpointDirectory + "/" + blockId + "_meta").isFile()));
+  }
+
+  /**
+   * @param stageEdge the outgoing edge of the stage.
+   * @param stage     the source stage of the edge.
+   * @return the ids of the blocks of the edge.
+   */
+  private static List<String> getBlockIds(final StageEdge stageEdge, final Stage stage) {
+    return IntStream.range(0, stage.getTaskIds().size())
+        .mapToObj(srcTaskIdx -> RuntimeIdGenerator.generateBlockId(stageEdge.getId(), srcTaskIdx))
+        .collect(Collectors.toList());
+  }
+}
@@ -68,6 +68,14 @@ public final class JobStateManager {
   private final Map<String, StageState> idToStageStates;
   private final Map<String, TaskState> idToTaskStates;
 
+  /**
+   * Counters kept in sync with the states above, so that stage and job completion can be checked
+   * without scanning every task of a stage or every stage of the job on each transition.
+   */
+  private final Map<String, Integer> stageIdToNumTasks;
+  private final Map<String, Integer> stageIdToNumCompletedOrOnHoldTasks;
+  private int numCompletedStages;
+
   /**
    * Maintain the number of schedule attempts for each task.
    * The attempt numbers are updated only here, and are read-only in other places.
@@ -103,6 +111,9 @@ public final class JobStateManager {
     this.idToStageStates = new HashMap<>();
     this.idToTaskStates = new HashMap<>();
     this.taskIdToCurrentAttempt = new HashMap<>();
+    this.stageIdToNumTasks = new HashMap<>();
+    this.stageIdToNumCompletedOrOnHoldTasks = new HashMap<>();
+    this.numCompletedStages = 0;
     this.finishLock = new ReentrantLock();
     this.jobFinishedCondition = finishLock.newCondition();
     this.metricStore = MetricStore.getStore();
@@ -121,7 +132,10 @@ public final class JobStateManager {
     // Initialize the states for the job down to task-level.
     physicalPlan.getStageDAG().topologicalDo(stage -> {
       idToStageStates.put(stage.getId(), new StageState());
-      stage.getTaskIds().forEach(taskId -> {
+      final List<String> taskIds = stage.getTaskIds();
+      stageIdToNumTasks.put(stage.getId(), taskIds.size());
+      stageIdToNumCompletedOrOnHoldTasks.put(stage.getId(), 0);
+      taskIds.forEach(taskId -> {
         idToTaskStates.put(taskId, new TaskState());
         taskIdToCurrentAttempt.put(taskId, 1);
       });
@@ -132,9 +146,9 @@ public final class JobStateManager {
    * Updates the state of a task.
    * Task state changes can occur both in master and executor.
    * State changes that occur in master are
-   * initiated in {@link edu.snu.nemo.runtime.master.scheduler.BatchSingleJobScheduler}.
+   * initiated in {@link edu.snu.nemo.runtime.master.scheduler.BatchMultiJobScheduler}.
    * State changes that occur in executors are sent to master as a control message,
-   * and the call to this method is initiated in {@link edu.snu.nemo.runtime.master.scheduler.BatchSingleJobScheduler}
+   * and the call to this method is initiated in {@link edu.snu.nemo.runtime.master.scheduler.BatchMultiJobScheduler}
    * when the message/event is received.
    *
    * @param taskId  the ID of the task.
@@ -143,11 +157,11 @@ public final class JobStateManager {
   public synchronized void onTaskStateChanged(final String taskId, final TaskState.State newTaskState) {
     // Change task state
     final StateMachine taskState = idToTaskStates.get(taskId).getStateMachine();
+    final TaskState.State oldTaskState = (TaskState.State) taskState.getCurrentState();
     LOG.debug("Task State Transition: id {}, from {} to {}",
-        new Object[]{taskId, taskState.getCurrentState(), newTaskState});
+        new Object[]{taskId, oldTaskState, newTaskState});
 
-    metricStore.getOrCreateMetric(TaskMetric.class, taskId)
-        .addEvent((TaskState.State) taskState.getCurrentState(), newTaskState);
+    metricStore.getOrCreateMetric(TaskMetric.class, taskId).addEvent(oldTaskState, newTaskState);
     metricStore.triggerBroadcast(TaskMetric.class, taskId);
 
     taskState.setState(newTaskState);
@@ -173,16 +187,14 @@ public final class JobStateManager {
 
     // Change stage state, if needed
     final String stageId = RuntimeIdGenerator.getStageIdFromTaskId(taskId);
-    final List<String> tasksOfThisStage = physicalPlan.getStageDAG().getVertexById(stageId).getTaskIds();
-    final long numOfCompletedOrOnHoldTasksInThisStage = tasksOfThisStage
-        .stream()
-        .map(this::getTaskState)
-        .filter(state -> state.equals(TaskState.State.COMPLETE) || state.equals(TaskState.State.ON_HOLD))
-        .count();
+    final int numOfTasksInThisStage = stageIdToNumTasks.get(stageId);
+    final int numOfCompletedOrOnHoldTasksInThisStage = stageIdToNumCompletedOrOnHoldTasks.get(stageId)
+        - (isCompletedOrOnHold(oldTaskState) ? 1 : 0) + (isCompletedOrOnHold(newTaskState) ? 1 : 0);
+    stageIdToNumCompletedOrOnHoldTasks.put(stageId, numOfCompletedOrOnHoldTasksInThisStage);
     if (newTaskState.equals(TaskState.State.COMPLETE)) {
       // Log not-yet-completed tasks for us to track progress
       LOG.info("{} completed: {} Task(s) remaining in this stage",
-          taskId, tasksOfThisStage.size() - numOfCompletedOrOnHoldTasksInThisStage);
+          taskId, numOfTasksInThisStage - numOfCompletedOrOnHoldTasksInThisStage);
     }
     switch (newTaskState) {
       // INCOMPLETE stage
@@ -193,7 +205,7 @@ public final class JobStateManager {
       // COMPLETE stage
       case COMPLETE:
       case ON_HOLD:
-        if (numOfCompletedOrOnHoldTasksInThisStage == tasksOfThisStage.size()) {
+        if (numOfCompletedOrOnHoldTasksInThisStage == numOfTasksInThisStage) {
           onStageStateChanged(stageId, StageState.State.COMPLETE);
         }
         break;
@@ -208,6 +220,14 @@ public final class JobStateManager {
     }
   }
 
+  /**
+   * @param taskState a task state.
+   * @return whether the state counts towards the completion of its stage.
+   */
+  private static boolean isCompletedOrOnHold(final TaskState.State taskState) {
+    return taskState.equals(TaskState.State.COMPLETE) || taskState.equals(TaskState.State.ON_HOLD);
+  }
+
   /**
    * (PRIVATE METHOD)
    * Updates the state of a stage.
@@ -217,18 +237,24 @@ public final class JobStateManager {
   private void onStageStateChanged(final String stageId, final StageState.State newStageState) {
     // Change stage state
     final StateMachine stageStateMachine = idToStageStates.get(stageId).getStateMachine();
+    final StageState.State oldStageState = (StageState.State) stageStateMachine.getCurrentState();
 
-    metricStore.getOrCreateMetric(StageMetric.class, stageId)
-        .addEvent(getStageState(stageId), newStageState);
+    metricStore.getOrCreateMetric(StageMetric.class, stageId).addEvent(oldStageState, newStageState);
     metricStore.triggerBroadcast(StageMetric.class, stageId);
 
     LOG.debug("Stage State Transition: id {} from {} to {}",
-        new Object[]{stageId, stageStateMachine.getCurrentState(), newStageState});
+        new Object[]{stageId, oldStageState, newStageState});
     stageStateMachine.setState(newStageState);
 
+    if (oldStageState.equals(StageState.State.COMPLETE)) {
+      numCompletedStages--;
+    }
+    if (newStageState.equals(StageState.State.COMPLETE)) {
+      numCompletedStages++;
+    }
+
     // Change job state if needed
-    final boolean allStagesCompleted = idToStageStates.values().stream().allMatch(state ->
-        state.getStateMachine().getCurrentState().equals(StageState.State.COMPLETE));
+    final boolean allStagesCompleted = numCompletedStages == idToStageStates.size();
     if (allStagesCompleted) {
       onJobStateChanged(JobState.State.COMPLETE);
     }
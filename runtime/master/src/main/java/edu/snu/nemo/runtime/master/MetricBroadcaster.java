@@ -71,6 +71,13 @@ public final class MetricBroadcaster {
     sessions.remove(session);
   }
 
+  /**
+   * @return whether there is any active WebSocket session to broadcast to.
+   */
+  public boolean hasSessions() {
+    return !sessions.isEmpty();
+  }
+
   /**
    * Send text frame to each WebSocket session.
    * @param text text to send.
@@ -0,0 +1,186 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.master;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import edu.snu.nemo.common.Pair;
+import edu.snu.nemo.runtime.common.metric.Metric;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes changed metrics of a {@link MetricStore} to the WebSocket clients of a {@link MetricBroadcaster}.
+ *
+ * Marking a metric as changed takes a snapshot of it as a JSON tree on the calling thread, which is the one that
+ * has just changed it, so the metric objects are never read by another thread while they are being modified.
+ * Serializing the snapshots to text and sending them is left to a dedicated thread, which wakes up once per window
+ * and sends one message, in the same format as before, for each metric changed within it, with its latest snapshot.
+ * If more metrics than the queue size are pending, the pending snapshots are dropped
+ * and the clients receive a full dump instead.
+ */
+@ThreadSafe
+final class MetricPublisher {
+  private static final Logger LOG = LoggerFactory.getLogger(MetricPublisher.class.getName());
+  private static final long DEFAULT_WINDOW_MS = 200;
+  private static final int DEFAULT_QUEUE_SIZE = 10000;
+
+  private final MetricStore metricStore;
+  private final MetricBroadcaster metricBroadcaster;
+  private final ObjectMapper objectMapper;
+  private final ScheduledExecutorService publishExecutorService;
+
+  /**
+   * The latest snapshots of the metrics changed since the last publication, in the order they were first changed.
+   * The fields below are guarded by this object.
+   */
+  private final Map<Pair<Class, String>, JsonNode> pendingSnapshots;
+  private boolean isPublicationScheduled;
+  private boolean isResyncRequired;
+  private long windowMs;
+  private int queueSize;
+
+  /**
+   * Constructor.
+   * @param metricStore the store to publish the metrics of.
+   * @param metricBroadcaster the broadcaster to publish the metrics to.
+   * @param objectMapper the mapper to serialize the metrics with.
+   */
+  MetricPublisher(final MetricStore metricStore,
+                  final MetricBroadcaster metricBroadcaster,
+                  final ObjectMapper objectMapper) {
+    this.metricStore = metricStore;
+    this.metricBroadcaster = metricBroadcaster;
+    this.objectMapper = objectMapper;
+    this.publishExecutorService = Executors.newSingleThreadScheduledExecutor(
+        new BasicThreadFactory.Builder().namingPattern("MetricPublisher thread").daemon(true).build());
+    this.pendingSnapshots = new LinkedHashMap<>();
+    this.isPublicationScheduled = false;
+    this.isResyncRequired = false;
+    this.windowMs = DEFAULT_WINDOW_MS;
+    this.queueSize = DEFAULT_QUEUE_SIZE;
+  }
+
+  /**
+   * Sets the coalescing window and the maximum number of pending metrics.
+   * @param newWindowMs the window in milliseconds.
+   * @param newQueueSize the maximum number of pending metrics.
+   */
+  synchronized void configure(final long newWindowMs, final int newQueueSize) {
+    this.windowMs = newWindowMs;
+    this.queueSize = newQueueSize;
+  }
+
+  /**
+   * Takes a snapshot of a changed metric, to be published at the end of the current window.
+   * Should be called by the thread which has changed the metric, before changing it again.
+   * @param metricClass class of the metric.
+   * @param id id of the metric.
+   * @param metric the metric.
+   */
+  void markChanged(final Class<? extends Metric> metricClass, final String id, final Metric metric) {
+    if (!metricBroadcaster.hasSessions()) {
+      // Newly connected sessions receive the whole dump, so there is nothing to publish for now.
+      return;
+    }
+    final JsonNode snapshot = objectMapper.valueToTree(metric);
+    final Pair<Class, String> metricKey = Pair.<Class, String>of(metricClass, id);
+    synchronized (this) {
+      if (!isResyncRequired) {
+        if (pendingSnapshots.size() < queueSize || pendingSnapshots.containsKey(metricKey)) {
+          pendingSnapshots.put(metricKey, snapshot);
+        } else {
+          // Publishing is falling behind: drop the stale updates and send everything at once instead.
+          LOG.warn("More than {} metric updates are pending, dropping them for a full resynchronization", queueSize);
+          pendingSnapshots.clear();
+          isResyncRequired = true;
+        }
+      }
+      schedulePublication();
+    }
+  }
+
+  /**
+   * Schedules a publication at the end of the current window, unless one is already scheduled.
+   */
+  private synchronized void schedulePublication() {
+    if (!isPublicationScheduled) {
+      isPublicationScheduled = true;
+      publishExecutorService.schedule(this::publish, windowMs, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Publishes the metrics changed within the last window. Runs on the publishing thread only.
+   */
+  private void publish() {
+    final Map<Pair<Class, String>, JsonNode> snapshotsToPublish;
+    final boolean resync;
+    synchronized (this) {
+      snapshotsToPublish = new LinkedHashMap<>(pendingSnapshots);
+      pendingSnapshots.clear();
+      resync = isResyncRequired;
+      isResyncRequired = false;
+      isPublicationScheduled = false;
+    }
+
+    if (resync) {
+      try {
+        metricBroadcaster.broadcast(metricStore.dumpAllMetricToJson());
+      } catch (final IOException | RuntimeException e) {
+        // A metric may have been modified while being dumped: try again in the next window.
+        LOG.warn("Failed to broadcast the metric dump, retrying", e);
+        synchronized (this) {
+          isResyncRequired = true;
+          pendingSnapshots.clear();
+          schedulePublication();
+        }
+      }
+      return;
+    }
+    for (final Map.Entry<Pair<Class, String>, JsonNode> snapshot : snapshotsToPublish.entrySet()) {
+      try {
+        metricBroadcaster.broadcast(buildMessage(snapshot.getKey().left(), snapshot.getValue()));
+      } catch (final IOException e) {
+        LOG.warn("Failed to broadcast metric {} of {}",
+            snapshot.getKey().right(), snapshot.getKey().left().getSimpleName(), e);
+      }
+    }
+  }
+
+  /**
+   * Builds the message for a metric.
+   * @param metricClass class of the metric.
+   * @param snapshot the snapshot of the metric.
+   * @return the JSON message.
+   * @throws IOException when failed to write json.
+   */
+  private String buildMessage(final Class metricClass, final JsonNode snapshot) throws IOException {
+    final ObjectNode message = objectMapper.createObjectNode();
+    message.put("metricType", metricClass.getSimpleName());
+    message.set("data", snapshot);
+    return objectMapper.writeValueAsString(message);
+  }
+}
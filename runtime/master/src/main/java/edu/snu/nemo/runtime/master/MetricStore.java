@@ -34,6 +34,13 @@ public final class MetricStore {
   private final Map<Class, Map<String, Object>> metricMap = new HashMap<>();
   // You can add more metrics by adding item to this metricList list.
   private final Map<String, Class> metricList = new HashMap<>();
+
+  // ObjectMapper and JsonFactory are thread-safe once configured, so they are shared across calls.
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final JsonFactory jsonFactory = new JsonFactory();
+  private final MetricPublisher metricPublisher =
+      new MetricPublisher(this, MetricBroadcaster.getInstance(), objectMapper);
+
   /**
    * Private constructor.
    */
@@ -88,7 +95,7 @@ public final class MetricStore {
    * @param <T> class of metric
    * @return a metric object.
    */
-  public <T extends Metric> T getMetricWithId(final Class<T> metricClass, final String id) {
+  public synchronized <T extends Metric> T getMetricWithId(final Class<T> metricClass, final String id) {
     final T metric = (T) metricMap.computeIfAbsent(metricClass, k -> new HashMap<>()).get(id);
     if (metric == null) {
       throw new NoSuchElementException("No metric found");
@@ -118,7 +125,7 @@ public final class MetricStore {
    * @param <T> class of metric
    * @return a metric object. If there was no such metric, newly create one.
    */
-  public <T extends Metric> T getOrCreateMetric(final Class<T> metricClass, final String id) {
+  public synchronized <T extends Metric> T getOrCreateMetric(final Class<T> metricClass, final String id) {
     T metric =  (T) metricMap.computeIfAbsent(metricClass, k -> new HashMap<>()).get(id);
     if (metric == null) {
       try {
@@ -151,8 +158,6 @@ public final class MetricStore {
    * @throws IOException when failed to write json.
    */
   public <T extends Metric> String dumpMetricToJson(final Class<T> metricClass) throws IOException {
-    final ObjectMapper objectMapper = new ObjectMapper();
-    final JsonFactory jsonFactory = new JsonFactory();
     final ByteArrayOutputStream stream = new ByteArrayOutputStream();
     final JsonGenerator jsonGenerator = jsonFactory.createGenerator(stream, JsonEncoding.UTF8);
     jsonGenerator.setCodec(objectMapper);
@@ -176,8 +181,6 @@ public final class MetricStore {
    * @throws IOException when failed to write file.
    */
   public synchronized String dumpAllMetricToJson() throws IOException {
-    final ObjectMapper objectMapper = new ObjectMapper();
-    final JsonFactory jsonFactory = new JsonFactory();
     final ByteArrayOutputStream stream = new ByteArrayOutputStream();
     final JsonGenerator jsonGenerator = jsonFactory.createGenerator(stream, JsonEncoding.UTF8);
     jsonGenerator.setCodec(objectMapper);
@@ -217,35 +220,21 @@ public final class MetricStore {
   /**
    * Send changed metric data to {@link MetricBroadcaster}, which will broadcast it to
    * all active WebSocket sessions. This method should be called manually if you want to
-   * send changed metric data to the frontend client. Also this method is synchronized.
+   * send changed metric data to the frontend client, from the thread which has changed the metric.
+   * The metric is only copied here, and is published asynchronously by {@link MetricPublisher}.
    * @param metricClass class of the metric.
    * @param id id of the metric.
    */
-  public synchronized <T extends Metric> void triggerBroadcast(final Class<T> metricClass, final String id) {
-    final MetricBroadcaster metricBroadcaster = MetricBroadcaster.getInstance();
-    final ObjectMapper objectMapper = new ObjectMapper();
-    final T metric = getMetricWithId(metricClass, id);
-    final JsonFactory jsonFactory = new JsonFactory();
-    final ByteArrayOutputStream stream = new ByteArrayOutputStream();
-    final JsonGenerator jsonGenerator;
-    try {
-      jsonGenerator = jsonFactory.createGenerator(stream, JsonEncoding.UTF8);
-
-      jsonGenerator.setCodec(objectMapper);
-
-      jsonGenerator.writeStartObject();
-      jsonGenerator.writeFieldName("metricType");
-      jsonGenerator.writeString(metricClass.getSimpleName());
-
-      jsonGenerator.writeFieldName("data");
-      jsonGenerator.writeObject(metric);
-      jsonGenerator.writeEndObject();
-
-      jsonGenerator.close();
+  public <T extends Metric> void triggerBroadcast(final Class<T> metricClass, final String id) {
+    metricPublisher.markChanged(metricClass, id, getMetricWithId(metricClass, id));
+  }
 
-      metricBroadcaster.broadcast(stream.toString());
-    } catch (final IOException e) {
-      throw new RuntimeException(e);
-    }
+  /**
+   * Configures how changed metrics are published to the WebSocket sessions.
+   * @param windowMs the window in which changes of the same metric are coalesced, in milliseconds.
+   * @param queueSize the maximum number of pending changed metrics before falling back to a full dump.
+   */
+  public void configureBroadcast(final long windowMs, final int queueSize) {
+    metricPublisher.configure(windowMs, queueSize);
   }
 }
@@ -79,6 +79,7 @@ public final class RuntimeMaster {
   private final Scheduler scheduler;
   private final ContainerManager containerManager;
   private final BlockManagerMaster blockManagerMaster;
+  private final CheckpointManager checkpointManager;
   private final MetricMessageHandler metricMessageHandler;
   private final MessageEnvironment masterMessageEnvironment;
   private final MetricStore metricStore;
@@ -89,7 +90,8 @@ public final class RuntimeMaster {
   // For converting json data. This is a thread safe.
   private final ObjectMapper objectMapper;
   private final String dagDirectory;
-  private final Set<IRVertex> irVertices;
+  // The IR vertices of the running jobs, keyed by the ids of the jobs.
+  private final Map<String, Collection<IRVertex>> jobIdToIRVertices;
   private final AtomicInteger resourceRequestCount;
   private CountDownLatch metricCountDownLatch;
   // REST API server for web metric visualization ui.
@@ -99,11 +101,14 @@ public final class RuntimeMaster {
   private RuntimeMaster(final Scheduler scheduler,
                         final ContainerManager containerManager,
                         final BlockManagerMaster blockManagerMaster,
+                        final CheckpointManager checkpointManager,
                         final MetricMessageHandler metricMessageHandler,
                         final MessageEnvironment masterMessageEnvironment,
                         final ClientRPC clientRPC,
                         final MetricManagerMaster metricManagerMaster,
-                        @Parameter(JobConf.DAGDirectory.class) final String dagDirectory) {
+                        @Parameter(JobConf.DAGDirectory.class) final String dagDirectory,
+                        @Parameter(JobConf.MetricBroadcastWindowMs.class) final long metricBroadcastWindowMs,
+                        @Parameter(JobConf.MetricBroadcastQueueSize.class) final int metricBroadcastQueueSize) {
     // We would like to use a single thread for runtime master operations
     // since the processing logic in master takes a very short amount of time
     // compared to the job completion times of executed jobs
@@ -113,6 +118,7 @@ public final class RuntimeMaster {
     this.scheduler = scheduler;
     this.containerManager = containerManager;
     this.blockManagerMaster = blockManagerMaster;
+    this.checkpointManager = checkpointManager;
     this.metricMessageHandler = metricMessageHandler;
     this.masterMessageEnvironment = masterMessageEnvironment;
     this.masterMessageEnvironment
@@ -120,12 +126,13 @@ public final class RuntimeMaster {
     this.clientRPC = clientRPC;
     this.metricManagerMaster = metricManagerMaster;
     this.dagDirectory = dagDirectory;
-    this.irVertices = new HashSet<>();
+    this.jobIdToIRVertices = new HashMap<>();
     this.resourceRequestCount = new AtomicInteger(0);
     this.objectMapper = new ObjectMapper();
     this.aggregatedMetricData = new ConcurrentHashMap<>();
     this.metricAggregationService = Executors.newFixedThreadPool(10);
     this.metricStore = MetricStore.getStore();
+    this.metricStore.configureBroadcast(metricBroadcastWindowMs, metricBroadcastQueueSize);
     this.metricServer = startRestMetricServer();
   }
 
@@ -151,19 +158,22 @@ public final class RuntimeMaster {
   }
 
   /**
-   * Submits the {@link PhysicalPlan} to Runtime.
+   * Submits the {@link PhysicalPlan} to Runtime, which executes it along with the other submitted plans.
    *
    * @param plan to execute
    * @param maxScheduleAttempt the max number of times this plan/sub-part of the plan should be attempted.
+   * @param weight of the plan, in proportion to which the plan is given the executor slots.
    */
   public Pair<JobStateManager, ScheduledExecutorService> execute(final PhysicalPlan plan,
-                                                                 final int maxScheduleAttempt) {
+                                                                 final int maxScheduleAttempt,
+                                                                 final int weight) {
     final Callable<Pair<JobStateManager, ScheduledExecutorService>> jobExecutionCallable = () -> {
-      this.irVertices.addAll(plan.getIdToIRVertex().values());
+      this.jobIdToIRVertices.put(plan.getId(), plan.getIdToIRVertex().values());
       try {
         blockManagerMaster.initialize(plan);
         final JobStateManager jobStateManager = new JobStateManager(plan, metricMessageHandler, maxScheduleAttempt);
-        scheduler.scheduleJob(plan, jobStateManager);
+        checkpointManager.restore(plan, jobStateManager);
+        scheduler.scheduleJob(plan, jobStateManager, weight);
         final ScheduledExecutorService dagLoggingExecutor = scheduleDagLogging(jobStateManager);
         return Pair.of(jobStateManager, dagLoggingExecutor);
       } catch (Exception e) {
@@ -177,6 +187,20 @@ public final class RuntimeMaster {
     }
   }
 
+  /**
+   * Releases the states of a finished job, which the runtime keeps until the job finishes.
+   * The blocks retained beyond the job, e.g., the cached ones, are kept.
+   *
+   * @param plan the physical plan of the finished job.
+   */
+  public void onJobFinished(final PhysicalPlan plan) {
+    runtimeMasterThread.execute(() -> {
+      jobIdToIRVertices.remove(plan.getId());
+      scheduler.onJobFinished(plan.getId());
+      blockManagerMaster.onJobFinished(plan);
+    });
+  }
+
   public void terminate() {
     // send metric flush request to all executors
     metricManagerMaster.sendMetricFlushRequest();
@@ -348,6 +372,11 @@ public final class RuntimeMaster {
         accumulateBarrierMetric(dataSizeMetricMsg.getPartitionSizeList(),
             dataSizeMetricMsg.getSrcIRVertexId(), dataSizeMetricMsg.getBlockId());
         break;
+      case KeySamples:
+        final ControlMessage.KeySamplesMsg keySamplesMsg = message.getKeySamplesMsg();
+        accumulateKeySamples(SerializationUtils.deserialize(keySamplesMsg.getKeySamples().toByteArray()),
+            keySamplesMsg.getSrcIRVertexId(), keySamplesMsg.getBlockId());
+        break;
       case MetricMessageReceived:
         final List<ControlMessage.Metric> metricList = message.getMetricMsg().getMetricList();
         metricList.forEach(metric ->
@@ -356,15 +385,19 @@ public final class RuntimeMaster {
                 metric.getMetricField(), metric.getMetricValue().toByteArray()));
         break;
       case ExecutorDataCollected:
-        final String serializedData = message.getDataCollected().getData();
+        // The data is tagged with the id of its job, with which the client matches it to the launched DAG.
         clientRPC.send(ControlMessage.DriverToClientMessage.newBuilder()
             .setType(ControlMessage.DriverToClientMessageType.DataCollected)
-            .setDataCollected(ControlMessage.DataCollectMessage.newBuilder().setData(serializedData).build())
+            .setDataCollected(message.getDataCollected())
             .build());
         break;
       case MetricFlushed:
         metricCountDownLatch.countDown();
         break;
+      case ExecutorHeartbeat:
+        final ControlMessage.ExecutorHeartbeatMsg heartbeatMsg = message.getExecutorHeartbeatMsg();
+        scheduler.onExecutorHeartbeat(heartbeatMsg.getExecutorId(), heartbeatMsg);
+        break;
       default:
         throw new IllegalMessageException(
             new Exception("This message should not be received by Master :" + message.getType()));
@@ -383,9 +416,7 @@ public final class RuntimeMaster {
   private void accumulateBarrierMetric(final List<ControlMessage.PartitionSizeEntry> partitionSizeInfo,
                                        final String srcVertexId,
                                        final String blockId) {
-    final IRVertex vertexToSendMetricDataTo = irVertices.stream()
-        .filter(irVertex -> irVertex.getId().equals(srcVertexId)).findFirst()
-        .orElseThrow(() -> new RuntimeException(srcVertexId + " doesn't exist in the submitted Physical Plan"));
+    final IRVertex vertexToSendMetricDataTo = findIRVertex(srcVertexId);
 
     if (vertexToSendMetricDataTo instanceof MetricCollectionBarrierVertex) {
       final MetricCollectionBarrierVertex<Integer, Long> metricCollectionBarrierVertex =
@@ -410,6 +441,44 @@ public final class RuntimeMaster {
     }
   }
 
+  /**
+   * Accumulates the keys sampled from a block for a barrier vertex.
+   * The samples are kept per block, so that those of a retried task replace the previous ones.
+   *
+   * @param keySamples  the keys sampled from the block.
+   * @param srcVertexId the ID of the source vertex.
+   * @param blockId     the ID of the block.
+   */
+  private void accumulateKeySamples(final List<Object> keySamples,
+                                    final String srcVertexId,
+                                    final String blockId) {
+    final IRVertex vertexToSendMetricDataTo = findIRVertex(srcVertexId);
+
+    if (vertexToSendMetricDataTo instanceof MetricCollectionBarrierVertex) {
+      final MetricCollectionBarrierVertex<String, List<Object>> metricCollectionBarrierVertex =
+          (MetricCollectionBarrierVertex) vertexToSendMetricDataTo;
+      if (metricCollectionBarrierVertex.getMetricData() == null) {
+        metricCollectionBarrierVertex.setMetricData(new HashMap<>());
+      }
+      if (metricCollectionBarrierVertex.getMetricData().put(blockId, keySamples) == null) {
+        metricCollectionBarrierVertex.addBlockId(blockId);
+      }
+    } else {
+      throw new RuntimeException("Something wrong happened at RangePartitionReshapingPass.");
+    }
+  }
+
+  /**
+   * @param vertexId the id of an IR vertex.
+   * @return the IR vertex in one of the running jobs.
+   */
+  private IRVertex findIRVertex(final String vertexId) {
+    return jobIdToIRVertices.values().stream()
+        .flatMap(Collection::stream)
+        .filter(irVertex -> irVertex.getId().equals(vertexId)).findFirst()
+        .orElseThrow(() -> new RuntimeException(vertexId + " doesn't exist in the submitted Physical Plan"));
+  }
+
   private static TaskState.State convertTaskState(final ControlMessage.TaskStateFromExecutor state) {
     switch (state) {
       case READY:
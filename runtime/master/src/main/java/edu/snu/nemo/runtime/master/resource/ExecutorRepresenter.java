@@ -40,7 +40,8 @@ import java.util.stream.Stream;
  *    b) The executor's capacity (ex. number of cores).
  *    c) Tasks scheduled/launched for the executor.
  *    d) Name of the physical node which hosts this executor.
- *    e) (Please add other information as we implement more features).
+ *    e) The latest resource usage reported by the executor.
+ *    f) (Please add other information as we implement more features).
  */
 @NotThreadSafe
 public final class ExecutorRepresenter {
@@ -56,6 +57,7 @@ public final class ExecutorRepresenter {
   private final ActiveContext activeContext;
   private final ExecutorService serializationExecutorService;
   private final String nodeName;
+  private ControlMessage.ExecutorHeartbeatMsg lastHeartbeat;
 
   /**
    * Creates a reference to the specified executor.
@@ -83,6 +85,7 @@ public final class ExecutorRepresenter {
     this.activeContext = activeContext;
     this.serializationExecutorService = serializationExecutorService;
     this.nodeName = nodeName;
+    this.lastHeartbeat = null;
   }
 
   /**
@@ -208,6 +211,21 @@ public final class ExecutorRepresenter {
     return nodeName;
   }
 
+  /**
+   * Records the resource usage reported by the executor.
+   * @param heartbeat the heartbeat from the executor
+   */
+  public void onHeartbeat(final ControlMessage.ExecutorHeartbeatMsg heartbeat) {
+    this.lastHeartbeat = heartbeat;
+  }
+
+  /**
+   * @return the latest resource usage reported by the executor, or empty if it has not reported any yet
+   */
+  public Optional<ControlMessage.ExecutorHeartbeatMsg> getLastHeartbeat() {
+    return Optional.ofNullable(lastHeartbeat);
+  }
+
   /**
    * Shuts down this executor.
    */
@@ -22,6 +22,7 @@ import edu.snu.nemo.common.eventhandler.PubSubEventHandlerWrapper;
 import edu.snu.nemo.common.ir.Readable;
 import edu.snu.nemo.common.ir.vertex.IRVertex;
 import edu.snu.nemo.runtime.common.RuntimeIdGenerator;
+import edu.snu.nemo.runtime.common.comm.ControlMessage;
 import edu.snu.nemo.runtime.common.eventhandler.DynamicOptimizationEvent;
 import edu.snu.nemo.runtime.common.plan.*;
 import edu.snu.nemo.runtime.common.state.BlockState;
@@ -49,12 +50,14 @@ import org.slf4j.Logger;
  * (CONCURRENCY) Only a single dedicated thread should use the public methods of this class.
  * (i.e., runtimeMasterThread in RuntimeMaster)
  *
- * BatchSingleJobScheduler receives a single {@link PhysicalPlan} to execute and schedules the Tasks.
+ * BatchMultiJobScheduler receives {@link PhysicalPlan}s to execute, and schedules the Tasks of them at the same time.
+ * Each job is scheduled independently, in the order of its ScheduleGroups,
+ * and the executor slots are shared among the jobs in proportion to their weights by {@link SchedulerRunner}.
  */
 @DriverSide
 @NotThreadSafe
-public final class BatchSingleJobScheduler implements Scheduler {
-  private static final Logger LOG = LoggerFactory.getLogger(BatchSingleJobScheduler.class.getName());
+public final class BatchMultiJobScheduler implements Scheduler {
+  private static final Logger LOG = LoggerFactory.getLogger(BatchMultiJobScheduler.class.getName());
 
   /**
    * Components related to scheduling the given job.
@@ -70,14 +73,16 @@ public final class BatchSingleJobScheduler implements Scheduler {
   private final PubSubEventHandlerWrapper pubSubEventHandlerWrapper;
 
   /**
-   * The below variables depend on the submitted job to execute.
+   * The below variables depend on the submitted jobs to execute, and are keyed by the ids of the jobs.
+   * The ids of the stages are unique among the jobs, which is how a task is mapped to its job.
    */
-  private PhysicalPlan physicalPlan;
-  private JobStateManager jobStateManager;
-  private List<List<Stage>> sortedScheduleGroups;
+  private final Map<String, PhysicalPlan> jobIdToPhysicalPlan;
+  private final Map<String, JobStateManager> jobIdToJobStateManager;
+  private final Map<String, List<List<Stage>>> jobIdToSortedScheduleGroups;
+  private final Map<String, String> stageIdToJobId;
 
   @Inject
-  private BatchSingleJobScheduler(final SchedulerRunner schedulerRunner,
+  private BatchMultiJobScheduler(final SchedulerRunner schedulerRunner,
                                   final PendingTaskCollectionPointer pendingTaskCollectionPointer,
                                   final BlockManagerMaster blockManagerMaster,
                                   final PubSubEventHandlerWrapper pubSubEventHandlerWrapper,
@@ -93,41 +98,79 @@ public final class BatchSingleJobScheduler implements Scheduler {
           .subscribe(updatePhysicalPlanEventHandler.getEventClass(), updatePhysicalPlanEventHandler);
     }
     this.executorRegistry = executorRegistry;
+    this.jobIdToPhysicalPlan = new HashMap<>();
+    this.jobIdToJobStateManager = new HashMap<>();
+    this.jobIdToSortedScheduleGroups = new HashMap<>();
+    this.stageIdToJobId = new HashMap<>();
   }
 
   /**
    * @param physicalPlanOfJob of the job.
    * @param jobStateManagerOfJob of the job.
+   * @param weight of the job.
    */
   @Override
-  public void scheduleJob(final PhysicalPlan physicalPlanOfJob, final JobStateManager jobStateManagerOfJob) {
-    if (this.physicalPlan != null || this.jobStateManager != null) {
-      throw new IllegalStateException("scheduleJob() has been called more than once");
+  public void scheduleJob(final PhysicalPlan physicalPlanOfJob,
+                          final JobStateManager jobStateManagerOfJob,
+                          final int weight) {
+    final String jobId = physicalPlanOfJob.getId();
+    if (jobIdToPhysicalPlan.containsKey(jobId)) {
+      throw new IllegalStateException(jobId + " has been scheduled more than once");
     }
+    if (weight <= 0) {
+      throw new IllegalArgumentException("The weight of " + jobId + " must be positive: " + weight);
+    }
+    final List<String> stageIds = physicalPlanOfJob.getStageDAG().getVertices().stream()
+        .map(Stage::getId)
+        .collect(Collectors.toList());
+    stageIds.stream().filter(stageIdToJobId::containsKey).findFirst().ifPresent(stageId -> {
+      throw new IllegalStateException(stageId + " of " + jobId + " is also in " + stageIdToJobId.get(stageId));
+    });
 
-    this.physicalPlan = physicalPlanOfJob;
-    this.jobStateManager = jobStateManagerOfJob;
-
-    schedulerRunner.run(jobStateManager);
-    LOG.info("Job to schedule: {}", this.physicalPlan.getId());
-
-    this.sortedScheduleGroups = this.physicalPlan.getStageDAG().getVertices()
+    jobIdToPhysicalPlan.put(jobId, physicalPlanOfJob);
+    jobIdToJobStateManager.put(jobId, jobStateManagerOfJob);
+    stageIds.forEach(stageId -> stageIdToJobId.put(stageId, jobId));
+    jobIdToSortedScheduleGroups.put(jobId, physicalPlanOfJob.getStageDAG().getVertices()
         .stream()
         .collect(Collectors.groupingBy(Stage::getScheduleGroup))
         .entrySet()
         .stream()
         .sorted(Map.Entry.comparingByKey())
         .map(Map.Entry::getValue)
-        .collect(Collectors.toList());
+        .collect(Collectors.toList()));
 
-    doSchedule();
+    schedulerRunner.addJob(jobStateManagerOfJob, weight);
+    schedulerRunner.run();
+    LOG.info("Job to schedule: {} (weight {})", jobId, weight);
+
+    doSchedule(jobId);
+  }
+
+  /**
+   * Forgets a finished job, so that the states of the job do not pile up over the jobs.
+   * The reports about the tasks of the job which arrive late are ignored.
+   *
+   * @param jobId of the finished job.
+   */
+  @Override
+  public void onJobFinished(final String jobId) {
+    final PhysicalPlan physicalPlan = jobIdToPhysicalPlan.remove(jobId);
+    if (physicalPlan == null) {
+      return;
+    }
+    jobIdToJobStateManager.remove(jobId);
+    jobIdToSortedScheduleGroups.remove(jobId);
+    physicalPlan.getStageDAG().getVertices().forEach(stage -> stageIdToJobId.remove(stage.getId()));
+    pendingTaskCollectionPointer.remove(jobId);
+    schedulerRunner.removeJob(jobId);
+    LOG.info("Job finished: {}", jobId);
   }
 
   @Override
   public void updateJob(final String jobId, final PhysicalPlan newPhysicalPlan) {
     // update the job in the scheduler.
     // NOTE: what's already been executed is not modified in the new physical plan.
-    this.physicalPlan = newPhysicalPlan;
+    jobIdToPhysicalPlan.put(jobId, newPhysicalPlan);
   }
 
   /**
@@ -148,6 +191,12 @@ public final class BatchSingleJobScheduler implements Scheduler {
                                             final TaskState.State newState,
                                             @Nullable final String vertexPutOnHold,
                                             final TaskState.RecoverableTaskFailureCause failureCause) {
+    if (!isJobOfTaskScheduled(taskId)) {
+      LOG.info("{} state change to {} arrived after its job finished, we will ignore this.", taskId, newState);
+      return;
+    }
+    final String jobId = getJobIdOfTask(taskId);
+    final JobStateManager jobStateManager = jobIdToJobStateManager.get(jobId);
     final int currentTaskAttemptIndex = jobStateManager.getTaskAttempt(taskId);
 
     if (taskAttemptIndex == currentTaskAttemptIndex) {
@@ -159,10 +208,10 @@ public final class BatchSingleJobScheduler implements Scheduler {
           break;
         case SHOULD_RETRY:
           // SHOULD_RETRY from an executor means that the task ran into a recoverable failure
-          onTaskExecutionFailedRecoverable(executorId, taskId, failureCause);
+          onTaskExecutionFailedRecoverable(jobId, executorId, taskId, failureCause);
           break;
         case ON_HOLD:
-          onTaskExecutionOnHold(executorId, taskId, vertexPutOnHold);
+          onTaskExecutionOnHold(jobId, executorId, taskId, vertexPutOnHold);
           break;
         case FAILED:
           throw new UnrecoverableFailureException(new Exception(new StringBuffer().append("The job failed on Task #")
@@ -183,13 +232,13 @@ public final class BatchSingleJobScheduler implements Scheduler {
           final String stageIdForTaskUponCompletion = RuntimeIdGenerator.getStageIdFromTaskId(taskId);
           if (jobStateManager.getStageState(stageIdForTaskUponCompletion).equals(StageState.State.COMPLETE)) {
             if (!jobStateManager.isJobDone()) {
-              doSchedule();
+              doSchedule(jobId);
             }
           }
           break;
         case SHOULD_RETRY:
           // Do retry
-          doSchedule();
+          doSchedule(jobId);
           break;
         default:
           break;
@@ -237,11 +286,27 @@ public final class BatchSingleJobScheduler implements Scheduler {
       return Pair.of(executor, ExecutorRegistry.ExecutorState.FAILED);
     });
 
-    // Retry the interrupted tasks (and required parents)
-    retryTasksAndRequiredParents(interruptedTasks);
+    // Retry the interrupted tasks (and required parents) of each job
+    interruptedTasks.stream()
+        .filter(this::isJobOfTaskScheduled)
+        .collect(Collectors.groupingBy(this::getJobIdOfTask, Collectors.toSet()))
+        .forEach(this::retryTasksAndRequiredParents);
+
+    // Trigger the scheduling of SHOULD_RETRY tasks in the earliest scheduleGroup of each job
+    jobIdToJobStateManager.forEach((jobId, jobStateManager) -> {
+      if (!jobStateManager.isJobDone()) {
+        doSchedule(jobId);
+      }
+    });
+  }
 
-    // Trigger the scheduling of SHOULD_RETRY tasks in the earliest scheduleGroup
-    doSchedule();
+  @Override
+  public void onExecutorHeartbeat(final String executorId, final ControlMessage.ExecutorHeartbeatMsg heartbeat) {
+    if (executorRegistry.onExecutorHeartbeat(executorId, heartbeat)) {
+      LOG.info("{} recovered from GC thrashing", executorId);
+      // The executor can accept tasks again.
+      schedulerRunner.onExecutorSlotAvailable();
+    }
   }
 
   @Override
@@ -257,16 +322,18 @@ public final class BatchSingleJobScheduler implements Scheduler {
    * This operation can be invoked at any point during job execution, as it is designed to be free of side-effects.
    *
    * These are the reasons why.
-   * - We 'reset' {@link PendingTaskCollectionPointer}, and not 'add' new tasks to it
+   * - We 'reset' {@link PendingTaskCollectionPointer} of the job, and not 'add' new tasks to it
    * - We make {@link SchedulerRunner} run only tasks that are READY.
+   *
+   * @param jobId the id of the job to schedule the tasks of.
    */
-  private void doSchedule() {
-    final Optional<List<Stage>> earliest = selectEarliestSchedulableGroup();
+  private void doSchedule(final String jobId) {
+    final Optional<List<Stage>> earliest = selectEarliestSchedulableGroup(jobId);
 
     if (earliest.isPresent()) {
       // Get schedulable tasks.
       final List<Task> tasksToSchedule = earliest.get().stream()
-          .flatMap(stage -> selectSchedulableTasks(stage).stream())
+          .flatMap(stage -> selectSchedulableTasks(jobId, stage).stream())
           .collect(Collectors.toList());
 
       // We prefer (but not guarantee) to schedule the 'receiving' tasks first,
@@ -279,21 +346,18 @@ public final class BatchSingleJobScheduler implements Scheduler {
           .collect(Collectors.toSet()));
 
       // Set the pointer to the schedulable tasks.
-      pendingTaskCollectionPointer.setToOverwrite(tasksToSchedule);
+      pendingTaskCollectionPointer.setToOverwrite(jobId, tasksToSchedule);
 
       // Notify the runner that a new collection is available.
       schedulerRunner.onNewPendingTaskCollectionAvailable();
     } else {
-      LOG.info("Skipping this round as no ScheduleGroup is schedulable.");
+      LOG.info("Skipping this round as no ScheduleGroup of {} is schedulable.", jobId);
     }
   }
 
-  private Optional<List<Stage>> selectEarliestSchedulableGroup() {
-    if (sortedScheduleGroups == null) {
-      return Optional.empty();
-    }
-
-    return sortedScheduleGroups.stream()
+  private Optional<List<Stage>> selectEarliestSchedulableGroup(final String jobId) {
+    final JobStateManager jobStateManager = jobIdToJobStateManager.get(jobId);
+    return jobIdToSortedScheduleGroups.get(jobId).stream()
         .filter(scheduleGroup -> scheduleGroup.stream()
             .map(Stage::getId)
             .map(jobStateManager::getStageState)
@@ -301,7 +365,9 @@ public final class BatchSingleJobScheduler implements Scheduler {
         .findFirst(); // selects the one with the smallest scheduling group index.
   }
 
-  private List<Task> selectSchedulableTasks(final Stage stageToSchedule) {
+  private List<Task> selectSchedulableTasks(final String jobId, final Stage stageToSchedule) {
+    final PhysicalPlan physicalPlan = jobIdToPhysicalPlan.get(jobId);
+    final JobStateManager jobStateManager = jobIdToJobStateManager.get(jobId);
     final List<StageEdge> stageIncomingEdges =
         physicalPlan.getStageDAG().getIncomingEdgesOf(stageToSchedule.getId());
     final List<StageEdge> stageOutgoingEdges =
@@ -370,11 +436,13 @@ public final class BatchSingleJobScheduler implements Scheduler {
 
   /**
    * Action for after task execution is put on hold.
+   * @param jobId            the ID of the job of the task.
    * @param executorId       the ID of the executor.
    * @param taskId           the ID of the task.
    * @param vertexPutOnHold  the ID of vertex that is put on hold.
    */
-  private void onTaskExecutionOnHold(final String executorId,
+  private void onTaskExecutionOnHold(final String jobId,
+                                     final String executorId,
                                      final String taskId,
                                      final String vertexPutOnHold) {
     LOG.info("{} put on hold in {}", new Object[]{taskId, executorId});
@@ -385,12 +453,12 @@ public final class BatchSingleJobScheduler implements Scheduler {
     final String stageIdForTaskUponCompletion = RuntimeIdGenerator.getStageIdFromTaskId(taskId);
 
     final boolean stageComplete =
-        jobStateManager.getStageState(stageIdForTaskUponCompletion).equals(StageState.State.COMPLETE);
+        jobIdToJobStateManager.get(jobId).getStageState(stageIdForTaskUponCompletion).equals(StageState.State.COMPLETE);
 
     if (stageComplete) {
       // get optimization vertex from the task.
       final MetricCollectionBarrierVertex metricCollectionBarrierVertex =
-          getVertexDagById(taskId).getVertices().stream() // get vertex list
+          getVertexDagById(jobId, taskId).getVertices().stream() // get vertex list
               .filter(irVertex -> irVertex.getId().equals(vertexPutOnHold)) // find it
               .filter(irVertex -> irVertex instanceof MetricCollectionBarrierVertex)
               .distinct()
@@ -401,17 +469,20 @@ public final class BatchSingleJobScheduler implements Scheduler {
       // and we will use this vertex to perform metric collection and dynamic optimization.
 
       pubSubEventHandlerWrapper.getPubSubEventHandler().onNext(
-          new DynamicOptimizationEvent(physicalPlan, metricCollectionBarrierVertex, taskId, executorId));
+          new DynamicOptimizationEvent(jobIdToPhysicalPlan.get(jobId), metricCollectionBarrierVertex, taskId,
+              executorId));
     }
   }
 
   /**
    * Action for after task execution has failed but it's recoverable.
+   * @param jobId         the ID of the job of the task
    * @param executorId    the ID of the executor
    * @param taskId   the ID of the task
    * @param failureCause  the cause of failure
    */
-  private void onTaskExecutionFailedRecoverable(final String executorId,
+  private void onTaskExecutionFailedRecoverable(final String jobId,
+                                                final String executorId,
                                                 final String taskId,
                                                 final TaskState.RecoverableTaskFailureCause failureCause) {
     LOG.info("{} failed in {} by {}", taskId, executorId, failureCause);
@@ -431,39 +502,84 @@ public final class BatchSingleJobScheduler implements Scheduler {
         throw new UnknownFailureCauseException(new Throwable("Unknown cause: " + failureCause));
     }
 
-    retryTasksAndRequiredParents(Collections.singleton(taskId));
+    retryTasksAndRequiredParents(jobId, Collections.singleton(taskId));
   }
 
   ////////////////////////////////////////////////////////////////////// Helper methods
 
-  private void retryTasksAndRequiredParents(final Set<String> tasks) {
-    final Set<String> requiredParents = recursivelyGetParentTasksForLostBlocks(tasks);
+  /**
+   * @param taskId the id of a task.
+   * @return whether the job of the task is scheduled and not finished yet.
+   */
+  private boolean isJobOfTaskScheduled(final String taskId) {
+    return stageIdToJobId.containsKey(RuntimeIdGenerator.getStageIdFromTaskId(taskId));
+  }
+
+  /**
+   * @param taskId the id of the task.
+   * @return the id of the job which the task belongs to.
+   */
+  private String getJobIdOfTask(final String taskId) {
+    final String jobId = stageIdToJobId.get(RuntimeIdGenerator.getStageIdFromTaskId(taskId));
+    if (jobId == null) {
+      throw new SchedulingException(new Throwable("No job has been scheduled with " + taskId));
+    }
+    return jobId;
+  }
+
+  private void retryTasksAndRequiredParents(final String jobId, final Set<String> tasks) {
+    final JobStateManager jobStateManager = jobIdToJobStateManager.get(jobId);
+    final Set<String> requiredParents = recursivelyGetParentTasksForLostBlocks(jobId, tasks);
     final Set<String> tasksToRetry = Sets.union(tasks, requiredParents);
     LOG.info("Will be retried: {}", tasksToRetry);
     tasksToRetry.forEach(
         taskToReExecute -> jobStateManager.onTaskStateChanged(taskToReExecute, TaskState.State.SHOULD_RETRY));
   }
 
-  private Set<String> recursivelyGetParentTasksForLostBlocks(final Set<String> children) {
+  /**
+   * Selects the ancestors of the tasks to retry, which have to produce their output blocks again.
+   * The recursion stops at the tasks whose output blocks are all available,
+   * e.g., in a shuffle service or checkpointed in a remote file store,
+   * so the lineage to recompute is truncated at those blocks.
+   *
+   * @param jobId    the id of the job of the tasks.
+   * @param children the tasks to retry.
+   * @return the ancestor tasks to retry.
+   */
+  private Set<String> recursivelyGetParentTasksForLostBlocks(final String jobId, final Set<String> children) {
     if (children.isEmpty()) {
       return Collections.emptySet();
     }
 
     final Set<String> selectedParentTasks = children.stream()
-        .flatMap(child -> getParentTasks(child).stream())
-        .filter(parent -> blockManagerMaster.getIdsOfBlocksProducedBy(parent).stream()
+        .flatMap(child -> getParentTasks(jobId, child).stream())
+        .filter(parent -> getIdsOfOutputBlocks(jobId, parent).stream()
             .map(blockManagerMaster::getBlockState)
             .anyMatch(blockState -> blockState.equals(BlockState.State.NOT_AVAILABLE)) // If a block is missing
         )
         .collect(Collectors.toSet());
 
     // Recursive call
-    return Sets.union(selectedParentTasks, recursivelyGetParentTasksForLostBlocks(selectedParentTasks));
+    return Sets.union(selectedParentTasks, recursivelyGetParentTasksForLostBlocks(jobId, selectedParentTasks));
+  }
+
+  /**
+   * @param jobId  the id of the job of the task.
+   * @param taskId the id of the task.
+   * @return the ids of the blocks which the task produces for the other stages.
+   */
+  private List<String> getIdsOfOutputBlocks(final String jobId, final String taskId) {
+    final int taskIdx = RuntimeIdGenerator.getIndexFromTaskId(taskId);
+    return jobIdToPhysicalPlan.get(jobId).getStageDAG()
+        .getOutgoingEdgesOf(RuntimeIdGenerator.getStageIdFromTaskId(taskId))
+        .stream()
+        .map(outStageEdge -> RuntimeIdGenerator.generateBlockId(outStageEdge.getId(), taskIdx))
+        .collect(Collectors.toList());
   }
 
-  private Set<String> getParentTasks(final String childTaskId) {
+  private Set<String> getParentTasks(final String jobId, final String childTaskId) {
     final String stageIdOfChildTask = RuntimeIdGenerator.getStageIdFromTaskId(childTaskId);
-    return physicalPlan.getStageDAG().getIncomingEdgesOf(stageIdOfChildTask)
+    return jobIdToPhysicalPlan.get(jobId).getStageDAG().getIncomingEdgesOf(stageIdOfChildTask)
         .stream()
         .flatMap(inStageEdge -> {
           final List<String> tasksOfParentStage = inStageEdge.getSrc().getTaskIds();
@@ -483,11 +599,12 @@ public final class BatchSingleJobScheduler implements Scheduler {
   }
 
   /**
+   * @param jobId id of the job of the task
    * @param taskId id of the task
    * @return the IR dag
    */
-  private DAG<IRVertex, RuntimeEdge<IRVertex>> getVertexDagById(final String taskId) {
-    for (final Stage stage : physicalPlan.getStageDAG().getVertices()) {
+  private DAG<IRVertex, RuntimeEdge<IRVertex>> getVertexDagById(final String jobId, final String taskId) {
+    for (final Stage stage : jobIdToPhysicalPlan.get(jobId).getStageDAG().getVertices()) {
       if (stage.getId().equals(RuntimeIdGenerator.getStageIdFromTaskId(taskId))) {
         return stage.getIRDAG();
       }
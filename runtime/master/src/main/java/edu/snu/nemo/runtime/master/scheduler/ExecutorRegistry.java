@@ -17,9 +17,12 @@ package edu.snu.nemo.runtime.master.scheduler;
 
 import com.google.common.annotations.VisibleForTesting;
 import edu.snu.nemo.common.Pair;
+import edu.snu.nemo.conf.JobConf;
+import edu.snu.nemo.runtime.common.comm.ControlMessage;
 import edu.snu.nemo.runtime.common.plan.Task;
 import edu.snu.nemo.runtime.master.resource.ExecutorRepresenter;
 import org.apache.reef.annotations.audience.DriverSide;
+import org.apache.reef.tang.annotations.Parameter;
 
 import javax.annotation.concurrent.ThreadSafe;
 import javax.inject.Inject;
@@ -45,10 +48,12 @@ public final class ExecutorRegistry {
   }
 
   private final Map<String, Pair<ExecutorRepresenter, ExecutorState>> executors;
+  private final double gcThrashingThreshold;
 
   @Inject
-  private ExecutorRegistry() {
+  private ExecutorRegistry(@Parameter(JobConf.GCThrashingThreshold.class) final double gcThrashingThreshold) {
     this.executors = new HashMap<>();
+    this.gcThrashingThreshold = gcThrashingThreshold;
   }
 
   synchronized void registerExecutor(final ExecutorRepresenter executor) {
@@ -64,6 +69,46 @@ public final class ExecutorRegistry {
     consumer.accept(getRunningExecutors());
   }
 
+  /**
+   * Lets the consumer view the running executors that can accept new tasks,
+   * which excludes the executors thrashing in GC according to their latest heartbeats.
+   * @param consumer the consumer of the executors.
+   */
+  synchronized void viewSchedulableExecutors(final Consumer<Set<ExecutorRepresenter>> consumer) {
+    consumer.accept(getRunningExecutors().stream()
+        .filter(executor -> !isThrashingInGC(executor))
+        .collect(Collectors.toSet()));
+  }
+
+  /**
+   * Records the resource usage reported by an executor.
+   * Heartbeats from unknown or no longer running executors are ignored.
+   * @param executorId of the executor.
+   * @param heartbeat the heartbeat from the executor.
+   * @return whether the executor has become able to accept new tasks again.
+   */
+  synchronized boolean onExecutorHeartbeat(final String executorId,
+                                           final ControlMessage.ExecutorHeartbeatMsg heartbeat) {
+    final Pair<ExecutorRepresenter, ExecutorState> pair = executors.get(executorId);
+    if (pair == null || !pair.right().equals(ExecutorState.RUNNING)) {
+      return false;
+    }
+    final ExecutorRepresenter executor = pair.left();
+    final boolean wasThrashing = isThrashingInGC(executor);
+    executor.onHeartbeat(heartbeat);
+    return wasThrashing && !isThrashingInGC(executor);
+  }
+
+  /**
+   * @param executor an executor.
+   * @return whether the executor spent more time in GC than the threshold during its latest heartbeat period.
+   */
+  private boolean isThrashingInGC(final ExecutorRepresenter executor) {
+    return executor.getLastHeartbeat()
+        .map(heartbeat -> heartbeat.getGcTimeRatio() >= gcThrashingThreshold)
+        .orElse(false);
+  }
+
   synchronized void updateExecutor(
       final String executorId,
       final BiFunction<ExecutorRepresenter, ExecutorState, Pair<ExecutorRepresenter, ExecutorState>> updater) {
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.master.scheduler;
+
+import edu.snu.nemo.runtime.common.comm.ControlMessage;
+import edu.snu.nemo.runtime.common.plan.Task;
+import edu.snu.nemo.runtime.master.resource.ExecutorRepresenter;
+import org.apache.reef.annotations.audience.DriverSide;
+
+import javax.annotation.concurrent.ThreadSafe;
+import javax.inject.Inject;
+import java.util.*;
+
+/**
+ * This policy chooses the executor with the least load.
+ * The load of an executor is its number of running tasks, plus penalties for the resource pressure
+ * in its latest heartbeat, each expressed as a number of tasks it is worth:
+ *    a) heap usage ratio, GC time ratio and CPU load, which are in [0, 1].
+ *    b) network throughput and local disk usage, relative to the maximum among the candidate executors.
+ * Without heartbeats, this is the same as {@link MinOccupancyFirstSchedulingPolicy}.
+ * Executors thrashing in GC are already excluded from the candidates by {@link ExecutorRegistry}.
+ * This policy is used instead of the default one when a job enables JobConf.LoadAwareScheduling.
+ */
+@ThreadSafe
+@DriverSide
+public final class LoadAwareSchedulingPolicy implements SchedulingPolicy {
+  private static final double HEAP_WEIGHT = 2.0;
+  private static final double GC_WEIGHT = 4.0;
+  private static final double CPU_WEIGHT = 2.0;
+  private static final double NETWORK_WEIGHT = 1.0;
+  private static final double DISK_WEIGHT = 0.5;
+
+  @Inject
+  private LoadAwareSchedulingPolicy() {
+  }
+
+  @Override
+  public ExecutorRepresenter selectExecutor(final Collection<ExecutorRepresenter> executors, final Task task) {
+    double maxNetworkBytesPerSec = 0;
+    double maxLocalDiskUsedBytes = 0;
+    for (final ExecutorRepresenter executor : executors) {
+      final Optional<ControlMessage.ExecutorHeartbeatMsg> heartbeat = executor.getLastHeartbeat();
+      if (heartbeat.isPresent()) {
+        maxNetworkBytesPerSec = Math.max(maxNetworkBytesPerSec, heartbeat.get().getNetworkBytesPerSec());
+        maxLocalDiskUsedBytes = Math.max(maxLocalDiskUsedBytes, heartbeat.get().getLocalDiskUsedBytes());
+      }
+    }
+
+    ExecutorRepresenter selectedExecutor = null;
+    double minLoad = Double.MAX_VALUE;
+    for (final ExecutorRepresenter executor : executors) {
+      final double load = getLoad(executor, maxNetworkBytesPerSec, maxLocalDiskUsedBytes);
+      if (selectedExecutor == null || load < minLoad) {
+        selectedExecutor = executor;
+        minLoad = load;
+      }
+    }
+    if (selectedExecutor == null) {
+      throw new RuntimeException("No such executor");
+    }
+    return selectedExecutor;
+  }
+
+  /**
+   * @param executor              the executor.
+   * @param maxNetworkBytesPerSec the maximum network throughput among the candidates.
+   * @param maxLocalDiskUsedBytes the maximum local disk usage among the candidates.
+   * @return the load of the executor.
+   */
+  private static double getLoad(final ExecutorRepresenter executor,
+                                final double maxNetworkBytesPerSec,
+                                final double maxLocalDiskUsedBytes) {
+    double load = executor.getNumOfRunningTasks();
+    final Optional<ControlMessage.ExecutorHeartbeatMsg> optionalHeartbeat = executor.getLastHeartbeat();
+    if (optionalHeartbeat.isPresent()) {
+      final ControlMessage.ExecutorHeartbeatMsg heartbeat = optionalHeartbeat.get();
+      if (heartbeat.getHeapMaxBytes() > 0) {
+        load += HEAP_WEIGHT * heartbeat.getHeapUsedBytes() / heartbeat.getHeapMaxBytes();
+      }
+      load += GC_WEIGHT * heartbeat.getGcTimeRatio();
+      load += CPU_WEIGHT * Math.max(0, heartbeat.getCpuLoad());
+      if (maxNetworkBytesPerSec > 0) {
+        load += NETWORK_WEIGHT * heartbeat.getNetworkBytesPerSec() / maxNetworkBytesPerSec;
+      }
+      if (maxLocalDiskUsedBytes > 0) {
+        load += DISK_WEIGHT * heartbeat.getLocalDiskUsedBytes() / maxLocalDiskUsedBytes;
+      }
+    }
+    return load;
+  }
+}
@@ -14,53 +14,63 @@
  * limitations under the License.
  */
 package edu.snu.nemo.runtime.master.scheduler;
-
 import edu.snu.nemo.runtime.common.plan.Task;
 
 import net.jcip.annotations.ThreadSafe;
 
 import javax.inject.Inject;
 import java.util.Collection;
-import java.util.Optional;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
- * Points to a collection of pending tasks eligible for scheduling.
- * This pointer effectively points to a subset of a scheduling group.
+ * Points to a collection of pending tasks eligible for scheduling, for each job.
+ * Each pointer effectively points to a subset of a scheduling group of the job.
  * Within the collection, the tasks can be scheduled in any order.
  */
 @ThreadSafe
 public final class PendingTaskCollectionPointer {
-  private Collection<Task> curTaskCollection;
+  private final Map<String, Collection<Task>> jobIdToCurTaskCollection;
 
   @Inject
   private PendingTaskCollectionPointer() {
+    this.jobIdToCurTaskCollection = new HashMap<>();
   }
 
   /**
-   * This collection of tasks should take precedence over any previous collection of tasks.
+   * This collection of tasks should take precedence over any previous collection of tasks of the job.
+   * @param jobId of the tasks.
    * @param newCollection to schedule.
    */
-  synchronized void setToOverwrite(final Collection<Task> newCollection) {
-    this.curTaskCollection = newCollection;
+  synchronized void setToOverwrite(final String jobId, final Collection<Task> newCollection) {
+    jobIdToCurTaskCollection.put(jobId, newCollection);
   }
 
   /**
-   * This collection of tasks can be scheduled only if there's no collection of tasks to schedule at the moment.
+   * This collection of tasks can be scheduled only if there's no collection of tasks of the job to schedule
+   * at the moment.
+   * @param jobId of the tasks.
    * @param newCollection to schedule
    */
-  synchronized void setIfNull(final Collection<Task> newCollection) {
-    if (this.curTaskCollection == null) {
-      this.curTaskCollection = newCollection;
-    }
+  synchronized void setIfNull(final String jobId, final Collection<Task> newCollection) {
+    jobIdToCurTaskCollection.putIfAbsent(jobId, newCollection);
+  }
+
+  /**
+   * Drops the collection of tasks of a finished job, if any.
+   * @param jobId of the finished job.
+   */
+  synchronized void remove(final String jobId) {
+    jobIdToCurTaskCollection.remove(jobId);
   }
 
   /**
-   * Take the whole collection of tasks to schedule, and set the pointer to null.
-   * @return optional tasks to schedule
+   * Take the whole collections of tasks of all jobs to schedule, and set the pointers to null.
+   * @return tasks to schedule, keyed by the ids of their jobs. It is empty if there are no tasks to schedule.
    */
-  synchronized Optional<Collection<Task>> getAndSetNull() {
-    final Collection<Task> cur = curTaskCollection;
-    curTaskCollection = null;
-    return Optional.ofNullable(cur);
+  synchronized Map<String, Collection<Task>> getAndSetNull() {
+    final Map<String, Collection<Task>> cur = new HashMap<>(jobIdToCurTaskCollection);
+    jobIdToCurTaskCollection.clear();
+    return cur;
   }
 }
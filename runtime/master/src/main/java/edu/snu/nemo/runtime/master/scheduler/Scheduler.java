@@ -15,6 +15,7 @@
  */
 package edu.snu.nemo.runtime.master.scheduler;
 
+import edu.snu.nemo.runtime.common.comm.ControlMessage;
 import edu.snu.nemo.runtime.common.plan.PhysicalPlan;
 import edu.snu.nemo.runtime.common.state.TaskState;
 import edu.snu.nemo.runtime.master.JobStateManager;
@@ -26,21 +27,29 @@ import javax.annotation.Nullable;
 
 /**
  * Only two threads call scheduling code: RuntimeMaster thread (RMT), and SchedulerThread(ST).
- * RMT and ST meet only at two points: {@link ExecutorRegistry}, and {@link PendingTaskCollectionPointer},
- * which are synchronized(ThreadSafe).
+ * RMT and ST meet only at three points: {@link ExecutorRegistry}, {@link PendingTaskCollectionPointer},
+ * and the jobs registered to {@link SchedulerRunner}, which are synchronized(ThreadSafe).
  * Other scheduler-related classes that are accessed by only one of the two threads are not synchronized(NotThreadSafe).
  */
 @DriverSide
-@DefaultImplementation(BatchSingleJobScheduler.class)
+@DefaultImplementation(BatchMultiJobScheduler.class)
 public interface Scheduler {
 
   /**
-   * Schedules the given job.
+   * Schedules the given job, along with the jobs which have been scheduled before.
    * @param physicalPlan of the job being submitted.
    * @param jobStateManager to manage the states of the submitted job.
+   * @param weight of the job, in proportion to which the job is given the executor slots.
    */
   void scheduleJob(PhysicalPlan physicalPlan,
-                   JobStateManager jobStateManager);
+                   JobStateManager jobStateManager,
+                   int weight);
+
+  /**
+   * Called when a job finishes, either completing or failing, to release the states of the job.
+   * @param jobId of the finished job.
+   */
+  void onJobFinished(String jobId);
 
   /**
    * Receives and updates the scheduler with a new physical plan for a job.
@@ -61,6 +70,13 @@ public interface Scheduler {
    */
   void onExecutorRemoved(String executorId);
 
+  /**
+   * Called when an executor reports its resource usage.
+   * @param executorId of the executor.
+   * @param heartbeat the resource usage of the executor.
+   */
+  void onExecutorHeartbeat(String executorId, ControlMessage.ExecutorHeartbeatMsg heartbeat);
+
   /**
    * Called when a Task's execution state changes.
    * @param executorId of the executor in which the Task is executing.
@@ -19,10 +19,12 @@ import edu.snu.nemo.runtime.common.plan.Task;
 import edu.snu.nemo.runtime.common.state.TaskState;
 import edu.snu.nemo.runtime.master.JobStateManager;
 import edu.snu.nemo.runtime.master.resource.ExecutorRepresenter;
+import org.apache.commons.lang3.mutable.MutableBoolean;
 import org.apache.commons.lang3.mutable.MutableObject;
 import org.apache.reef.annotations.audience.DriverSide;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.locks.Condition;
@@ -41,12 +43,16 @@ import javax.inject.Inject;
  * A scheduling iteration occurs under one of the following conditions
  * - An executor slot becomes available (for reasons such as task completion/failure, or executor addition)
  * - A new list of tasks become available (for reasons such as stage completion, task failure, or executor removal)
+ *
+ * When the tasks of multiple jobs are pending, they are interleaved so that each job occupies the executor slots
+ * in proportion to its weight: the next task is always taken from the job with the least running tasks per weight.
  */
 @DriverSide
 @NotThreadSafe
 public final class SchedulerRunner {
   private static final Logger LOG = LoggerFactory.getLogger(SchedulerRunner.class.getName());
   private final Map<String, JobStateManager> jobStateManagers;
+  private final Map<String, Integer> jobWeights;
   private final PendingTaskCollectionPointer pendingTaskCollectionPointer;
   private final ExecutorService schedulerThread;
   private boolean isSchedulerRunning;
@@ -62,7 +68,8 @@ public final class SchedulerRunner {
                           final SchedulingPolicy schedulingPolicy,
                           final PendingTaskCollectionPointer pendingTaskCollectionPointer,
                           final ExecutorRegistry executorRegistry) {
-    this.jobStateManagers = new HashMap<>();
+    this.jobStateManagers = new ConcurrentHashMap<>();
+    this.jobWeights = new ConcurrentHashMap<>();
     this.pendingTaskCollectionPointer = pendingTaskCollectionPointer;
     this.schedulerThread = Executors.newSingleThreadExecutor(runnable ->
         new Thread(runnable, "SchedulerRunner thread"));
@@ -96,55 +103,94 @@ public final class SchedulerRunner {
   }
 
   void doScheduleTaskList() {
-    final Optional<Collection<Task>> taskListOptional = pendingTaskCollectionPointer.getAndSetNull();
-    if (!taskListOptional.isPresent()) {
+    final Map<String, Collection<Task>> jobIdToTaskList = pendingTaskCollectionPointer.getAndSetNull();
+    if (jobIdToTaskList.isEmpty()) {
       // Task list is empty
       LOG.debug("PendingTaskCollectionPointer is empty. Awaiting for more Tasks...");
       return;
     }
 
-    final Collection<Task> taskList = taskListOptional.get();
-    final List<Task> couldNotSchedule = new ArrayList<>();
-    for (final Task task : taskList) {
-      final JobStateManager jobStateManager = jobStateManagers.get(task.getJobId());
+    final Map<String, Integer> jobIdToNumOfRunningTasks = getNumOfRunningTasksPerJob();
+    final Map<String, Deque<Task>> jobIdToRemainingTasks = new HashMap<>();
+    jobIdToTaskList.forEach((jobId, taskList) -> jobIdToRemainingTasks.put(jobId, new ArrayDeque<>(taskList)));
+    final Map<String, List<Task>> jobIdToCouldNotSchedule = new HashMap<>();
+    while (!jobIdToRemainingTasks.isEmpty()) {
+      // Take the next task from the job which has the least share of the executor slots for its weight.
+      final String jobId = Collections.min(jobIdToRemainingTasks.keySet(), Comparator.comparingDouble(id ->
+          (double) jobIdToNumOfRunningTasks.getOrDefault(id, 0) / jobWeights.getOrDefault(id, 1)));
+      final Deque<Task> remainingTasks = jobIdToRemainingTasks.get(jobId);
+      final Task task = remainingTasks.poll();
+      if (remainingTasks.isEmpty()) {
+        jobIdToRemainingTasks.remove(jobId);
+      }
+
+      final JobStateManager jobStateManager = jobStateManagers.get(jobId);
+      if (jobStateManager == null) {
+        // The job has finished after the tasks were taken
+        LOG.debug("Skipping {} as its job has finished", task.getTaskId());
+        continue;
+      }
       if (!jobStateManager.getTaskState(task.getTaskId()).equals(TaskState.State.READY)) {
         // Guard against race conditions causing duplicate task launches
         LOG.debug("Skipping {} as it is not READY", task.getTaskId());
         continue;
       }
 
-      executorRegistry.viewExecutors(executors -> {
-        final MutableObject<Set<ExecutorRepresenter>> candidateExecutors = new MutableObject<>(executors);
-        task.getExecutionProperties().forEachProperties(property -> {
-          final Optional<SchedulingConstraint> constraint = schedulingConstraintRegistry.get(property.getClass());
-          if (constraint.isPresent() && !candidateExecutors.getValue().isEmpty()) {
-            candidateExecutors.setValue(candidateExecutors.getValue().stream()
-                .filter(e -> constraint.get().testSchedulability(e, task))
-                .collect(Collectors.toSet()));
-          }
-        });
-        if (!candidateExecutors.getValue().isEmpty()) {
-          // Select executor
-          final ExecutorRepresenter selectedExecutor
-              = schedulingPolicy.selectExecutor(candidateExecutors.getValue(), task);
-          // update metadata first
-          jobStateManager.onTaskStateChanged(task.getTaskId(), TaskState.State.EXECUTING);
-
-          LOG.info("{} scheduled to {}", task.getTaskId(), selectedExecutor.getExecutorId());
-
-          // send the task
-          selectedExecutor.onTaskScheduled(task);
-        } else {
-          couldNotSchedule.add(task);
+      if (scheduleTask(task, jobStateManager)) {
+        jobIdToNumOfRunningTasks.merge(jobId, 1, Integer::sum);
+      } else {
+        jobIdToCouldNotSchedule.computeIfAbsent(jobId, id -> new ArrayList<>()).add(task);
+      }
+    }
+
+    LOG.debug("All except {} were scheduled among {}", new Object[]{jobIdToCouldNotSchedule, jobIdToTaskList});
+    // Try these again, if no new task list has been set for the job
+    jobIdToCouldNotSchedule.forEach(pendingTaskCollectionPointer::setIfNull);
+  }
+
+  /**
+   * Schedules a task to one of the executors which satisfy the scheduling constraints of the task.
+   * @param task to schedule.
+   * @param jobStateManager of the job of the task.
+   * @return whether the task has been scheduled.
+   */
+  private boolean scheduleTask(final Task task, final JobStateManager jobStateManager) {
+    final MutableBoolean isScheduled = new MutableBoolean(false);
+    executorRegistry.viewSchedulableExecutors(executors -> {
+      final MutableObject<Set<ExecutorRepresenter>> candidateExecutors = new MutableObject<>(executors);
+      task.getExecutionProperties().forEachProperties(property -> {
+        final Optional<SchedulingConstraint> constraint = schedulingConstraintRegistry.get(property.getClass());
+        if (constraint.isPresent() && !candidateExecutors.getValue().isEmpty()) {
+          candidateExecutors.setValue(candidateExecutors.getValue().stream()
+              .filter(e -> constraint.get().testSchedulability(e, task))
+              .collect(Collectors.toSet()));
         }
       });
-    }
+      if (!candidateExecutors.getValue().isEmpty()) {
+        // Select executor
+        final ExecutorRepresenter selectedExecutor
+            = schedulingPolicy.selectExecutor(candidateExecutors.getValue(), task);
+        // update metadata first
+        jobStateManager.onTaskStateChanged(task.getTaskId(), TaskState.State.EXECUTING);
 
-    LOG.debug("All except {} were scheduled among {}", new Object[]{couldNotSchedule, taskList});
-    if (couldNotSchedule.size() > 0) {
-      // Try these again, if no new task list has been set
-      pendingTaskCollectionPointer.setIfNull(couldNotSchedule);
-    }
+        LOG.info("{} scheduled to {}", task.getTaskId(), selectedExecutor.getExecutorId());
+
+        // send the task
+        selectedExecutor.onTaskScheduled(task);
+        isScheduled.setTrue();
+      }
+    });
+    return isScheduled.booleanValue();
+  }
+
+  /**
+   * @return the number of the running tasks of each job, over all executors.
+   */
+  private Map<String, Integer> getNumOfRunningTasksPerJob() {
+    final Map<String, Integer> jobIdToNumOfRunningTasks = new HashMap<>();
+    executorRegistry.viewExecutors(executors -> executors.forEach(executor -> executor.getRunningTasks()
+        .forEach(task -> jobIdToNumOfRunningTasks.merge(task.getJobId(), 1, Integer::sum))));
+    return jobIdToNumOfRunningTasks;
   }
 
   /**
@@ -162,11 +208,29 @@ public final class SchedulerRunner {
   }
 
   /**
-   * Run the scheduler thread.
+   * Registers a job whose tasks are to be scheduled.
+   * @param jobStateManager of the job.
+   * @param weight of the job, in proportion to which the job is given the executor slots.
+   */
+  void addJob(final JobStateManager jobStateManager, final int weight) {
+    jobWeights.put(jobStateManager.getJobId(), weight);
+    jobStateManagers.put(jobStateManager.getJobId(), jobStateManager);
+  }
+
+  /**
+   * Deregisters a finished job.
+   * @param jobId of the job.
+   */
+  void removeJob(final String jobId) {
+    jobStateManagers.remove(jobId);
+    jobWeights.remove(jobId);
+  }
+
+  /**
+   * Run the scheduler thread, if it is not running yet.
    */
-  void run(final JobStateManager jobStateManager) {
+  void run() {
     if (!isTerminated && !isSchedulerRunning) {
-      jobStateManagers.put(jobStateManager.getJobId(), jobStateManager);
       schedulerThread.execute(new SchedulerThread());
       schedulerThread.shutdown();
       isSchedulerRunning = true;
@@ -16,6 +16,7 @@
 package edu.snu.nemo.runtime.master.scheduler;
 
 import edu.snu.nemo.common.ir.Readable;
+import edu.snu.nemo.common.ir.edge.executionproperty.CachedDataProperty;
 import edu.snu.nemo.common.ir.edge.executionproperty.CommunicationPatternProperty;
 import edu.snu.nemo.common.ir.executionproperty.AssociatedProperty;
 import edu.snu.nemo.common.ir.vertex.executionproperty.ResourceLocalityProperty;
@@ -59,9 +60,11 @@ public final class SourceLocationAwareSchedulingConstraint implements Scheduling
       if (CommunicationPatternProperty.Value.OneToOne.equals(
           physicalStageEdge.getPropertyValue(CommunicationPatternProperty.class)
               .orElseThrow(() -> new RuntimeException("No comm pattern!")))) {
+        // The edge may read the blocks cached by a previous job instead of its own.
+        final String edgeIdToRead = physicalStageEdge.getPropertyValue(CachedDataProperty.class)
+            .orElse(physicalStageEdge.getId());
         final String blockIdToRead =
-            RuntimeIdGenerator.generateBlockId(physicalStageEdge.getId(),
-                RuntimeIdGenerator.getIndexFromTaskId(task.getTaskId()));
+            RuntimeIdGenerator.generateBlockId(edgeIdToRead, RuntimeIdGenerator.getIndexFromTaskId(task.getTaskId()));
         final BlockManagerMaster.BlockLocationRequestHandler locationHandler =
             blockManagerMaster.getBlockLocationHandler(blockIdToRead);
         if (locationHandler.getLocationFuture().isDone()) { // if the location is known.
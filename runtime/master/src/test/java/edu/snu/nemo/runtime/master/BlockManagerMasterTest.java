@@ -20,12 +20,15 @@ import edu.snu.nemo.runtime.common.exception.AbsentBlockException;
 import edu.snu.nemo.runtime.common.message.MessageEnvironment;
 import edu.snu.nemo.runtime.common.message.local.LocalMessageDispatcher;
 import edu.snu.nemo.runtime.common.message.local.LocalMessageEnvironment;
+import edu.snu.nemo.runtime.common.plan.PhysicalPlan;
+import edu.snu.nemo.runtime.common.plan.TestPlanGenerator;
 import edu.snu.nemo.runtime.common.state.BlockState;
 import org.apache.reef.tang.Injector;
 import org.apache.reef.tang.Tang;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import static org.junit.Assert.assertEquals;
@@ -105,6 +108,86 @@ public final class BlockManagerMasterTest {
         BlockState.State.NOT_AVAILABLE);
   }
 
+  /**
+   * Test scenario where the block handed over to a shuffle service outlives its executor.
+   * @throws Exception
+   */
+  @Test
+  public void testShuffleServiceOwnership() throws Exception {
+    final String edgeId = RuntimeIdGenerator.generateStageEdgeId("Edge-2");
+    final int srcTaskIndex = 0;
+    final String taskId = RuntimeIdGenerator.generateTaskId(srcTaskIndex, "Stage-test");
+    final String executorId = RuntimeIdGenerator.generateExecutorId();
+    final String shuffleServiceId = RuntimeIdGenerator.generateShuffleServiceId("localhost", 7338);
+    final String blockId = RuntimeIdGenerator.generateBlockId(edgeId, srcTaskIndex);
+
+    // The block is committed to the shuffle service of the node.
+    blockManagerMaster.initializeState(blockId, taskId);
+    blockManagerMaster.onProducerTaskScheduled(taskId);
+    blockManagerMaster.onBlockStateChanged(blockId, BlockState.State.AVAILABLE, shuffleServiceId);
+
+    // The block is still available after the executor which wrote it is lost.
+    assertTrue(blockManagerMaster.removeWorker(executorId).isEmpty());
+    checkBlockLocation(blockManagerMaster.getBlockLocationHandler(blockId).getLocationFuture(), shuffleServiceId);
+
+    // We lost the block with the shuffle service.
+    assertEquals(taskId, blockManagerMaster.removeShuffleService(shuffleServiceId).iterator().next());
+    checkBlockAbsentException(blockManagerMaster.getBlockLocationHandler(blockId).getLocationFuture(), blockId,
+        BlockState.State.NOT_AVAILABLE);
+  }
+
+  /**
+   * Test scenario where a replica takes over the block lost with its executor.
+   * @throws Exception
+   */
+  @Test
+  public void testReplicaFailOver() throws Exception {
+    final String edgeId = RuntimeIdGenerator.generateStageEdgeId("Edge-3");
+    final int srcTaskIndex = 0;
+    final String taskId = RuntimeIdGenerator.generateTaskId(srcTaskIndex, "Stage-test");
+    final String executorId = RuntimeIdGenerator.generateExecutorId();
+    final String replicaExecutorId = RuntimeIdGenerator.generateExecutorId();
+    final String blockId = RuntimeIdGenerator.generateBlockId(edgeId, srcTaskIndex);
+
+    // The block is committed, and then replicated.
+    blockManagerMaster.initializeState(blockId, taskId);
+    blockManagerMaster.onProducerTaskScheduled(taskId);
+    blockManagerMaster.onBlockStateChanged(blockId, BlockState.State.AVAILABLE, executorId);
+    blockManagerMaster.onReplicaAdded(blockId, replicaExecutorId);
+
+    // The replica takes over the block, which does not have to be recomputed.
+    assertTrue(blockManagerMaster.removeWorker(executorId).isEmpty());
+    assertEquals(BlockState.State.AVAILABLE, blockManagerMaster.getBlockState(blockId));
+    checkBlockLocation(blockManagerMaster.getBlockLocationHandler(blockId).getLocationFuture(), replicaExecutorId);
+
+    // We lost the block with its last replica.
+    assertEquals(taskId, blockManagerMaster.removeWorker(replicaExecutorId).iterator().next());
+    checkBlockAbsentException(blockManagerMaster.getBlockLocationHandler(blockId).getLocationFuture(), blockId,
+        BlockState.State.NOT_AVAILABLE);
+  }
+
+  /**
+   * Test scenario where the blocks of a finished job are forgotten, and their late replicas are ignored.
+   * @throws Exception
+   */
+  @Test
+  public void testJobFinished() throws Exception {
+    final PhysicalPlan plan =
+        TestPlanGenerator.generatePhysicalPlan(TestPlanGenerator.PlanType.TwoVerticesJoined, false);
+    final String executorId = RuntimeIdGenerator.generateExecutorId();
+    blockManagerMaster.initialize(plan);
+
+    final Set<String> removedBlockIds = blockManagerMaster.onJobFinished(plan);
+    assertFalse(removedBlockIds.isEmpty());
+    for (final String blockId : removedBlockIds) {
+      checkBlockAbsentException(blockManagerMaster.getBlockLocationHandler(blockId).getLocationFuture(), blockId,
+          BlockState.State.NOT_AVAILABLE);
+      blockManagerMaster.onReplicaAdded(blockId, executorId);
+      blockManagerMaster.onBlockStateChanged(blockId, BlockState.State.AVAILABLE, executorId);
+    }
+    assertTrue(blockManagerMaster.onJobFinished(plan).isEmpty());
+  }
+
   /**
    * Test scenario where producer task fails.
    * @throws Exception
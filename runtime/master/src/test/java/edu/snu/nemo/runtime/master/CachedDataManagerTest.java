@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.master;
+
+import edu.snu.nemo.common.dag.DAG;
+import edu.snu.nemo.common.dag.DAGBuilder;
+import edu.snu.nemo.common.ir.edge.IREdge;
+import edu.snu.nemo.common.ir.edge.executionproperty.CachedDataProperty;
+import edu.snu.nemo.common.ir.edge.executionproperty.CommunicationPatternProperty;
+import edu.snu.nemo.common.ir.edge.executionproperty.DataPersistenceProperty;
+import edu.snu.nemo.common.ir.edge.executionproperty.DataStoreProperty;
+import edu.snu.nemo.common.ir.vertex.CachedSourceVertex;
+import edu.snu.nemo.common.ir.vertex.IRVertex;
+import edu.snu.nemo.common.ir.vertex.OperatorVertex;
+import edu.snu.nemo.common.ir.vertex.executionproperty.CacheProperty;
+import edu.snu.nemo.common.ir.vertex.executionproperty.ParallelismProperty;
+import edu.snu.nemo.common.ir.vertex.transform.RelayTransform;
+import edu.snu.nemo.common.test.EmptyComponents;
+import edu.snu.nemo.runtime.common.RuntimeIdGenerator;
+import edu.snu.nemo.runtime.common.message.MessageEnvironment;
+import edu.snu.nemo.runtime.common.message.local.LocalMessageDispatcher;
+import edu.snu.nemo.runtime.common.message.local.LocalMessageEnvironment;
+import edu.snu.nemo.runtime.common.state.BlockState;
+import org.apache.reef.tang.Injector;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test for {@link CachedDataManager}.
+ */
+public final class CachedDataManagerTest {
+  private static final int PARALLELISM = 2;
+  private static final String PLAN_ID = "Plan-0";
+  private BlockManagerMaster blockManagerMaster;
+  private CachedDataManager cachedDataManager;
+  private IRVertex source;
+  private IRVertex cachedVertex;
+
+  @Before
+  public void setUp() throws Exception {
+    final Injector injector = LocalMessageEnvironment.forkInjector(LocalMessageDispatcher.getInjector(),
+        MessageEnvironment.MASTER_COMMUNICATION_ID);
+    blockManagerMaster = injector.getInstance(BlockManagerMaster.class);
+    cachedDataManager = injector.getInstance(CachedDataManager.class);
+
+    source = new EmptyComponents.EmptySourceVertex<>("source");
+    source.setProperty(ParallelismProperty.of(PARALLELISM));
+    cachedVertex = new OperatorVertex(new RelayTransform());
+    cachedVertex.setProperty(ParallelismProperty.of(PARALLELISM));
+    cachedVertex.setProperty(CacheProperty.of(DataStoreProperty.Value.SerializedMemoryStore));
+  }
+
+  /**
+   * Builds the DAG of a job which computes the cached vertex and consumes its output.
+   * @return the DAG.
+   */
+  private DAG<IRVertex, IREdge> buildJobDAG() {
+    final IRVertex sink = new OperatorVertex(new RelayTransform());
+    sink.setProperty(ParallelismProperty.of(PARALLELISM));
+    return new DAGBuilder<IRVertex, IREdge>()
+        .addVertex(source).addVertex(cachedVertex).addVertex(sink)
+        .connectVertices(new IREdge(CommunicationPatternProperty.Value.OneToOne, source, cachedVertex))
+        .connectVertices(new IREdge(CommunicationPatternProperty.Value.Shuffle, cachedVertex, sink))
+        .build();
+  }
+
+  /**
+   * Runs the DAG as if its job completed, making the blocks of the cached edge available.
+   * @param dag the DAG to run.
+   * @return the id of the runtime edge whose blocks are cached.
+   */
+  private String completeJob(final DAG<IRVertex, IREdge> dag) {
+    final IREdge cachedEdge = dag.getOutgoingEdgesOf(cachedVertex).get(0);
+    final String cachedEdgeId = RuntimeIdGenerator.generateRuntimeEdgeId(PLAN_ID, cachedEdge.getId());
+    for (int taskIdx = 0; taskIdx < PARALLELISM; taskIdx++) {
+      final String blockId = RuntimeIdGenerator.generateBlockId(cachedEdgeId, taskIdx);
+      final String taskId = RuntimeIdGenerator.generateTaskId(taskIdx, "Stage-cache");
+      blockManagerMaster.initializeState(blockId, taskId);
+      blockManagerMaster.onProducerTaskScheduled(taskId);
+      blockManagerMaster.onBlockStateChanged(blockId, BlockState.State.AVAILABLE, "Executor-0");
+    }
+    cachedDataManager.onJobCompleted(PLAN_ID, dag);
+    return cachedEdgeId;
+  }
+
+  /**
+   * Test that the output of the cached vertex is kept, and read by the next job.
+   */
+  @Test
+  public void testReadCachedData() {
+    final DAG<IRVertex, IREdge> firstDAG = cachedDataManager.apply(buildJobDAG());
+    final IREdge firstCachedEdge = firstDAG.getOutgoingEdgesOf(cachedVertex).get(0);
+    assertEquals(Optional.of(DataStoreProperty.Value.SerializedMemoryStore),
+        firstCachedEdge.getPropertyValue(DataStoreProperty.class));
+    assertEquals(Optional.of(DataPersistenceProperty.Value.Keep),
+        firstCachedEdge.getPropertyValue(DataPersistenceProperty.class));
+    final String cachedEdgeId = completeJob(firstDAG);
+
+    // The tasks of the next job may have the same ids, which must not affect the cached blocks.
+    blockManagerMaster.onProducerTaskFailed(RuntimeIdGenerator.generateTaskId(0, "Stage-cache"));
+    assertEquals(BlockState.State.AVAILABLE,
+        blockManagerMaster.getBlockState(RuntimeIdGenerator.generateBlockId(cachedEdgeId, 0)));
+
+    final DAG<IRVertex, IREdge> secondDAG = cachedDataManager.apply(buildJobDAG());
+    assertFalse(secondDAG.getVertices().contains(source));
+    assertFalse(secondDAG.getVertices().contains(cachedVertex));
+    assertEquals(3, secondDAG.getVertices().size());
+
+    final IRVertex cachedSource = secondDAG.getRootVertices().get(0);
+    assertTrue(cachedSource instanceof CachedSourceVertex);
+    assertEquals(cachedVertex.getId(), ((CachedSourceVertex) cachedSource).getCachedVertexId());
+    final IREdge edgeToRead = secondDAG.getOutgoingEdgesOf(cachedSource).get(0);
+    assertEquals(Optional.of(cachedEdgeId), edgeToRead.getPropertyValue(CachedDataProperty.class));
+    assertEquals(Optional.of(CommunicationPatternProperty.Value.OneToOne),
+        edgeToRead.getPropertyValue(CommunicationPatternProperty.class));
+    assertEquals(Optional.of(DataStoreProperty.Value.SerializedMemoryStore),
+        edgeToRead.getPropertyValue(DataStoreProperty.class));
+    assertEquals(Optional.of(CommunicationPatternProperty.Value.Shuffle),
+        secondDAG.getOutgoingEdgesOf(edgeToRead.getDst()).get(0)
+            .getPropertyValue(CommunicationPatternProperty.class));
+  }
+
+  /**
+   * Test that the output of the cached vertex is computed again when its cached blocks are lost.
+   */
+  @Test
+  public void testRecomputeLostData() {
+    completeJob(cachedDataManager.apply(buildJobDAG()));
+    blockManagerMaster.removeWorker("Executor-0");
+
+    final DAG<IRVertex, IREdge> dag = cachedDataManager.apply(buildJobDAG());
+    assertTrue(dag.getVertices().contains(source));
+    assertTrue(dag.getVertices().contains(cachedVertex));
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.master;
+
+import edu.snu.nemo.common.dag.DAG;
+import edu.snu.nemo.common.ir.edge.executionproperty.DataPersistenceProperty;
+import edu.snu.nemo.common.ir.edge.executionproperty.DataStoreProperty;
+import edu.snu.nemo.conf.JobConf;
+import edu.snu.nemo.runtime.common.RuntimeIdGenerator;
+import edu.snu.nemo.runtime.common.message.MessageEnvironment;
+import edu.snu.nemo.runtime.common.message.local.LocalMessageDispatcher;
+import edu.snu.nemo.runtime.common.message.local.LocalMessageEnvironment;
+import edu.snu.nemo.runtime.common.plan.PhysicalPlan;
+import edu.snu.nemo.runtime.common.plan.Stage;
+import edu.snu.nemo.runtime.common.plan.StageEdge;
+import edu.snu.nemo.runtime.common.plan.TestPlanGenerator;
+import edu.snu.nemo.runtime.common.state.BlockState;
+import edu.snu.nemo.runtime.common.state.StageState;
+import org.apache.reef.tang.Injector;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import java.io.File;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests {@link CheckpointManager}.
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest(MetricMessageHandler.class)
+public final class CheckpointManagerTest {
+  private static final String JOB_ID = "TestJob";
+  private static final int MAX_SCHEDULE_ATTEMPT = 2;
+
+  @Rule
+  public final TemporaryFolder volumeDirectory = new TemporaryFolder();
+
+  private BlockManagerMaster blockManagerMaster;
+  private CheckpointManager checkpointManager;
+  private PhysicalPlan physicalPlan;
+  private JobStateManager jobStateManager;
+  private File checkpointDirectory;
+
+  @Before
+  public void setUp() throws Exception {
+    final Injector injector = LocalMessageEnvironment.forkInjector(LocalMessageDispatcher.getInjector(),
+        MessageEnvironment.MASTER_COMMUNICATION_ID);
+    injector.bindVolatileParameter(JobConf.GlusterVolumeDirectory.class, volumeDirectory.getRoot().getPath());
+    injector.bindVolatileParameter(JobConf.JobId.class, JOB_ID);
+    injector.bindVolatileParameter(JobConf.ResumeFromCheckpoint.class, true);
+    blockManagerMaster = injector.getInstance(BlockManagerMaster.class);
+    checkpointManager = injector.getInstance(CheckpointManager.class);
+    checkpointDirectory = volumeDirectory.newFolder(JOB_ID);
+
+    physicalPlan = TestPlanGenerator.generatePhysicalPlan(TestPlanGenerator.PlanType.TwoVerticesJoined, false);
+    final DAG<Stage, StageEdge> stageDAG = physicalPlan.getStageDAG();
+    stageDAG.getVertices().forEach(stage -> stageDAG.getOutgoingEdgesOf(stage).forEach(stageEdge -> {
+      stageEdge.getExecutionProperties().put(DataStoreProperty.of(DataStoreProperty.Value.GlusterFileStore));
+      stageEdge.getExecutionProperties().put(DataPersistenceProperty.of(DataPersistenceProperty.Value.Keep));
+    }));
+    blockManagerMaster.initialize(physicalPlan);
+    jobStateManager = new JobStateManager(physicalPlan, mock(MetricMessageHandler.class), MAX_SCHEDULE_ATTEMPT);
+  }
+
+  /**
+   * Tests that the stages whose outputs are committed in the checkpoint directory are restored,
+   * and the stages which consume them are not.
+   */
+  @Test
+  public void testRestoreCheckpointedStages() throws Exception {
+    final DAG<Stage, StageEdge> stageDAG = physicalPlan.getStageDAG();
+    final List<Stage> rootStages = stageDAG.getRootVertices();
+    for (final Stage rootStage : rootStages) {
+      commitBlocks(stageDAG, rootStage);
+    }
+
+    checkpointManager.restore(physicalPlan, jobStateManager);
+
+    stageDAG.getVertices().forEach(stage -> assertEquals(
+        rootStages.contains(stage) ? StageState.State.COMPLETE : StageState.State.INCOMPLETE,
+        jobStateManager.getStageState(stage.getId())));
+    rootStages.forEach(rootStage -> stageDAG.getOutgoingEdgesOf(rootStage).forEach(stageEdge ->
+        getBlockIds(stageEdge, rootStage).forEach(blockId ->
+            assertEquals(BlockState.State.AVAILABLE, blockManagerMaster.getBlockState(blockId)))));
+  }
+
+  /**
+   * Tests that a stage some of whose output blocks are not committed is computed again.
+   */
+  @Test
+  public void testPartialCheckpointIsNotRestored() throws Exception {
+    final DAG<Stage, StageEdge> stageDAG = physicalPlan.getStageDAG();
+    final Stage rootStage = stageDAG.getRootVertices().get(0);
+    commitBlocks(stageDAG, rootStage);
+    final StageEdge stageEdge = stageDAG.getOutgoingEdgesOf(rootStage).get(0);
+    final String lastBlockId = getBlockIds(stageEdge, rootStage).get(rootStage.getTaskIds().size() - 1);
+    assertTrue(new File(checkpointDirectory, lastBlockId + "_meta").delete());
+
+    checkpointManager.restore(physicalPlan, jobStateManager);
+
+    stageDAG.getVertices().forEach(stage ->
+        assertEquals(StageState.State.INCOMPLETE, jobStateManager.getStageState(stage.getId())));
+    assertEquals(BlockState.State.NOT_AVAILABLE, blockManagerMaster.getBlockState(lastBlockId));
+  }
+
+  /**
+   * Creates the metadata files of the outgoing blocks of a stage, as if they were committed by a previous run.
+   */
+  private void commitBlocks(final DAG<Stage, StageEdge> stageDAG, final Stage stage) throws Exception {
+    for (final StageEdge stageEdge : stageDAG.getOutgoingEdgesOf(stage)) {
+      for (final String blockId : getBlockIds(stageEdge, stage)) {
+        assertTrue(new File(checkpointDirectory, blockId + "_meta").createNewFile());
+      }
+    }
+  }
+
+  private static List<String> getBlockIds(final StageEdge stageEdge, final Stage stage) {
+    return IntStream.range(0, stage.getTaskIds().size())
+        .mapToObj(srcTaskIdx -> RuntimeIdGenerator.generateBlockId(stageEdge.getId(), srcTaskIdx))
+        .collect(Collectors.toList());
+  }
+}
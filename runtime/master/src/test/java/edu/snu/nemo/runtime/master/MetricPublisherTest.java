@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.master;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.snu.nemo.runtime.common.metric.JobMetric;
+import edu.snu.nemo.runtime.common.state.JobState;
+import org.eclipse.jetty.websocket.api.RemoteEndpoint;
+import org.eclipse.jetty.websocket.api.Session;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests {@link MetricPublisher}.
+ */
+public final class MetricPublisherTest {
+  private static final long WINDOW_MS = 100;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final BlockingQueue<JsonNode> receivedMessages = new LinkedBlockingQueue<>();
+  private Session session;
+  private MetricPublisher metricPublisher;
+
+  @Before
+  public void setUp() throws Exception {
+    final RemoteEndpoint remoteEndpoint = mock(RemoteEndpoint.class);
+    doAnswer(invocation -> {
+      receivedMessages.add(objectMapper.readTree((String) invocation.getArguments()[0]));
+      return null;
+    }).when(remoteEndpoint).sendString(anyString());
+    session = mock(Session.class);
+    when(session.getRemote()).thenReturn(remoteEndpoint);
+    MetricBroadcaster.getInstance().addSession(session);
+    // The dump sent to a newly connected session
+    receivedMessages.take();
+
+    metricPublisher = new MetricPublisher(MetricStore.getStore(), MetricBroadcaster.getInstance(), objectMapper);
+  }
+
+  @After
+  public void tearDown() {
+    MetricBroadcaster.getInstance().removeSession(session);
+  }
+
+  /**
+   * Tests that the changes of a metric within a window are published once,
+   * as the metric was when it was last marked as changed.
+   * @throws Exception exception on the way.
+   */
+  @Test(timeout = 10000)
+  public void testCoalescedSnapshot() throws Exception {
+    metricPublisher.configure(WINDOW_MS, 10);
+    final JobMetric metric = new JobMetric("MetricPublisherTest-job");
+    metric.addEvent(JobState.State.READY, JobState.State.EXECUTING);
+    metricPublisher.markChanged(JobMetric.class, metric.getId(), metric);
+    metric.addEvent(JobState.State.EXECUTING, JobState.State.COMPLETE);
+    metricPublisher.markChanged(JobMetric.class, metric.getId(), metric);
+    // Not marked as changed, thus should not be published
+    metric.addEvent(JobState.State.COMPLETE, JobState.State.FAILED);
+
+    final JsonNode message = receivedMessages.take();
+    assertEquals("JobMetric", message.get("metricType").asText());
+    assertEquals(metric.getId(), message.get("data").get("id").asText());
+    assertEquals(2, message.get("data").get("stateTransitionEvents").size());
+    assertNull(receivedMessages.poll(3 * WINDOW_MS, TimeUnit.MILLISECONDS));
+  }
+
+  /**
+   * Tests that the clients receive a full dump once too many metrics are pending.
+   * @throws Exception exception on the way.
+   */
+  @Test(timeout = 10000)
+  public void testResyncOnOverflow() throws Exception {
+    metricPublisher.configure(WINDOW_MS, 1);
+    final JobMetric metric = MetricStore.getStore().getOrCreateMetric(JobMetric.class, "MetricPublisherTest-job1");
+    final JobMetric otherMetric =
+        MetricStore.getStore().getOrCreateMetric(JobMetric.class, "MetricPublisherTest-job2");
+    metricPublisher.markChanged(JobMetric.class, metric.getId(), metric);
+    metricPublisher.markChanged(JobMetric.class, otherMetric.getId(), otherMetric);
+
+    final JsonNode message = receivedMessages.take();
+    assertFalse(message.has("metricType"));
+    assertTrue(message.get("JobMetric").has(metric.getId()));
+    assertTrue(message.get("JobMetric").has(otherMetric.getId()));
+    assertNull(receivedMessages.poll(3 * WINDOW_MS, TimeUnit.MILLISECONDS));
+  }
+}
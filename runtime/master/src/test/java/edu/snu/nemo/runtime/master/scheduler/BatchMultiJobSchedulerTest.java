@@ -23,6 +23,7 @@ import edu.snu.nemo.runtime.common.message.MessageSender;
 import edu.snu.nemo.runtime.common.plan.PhysicalPlan;
 import edu.snu.nemo.runtime.common.plan.Stage;
 import edu.snu.nemo.runtime.common.plan.StageEdge;
+import edu.snu.nemo.runtime.common.state.TaskState;
 import edu.snu.nemo.runtime.master.JobStateManager;
 import edu.snu.nemo.runtime.master.MetricMessageHandler;
 import edu.snu.nemo.runtime.master.BlockManagerMaster;
@@ -54,19 +55,20 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
 /**
- * Tests {@link BatchSingleJobScheduler}.
+ * Tests {@link BatchMultiJobScheduler}.
  */
 @RunWith(PowerMockRunner.class)
 @PrepareForTest({ContainerManager.class, BlockManagerMaster.class,
     PubSubEventHandlerWrapper.class, UpdatePhysicalPlanEventHandler.class, MetricMessageHandler.class})
-public final class BatchSingleJobSchedulerTest {
-  private static final Logger LOG = LoggerFactory.getLogger(BatchSingleJobSchedulerTest.class.getName());
+public final class BatchMultiJobSchedulerTest {
+  private static final Logger LOG = LoggerFactory.getLogger(BatchMultiJobSchedulerTest.class.getName());
   private Scheduler scheduler;
   private ExecutorRegistry executorRegistry;
   private final MetricMessageHandler metricMessageHandler = mock(MetricMessageHandler.class);
   private final MessageSender<ControlMessage.Message> mockMsgSender = mock(MessageSender.class);
 
   private static final int EXECUTOR_CAPACITY = 20;
+  private static final long POLL_INTERVAL_MS = 10;
 
   // Assume no failures
   private static final int SCHEDULE_ATTEMPT_INDEX = 1;
@@ -80,7 +82,7 @@ public final class BatchSingleJobSchedulerTest {
     injector.bindVolatileInstance(BlockManagerMaster.class, mock(BlockManagerMaster.class));
     injector.bindVolatileInstance(PubSubEventHandlerWrapper.class, mock(PubSubEventHandlerWrapper.class));
     injector.bindVolatileInstance(UpdatePhysicalPlanEventHandler.class, mock(UpdatePhysicalPlanEventHandler.class));
-    scheduler = injector.getInstance(BatchSingleJobScheduler.class);
+    scheduler = injector.getInstance(BatchMultiJobScheduler.class);
 
     final ActiveContext activeContext = mock(ActiveContext.class);
     Mockito.doThrow(new RuntimeException()).when(activeContext).close();
@@ -114,7 +116,7 @@ public final class BatchSingleJobSchedulerTest {
   }
 
   /**
-   * This method builds a physical DAG starting from an IR DAG and submits it to {@link BatchSingleJobScheduler}.
+   * This method builds a physical DAG starting from an IR DAG and submits it to {@link BatchMultiJobScheduler}.
    * Task state changes are explicitly submitted to scheduler instead of executor messages.
    */
   @Test(timeout=10000)
@@ -124,7 +126,7 @@ public final class BatchSingleJobSchedulerTest {
   }
 
   /**
-   * This method builds a physical DAG starting from an IR DAG and submits it to {@link BatchSingleJobScheduler}.
+   * This method builds a physical DAG starting from an IR DAG and submits it to {@link BatchMultiJobScheduler}.
    * Task state changes are explicitly submitted to scheduler instead of executor messages.
    */
   @Test(timeout=10000)
@@ -133,9 +135,67 @@ public final class BatchSingleJobSchedulerTest {
         TestPlanGenerator.generatePhysicalPlan(TestPlanGenerator.PlanType.TwoVerticesJoined, true));
   }
 
+  /**
+   * This method submits two physical plans to {@link BatchMultiJobScheduler} at the same time,
+   * and tests that the tasks of both jobs are scheduled before either of them completes.
+   */
+  @Test(timeout=10000)
+  public void testMultipleJobs() throws Exception {
+    final PhysicalPlan firstPlan =
+        TestPlanGenerator.generatePhysicalPlan("Plan-0", TestPlanGenerator.PlanType.TwoVerticesJoined, false);
+    final PhysicalPlan secondPlan =
+        TestPlanGenerator.generatePhysicalPlan("Plan-1", TestPlanGenerator.PlanType.TwoVerticesJoined, true);
+    final JobStateManager firstJobStateManager = new JobStateManager(firstPlan, metricMessageHandler, 1);
+    final JobStateManager secondJobStateManager = new JobStateManager(secondPlan, metricMessageHandler, 1);
+    scheduler.scheduleJob(firstPlan, firstJobStateManager, 1);
+    scheduler.scheduleJob(secondPlan, secondJobStateManager, 2);
+
+    LOG.debug("Waiting for the first tasks of both jobs to be scheduled");
+    final String firstTaskOfFirstJob = filterStagesWithAScheduleGroup(firstPlan.getStageDAG(), 0)
+        .get(0).getTaskIds().get(0);
+    final String firstTaskOfSecondJob = filterStagesWithAScheduleGroup(secondPlan.getStageDAG(), 0)
+        .get(0).getTaskIds().get(0);
+    while (!TaskState.State.EXECUTING.equals(firstJobStateManager.getTaskState(firstTaskOfFirstJob))
+        || !TaskState.State.EXECUTING.equals(secondJobStateManager.getTaskState(firstTaskOfSecondJob))) {
+      Thread.sleep(POLL_INTERVAL_MS);
+    }
+
+    completeJob(secondPlan, secondJobStateManager);
+    completeJob(firstPlan, firstJobStateManager);
+    assertTrue(firstJobStateManager.isJobDone());
+    assertTrue(secondJobStateManager.isJobDone());
+  }
+
+  /**
+   * Tests that a finished job is forgotten, and that the reports about its tasks which arrive late are ignored.
+   */
+  @Test(timeout=10000)
+  public void testJobFinished() throws Exception {
+    final PhysicalPlan plan =
+        TestPlanGenerator.generatePhysicalPlan(TestPlanGenerator.PlanType.TwoVerticesJoined, false);
+    final JobStateManager jobStateManager = new JobStateManager(plan, metricMessageHandler, 1);
+    scheduler.scheduleJob(plan, jobStateManager, 1);
+    completeJob(plan, jobStateManager);
+    scheduler.onJobFinished(plan.getId());
+
+    final String lateTaskId = plan.getStageDAG().getVertices().get(0).getTaskIds().get(0);
+    scheduler.onTaskStateReportFromExecutor("a1", lateTaskId, SCHEDULE_ATTEMPT_INDEX,
+        TaskState.State.COMPLETE, null, null);
+
+    // The same plan can be scheduled again once the previous run is forgotten
+    final JobStateManager rerunJobStateManager = new JobStateManager(plan, metricMessageHandler, 1);
+    scheduler.scheduleJob(plan, rerunJobStateManager, 1);
+    completeJob(plan, rerunJobStateManager);
+    assertTrue(rerunJobStateManager.isJobDone());
+  }
+
   private void scheduleAndCheckJobTermination(final PhysicalPlan plan) throws InjectionException {
     final JobStateManager jobStateManager = new JobStateManager(plan, metricMessageHandler, 1);
-    scheduler.scheduleJob(plan, jobStateManager);
+    scheduler.scheduleJob(plan, jobStateManager, 1);
+    completeJob(plan, jobStateManager);
+  }
+
+  private void completeJob(final PhysicalPlan plan, final JobStateManager jobStateManager) {
 
     // For each ScheduleGroup, test if the tasks of the next ScheduleGroup are scheduled
     // after the stages of each ScheduleGroup are made "complete".
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.master.scheduler;
+
+import edu.snu.nemo.runtime.common.comm.ControlMessage;
+import edu.snu.nemo.runtime.common.plan.Task;
+import edu.snu.nemo.runtime.master.resource.ExecutorRepresenter;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.exceptions.InjectionException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests {@link LoadAwareSchedulingPolicy}
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({ExecutorRepresenter.class, Task.class})
+public final class LoadAwareSchedulingPolicyTest {
+
+  private static ExecutorRepresenter mockExecutorRepresenter(final int numRunningTasks,
+                                                             final ControlMessage.ExecutorHeartbeatMsg heartbeat) {
+    final ExecutorRepresenter executorRepresenter = mock(ExecutorRepresenter.class);
+    when(executorRepresenter.getNumOfRunningTasks()).thenReturn(numRunningTasks);
+    when(executorRepresenter.getLastHeartbeat()).thenReturn(Optional.ofNullable(heartbeat));
+    return executorRepresenter;
+  }
+
+  private static ControlMessage.ExecutorHeartbeatMsg heartbeat(final double heapUsageRatio,
+                                                               final double gcTimeRatio) {
+    return ControlMessage.ExecutorHeartbeatMsg.newBuilder()
+        .setExecutorId("executor")
+        .setHeapUsedBytes((long) (heapUsageRatio * 1000))
+        .setHeapMaxBytes(1000)
+        .setOffHeapUsedBytes(0)
+        .setGcTimeRatio(gcTimeRatio)
+        .setCpuLoad(-1)
+        .setLocalDiskUsedBytes(0)
+        .setNetworkBytesIn(0)
+        .setNetworkBytesOut(0)
+        .setNetworkBytesPerSec(0)
+        .build();
+  }
+
+  @Test
+  public void testWithoutHeartbeats() throws InjectionException {
+    final SchedulingPolicy schedulingPolicy = Tang.Factory.getTang().newInjector()
+        .getInstance(LoadAwareSchedulingPolicy.class);
+    final ExecutorRepresenter a0 = mockExecutorRepresenter(2, null);
+    final ExecutorRepresenter a1 = mockExecutorRepresenter(1, null);
+    final ExecutorRepresenter a2 = mockExecutorRepresenter(3, null);
+
+    assertEquals(a1, schedulingPolicy.selectExecutor(Arrays.asList(a0, a1, a2), mock(Task.class)));
+  }
+
+  @Test
+  public void testResourcePressure() throws InjectionException {
+    final SchedulingPolicy schedulingPolicy = Tang.Factory.getTang().newInjector()
+        .getInstance(LoadAwareSchedulingPolicy.class);
+    // Fewer tasks, but its heap is almost full and it spends a lot of time in GC.
+    final ExecutorRepresenter a0 = mockExecutorRepresenter(1, heartbeat(0.95, 0.4));
+    final ExecutorRepresenter a1 = mockExecutorRepresenter(2, heartbeat(0.2, 0.0));
+
+    assertEquals(a1, schedulingPolicy.selectExecutor(Arrays.asList(a0, a1), mock(Task.class)));
+  }
+}
@@ -27,10 +27,9 @@ import org.powermock.modules.junit4.PowerMockRunner;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
@@ -40,6 +39,8 @@ import static org.mockito.Mockito.mock;
 @RunWith(PowerMockRunner.class)
 @PrepareForTest({Task.class})
 public final class PendingTaskCollectionPointerTest {
+  private static final String JOB_ID = "Plan-0";
+  private static final String OTHER_JOB_ID = "Plan-1";
   private PendingTaskCollectionPointer pendingTaskCollectionPointer;
 
   private List<Task> mockTaskList() {
@@ -55,27 +56,37 @@ public final class PendingTaskCollectionPointerTest {
 
   @Test
   public void nullByDefault() {
-    assertFalse(pendingTaskCollectionPointer.getAndSetNull().isPresent());
+    assertTrue(pendingTaskCollectionPointer.getAndSetNull().isEmpty());
   }
 
   @Test
   public void setIfNull() {
     final List<Task> taskList = mockTaskList();
-    pendingTaskCollectionPointer.setIfNull(taskList);
-    final Optional<Collection<Task>> optional = pendingTaskCollectionPointer.getAndSetNull();
-    assertTrue(optional.isPresent());
-    assertEquals(taskList, optional.get());
+    pendingTaskCollectionPointer.setIfNull(JOB_ID, taskList);
+    final Map<String, Collection<Task>> pending = pendingTaskCollectionPointer.getAndSetNull();
+    assertEquals(taskList, pending.get(JOB_ID));
+    assertTrue(pendingTaskCollectionPointer.getAndSetNull().isEmpty());
   }
 
   @Test
   public void setToOverwrite() {
     final List<Task> taskList1 = mockTaskList();
-    pendingTaskCollectionPointer.setIfNull(taskList1);
+    pendingTaskCollectionPointer.setIfNull(JOB_ID, taskList1);
     final List<Task> taskList2 = mockTaskList();
-    pendingTaskCollectionPointer.setToOverwrite(taskList2);
-    final Optional<Collection<Task>> optional = pendingTaskCollectionPointer.getAndSetNull();
-    assertTrue(optional.isPresent());
-    assertEquals(taskList2, optional.get());
+    pendingTaskCollectionPointer.setToOverwrite(JOB_ID, taskList2);
+    final Map<String, Collection<Task>> pending = pendingTaskCollectionPointer.getAndSetNull();
+    assertEquals(taskList2, pending.get(JOB_ID));
   }
-}
 
+  @Test
+  public void separatedByJobs() {
+    final List<Task> taskList1 = mockTaskList();
+    pendingTaskCollectionPointer.setToOverwrite(JOB_ID, taskList1);
+    final List<Task> taskList2 = mockTaskList();
+    pendingTaskCollectionPointer.setIfNull(OTHER_JOB_ID, taskList2);
+    final Map<String, Collection<Task>> pending = pendingTaskCollectionPointer.getAndSetNull();
+    assertEquals(2, pending.size());
+    assertEquals(taskList1, pending.get(JOB_ID));
+    assertEquals(taskList2, pending.get(OTHER_JOB_ID));
+  }
+}
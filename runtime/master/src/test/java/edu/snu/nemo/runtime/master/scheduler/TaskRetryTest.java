@@ -214,7 +214,7 @@ public final class TaskRetryTest {
     final MetricMessageHandler metricMessageHandler = mock(MetricMessageHandler.class);
     final PhysicalPlan plan = TestPlanGenerator.generatePhysicalPlan(planType, false);
     final JobStateManager jobStateManager = new JobStateManager(plan, metricMessageHandler, MAX_SCHEDULE_ATTEMPT);
-    scheduler.scheduleJob(plan, jobStateManager);
+    scheduler.scheduleJob(plan, jobStateManager, 1);
     return jobStateManager;
   }
 }
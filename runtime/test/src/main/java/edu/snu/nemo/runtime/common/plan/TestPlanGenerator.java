@@ -72,14 +72,37 @@ public final class TestPlanGenerator {
    * @throws Exception exception.
    */
   public static PhysicalPlan generatePhysicalPlan(final PlanType planType, final boolean isPush) throws Exception {
-    final Policy policy = isPush ? new BasicPushPolicy() : new BasicPullPolicy();
+    final DAG<IRVertex, IREdge> optimized = optimize(getIRDAG(planType), isPush);
+    final DAG<Stage, StageEdge> physicalDAG = optimized.convert(PLAN_GENERATOR);
+    return new PhysicalPlan("TestPlan", physicalDAG);
+  }
+
+  /**
+   * @param planId id of the plan, which prefixes the ids of its stages and edges.
+   * @param planType type of the plan to generate.
+   * @param isPush whether to use the push policy.
+   * @return the generated plan, which can be scheduled along with the other plans.
+   * @throws Exception exception.
+   */
+  public static PhysicalPlan generatePhysicalPlan(final String planId,
+                                                  final PlanType planType,
+                                                  final boolean isPush) throws Exception {
+    final DAG<IRVertex, IREdge> optimized = optimize(getIRDAG(planType), isPush);
+    return new PhysicalPlan(planId, PLAN_GENERATOR.apply(planId, optimized));
+  }
+
+  /**
+   * @param planType type of the plan to generate.
+   * @return the IR DAG of the plan.
+   */
+  private static DAG<IRVertex, IREdge> getIRDAG(final PlanType planType) {
     switch (planType) {
       case TwoVerticesJoined:
-        return convertIRToPhysical(getTwoVerticesJoinedDAG(), policy);
+        return getTwoVerticesJoinedDAG();
       case ThreeSequentialVertices:
-        return convertIRToPhysical(getThreeSequentialVerticesDAG(true), policy);
+        return getThreeSequentialVerticesDAG(true);
       case ThreeSequentialVerticesWithDifferentContainerTypes:
-        return convertIRToPhysical(getThreeSequentialVerticesDAG(false), policy);
+        return getThreeSequentialVerticesDAG(false);
       default:
         throw new IllegalArgumentException(planType.toString());
     }
@@ -87,15 +110,14 @@ public final class TestPlanGenerator {
 
   /**
    * @param irDAG irDAG.
-   * @param policy policy.
-   * @return convert an IR into a physical plan using the given policy.
+   * @param isPush whether to use the push policy.
+   * @return the IR DAG optimized by the policy.
    * @throws Exception exception.
    */
-  private static PhysicalPlan convertIRToPhysical(final DAG<IRVertex, IREdge> irDAG,
-                                                  final Policy policy) throws Exception {
-    final DAG<IRVertex, IREdge> optimized = policy.runCompileTimeOptimization(irDAG, EMPTY_DAG_DIRECTORY);
-    final DAG<Stage, StageEdge> physicalDAG = optimized.convert(PLAN_GENERATOR);
-    return new PhysicalPlan("TestPlan", physicalDAG);
+  private static DAG<IRVertex, IREdge> optimize(final DAG<IRVertex, IREdge> irDAG,
+                                                final boolean isPush) throws Exception {
+    final Policy policy = isPush ? new BasicPushPolicy() : new BasicPullPolicy();
+    return policy.runCompileTimeOptimization(irDAG, EMPTY_DAG_DIRECTORY);
   }
 
   /**